@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static java.util.Arrays.asList;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the {@link java.math.BigInteger} based alt_bn128 arithmetic with the Montgomery form
+ * implementation on the operations behind the add, mul and pairing precompiled contracts. The
+ * pairing check uses two pairs, as a Groth16 verifier does for each of its checks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AltBn128Benchmark {
+
+  private static final BigInteger SCALAR =
+      new BigInteger("30a3d6ec39c0e9b2f02c1e4ed0c8ad6ab2a2cc89a0dff14db2be48d5b9c6af7b", 16);
+
+  private final AltBn128Point point = AltBn128Point.g1().multiply(BigInteger.valueOf(7));
+  private final AltBn128Point otherPoint = AltBn128Point.g1().multiply(BigInteger.valueOf(11));
+  private final AltBn128Fq2Point twistPoint = AltBn128Fq2Point.g2();
+
+  private final AltBn128JacobianPoint jacobianPoint =
+      AltBn128JacobianPoint.g1().multiply(BigInteger.valueOf(7));
+  private final AltBn128JacobianPoint otherJacobianPoint =
+      AltBn128JacobianPoint.g1().multiply(BigInteger.valueOf(11));
+  private final AltBn128JacobianFq2Point jacobianTwistPoint = AltBn128JacobianFq2Point.g2();
+
+  @Benchmark
+  public AltBn128Point bigIntegerAdd() {
+    return point.add(otherPoint);
+  }
+
+  @Benchmark
+  public Object montgomeryAdd() {
+    return jacobianPoint.add(otherJacobianPoint).toBytesValue();
+  }
+
+  @Benchmark
+  public AltBn128Point bigIntegerMul() {
+    return point.multiply(SCALAR);
+  }
+
+  @Benchmark
+  public Object montgomeryMul() {
+    return jacobianPoint.multiply(SCALAR).toBytesValue();
+  }
+
+  @Benchmark
+  public boolean bigIntegerPairingCheck() {
+    final Fq12 product =
+        AltBn128Fq12Pairer.pair(point, twistPoint)
+            .multiply(AltBn128Fq12Pairer.pair(point.negate(), twistPoint));
+    return AltBn128Fq12Pairer.finalize(product).equals(Fq12.one());
+  }
+
+  @Benchmark
+  public boolean montgomeryPairingCheck() {
+    return AltBn128MontgomeryPairer.pairingCheck(
+        asList(jacobianPoint, jacobianPoint.negate()),
+        asList(jacobianTwistPoint, jacobianTwistPoint));
+  }
+
+  @Benchmark
+  public boolean montgomeryTwistPointValidation() {
+    return jacobianTwistPoint.multiply(AltBn128JacobianFq2Point.CURVE_ORDER).isInfinity();
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A point on the twisted curve {@code y^2 = x^3 + 3 / (9 + u)} over {@code Fq2}, held in Jacobian
+ * coordinates. This is the counterpart of {@link AltBn128Fq2Point} built on {@link MontgomeryFq2}.
+ */
+public final class AltBn128JacobianFq2Point {
+
+  static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+
+  private static final MontgomeryFq2 B =
+      MontgomeryFq2.create(3, 0).multiply(MontgomeryFq2.create(9, 1).inverse());
+
+  private static final AltBn128JacobianFq2Point INFINITY =
+      new AltBn128JacobianFq2Point(MontgomeryFq2.one(), MontgomeryFq2.one(), MontgomeryFq2.zero());
+
+  private final MontgomeryFq2 x;
+  private final MontgomeryFq2 y;
+  private final MontgomeryFq2 z;
+
+  private AltBn128JacobianFq2Point(
+      final MontgomeryFq2 x, final MontgomeryFq2 y, final MontgomeryFq2 z) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+
+  public static AltBn128JacobianFq2Point infinity() {
+    return INFINITY;
+  }
+
+  public static AltBn128JacobianFq2Point g2() {
+    return new AltBn128JacobianFq2Point(
+        MontgomeryFq2.create(
+            new BigInteger(
+                "10857046999023057135944570762232829481370756359578518086990519993285655852781"),
+            new BigInteger(
+                "11559732032986387107991004021392285783925812861821192530917403151452391805634")),
+        MontgomeryFq2.create(
+            new BigInteger(
+                "8495653923123431417604973247489272438418190587263600148770280649306958101930"),
+            new BigInteger(
+                "4082367875863433681332203403145435568316851327593401208105741076214120093531")),
+        MontgomeryFq2.one());
+  }
+
+  /**
+   * Creates a point from the real and imaginary parts of its affine coordinates, using all zeros
+   * for the point at infinity.
+   *
+   * @return the point, or empty if a coordinate is not a field element, the point is not on the
+   *     twisted curve or it is not in the subgroup of order {@link #CURVE_ORDER}
+   */
+  public static Optional<AltBn128JacobianFq2Point> fromAffine(
+      final BigInteger xReal,
+      final BigInteger xImaginary,
+      final BigInteger yReal,
+      final BigInteger yImaginary) {
+    if (!MontgomeryFq.isValid(xReal)
+        || !MontgomeryFq.isValid(xImaginary)
+        || !MontgomeryFq.isValid(yReal)
+        || !MontgomeryFq.isValid(yImaginary)) {
+      return Optional.empty();
+    }
+    final MontgomeryFq2 affineX = MontgomeryFq2.create(xReal, xImaginary);
+    final MontgomeryFq2 affineY = MontgomeryFq2.create(yReal, yImaginary);
+    if (affineX.isZero() && affineY.isZero()) {
+      return Optional.of(INFINITY);
+    }
+    if (!affineY.square().equals(affineX.square().multiply(affineX).add(B))) {
+      return Optional.empty();
+    }
+    final AltBn128JacobianFq2Point point =
+        new AltBn128JacobianFq2Point(affineX, affineY, MontgomeryFq2.one());
+    if (!point.multiply(CURVE_ORDER).isInfinity()) {
+      return Optional.empty();
+    }
+    return Optional.of(point);
+  }
+
+  public boolean isInfinity() {
+    return z.isZero();
+  }
+
+  public AltBn128JacobianFq2Point negate() {
+    return isInfinity() ? this : new AltBn128JacobianFq2Point(x, y.negate(), z);
+  }
+
+  public AltBn128JacobianFq2Point doub() {
+    if (isInfinity()) {
+      return this;
+    }
+    final MontgomeryFq2 a = x.square();
+    final MontgomeryFq2 b = y.square();
+    final MontgomeryFq2 c = b.square();
+    final MontgomeryFq2 d = x.add(b).square().subtract(a).subtract(c).twice();
+    final MontgomeryFq2 e = a.twice().add(a);
+    final MontgomeryFq2 newX = e.square().subtract(d.twice());
+    final MontgomeryFq2 newY = e.multiply(d.subtract(newX)).subtract(c.twice().twice().twice());
+    final MontgomeryFq2 newZ = y.multiply(z).twice();
+    return new AltBn128JacobianFq2Point(newX, newY, newZ);
+  }
+
+  public AltBn128JacobianFq2Point add(final AltBn128JacobianFq2Point other) {
+    if (isInfinity()) {
+      return other;
+    }
+    if (other.isInfinity()) {
+      return this;
+    }
+    final MontgomeryFq2 z1z1 = z.square();
+    final MontgomeryFq2 z2z2 = other.z.square();
+    final MontgomeryFq2 u1 = x.multiply(z2z2);
+    final MontgomeryFq2 u2 = other.x.multiply(z1z1);
+    final MontgomeryFq2 s1 = y.multiply(other.z).multiply(z2z2);
+    final MontgomeryFq2 s2 = other.y.multiply(z).multiply(z1z1);
+    final MontgomeryFq2 h = u2.subtract(u1);
+    final MontgomeryFq2 r = s2.subtract(s1).twice();
+    if (h.isZero()) {
+      return r.isZero() ? doub() : INFINITY;
+    }
+    final MontgomeryFq2 i = h.twice().square();
+    final MontgomeryFq2 j = h.multiply(i);
+    final MontgomeryFq2 v = u1.multiply(i);
+    final MontgomeryFq2 newX = r.square().subtract(j).subtract(v.twice());
+    final MontgomeryFq2 newY = r.multiply(v.subtract(newX)).subtract(s1.multiply(j).twice());
+    final MontgomeryFq2 newZ = z.add(other.z).square().subtract(z1z1).subtract(z2z2).multiply(h);
+    return new AltBn128JacobianFq2Point(newX, newY, newZ);
+  }
+
+  public AltBn128JacobianFq2Point multiply(final BigInteger n) {
+    AltBn128JacobianFq2Point result = INFINITY;
+    for (int i = n.bitLength() - 1; i >= 0; --i) {
+      result = result.doub();
+      if (n.testBit(i)) {
+        result = result.add(this);
+      }
+    }
+    return result;
+  }
+
+  /** Returns the affine {@code (x, y)} coordinates, which are both zero for the infinity point. */
+  MontgomeryFq2[] toAffine() {
+    if (isInfinity()) {
+      return new MontgomeryFq2[] {MontgomeryFq2.zero(), MontgomeryFq2.zero()};
+    }
+    final MontgomeryFq2 zInverse = z.inverse();
+    final MontgomeryFq2 zInverseSquared = zInverse.square();
+    return new MontgomeryFq2[] {
+      x.multiply(zInverseSquared), y.multiply(zInverseSquared).multiply(zInverse)
+    };
+  }
+
+  @Override
+  public String toString() {
+    final MontgomeryFq2[] affine = toAffine();
+    return MoreObjects.toStringHelper(AltBn128JacobianFq2Point.class)
+        .add("x", affine[0])
+        .add("y", affine[1])
+        .toString();
+  }
+
+  @Override
+  public int hashCode() {
+    final MontgomeryFq2[] affine = toAffine();
+    return Objects.hash(affine[0], affine[1]);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof AltBn128JacobianFq2Point)) {
+      return false;
+    }
+    final AltBn128JacobianFq2Point other = (AltBn128JacobianFq2Point) obj;
+    if (isInfinity() || other.isInfinity()) {
+      return isInfinity() && other.isInfinity();
+    }
+    final MontgomeryFq2 z1z1 = z.square();
+    final MontgomeryFq2 z2z2 = other.z.square();
+    return x.multiply(z2z2).equals(other.x.multiply(z1z1))
+        && y.multiply(other.z).multiply(z2z2).equals(other.y.multiply(z).multiply(z1z1));
+  }
+}
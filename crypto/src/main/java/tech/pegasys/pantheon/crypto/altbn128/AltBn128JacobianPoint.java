@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A point on the alt_bn128 curve {@code y^2 = x^3 + 3} over {@code Fq}, held in Jacobian
+ * coordinates {@code (X, Y, Z)} representing the affine point {@code (X / Z^2, Y / Z^3)}.
+ *
+ * <p>This is the counterpart of {@link AltBn128Point} built on {@link MontgomeryFq}: additions and
+ * doublings need no field inversion, so a scalar multiplication performs only one.
+ */
+public final class AltBn128JacobianPoint {
+
+  private static final MontgomeryFq B = MontgomeryFq.create(3);
+
+  private static final AltBn128JacobianPoint INFINITY =
+      new AltBn128JacobianPoint(MontgomeryFq.one(), MontgomeryFq.one(), MontgomeryFq.zero());
+
+  private final MontgomeryFq x;
+  private final MontgomeryFq y;
+  private final MontgomeryFq z;
+
+  private AltBn128JacobianPoint(final MontgomeryFq x, final MontgomeryFq y, final MontgomeryFq z) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+
+  public static AltBn128JacobianPoint infinity() {
+    return INFINITY;
+  }
+
+  public static AltBn128JacobianPoint g1() {
+    return new AltBn128JacobianPoint(
+        MontgomeryFq.create(1), MontgomeryFq.create(2), MontgomeryFq.one());
+  }
+
+  /**
+   * Creates a point from its affine coordinates, using {@code (0, 0)} for the point at infinity as
+   * the precompiled contracts do.
+   *
+   * @return the point, or empty if a coordinate is not a field element or the point is not on the
+   *     curve
+   */
+  public static Optional<AltBn128JacobianPoint> fromAffine(final BigInteger x, final BigInteger y) {
+    if (!MontgomeryFq.isValid(x) || !MontgomeryFq.isValid(y)) {
+      return Optional.empty();
+    }
+    final MontgomeryFq affineX = MontgomeryFq.create(x);
+    final MontgomeryFq affineY = MontgomeryFq.create(y);
+    if (affineX.isZero() && affineY.isZero()) {
+      return Optional.of(INFINITY);
+    }
+    if (!affineY.square().equals(affineX.square().multiply(affineX).add(B))) {
+      return Optional.empty();
+    }
+    return Optional.of(new AltBn128JacobianPoint(affineX, affineY, MontgomeryFq.one()));
+  }
+
+  public boolean isInfinity() {
+    return z.isZero();
+  }
+
+  public AltBn128JacobianPoint negate() {
+    return isInfinity() ? this : new AltBn128JacobianPoint(x, y.negate(), z);
+  }
+
+  public AltBn128JacobianPoint doub() {
+    if (isInfinity()) {
+      return this;
+    }
+    final MontgomeryFq a = x.square();
+    final MontgomeryFq b = y.square();
+    final MontgomeryFq c = b.square();
+    final MontgomeryFq d = x.add(b).square().subtract(a).subtract(c).twice();
+    final MontgomeryFq e = a.twice().add(a);
+    final MontgomeryFq newX = e.square().subtract(d.twice());
+    final MontgomeryFq newY = e.multiply(d.subtract(newX)).subtract(c.twice().twice().twice());
+    final MontgomeryFq newZ = y.multiply(z).twice();
+    return new AltBn128JacobianPoint(newX, newY, newZ);
+  }
+
+  public AltBn128JacobianPoint add(final AltBn128JacobianPoint other) {
+    if (isInfinity()) {
+      return other;
+    }
+    if (other.isInfinity()) {
+      return this;
+    }
+    final MontgomeryFq z1z1 = z.square();
+    final MontgomeryFq z2z2 = other.z.square();
+    final MontgomeryFq u1 = x.multiply(z2z2);
+    final MontgomeryFq u2 = other.x.multiply(z1z1);
+    final MontgomeryFq s1 = y.multiply(other.z).multiply(z2z2);
+    final MontgomeryFq s2 = other.y.multiply(z).multiply(z1z1);
+    final MontgomeryFq h = u2.subtract(u1);
+    final MontgomeryFq r = s2.subtract(s1).twice();
+    if (h.isZero()) {
+      return r.isZero() ? doub() : INFINITY;
+    }
+    final MontgomeryFq i = h.twice().square();
+    final MontgomeryFq j = h.multiply(i);
+    final MontgomeryFq v = u1.multiply(i);
+    final MontgomeryFq newX = r.square().subtract(j).subtract(v.twice());
+    final MontgomeryFq newY = r.multiply(v.subtract(newX)).subtract(s1.multiply(j).twice());
+    final MontgomeryFq newZ = z.add(other.z).square().subtract(z1z1).subtract(z2z2).multiply(h);
+    return new AltBn128JacobianPoint(newX, newY, newZ);
+  }
+
+  public AltBn128JacobianPoint multiply(final BigInteger n) {
+    AltBn128JacobianPoint result = INFINITY;
+    for (int i = n.bitLength() - 1; i >= 0; --i) {
+      result = result.doub();
+      if (n.testBit(i)) {
+        result = result.add(this);
+      }
+    }
+    return result;
+  }
+
+  /** Returns the affine {@code (x, y)} coordinates, which are both zero for the infinity point. */
+  MontgomeryFq[] toAffine() {
+    if (isInfinity()) {
+      return new MontgomeryFq[] {MontgomeryFq.zero(), MontgomeryFq.zero()};
+    }
+    final MontgomeryFq zInverse = z.inverse();
+    final MontgomeryFq zInverseSquared = zInverse.square();
+    return new MontgomeryFq[] {
+      x.multiply(zInverseSquared), y.multiply(zInverseSquared).multiply(zInverse)
+    };
+  }
+
+  /** Returns the 64 byte big-endian encoding of the affine coordinates used by the precompiles. */
+  public BytesValue toBytesValue() {
+    final MontgomeryFq[] affine = toAffine();
+    return BytesValues.concatenate(affine[0].toBytes32(), affine[1].toBytes32());
+  }
+
+  @Override
+  public String toString() {
+    final MontgomeryFq[] affine = toAffine();
+    return MoreObjects.toStringHelper(AltBn128JacobianPoint.class)
+        .add("x", affine[0])
+        .add("y", affine[1])
+        .toString();
+  }
+
+  @Override
+  public int hashCode() {
+    final MontgomeryFq[] affine = toAffine();
+    return Objects.hash(affine[0], affine[1]);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof AltBn128JacobianPoint)) {
+      return false;
+    }
+    final AltBn128JacobianPoint other = (AltBn128JacobianPoint) obj;
+    if (isInfinity() || other.isInfinity()) {
+      return isInfinity() && other.isInfinity();
+    }
+    // Compare X1 / Z1^2 with X2 / Z2^2 and Y1 / Z1^3 with Y2 / Z2^3 without inverting.
+    final MontgomeryFq z1z1 = z.square();
+    final MontgomeryFq z2z2 = other.z.square();
+    return x.multiply(z2z2).equals(other.x.multiply(z1z1))
+        && y.multiply(other.z).multiply(z2z2).equals(other.y.multiply(z).multiply(z1z1));
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The optimal ate pairing computed by {@link AltBn128Fq12Pairer}, evaluated over the Montgomery
+ * field tower.
+ *
+ * <p>The Miller loop keeps the G2 point in Jacobian coordinates on the twisted curve and multiplies
+ * in each line function as a sparse element, rather than mapping both points into {@link Fq12}.
+ * Line functions are scaled by factors from {@code Fq2}, which the final exponentiation removes, so
+ * the finalized values are the same as those of {@link AltBn128Fq12Pairer}.
+ */
+public class AltBn128MontgomeryPairer {
+
+  private static final int LOG_ATE_LOOP_COUNT = 63;
+
+  private static final BigInteger ATE_LOOP_COUNT = new BigInteger("29793968203157093288");
+
+  // (p^4 - p^2 + 1) / r, the part of the final exponent that is not a product of Frobenius maps.
+  private static final BigInteger FINAL_EXPONENT_HARD_PART =
+      FieldElement.FIELD_MODULUS
+          .pow(4)
+          .subtract(FieldElement.FIELD_MODULUS.pow(2))
+          .add(BigInteger.ONE)
+          .divide(AltBn128JacobianFq2Point.CURVE_ORDER);
+
+  /**
+   * Checks whether the product of the pairings of each G1 point with the G2 point at the same
+   * index is one, as the pairing precompiled contract does.
+   */
+  public static boolean pairingCheck(
+      final List<AltBn128JacobianPoint> g1Points, final List<AltBn128JacobianFq2Point> g2Points) {
+    return finalize(millerLoop(g1Points, g2Points)).equals(MontgomeryFq12.one());
+  }
+
+  /**
+   * Computes the product of the Miller loops of each pair, sharing the squaring of the accumulator
+   * between them.
+   */
+  static MontgomeryFq12 millerLoop(
+      final List<AltBn128JacobianPoint> g1Points, final List<AltBn128JacobianFq2Point> g2Points) {
+    checkArgument(g1Points.size() == g2Points.size(), "points must be paired");
+    final List<MillerLoopState> states = new ArrayList<>(g1Points.size());
+    for (int i = 0; i < g1Points.size(); ++i) {
+      final AltBn128JacobianPoint p = g1Points.get(i);
+      final AltBn128JacobianFq2Point q = g2Points.get(i);
+      if (!p.isInfinity() && !q.isInfinity()) {
+        states.add(new MillerLoopState(p.toAffine(), q.toAffine()));
+      }
+    }
+
+    MontgomeryFq12 f = MontgomeryFq12.one();
+    if (states.isEmpty()) {
+      return f;
+    }
+    for (int i = LOG_ATE_LOOP_COUNT; i >= 0; --i) {
+      f = f.square();
+      for (final MillerLoopState state : states) {
+        f = state.doublingStep(f);
+      }
+      if (ATE_LOOP_COUNT.testBit(i)) {
+        for (final MillerLoopState state : states) {
+          f = state.additionStep(f, state.qx, state.qy);
+        }
+      }
+    }
+
+    for (final MillerLoopState state : states) {
+      // Q1 = pi(Q) and -Q2 = -pi^2(Q), with the Frobenius map pi carried over to the twist.
+      final MontgomeryFq2 q1x = frobenius(state.qx, 2);
+      final MontgomeryFq2 q1y = frobenius(state.qy, 3);
+      f = state.additionStep(f, q1x, q1y);
+      f = state.additionStep(f, frobenius(q1x, 2), frobenius(q1y, 3).negate());
+    }
+    return f;
+  }
+
+  /** Applies the Frobenius map to the coefficient of {@code w^k} in an untwisted coordinate. */
+  private static MontgomeryFq2 frobenius(final MontgomeryFq2 coordinate, final int k) {
+    return coordinate.conjugate().multiply(MontgomeryFq12.frobeniusCoefficient(k));
+  }
+
+  static MontgomeryFq12 finalize(final MontgomeryFq12 f) {
+    // f^(p^6 - 1), then to the power p^2 + 1; both are cheap through conjugation and Frobenius.
+    MontgomeryFq12 result = f.conjugate().multiply(f.inverse());
+    result = result.frobenius().frobenius().multiply(result);
+    return result.power(FINAL_EXPONENT_HARD_PART);
+  }
+
+  /** The running multiple T of one G2 point during the Miller loop. */
+  private static class MillerLoopState {
+    private final MontgomeryFq xP;
+    private final MontgomeryFq yP;
+    private final MontgomeryFq2 qx;
+    private final MontgomeryFq2 qy;
+    private MontgomeryFq2 tx;
+    private MontgomeryFq2 ty;
+    private MontgomeryFq2 tz;
+
+    private MillerLoopState(final MontgomeryFq[] p, final MontgomeryFq2[] q) {
+      this.xP = p[0];
+      this.yP = p[1];
+      this.qx = q[0];
+      this.qy = q[1];
+      this.tx = q[0];
+      this.ty = q[1];
+      this.tz = MontgomeryFq2.one();
+    }
+
+    /**
+     * Multiplies {@code f} by the tangent line at T evaluated at P, and doubles T.
+     *
+     * <p>With {@code lambda = 3x^2 / 2y}, the untwisted line is {@code yP - lambda * xP * w +
+     * (lambda * x - y) * w^3}; the coefficients below are that line scaled by {@code 2 * Y * Z^3}.
+     */
+    private MontgomeryFq12 doublingStep(final MontgomeryFq12 f) {
+      final MontgomeryFq2 zz = tz.square();
+      final MontgomeryFq2 a = tx.square();
+      final MontgomeryFq2 b = ty.square();
+      final MontgomeryFq2 c = b.square();
+      final MontgomeryFq2 d = tx.add(b).square().subtract(a).subtract(c).twice();
+      final MontgomeryFq2 e = a.twice().add(a);
+      final MontgomeryFq2 newX = e.square().subtract(d.twice());
+      final MontgomeryFq2 newY = e.multiply(d.subtract(newX)).subtract(c.twice().twice().twice());
+      final MontgomeryFq2 newZ = ty.multiply(tz).twice();
+
+      final MontgomeryFq2 l0 = newZ.multiply(zz).multiply(yP);
+      final MontgomeryFq2 l1 = e.multiply(zz).multiply(xP).negate();
+      final MontgomeryFq2 l2 = e.multiply(tx).subtract(b.twice());
+
+      tx = newX;
+      ty = newY;
+      tz = newZ;
+      return f.multiplyByLine(l0, l1, l2);
+    }
+
+    /**
+     * Multiplies {@code f} by the line through T and the affine point {@code (x2, y2)} evaluated at
+     * P, and adds that point to T.
+     *
+     * <p>Points in the subgroup of order r never reach T = Q or T = -Q within the loop, so the
+     * general addition formula always applies.
+     */
+    private MontgomeryFq12 additionStep(
+        final MontgomeryFq12 f, final MontgomeryFq2 x2, final MontgomeryFq2 y2) {
+      final MontgomeryFq2 zz = tz.square();
+      final MontgomeryFq2 h = x2.multiply(zz).subtract(tx);
+      final MontgomeryFq2 r = y2.multiply(tz).multiply(zz).subtract(ty);
+      final MontgomeryFq2 hh = h.square();
+      final MontgomeryFq2 hhh = h.multiply(hh);
+      final MontgomeryFq2 v = tx.multiply(hh);
+      final MontgomeryFq2 newX = r.square().subtract(hhh).subtract(v.twice());
+      final MontgomeryFq2 newY = r.multiply(v.subtract(newX)).subtract(ty.multiply(hhh));
+      final MontgomeryFq2 newZ = tz.multiply(h);
+
+      final MontgomeryFq2 l0 = newZ.multiply(yP);
+      final MontgomeryFq2 l1 = r.multiply(xP).negate();
+      final MontgomeryFq2 l2 = r.multiply(x2).subtract(y2.multiply(newZ));
+
+      tx = newX;
+      ty = newY;
+      tz = newZ;
+      return f.multiplyByLine(l0, l1, l2);
+    }
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * An element of the alt_bn128 base field, held in Montgomery form as eight 32-bit limbs with the
+ * least significant limb first.
+ *
+ * <p>This is the fixed-width counterpart of {@link Fq}: multiplication uses word-by-word Montgomery
+ * reduction instead of a {@link BigInteger} division, so no operation allocates more than its
+ * result.
+ */
+final class MontgomeryFq {
+
+  private static final int LIMBS = 8;
+  private static final long MASK = 0xFFFFFFFFL;
+
+  private static final BigInteger R = BigInteger.ONE.shiftLeft(LIMBS * 32);
+  private static final int[] MODULUS = toLimbs(FieldElement.FIELD_MODULUS);
+  // -MODULUS^-1 mod 2^32
+  private static final long INVERSE =
+      FieldElement.FIELD_MODULUS.negate().modInverse(BigInteger.ONE.shiftLeft(32)).longValue();
+  private static final int[] R_SQUARED = toLimbs(R.multiply(R).mod(FieldElement.FIELD_MODULUS));
+  private static final int[] PLAIN_ONE = toLimbs(BigInteger.ONE);
+  private static final BigInteger MODULUS_MINUS_TWO =
+      FieldElement.FIELD_MODULUS.subtract(BigInteger.valueOf(2));
+
+  private static final MontgomeryFq ZERO = new MontgomeryFq(new int[LIMBS]);
+  private static final MontgomeryFq ONE = create(BigInteger.ONE);
+
+  private final int[] limbs;
+
+  private MontgomeryFq(final int[] limbs) {
+    this.limbs = limbs;
+  }
+
+  static MontgomeryFq zero() {
+    return ZERO;
+  }
+
+  static MontgomeryFq one() {
+    return ONE;
+  }
+
+  static MontgomeryFq create(final BigInteger n) {
+    checkArgument(
+        n.signum() >= 0 && n.compareTo(FieldElement.FIELD_MODULUS) < 0,
+        "value must be a canonical field element");
+    return new MontgomeryFq(montgomeryMultiply(toLimbs(n), R_SQUARED));
+  }
+
+  static MontgomeryFq create(final long n) {
+    return create(BigInteger.valueOf(n));
+  }
+
+  static boolean isValid(final BigInteger n) {
+    return n.signum() >= 0 && n.compareTo(FieldElement.FIELD_MODULUS) < 0;
+  }
+
+  BigInteger toBigInteger() {
+    return new BigInteger(1, toBytes32().extractArray());
+  }
+
+  Bytes32 toBytes32() {
+    final int[] plain = montgomeryMultiply(limbs, PLAIN_ONE);
+    final byte[] bytes = new byte[Bytes32.SIZE];
+    for (int i = 0; i < LIMBS; ++i) {
+      final int limb = plain[LIMBS - 1 - i];
+      bytes[i * 4] = (byte) (limb >>> 24);
+      bytes[i * 4 + 1] = (byte) (limb >>> 16);
+      bytes[i * 4 + 2] = (byte) (limb >>> 8);
+      bytes[i * 4 + 3] = (byte) limb;
+    }
+    return Bytes32.wrap(bytes);
+  }
+
+  boolean isZero() {
+    for (final int limb : limbs) {
+      if (limb != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  MontgomeryFq add(final MontgomeryFq other) {
+    final int[] result = new int[LIMBS];
+    long carry = 0;
+    for (int i = 0; i < LIMBS; ++i) {
+      carry += (limbs[i] & MASK) + (other.limbs[i] & MASK);
+      result[i] = (int) carry;
+      carry >>>= 32;
+    }
+    // Both operands are below the modulus, which is less than 2^254, so the sum cannot overflow.
+    subtractModulusIfNeeded(result);
+    return new MontgomeryFq(result);
+  }
+
+  MontgomeryFq twice() {
+    return add(this);
+  }
+
+  MontgomeryFq subtract(final MontgomeryFq other) {
+    final int[] result = new int[LIMBS];
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; ++i) {
+      final long difference = (limbs[i] & MASK) - (other.limbs[i] & MASK) - borrow;
+      result[i] = (int) difference;
+      borrow = difference >>> 63;
+    }
+    if (borrow != 0) {
+      long carry = 0;
+      for (int i = 0; i < LIMBS; ++i) {
+        carry += (result[i] & MASK) + (MODULUS[i] & MASK);
+        result[i] = (int) carry;
+        carry >>>= 32;
+      }
+    }
+    return new MontgomeryFq(result);
+  }
+
+  MontgomeryFq negate() {
+    return isZero() ? this : ZERO.subtract(this);
+  }
+
+  MontgomeryFq multiply(final MontgomeryFq other) {
+    return new MontgomeryFq(montgomeryMultiply(limbs, other.limbs));
+  }
+
+  MontgomeryFq square() {
+    return multiply(this);
+  }
+
+  MontgomeryFq power(final BigInteger exponent) {
+    MontgomeryFq result = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; --i) {
+      result = result.square();
+      if (exponent.testBit(i)) {
+        result = result.multiply(this);
+      }
+    }
+    return result;
+  }
+
+  /** Returns the multiplicative inverse of this element, or zero if this element is zero. */
+  MontgomeryFq inverse() {
+    return power(MODULUS_MINUS_TWO);
+  }
+
+  /**
+   * Coarsely integrated operand scanning Montgomery multiplication, computing {@code a * b / 2^256}
+   * modulo the field modulus.
+   */
+  private static int[] montgomeryMultiply(final int[] a, final int[] b) {
+    final long[] t = new long[LIMBS + 2];
+    for (int i = 0; i < LIMBS; ++i) {
+      final long bi = b[i] & MASK;
+      long carry = 0;
+      for (int j = 0; j < LIMBS; ++j) {
+        // At most (2^32 - 1)^2 + 2 * (2^32 - 1) = 2^64 - 1, so treating it as unsigned is exact.
+        final long sum = t[j] + (a[j] & MASK) * bi + carry;
+        t[j] = sum & MASK;
+        carry = sum >>> 32;
+      }
+      long sum = t[LIMBS] + carry;
+      t[LIMBS] = sum & MASK;
+      t[LIMBS + 1] = sum >>> 32;
+
+      final long m = (t[0] * INVERSE) & MASK;
+      carry = (t[0] + m * (MODULUS[0] & MASK)) >>> 32;
+      for (int j = 1; j < LIMBS; ++j) {
+        sum = t[j] + m * (MODULUS[j] & MASK) + carry;
+        t[j - 1] = sum & MASK;
+        carry = sum >>> 32;
+      }
+      sum = t[LIMBS] + carry;
+      t[LIMBS - 1] = sum & MASK;
+      t[LIMBS] = t[LIMBS + 1] + (sum >>> 32);
+    }
+
+    // The modulus is less than 2^254, so the result is less than twice the modulus and fits.
+    final int[] result = new int[LIMBS];
+    for (int i = 0; i < LIMBS; ++i) {
+      result[i] = (int) t[i];
+    }
+    subtractModulusIfNeeded(result);
+    return result;
+  }
+
+  private static void subtractModulusIfNeeded(final int[] value) {
+    for (int i = LIMBS - 1; i >= 0; --i) {
+      final int comparison = Integer.compareUnsigned(value[i], MODULUS[i]);
+      if (comparison < 0) {
+        return;
+      } else if (comparison > 0) {
+        break;
+      }
+    }
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; ++i) {
+      final long difference = (value[i] & MASK) - (MODULUS[i] & MASK) - borrow;
+      value[i] = (int) difference;
+      borrow = difference >>> 63;
+    }
+  }
+
+  private static int[] toLimbs(final BigInteger n) {
+    final int[] result = new int[LIMBS];
+    for (int i = 0; i < LIMBS; ++i) {
+      result[i] = n.shiftRight(i * 32).intValue();
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryFq.class).add("n", toBigInteger()).toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(limbs);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq)) {
+      return false;
+    }
+    final MontgomeryFq other = (MontgomeryFq) obj;
+    return Arrays.equals(limbs, other.limbs);
+  }
+}
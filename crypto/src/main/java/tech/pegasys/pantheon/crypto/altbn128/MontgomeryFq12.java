@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * An element {@code c0 + c1 * w} of the quadratic extension {@code Fq6[w] / (w^2 - v)}.
+ *
+ * <p>Since {@code w^6 = 9 + u}, this is the same field as {@link Fq12}, whose elements are
+ * polynomials in {@code w} over {@code Fq}.
+ */
+final class MontgomeryFq12 {
+
+  private static final MontgomeryFq12 ONE =
+      new MontgomeryFq12(MontgomeryFq6.one(), MontgomeryFq6.zero());
+
+  // (9 + u)^(k * (p - 1) / 6), by which the Frobenius map scales the coefficient of w^k.
+  private static final MontgomeryFq2[] FROBENIUS_COEFFICIENTS = new MontgomeryFq2[6];
+
+  static {
+    final BigInteger exponent =
+        FieldElement.FIELD_MODULUS.subtract(BigInteger.ONE).divide(BigInteger.valueOf(6));
+    final MontgomeryFq2 gamma = MontgomeryFq2.create(9, 1).power(exponent);
+    FROBENIUS_COEFFICIENTS[0] = MontgomeryFq2.one();
+    for (int k = 1; k < FROBENIUS_COEFFICIENTS.length; ++k) {
+      FROBENIUS_COEFFICIENTS[k] = FROBENIUS_COEFFICIENTS[k - 1].multiply(gamma);
+    }
+  }
+
+  final MontgomeryFq6 c0;
+  final MontgomeryFq6 c1;
+
+  MontgomeryFq12(final MontgomeryFq6 c0, final MontgomeryFq6 c1) {
+    this.c0 = c0;
+    this.c1 = c1;
+  }
+
+  static MontgomeryFq12 one() {
+    return ONE;
+  }
+
+  static MontgomeryFq2 frobeniusCoefficient(final int k) {
+    return FROBENIUS_COEFFICIENTS[k];
+  }
+
+  MontgomeryFq12 multiply(final MontgomeryFq12 other) {
+    final MontgomeryFq6 v0 = c0.multiply(other.c0);
+    final MontgomeryFq6 v1 = c1.multiply(other.c1);
+    return new MontgomeryFq12(
+        v1.multiplyByV().add(v0),
+        c0.add(c1).multiply(other.c0.add(other.c1)).subtract(v0).subtract(v1));
+  }
+
+  /**
+   * Multiplies by a line function value {@code l0 + (l1 + l2 * v) * w}, where {@code l0} is the
+   * only non-zero coefficient of its first half.
+   */
+  MontgomeryFq12 multiplyByLine(
+      final MontgomeryFq2 l0, final MontgomeryFq2 l1, final MontgomeryFq2 l2) {
+    final MontgomeryFq6 v0 = c0.multiply(l0);
+    final MontgomeryFq6 v1 = c1.multiply(l1, l2);
+    return new MontgomeryFq12(
+        v1.multiplyByV().add(v0), c0.add(c1).multiply(l0.add(l1), l2).subtract(v0).subtract(v1));
+  }
+
+  MontgomeryFq12 square() {
+    final MontgomeryFq6 product = c0.multiply(c1);
+    return new MontgomeryFq12(
+        c0.add(c1)
+            .multiply(c0.add(c1.multiplyByV()))
+            .subtract(product)
+            .subtract(product.multiplyByV()),
+        product.twice());
+  }
+
+  /** Raises this element to the power {@code p^6}, which negates the odd powers of {@code w}. */
+  MontgomeryFq12 conjugate() {
+    return new MontgomeryFq12(c0, c1.negate());
+  }
+
+  /** Raises this element to the power {@code p}. */
+  MontgomeryFq12 frobenius() {
+    return new MontgomeryFq12(
+        new MontgomeryFq6(
+            c0.c0.conjugate(),
+            c0.c1.conjugate().multiply(FROBENIUS_COEFFICIENTS[2]),
+            c0.c2.conjugate().multiply(FROBENIUS_COEFFICIENTS[4])),
+        new MontgomeryFq6(
+            c1.c0.conjugate().multiply(FROBENIUS_COEFFICIENTS[1]),
+            c1.c1.conjugate().multiply(FROBENIUS_COEFFICIENTS[3]),
+            c1.c2.conjugate().multiply(FROBENIUS_COEFFICIENTS[5])));
+  }
+
+  /** Returns the multiplicative inverse of this element, or zero if this element is zero. */
+  MontgomeryFq12 inverse() {
+    final MontgomeryFq6 normInverse = c0.square().subtract(c1.square().multiplyByV()).inverse();
+    return new MontgomeryFq12(c0.multiply(normInverse), c1.multiply(normInverse).negate());
+  }
+
+  MontgomeryFq12 power(final BigInteger exponent) {
+    MontgomeryFq12 result = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; --i) {
+      result = result.square();
+      if (exponent.testBit(i)) {
+        result = result.multiply(this);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryFq12.class).add("c0", c0).add("c1", c1).toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(c0, c1);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq12)) {
+      return false;
+    }
+    final MontgomeryFq12 other = (MontgomeryFq12) obj;
+    return c0.equals(other.c0) && c1.equals(other.c1);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+
+/** An element {@code c0 + c1 * u} of the quadratic extension {@code Fq[u] / (u^2 + 1)}. */
+final class MontgomeryFq2 {
+
+  private static final MontgomeryFq2 ZERO =
+      new MontgomeryFq2(MontgomeryFq.zero(), MontgomeryFq.zero());
+  private static final MontgomeryFq2 ONE =
+      new MontgomeryFq2(MontgomeryFq.one(), MontgomeryFq.zero());
+
+  final MontgomeryFq c0;
+  final MontgomeryFq c1;
+
+  MontgomeryFq2(final MontgomeryFq c0, final MontgomeryFq c1) {
+    this.c0 = c0;
+    this.c1 = c1;
+  }
+
+  static MontgomeryFq2 zero() {
+    return ZERO;
+  }
+
+  static MontgomeryFq2 one() {
+    return ONE;
+  }
+
+  static MontgomeryFq2 create(final BigInteger c0, final BigInteger c1) {
+    return new MontgomeryFq2(MontgomeryFq.create(c0), MontgomeryFq.create(c1));
+  }
+
+  static MontgomeryFq2 create(final long c0, final long c1) {
+    return new MontgomeryFq2(MontgomeryFq.create(c0), MontgomeryFq.create(c1));
+  }
+
+  boolean isZero() {
+    return c0.isZero() && c1.isZero();
+  }
+
+  MontgomeryFq2 add(final MontgomeryFq2 other) {
+    return new MontgomeryFq2(c0.add(other.c0), c1.add(other.c1));
+  }
+
+  MontgomeryFq2 twice() {
+    return new MontgomeryFq2(c0.twice(), c1.twice());
+  }
+
+  MontgomeryFq2 subtract(final MontgomeryFq2 other) {
+    return new MontgomeryFq2(c0.subtract(other.c0), c1.subtract(other.c1));
+  }
+
+  MontgomeryFq2 negate() {
+    return new MontgomeryFq2(c0.negate(), c1.negate());
+  }
+
+  MontgomeryFq2 conjugate() {
+    return new MontgomeryFq2(c0, c1.negate());
+  }
+
+  MontgomeryFq2 multiply(final MontgomeryFq2 other) {
+    final MontgomeryFq v0 = c0.multiply(other.c0);
+    final MontgomeryFq v1 = c1.multiply(other.c1);
+    return new MontgomeryFq2(
+        v0.subtract(v1), c0.add(c1).multiply(other.c0.add(other.c1)).subtract(v0).subtract(v1));
+  }
+
+  MontgomeryFq2 multiply(final MontgomeryFq other) {
+    return new MontgomeryFq2(c0.multiply(other), c1.multiply(other));
+  }
+
+  MontgomeryFq2 square() {
+    final MontgomeryFq product = c0.multiply(c1);
+    return new MontgomeryFq2(c0.add(c1).multiply(c0.subtract(c1)), product.twice());
+  }
+
+  /** Multiplies by the non-residue {@code 9 + u} used to build the sextic extension. */
+  MontgomeryFq2 multiplyByNonResidue() {
+    final MontgomeryFq eightC0 = c0.twice().twice().twice();
+    final MontgomeryFq eightC1 = c1.twice().twice().twice();
+    return new MontgomeryFq2(eightC0.add(c0).subtract(c1), eightC1.add(c1).add(c0));
+  }
+
+  /** Returns the multiplicative inverse of this element, or zero if this element is zero. */
+  MontgomeryFq2 inverse() {
+    final MontgomeryFq normInverse = c0.square().add(c1.square()).inverse();
+    return new MontgomeryFq2(c0.multiply(normInverse), c1.multiply(normInverse).negate());
+  }
+
+  MontgomeryFq2 power(final BigInteger exponent) {
+    MontgomeryFq2 result = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; --i) {
+      result = result.square();
+      if (exponent.testBit(i)) {
+        result = result.multiply(this);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryFq2.class).add("c0", c0).add("c1", c1).toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(c0, c1);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq2)) {
+      return false;
+    }
+    final MontgomeryFq2 other = (MontgomeryFq2) obj;
+    return c0.equals(other.c0) && c1.equals(other.c1);
+  }
+}
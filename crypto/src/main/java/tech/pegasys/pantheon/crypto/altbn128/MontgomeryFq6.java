@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * An element {@code c0 + c1 * v + c2 * v^2} of the cubic extension {@code Fq2[v] / (v^3 - (9 +
+ * u))}.
+ */
+final class MontgomeryFq6 {
+
+  private static final MontgomeryFq6 ZERO =
+      new MontgomeryFq6(MontgomeryFq2.zero(), MontgomeryFq2.zero(), MontgomeryFq2.zero());
+  private static final MontgomeryFq6 ONE =
+      new MontgomeryFq6(MontgomeryFq2.one(), MontgomeryFq2.zero(), MontgomeryFq2.zero());
+
+  final MontgomeryFq2 c0;
+  final MontgomeryFq2 c1;
+  final MontgomeryFq2 c2;
+
+  MontgomeryFq6(final MontgomeryFq2 c0, final MontgomeryFq2 c1, final MontgomeryFq2 c2) {
+    this.c0 = c0;
+    this.c1 = c1;
+    this.c2 = c2;
+  }
+
+  static MontgomeryFq6 zero() {
+    return ZERO;
+  }
+
+  static MontgomeryFq6 one() {
+    return ONE;
+  }
+
+  boolean isZero() {
+    return c0.isZero() && c1.isZero() && c2.isZero();
+  }
+
+  MontgomeryFq6 add(final MontgomeryFq6 other) {
+    return new MontgomeryFq6(c0.add(other.c0), c1.add(other.c1), c2.add(other.c2));
+  }
+
+  MontgomeryFq6 twice() {
+    return new MontgomeryFq6(c0.twice(), c1.twice(), c2.twice());
+  }
+
+  MontgomeryFq6 subtract(final MontgomeryFq6 other) {
+    return new MontgomeryFq6(c0.subtract(other.c0), c1.subtract(other.c1), c2.subtract(other.c2));
+  }
+
+  MontgomeryFq6 negate() {
+    return new MontgomeryFq6(c0.negate(), c1.negate(), c2.negate());
+  }
+
+  MontgomeryFq6 multiply(final MontgomeryFq6 other) {
+    final MontgomeryFq2 v0 = c0.multiply(other.c0);
+    final MontgomeryFq2 v1 = c1.multiply(other.c1);
+    final MontgomeryFq2 v2 = c2.multiply(other.c2);
+    return new MontgomeryFq6(
+        c1.add(c2)
+            .multiply(other.c1.add(other.c2))
+            .subtract(v1)
+            .subtract(v2)
+            .multiplyByNonResidue()
+            .add(v0),
+        c0.add(c1)
+            .multiply(other.c0.add(other.c1))
+            .subtract(v0)
+            .subtract(v1)
+            .add(v2.multiplyByNonResidue()),
+        c0.add(c2).multiply(other.c0.add(other.c2)).subtract(v0).subtract(v2).add(v1));
+  }
+
+  /** Multiplies by an element whose {@code v^2} coefficient is zero. */
+  MontgomeryFq6 multiply(final MontgomeryFq2 b0, final MontgomeryFq2 b1) {
+    final MontgomeryFq2 v0 = c0.multiply(b0);
+    final MontgomeryFq2 v1 = c1.multiply(b1);
+    return new MontgomeryFq6(
+        c2.multiply(b1).multiplyByNonResidue().add(v0),
+        c0.add(c1).multiply(b0.add(b1)).subtract(v0).subtract(v1),
+        c2.multiply(b0).add(v1));
+  }
+
+  MontgomeryFq6 multiply(final MontgomeryFq2 scalar) {
+    return new MontgomeryFq6(c0.multiply(scalar), c1.multiply(scalar), c2.multiply(scalar));
+  }
+
+  MontgomeryFq6 square() {
+    return multiply(this);
+  }
+
+  /** Multiplies by {@code v}, which only rotates the coefficients. */
+  MontgomeryFq6 multiplyByV() {
+    return new MontgomeryFq6(c2.multiplyByNonResidue(), c0, c1);
+  }
+
+  /** Returns the multiplicative inverse of this element, or zero if this element is zero. */
+  MontgomeryFq6 inverse() {
+    final MontgomeryFq2 a = c0.square().subtract(c1.multiply(c2).multiplyByNonResidue());
+    final MontgomeryFq2 b = c2.square().multiplyByNonResidue().subtract(c0.multiply(c1));
+    final MontgomeryFq2 c = c1.square().subtract(c0.multiply(c2));
+    final MontgomeryFq2 normInverse =
+        c2.multiply(b).add(c1.multiply(c)).multiplyByNonResidue().add(c0.multiply(a)).inverse();
+    return new MontgomeryFq6(
+        a.multiply(normInverse), b.multiply(normInverse), c.multiply(normInverse));
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryFq6.class)
+        .add("c0", c0)
+        .add("c1", c1)
+        .add("c2", c2)
+        .toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(c0, c1, c2);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq6)) {
+      return false;
+    }
+    final MontgomeryFq6 other = (MontgomeryFq6) obj;
+    return c0.equals(other.c0) && c1.equals(other.c1) && c2.equals(other.c2);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AltBn128JacobianPointTest {
+
+  private final Random random = new Random(1);
+
+  @Test
+  public void shouldMatchAffineAdditionAndMultiplication() {
+    for (int i = 0; i < 10; ++i) {
+      final BigInteger n = new BigInteger(256, random);
+      final BigInteger m = new BigInteger(256, random);
+      final AltBn128Point expectedN = AltBn128Point.g1().multiply(n);
+      final AltBn128Point expectedM = AltBn128Point.g1().multiply(m);
+
+      final AltBn128JacobianPoint actualN = AltBn128JacobianPoint.g1().multiply(n);
+      final AltBn128JacobianPoint actualM = AltBn128JacobianPoint.g1().multiply(m);
+
+      assertThat(actualN.toBytesValue()).isEqualTo(toBytesValue(expectedN));
+      assertThat(actualN.add(actualM).toBytesValue())
+          .isEqualTo(toBytesValue(expectedN.add(expectedM)));
+      assertThat(actualN.add(actualN)).isEqualTo(actualN.doub());
+    }
+  }
+
+  @Test
+  public void shouldReturnInfinityWhenAddingNegation() {
+    final AltBn128JacobianPoint p = AltBn128JacobianPoint.g1().multiply(BigInteger.valueOf(7));
+
+    assertThat(p.add(p.negate()).isInfinity()).isTrue();
+    assertThat(p.add(AltBn128JacobianPoint.infinity())).isEqualTo(p);
+    assertThat(AltBn128JacobianPoint.infinity().toBytesValue())
+        .isEqualTo(BytesValue.wrap(new byte[64]));
+  }
+
+  @Test
+  public void shouldReturnInfinityOnMultiplicationByCurveOrder() {
+    assertThat(
+            AltBn128JacobianPoint.g1()
+                .multiply(AltBn128JacobianFq2Point.CURVE_ORDER)
+                .isInfinity())
+        .isTrue();
+    assertThat(
+            AltBn128JacobianFq2Point.g2()
+                .multiply(AltBn128JacobianFq2Point.CURVE_ORDER)
+                .isInfinity())
+        .isTrue();
+  }
+
+  @Test
+  public void shouldAcceptPointsOnTheCurve() {
+    assertThat(AltBn128JacobianPoint.fromAffine(BigInteger.ONE, BigInteger.valueOf(2)))
+        .contains(AltBn128JacobianPoint.g1());
+    assertThat(AltBn128JacobianPoint.fromAffine(BigInteger.ZERO, BigInteger.ZERO))
+        .contains(AltBn128JacobianPoint.infinity());
+
+    final AltBn128Fq2Point g2 = AltBn128Fq2Point.g2().multiply(BigInteger.valueOf(3));
+    assertThat(fromAffine(g2))
+        .contains(AltBn128JacobianFq2Point.g2().multiply(BigInteger.valueOf(3)));
+  }
+
+  @Test
+  public void shouldRejectPointsNotOnTheCurve() {
+    assertThat(AltBn128JacobianPoint.fromAffine(BigInteger.ONE, BigInteger.ONE)).isEmpty();
+    assertThat(
+            AltBn128JacobianPoint.fromAffine(
+                FieldElement.FIELD_MODULUS.add(BigInteger.ONE), BigInteger.valueOf(2)))
+        .isEmpty();
+    assertThat(
+            AltBn128JacobianFq2Point.fromAffine(
+                BigInteger.ONE, BigInteger.ONE, BigInteger.ONE, BigInteger.ONE))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldRejectTwistPointsOutsideTheSubgroup() {
+    // The twisted curve has a large cofactor, so an arbitrary point on it is not in the subgroup.
+    final MontgomeryFq2 b =
+        MontgomeryFq2.create(3, 0).multiply(MontgomeryFq2.create(9, 1).inverse());
+    for (long x = 1; ; ++x) {
+      final MontgomeryFq2 affineX = MontgomeryFq2.create(x, 0);
+      final MontgomeryFq2 ySquared = affineX.square().multiply(affineX).add(b);
+      final Optional<MontgomeryFq2> y = squareRoot(ySquared);
+      if (y.isPresent()) {
+        assertThat(y.get().square()).isEqualTo(ySquared);
+        assertThat(
+                AltBn128JacobianFq2Point.fromAffine(
+                    BigInteger.valueOf(x),
+                    BigInteger.ZERO,
+                    y.get().c0.toBigInteger(),
+                    y.get().c1.toBigInteger()))
+            .isEmpty();
+        return;
+      }
+    }
+  }
+
+  /** Computes a square root in Fq2 from square roots in Fq, which exist as p = 3 mod 4. */
+  private static Optional<MontgomeryFq2> squareRoot(final MontgomeryFq2 a) {
+    final MontgomeryFq half = MontgomeryFq.create(2).inverse();
+    final Optional<MontgomeryFq> norm = squareRoot(a.c0.square().add(a.c1.square()));
+    if (!norm.isPresent()) {
+      return Optional.empty();
+    }
+    Optional<MontgomeryFq> c0 = squareRoot(a.c0.add(norm.get()).multiply(half));
+    if (!c0.isPresent()) {
+      c0 = squareRoot(a.c0.subtract(norm.get()).multiply(half));
+    }
+    return c0.map(root -> new MontgomeryFq2(root, a.c1.multiply(root.twice().inverse())));
+  }
+
+  private static Optional<MontgomeryFq> squareRoot(final MontgomeryFq a) {
+    final MontgomeryFq root = a.power(FieldElement.FIELD_MODULUS.add(BigInteger.ONE).shiftRight(2));
+    return root.square().equals(a) ? Optional.of(root) : Optional.empty();
+  }
+
+  private static Optional<AltBn128JacobianFq2Point> fromAffine(final AltBn128Fq2Point p) {
+    final Fq[] x = p.getX().getCoefficients();
+    final Fq[] y = p.getY().getCoefficients();
+    return AltBn128JacobianFq2Point.fromAffine(
+        toBigInteger(x[0]), toBigInteger(x[1]), toBigInteger(y[0]), toBigInteger(y[1]));
+  }
+
+  private static BytesValue toBytesValue(final AltBn128Point p) {
+    final byte[] result = new byte[64];
+    final BytesValue x = p.getX().toBytesValue();
+    final BytesValue y = p.getY().toBytesValue();
+    System.arraycopy(x.extractArray(), 0, result, 32 - x.size(), x.size());
+    System.arraycopy(y.extractArray(), 0, result, 64 - y.size(), y.size());
+    return BytesValue.wrap(result);
+  }
+
+  private static BigInteger toBigInteger(final Fq element) {
+    return new BigInteger(1, element.toBytesValue().extractArray());
+  }
+}
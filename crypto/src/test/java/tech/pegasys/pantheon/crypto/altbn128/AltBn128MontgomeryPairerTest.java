@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+public class AltBn128MontgomeryPairerTest {
+
+  private static final AltBn128JacobianPoint G1 = AltBn128JacobianPoint.g1();
+  private static final AltBn128JacobianFq2Point G2 = AltBn128JacobianFq2Point.g2();
+
+  @Test
+  public void shouldMatchBigIntegerPairing() {
+    final BigInteger n = BigInteger.valueOf(5);
+    final BigInteger m = new BigInteger("123456789123456789123456789");
+
+    final Fq12 expected =
+        AltBn128Fq12Pairer.finalize(
+            AltBn128Fq12Pairer.pair(
+                AltBn128Point.g1().multiply(n), AltBn128Fq2Point.g2().multiply(m)));
+    final MontgomeryFq12 actual =
+        AltBn128MontgomeryPairer.finalize(
+            AltBn128MontgomeryPairer.millerLoop(
+                singletonList(G1.multiply(n)), singletonList(G2.multiply(m))));
+
+    assertThat(actual).isEqualTo(MontgomeryFieldTest.toMontgomery(expected));
+  }
+
+  @Test
+  public void shouldEqualOneWhenNegatedPairsAreMultiplied() {
+    assertThat(AltBn128MontgomeryPairer.pairingCheck(asList(G1, G1.negate()), asList(G2, G2)))
+        .isTrue();
+    assertThat(AltBn128MontgomeryPairer.pairingCheck(asList(G1, G1), asList(G2, G2.negate())))
+        .isTrue();
+  }
+
+  @Test
+  public void shouldBeBilinear() {
+    final BigInteger a = new BigInteger("987654321987654321987654321");
+    final BigInteger b = new BigInteger("31415926535897932384626433832795");
+
+    assertThat(
+            AltBn128MontgomeryPairer.pairingCheck(
+                asList(G1.multiply(a), G1.multiply(a.multiply(b)).negate()),
+                asList(G2.multiply(b), G2)))
+        .isTrue();
+  }
+
+  @Test
+  public void shouldBeNondegenerate() {
+    assertThat(AltBn128MontgomeryPairer.pairingCheck(singletonList(G1), singletonList(G2)))
+        .isFalse();
+    assertThat(
+            AltBn128MontgomeryPairer.pairingCheck(
+                asList(G1, G1.doub()), asList(G2, G2.negate())))
+        .isFalse();
+  }
+
+  @Test
+  public void shouldIgnorePairsWithInfinity() {
+    assertThat(
+            AltBn128MontgomeryPairer.pairingCheck(
+                asList(AltBn128JacobianPoint.infinity(), G1),
+                asList(G2, AltBn128JacobianFq2Point.infinity())))
+        .isTrue();
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MontgomeryFieldTest {
+
+  private static final BigInteger MODULUS = FieldElement.FIELD_MODULUS;
+
+  private final Random random = new Random(1);
+
+  @Test
+  public void shouldMatchBigIntegerArithmetic() {
+    for (int i = 0; i < 1000; ++i) {
+      final BigInteger a = randomElement();
+      final BigInteger b = randomElement();
+      final MontgomeryFq x = MontgomeryFq.create(a);
+      final MontgomeryFq y = MontgomeryFq.create(b);
+
+      assertThat(x.toBigInteger()).isEqualTo(a);
+      assertThat(x.add(y).toBigInteger()).isEqualTo(a.add(b).mod(MODULUS));
+      assertThat(x.subtract(y).toBigInteger()).isEqualTo(a.subtract(b).mod(MODULUS));
+      assertThat(x.negate().toBigInteger()).isEqualTo(a.negate().mod(MODULUS));
+      assertThat(x.multiply(y).toBigInteger()).isEqualTo(a.multiply(b).mod(MODULUS));
+    }
+  }
+
+  @Test
+  public void shouldReduceProductsOfLargestElement() {
+    final BigInteger largest = MODULUS.subtract(BigInteger.ONE);
+    final MontgomeryFq x = MontgomeryFq.create(largest);
+
+    assertThat(x.square()).isEqualTo(MontgomeryFq.one());
+    assertThat(x.add(x).toBigInteger()).isEqualTo(largest.subtract(BigInteger.ONE));
+    assertThat(x.add(MontgomeryFq.one())).isEqualTo(MontgomeryFq.zero());
+  }
+
+  @Test
+  public void shouldInvert() {
+    final BigInteger a = randomElement();
+
+    assertThat(MontgomeryFq.create(a).inverse().toBigInteger()).isEqualTo(a.modInverse(MODULUS));
+    assertThat(MontgomeryFq.zero().inverse()).isEqualTo(MontgomeryFq.zero());
+  }
+
+  @Test
+  public void shouldEncodeAsBigEndianBytes() {
+    assertThat(MontgomeryFq.create(0x0102).toBytes32().extractArray())
+        .endsWith((byte) 1, (byte) 2)
+        .hasSize(32);
+  }
+
+  @Test
+  public void fq12ShouldMatchPolynomialArithmetic() {
+    for (int i = 0; i < 10; ++i) {
+      final Fq12 a = randomFq12();
+      final Fq12 b = randomFq12();
+
+      assertThat(toMontgomery(a).multiply(toMontgomery(b))).isEqualTo(toMontgomery(a.multiply(b)));
+      assertThat(toMontgomery(a).square()).isEqualTo(toMontgomery(a.power(2)));
+      assertThat(toMontgomery(a).inverse()).isEqualTo(toMontgomery(Fq12.one().divide(a)));
+    }
+  }
+
+  @Test
+  public void fq12FrobeniusShouldRaiseToThePowerOfTheModulus() {
+    final Fq12 a = randomFq12();
+
+    assertThat(toMontgomery(a).frobenius()).isEqualTo(toMontgomery(a.power(MODULUS)));
+  }
+
+  @Test
+  public void fq12LineMultiplicationShouldMatchFullMultiplication() {
+    final MontgomeryFq12 f = toMontgomery(randomFq12());
+    final MontgomeryFq2 l0 = randomFq2();
+    final MontgomeryFq2 l1 = randomFq2();
+    final MontgomeryFq2 l2 = randomFq2();
+    final MontgomeryFq12 line =
+        new MontgomeryFq12(
+            new MontgomeryFq6(l0, MontgomeryFq2.zero(), MontgomeryFq2.zero()),
+            new MontgomeryFq6(l1, l2, MontgomeryFq2.zero()));
+
+    assertThat(f.multiplyByLine(l0, l1, l2)).isEqualTo(f.multiply(line));
+  }
+
+  /**
+   * Maps an element of {@link Fq12}, a polynomial in w, onto the tower. Each coefficient {@code x +
+   * y * u} of {@code w^k} in the tower contributes {@code x - 9y} to {@code w^k} and {@code y} to
+   * {@code w^(k + 6)}, since {@code u = w^6 - 9}.
+   */
+  static MontgomeryFq12 toMontgomery(final Fq12 element) {
+    final Fq[] coefficients = element.getCoefficients();
+    final MontgomeryFq2[] tower = new MontgomeryFq2[6];
+    for (int k = 0; k < tower.length; ++k) {
+      final BigInteger y = toBigInteger(coefficients[k + 6]);
+      final BigInteger x = toBigInteger(coefficients[k]).add(y.multiply(BigInteger.valueOf(9)));
+      tower[k] = MontgomeryFq2.create(x.mod(MODULUS), y);
+    }
+    return new MontgomeryFq12(
+        new MontgomeryFq6(tower[0], tower[2], tower[4]),
+        new MontgomeryFq6(tower[1], tower[3], tower[5]));
+  }
+
+  private static BigInteger toBigInteger(final Fq element) {
+    return new BigInteger(1, element.toBytesValue().extractArray()).mod(MODULUS);
+  }
+
+  private Fq12 randomFq12() {
+    final Fq[] coefficients = new Fq[Fq12.DEGREE];
+    for (int i = 0; i < coefficients.length; ++i) {
+      coefficients[i] = Fq.create(randomElement());
+    }
+    return new Fq12(coefficients);
+  }
+
+  private MontgomeryFq2 randomFq2() {
+    return MontgomeryFq2.create(randomElement(), randomElement());
+  }
+
+  private BigInteger randomElement() {
+    return new BigInteger(MODULUS.bitLength() + 8, random).mod(MODULUS);
+  }
+}
@@ -28,6 +28,8 @@ import java.util.concurrent.ExecutorService;
 
 public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlockMiner> {
 
+  private final EthHasher ethHasher;
+  private final int minerThreads;
   private volatile Optional<Address> coinbase;
 
   public EthHashMinerExecutor(
@@ -36,7 +38,8 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlo
       final ProtocolSchedule<Void> protocolSchedule,
       final PendingTransactions pendingTransactions,
       final MiningParameters miningParams,
-      final AbstractBlockScheduler blockScheduler) {
+      final AbstractBlockScheduler blockScheduler,
+      final EthHasher ethHasher) {
     super(
         protocolContext,
         executorService,
@@ -44,6 +47,8 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlo
         pendingTransactions,
         miningParams,
         blockScheduler);
+    this.ethHasher = ethHasher;
+    this.minerThreads = miningParams.getMinerThreads();
     this.coinbase = miningParams.getCoinbase();
   }
 
@@ -54,7 +59,8 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlo
       throw new CoinbaseNotSetException("Unable to start mining without a coinbase.");
     } else {
       final EthHashSolver solver =
-          new EthHashSolver(new RandomNonceGenerator(), new EthHasher.Light());
+          new EthHashSolver(
+              new RandomNonceGenerator(), ethHasher, minerThreads, executorService);
       final EthHashBlockCreator blockCreator =
           new EthHashBlockCreator(
               coinbase.get(),
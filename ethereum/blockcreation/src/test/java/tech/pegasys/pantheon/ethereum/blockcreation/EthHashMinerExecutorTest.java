@@ -17,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import tech.pegasys.pantheon.ethereum.core.MiningParameters;
 import tech.pegasys.pantheon.ethereum.core.MiningParametersTestBuilder;
 import tech.pegasys.pantheon.ethereum.eth.transactions.PendingTransactions;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHasher;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.testutil.TestClock;
@@ -45,7 +46,8 @@ public class EthHashMinerExecutorTest {
             null,
             pendingTransactions,
             miningParameters,
-            new DefaultBlockScheduler(1, 10, TestClock.fixed()));
+            new DefaultBlockScheduler(1, 10, TestClock.fixed()),
+            new EthHasher.Light());
 
     assertThatExceptionOfType(CoinbaseNotSetException.class)
         .isThrownBy(() -> executor.startAsyncMining(new Subscribers<>(), null))
@@ -67,7 +69,8 @@ public class EthHashMinerExecutorTest {
             null,
             pendingTransactions,
             miningParameters,
-            new DefaultBlockScheduler(1, 10, TestClock.fixed()));
+            new DefaultBlockScheduler(1, 10, TestClock.fixed()),
+            new EthHasher.Light());
 
     assertThatExceptionOfType(IllegalArgumentException.class)
         .isThrownBy(() -> executor.setCoinbase(null))
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares decoding a stored block body fully with decoding it lazily, for what serving peers and
+ * JSON-RPC requests commonly need from it.
+ */
+@State(Scope.Thread)
+public class BlockBodyDecodingBenchmark {
+
+  @Param({"10", "100", "300"})
+  public int transactionCount;
+
+  private final BlockHeaderFunctions blockHeaderFunctions = new MainnetBlockHeaderFunctions();
+  private BytesValue encodedBody;
+
+  @Setup
+  public void prepare() {
+    final BlockDataGenerator generator = new BlockDataGenerator(1);
+    final BlockOptions options = BlockOptions.create();
+    for (int i = 0; i < transactionCount; ++i) {
+      options.addTransaction(generator.transaction());
+    }
+    encodedBody = RLP.encode(generator.body(options)::writeTo);
+  }
+
+  @Benchmark
+  public List<Hash> eagerTransactionHashes() {
+    return BlockBody.readFrom(RLP.input(encodedBody), blockHeaderFunctions)
+        .getTransactions()
+        .stream()
+        .map(Transaction::hash)
+        .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public List<Hash> lazyTransactionHashes() {
+    return BlockBody.readLazilyFrom(RLP.input(encodedBody), blockHeaderFunctions)
+        .getTransactionHashes();
+  }
+
+  @Benchmark
+  public BytesValue eagerReencoding() {
+    return RLP.encode(BlockBody.readFrom(RLP.input(encodedBody), blockHeaderFunctions)::writeTo);
+  }
+
+  @Benchmark
+  public BytesValue lazyReencoding() {
+    return RLP.encode(
+        BlockBody.readLazilyFrom(RLP.input(encodedBody), blockHeaderFunctions)::writeTo);
+  }
+
+  @Benchmark
+  public List<Transaction> eagerTransactions() {
+    return BlockBody.readFrom(RLP.input(encodedBody), blockHeaderFunctions).getTransactions();
+  }
+
+  @Benchmark
+  public List<Transaction> lazyTransactions() {
+    return BlockBody.readLazilyFrom(RLP.input(encodedBody), blockHeaderFunctions)
+        .getTransactions();
+  }
+}
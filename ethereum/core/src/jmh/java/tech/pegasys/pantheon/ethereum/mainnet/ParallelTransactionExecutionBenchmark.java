@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import tech.pegasys.pantheon.config.StubGenesisConfigOptions;
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.core.ExecutionContextTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Util;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageWorldStateStorage;
+import tech.pegasys.pantheon.ethereum.worldstate.DefaultMutableWorldState;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class ParallelTransactionExecutionBenchmark {
+
+  private static final BigInteger CHAIN_ID = BigInteger.valueOf(2018);
+  private static final Address COUNTER = Address.fromHexString("0xc0");
+  private static final Address HASHER = Address.fromHexString("0xc1");
+  // PUSH1 1 PUSH1 0 SLOAD ADD PUSH1 0 SSTORE
+  private static final BytesValue COUNTER_CODE = BytesValue.fromHexString("0x600160005401600055");
+  // Hashes a word of memory 64 times, then stores the result under the caller's address.
+  private static final BytesValue HASHER_CODE =
+      BytesValue.fromHexString("0x60405b6020600020600052600190038060025750600051335500");
+
+  @Param({"0", "2", "4", "8"})
+  public int threads;
+
+  @Param({
+    "transfers", // Value transfers between distinct accounts, nothing conflicts
+    "hashing", // Compute heavy contract calls updating distinct storage slots
+    "counter" // Contract calls all updating the same storage slot, everything conflicts
+  })
+  public String workload;
+
+  @Param({"200"})
+  public int transactionCount;
+
+  private final Blockchain blockchain = ExecutionContextTestFixture.create().getBlockchain();
+  private final WorldStateStorage worldStateStorage =
+      new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
+  private final List<Transaction> transactions = new ArrayList<>();
+  private BlockProcessor blockProcessor;
+  private BlockHeader blockHeader;
+  private Hash initialRootHash;
+  private MutableWorldState worldState;
+
+  @Setup
+  public void prepare() {
+    final Optional<ParallelTransactionExecutor> parallelTransactionExecutor =
+        ParallelTransactionExecutor.create(
+            TransactionExecutionConfiguration.builder().parallelThreads(threads).build());
+    blockProcessor =
+        new ProtocolScheduleBuilder<>(
+                new StubGenesisConfigOptions().constantinopleFixBlock(0).chainId(CHAIN_ID),
+                builder -> builder.parallelTransactionExecutor(parallelTransactionExecutor),
+                PrivacyParameters.DEFAULT)
+            .createProtocolSchedule()
+            .getByBlockNumber(1)
+            .getBlockProcessor();
+    blockHeader =
+        new BlockHeaderTestFixture()
+            .number(1)
+            .coinbase(Address.fromHexString("0xcb"))
+            .gasLimit(Long.MAX_VALUE)
+            .buildHeader();
+
+    final MutableWorldState genesisState = new DefaultMutableWorldState(worldStateStorage);
+    final WorldUpdater updater = genesisState.updater();
+    updater.createAccount(COUNTER).setCode(COUNTER_CODE);
+    updater.createAccount(HASHER).setCode(HASHER_CODE);
+    for (int i = 0; i < transactionCount; ++i) {
+      final KeyPair sender = KeyPair.generate();
+      updater.createAccount(Util.publicKeyToAddress(sender.getPublicKey()), 0, Wei.fromEth(1));
+      final Transaction transaction = createTransaction(i, sender);
+      // Recover the sender up front, as block validation would have.
+      transaction.getSender();
+      transactions.add(transaction);
+    }
+    updater.commit();
+    genesisState.persist();
+    initialRootHash = genesisState.rootHash();
+  }
+
+  private Transaction createTransaction(final int index, final KeyPair sender) {
+    final TransactionTestFixture transaction =
+        new TransactionTestFixture().chainId(Optional.of(CHAIN_ID)).gasLimit(100_000);
+    switch (workload) {
+      case "transfers":
+        return transaction
+            .to(Optional.of(Address.fromHexString("0x" + Integer.toHexString(0x10000 + index))))
+            .value(Wei.of(1000))
+            .createTransaction(sender);
+      case "hashing":
+        return transaction.to(Optional.of(HASHER)).value(Wei.ZERO).createTransaction(sender);
+      case "counter":
+        return transaction.to(Optional.of(COUNTER)).value(Wei.ZERO).createTransaction(sender);
+      default:
+        throw new IllegalArgumentException("Unknown workload " + workload);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void resetWorldState() {
+    worldState = new DefaultMutableWorldState(initialRootHash, worldStateStorage);
+  }
+
+  @Benchmark
+  public BlockProcessor.Result processBlock() {
+    final BlockProcessor.Result result =
+        blockProcessor.processBlock(
+            blockchain, worldState, blockHeader, transactions, Collections.emptyList());
+    if (!result.isSuccessful()) {
+      throw new IllegalStateException("Block processing failed");
+    }
+    return result;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.mainnet.SpuriousDragonGasCalculator;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class ModExpBenchmark {
+
+  @Param({
+    "eip198_fermat", // EIP-198 example: 3^(p - 1) mod p for a 256-bit prime
+    "eip198_power_of_two", // EIP-198 example: 3^65535 mod 2^255
+    "rsa1024_verify", // 128-byte modulus, exponent 65537
+    "rsa2048_verify", // 256-byte modulus, exponent 65537
+    "rsa1024_sign", // 128-byte modulus and exponent
+    "rsa2048_sign", // 256-byte modulus and exponent
+    "rsa4096_sign" // 512-byte modulus and exponent
+  })
+  public String vector;
+
+  private BigIntegerModularExponentiationPrecompiledContract contract;
+  private BytesValue input;
+
+  @Setup
+  public void prepare() {
+    contract =
+        new BigIntegerModularExponentiationPrecompiledContract(new SpuriousDragonGasCalculator());
+    switch (vector) {
+      case "eip198_fermat":
+        input =
+            BytesValue.fromHexString(
+                "0x0000000000000000000000000000000000000000000000000000000000000001"
+                    + "0000000000000000000000000000000000000000000000000000000000000020"
+                    + "0000000000000000000000000000000000000000000000000000000000000020"
+                    + "03"
+                    + "fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffffc2e"
+                    + "fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffffc2f");
+        break;
+      case "eip198_power_of_two":
+        input =
+            BytesValue.fromHexString(
+                "0x0000000000000000000000000000000000000000000000000000000000000001"
+                    + "0000000000000000000000000000000000000000000000000000000000000002"
+                    + "0000000000000000000000000000000000000000000000000000000000000020"
+                    + "03"
+                    + "ffff"
+                    + "8000000000000000000000000000000000000000000000000000000000000000");
+        break;
+      case "rsa1024_verify":
+        input = randomInput(128, BytesValue.fromHexString("0x010001"));
+        break;
+      case "rsa2048_verify":
+        input = randomInput(256, BytesValue.fromHexString("0x010001"));
+        break;
+      case "rsa1024_sign":
+        input = randomInput(128, null);
+        break;
+      case "rsa2048_sign":
+        input = randomInput(256, null);
+        break;
+      case "rsa4096_sign":
+        input = randomInput(512, null);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown vector " + vector);
+    }
+  }
+
+  /**
+   * Builds an input with a random base and odd modulus of the given length, and either the given
+   * exponent or a random one of the same length as the modulus.
+   */
+  private static BytesValue randomInput(final int length, final BytesValue exponent) {
+    final Random random = new Random(length);
+    final int exponentLength = exponent == null ? length : exponent.size();
+    final MutableBytesValue result = MutableBytesValue.create(96 + 2 * length + exponentLength);
+    result.set(31, (byte) length);
+    result.set(30, (byte) (length >>> 8));
+    result.set(63, (byte) exponentLength);
+    result.set(62, (byte) (exponentLength >>> 8));
+    result.set(95, (byte) length);
+    result.set(94, (byte) (length >>> 8));
+    for (int i = 96; i < result.size(); ++i) {
+      result.set(i, (byte) random.nextInt(256));
+    }
+    if (exponent != null) {
+      exponent.copyTo(result, 96 + length);
+    }
+    // An odd modulus with its top bit set, like an RSA modulus.
+    result.set(96 + length + exponentLength, (byte) 0xFF);
+    result.set(result.size() - 1, (byte) (result.get(result.size() - 1) | 1));
+    return result;
+  }
+
+  @Benchmark
+  public Gas gasRequirement() {
+    return contract.gasRequirement(input);
+  }
+
+  @Benchmark
+  public BytesValue compute() {
+    return contract.compute(input, null);
+  }
+}
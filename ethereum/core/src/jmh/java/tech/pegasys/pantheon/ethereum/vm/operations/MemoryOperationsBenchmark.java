@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm.operations;
+
+import tech.pegasys.pantheon.ethereum.mainnet.ConstantinopleFixGasCalculator;
+import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Runs the opcodes that move data in and out of EVM memory over buffers of the sizes built by ABI
+ * encoding and signature verification code.
+ */
+@State(Scope.Thread)
+public class MemoryOperationsBenchmark {
+
+  @Param({"1024", "65536"})
+  public int memorySize;
+
+  private OperationBenchmarkHelper operationBenchmarkHelper;
+  private MLoadOperation mLoadOperation;
+  private MStoreOperation mStoreOperation;
+  private Sha3Operation sha3Operation;
+  private CallDataCopyOperation callDataCopyOperation;
+  private MessageFrame frame;
+  private Bytes32 word;
+  private Bytes32 size;
+
+  @Setup
+  public void prepare() throws Exception {
+    operationBenchmarkHelper = OperationBenchmarkHelper.create();
+    final GasCalculator gasCalculator = new ConstantinopleFixGasCalculator();
+    mLoadOperation = new MLoadOperation(gasCalculator);
+    mStoreOperation = new MStoreOperation(gasCalculator);
+    sha3Operation = new Sha3Operation(gasCalculator);
+    callDataCopyOperation = new CallDataCopyOperation(gasCalculator);
+
+    final byte[] inputData = new byte[memorySize];
+    new Random(1).nextBytes(inputData);
+    frame =
+        operationBenchmarkHelper
+            .createMessageFrameBuilder()
+            .inputData(BytesValue.wrap(inputData))
+            .build();
+    word = Bytes32.wrap(inputData, 0);
+    size = UInt256.of(memorySize).getBytes();
+    // Expand memory up front so that every benchmark works on a buffer of the same size.
+    frame.expandMemory(0, memorySize);
+  }
+
+  @TearDown
+  public void cleanUp() throws Exception {
+    operationBenchmarkHelper.cleanUp();
+  }
+
+  @Benchmark
+  public void storeAndLoadEveryWord() {
+    // Deliberately unaligned, as is common when building packed ABI encodings.
+    for (int offset = 1; offset + Bytes32.SIZE <= memorySize; offset += Bytes32.SIZE) {
+      final Bytes32 location = UInt256.of(offset).getBytes();
+      frame.pushStackItem(word);
+      frame.pushStackItem(location);
+      mStoreOperation.execute(frame);
+      frame.pushStackItem(location);
+      mLoadOperation.execute(frame);
+      frame.popStackItem();
+    }
+  }
+
+  @Benchmark
+  public Bytes32 sha3() {
+    frame.pushStackItem(size);
+    frame.pushStackItem(Bytes32.ZERO);
+    sha3Operation.execute(frame);
+    return frame.popStackItem();
+  }
+
+  @Benchmark
+  public void callDataCopy() {
+    frame.pushStackItem(size);
+    frame.pushStackItem(Bytes32.ZERO);
+    frame.pushStackItem(Bytes32.ZERO);
+    callDataCopyOperation.execute(frame);
+  }
+}
@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.ethereum;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.mainnet.BodyValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 
 import java.util.List;
@@ -33,11 +34,21 @@ public interface BlockValidator<C> {
     }
   }
 
+  default Optional<BlockProcessingOutputs> validateAndProcessBlock(
+      final ProtocolContext<C> context,
+      final Block block,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode) {
+    return validateAndProcessBlock(
+        context, block, headerValidationMode, ommerValidationMode, BodyValidationMode.FULL);
+  }
+
   Optional<BlockProcessingOutputs> validateAndProcessBlock(
       final ProtocolContext<C> context,
       final Block block,
       final HeaderValidationMode headerValidationMode,
-      final HeaderValidationMode ommerValidationMode);
+      final HeaderValidationMode ommerValidationMode,
+      final BodyValidationMode bodyValidationMode);
 
   boolean fastBlockValidation(
       final ProtocolContext<C> context,
@@ -22,6 +22,7 @@ import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.mainnet.BlockBodyValidator;
 import tech.pegasys.pantheon.ethereum.mainnet.BlockHeaderValidator;
 import tech.pegasys.pantheon.ethereum.mainnet.BlockProcessor;
+import tech.pegasys.pantheon.ethereum.mainnet.BodyValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 
 import java.util.List;
@@ -53,7 +54,8 @@ public class MainnetBlockValidator<C> implements BlockValidator<C> {
       final ProtocolContext<C> context,
       final Block block,
       final HeaderValidationMode headerValidationMode,
-      final HeaderValidationMode ommerValidationMode) {
+      final HeaderValidationMode ommerValidationMode,
+      final BodyValidationMode bodyValidationMode) {
     final BlockHeader header = block.getHeader();
 
     final Optional<BlockHeader> maybeParentHeader =
@@ -72,6 +74,9 @@ public class MainnetBlockValidator<C> implements BlockValidator<C> {
       return Optional.empty();
     }
 
+    // Warm the world state cache while the block's transactions are executed.
+    context.getWorldStateArchive().preload(parentHeader.getStateRoot(), block);
+
     final MutableBlockchain blockchain = context.getBlockchain();
     final Optional<MutableWorldState> maybeWorldState =
         context.getWorldStateArchive().getMutable(parentHeader.getStateRoot());
@@ -90,7 +95,12 @@ public class MainnetBlockValidator<C> implements BlockValidator<C> {
 
     final List<TransactionReceipt> receipts = result.getReceipts();
     if (!blockBodyValidator.validateBody(
-        context, block, receipts, worldState.rootHash(), ommerValidationMode)) {
+        context,
+        block,
+        receipts,
+        worldState.rootHash(),
+        ommerValidationMode,
+        bodyValidationMode)) {
       return Optional.empty();
     }
 
@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.chain;
 
 import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 
 import java.util.Collections;
@@ -23,6 +24,7 @@ public class BlockAddedEvent {
   private final Block block;
   private final List<Transaction> addedTransactions;
   private final List<Transaction> removedTransactions;
+  private final List<Hash> removedBlockHashes;
   private final EventType eventType;
 
   public enum EventType {
@@ -35,29 +37,40 @@ public class BlockAddedEvent {
       final EventType eventType,
       final Block block,
       final List<Transaction> addedTransactions,
-      final List<Transaction> removedTransactions) {
+      final List<Transaction> removedTransactions,
+      final List<Hash> removedBlockHashes) {
     this.eventType = eventType;
     this.block = block;
     this.addedTransactions = addedTransactions;
     this.removedTransactions = removedTransactions;
+    this.removedBlockHashes = removedBlockHashes;
   }
 
   public static BlockAddedEvent createForHeadAdvancement(final Block block) {
     return new BlockAddedEvent(
-        EventType.HEAD_ADVANCED, block, block.getBody().getTransactions(), Collections.emptyList());
+        EventType.HEAD_ADVANCED,
+        block,
+        block.getBody().getTransactions(),
+        Collections.emptyList(),
+        Collections.emptyList());
   }
 
   public static BlockAddedEvent createForChainReorg(
       final Block block,
       final List<Transaction> addedTransactions,
-      final List<Transaction> removedTransactions) {
+      final List<Transaction> removedTransactions,
+      final List<Hash> removedBlockHashes) {
     return new BlockAddedEvent(
-        EventType.CHAIN_REORG, block, addedTransactions, removedTransactions);
+        EventType.CHAIN_REORG, block, addedTransactions, removedTransactions, removedBlockHashes);
   }
 
   public static BlockAddedEvent createForFork(final Block block) {
     return new BlockAddedEvent(
-        EventType.FORK, block, Collections.emptyList(), Collections.emptyList());
+        EventType.FORK,
+        block,
+        Collections.emptyList(),
+        Collections.emptyList(),
+        Collections.emptyList());
   }
 
   public Block getBlock() {
@@ -79,4 +92,15 @@ public class BlockAddedEvent {
   public List<Transaction> getRemovedTransactions() {
     return removedTransactions;
   }
+
+  /**
+   * The blocks a chain reorganisation removed from the canonical chain, oldest first. Their
+   * transactions are no longer indexed when the event is fired, but their receipts are still
+   * stored.
+   *
+   * @return the hashes of the removed blocks
+   */
+  public List<Hash> getRemovedBlockHashes() {
+    return removedBlockHashes;
+  }
 }
@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.chain;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 
@@ -23,6 +24,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.metrics.Counter;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.util.InvalidConfigurationException;
@@ -39,8 +41,10 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 
 public class DefaultMutableBlockchain implements MutableBlockchain {
 
@@ -48,9 +52,14 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
 
   private final Subscribers<BlockAddedObserver> blockAddedObservers = new Subscribers<>();
 
+  private final Counter blocksPersistedCounter;
+
   private volatile BlockHeader chainHeader;
   private volatile UInt256 totalDifficulty;
 
+  // Set while appendInBatches runs, holding the blocks appended but not yet written to storage.
+  private volatile AppendBatch batch;
+
   public DefaultMutableBlockchain(
       final Block genesisBlock,
       final BlockchainStorage blockchainStorage,
@@ -75,6 +84,11 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
         () ->
             BytesValues.asUnsignedBigInteger(this.getChainHead().getTotalDifficulty().getBytes())
                 .doubleValue());
+    blocksPersistedCounter =
+        metricsSystem.createCounter(
+            MetricCategory.BLOCKCHAIN,
+            "blocks_persisted_total",
+            "Number of blocks written to storage");
   }
 
   @Override
@@ -104,6 +118,13 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
 
   @Override
   public Optional<BlockHeader> getBlockHeader(final Hash blockHeaderHash) {
+    final AppendBatch currentBatch = batch;
+    if (currentBatch != null) {
+      final BlockHeader pendingHeader = currentBatch.headers.get(blockHeaderHash);
+      if (pendingHeader != null) {
+        return Optional.of(pendingHeader);
+      }
+    }
     return blockchainStorage.getBlockHeader(blockHeaderHash);
   }
 
@@ -155,26 +176,68 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
       throw new IllegalArgumentException("Attempt to append non-connected block.");
     }
 
+    if (batch != null) {
+      if (block.getHeader().getParentHash().equals(batch.head.getHash())) {
+        batch.append(block, receipts);
+        if (batch.isFull()) {
+          writeBatch();
+        }
+        return;
+      }
+      // Only blocks extending the chain head are batched, forks and reorgs read the stored chain.
+      writeBatch();
+    }
+
     final BlockAddedEvent blockAddedEvent = appendBlockHelper(block, receipts);
     notifyBlockAdded(blockAddedEvent);
   }
 
+  @Override
+  public synchronized void appendInBatches(final int batchSize, final Runnable appender) {
+    checkArgument(batchSize > 0, "Batch size must be positive.");
+    checkState(batch == null, "Already appending in batches.");
+    batch = new AppendBatch(batchSize);
+    try {
+      appender.run();
+    } finally {
+      try {
+        writeBatch();
+      } finally {
+        batch = null;
+      }
+    }
+  }
+
+  private void writeBatch() {
+    final AppendBatch written = batch;
+    if (written.events.isEmpty()) {
+      return;
+    }
+
+    try {
+      written.updater.commit();
+      chainHeader = written.head;
+      totalDifficulty = written.headTotalDifficulty;
+    } finally {
+      batch = new AppendBatch(written.maxSize);
+    }
+    blocksPersistedCounter.inc(written.events.size());
+    written.events.forEach(this::notifyBlockAdded);
+  }
+
   private BlockAddedEvent appendBlockHelper(
       final Block block, final List<TransactionReceipt> receipts) {
-    final Hash hash = block.getHash();
     final UInt256 td = calculateTotalDifficulty(block);
 
     final BlockchainStorage.Updater updater = blockchainStorage.updater();
 
-    updater.putBlockHeader(hash, block.getHeader());
-    updater.putBlockBody(hash, block.getBody());
-    updater.putTransactionReceipts(hash, receipts);
-    updater.putTotalDifficulty(hash, td);
+    putBlock(updater, block, receipts, td);
 
     // Update canonical chain data
     final BlockAddedEvent blockAddedEvent = updateCanonicalChainData(updater, block, td);
 
     updater.commit();
+    blocksPersistedCounter.inc();
     if (blockAddedEvent.isNewCanonicalHead()) {
       chainHeader = block.getHeader();
       totalDifficulty = td;
@@ -183,6 +246,18 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
     return blockAddedEvent;
   }
 
+  private static void putBlock(
+      final BlockchainStorage.Updater updater,
+      final Block block,
+      final List<TransactionReceipt> receipts,
+      final UInt256 td) {
+    final Hash hash = block.getHash();
+    updater.putBlockHeader(hash, block.getHeader());
+    updater.putBlockBody(hash, block.getBody());
+    updater.putTransactionReceipts(hash, receipts);
+    updater.putTotalDifficulty(hash, td);
+  }
+
   private UInt256 calculateTotalDifficulty(final Block block) {
     if (block.getHeader().getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER) {
       return block.getHeader().getDifficulty();
@@ -206,14 +281,10 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
       throw new IllegalStateException("Blockchain is missing chain head.");
     }
 
-    final Hash newBlockHash = newBlock.getHash();
     try {
       if (chainHead == null || newBlock.getHeader().getParentHash().equals(chainHead)) {
         // This block advances the chain, update the chain head
-        updater.putBlockHash(newBlock.getHeader().getNumber(), newBlockHash);
-        updater.setChainHead(newBlockHash);
-        indexTransactionForBlock(updater, newBlockHash, newBlock.getBody().getTransactions());
-        return BlockAddedEvent.createForHeadAdvancement(newBlock);
+        return advanceChainHead(updater, newBlock);
       } else if (totalDifficulty.compareTo(blockchainStorage.getTotalDifficulty(chainHead).get())
           > 0) {
         // New block represents a chain reorganization
@@ -230,6 +301,15 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
     }
   }
 
+  private static BlockAddedEvent advanceChainHead(
+      final BlockchainStorage.Updater updater, final Block newBlock) {
+    final Hash newBlockHash = newBlock.getHash();
+    updater.putBlockHash(newBlock.getHeader().getNumber(), newBlockHash);
+    updater.setChainHead(newBlockHash);
+    indexTransactionForBlock(updater, newBlockHash, newBlock.getBody().getTransactions());
+    return BlockAddedEvent.createForHeadAdvancement(newBlock);
+  }
+
   private BlockAddedEvent handleFork(final BlockchainStorage.Updater updater, final Block fork) {
     final Collection<Hash> forkHeads = blockchainStorage.getForkHeads();
 
@@ -258,6 +338,7 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
     // Track transactions to be added and removed
     final Map<Hash, List<Transaction>> newTransactions = new HashMap<>();
     final List<Transaction> removedTransactions = new ArrayList<>();
+    final List<Hash> removedBlockHashes = new ArrayList<>();
 
     while (newChain.getNumber() > oldChain.getNumber()) {
       // If new chain is longer than old chain, walk back until we meet the old chain by number
@@ -279,6 +360,7 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
       updater.removeBlockHash(oldChain.getNumber());
       removedTransactions.addAll(
           blockchainStorage.getBlockBody(oldChain.getHash()).get().getTransactions());
+      removedBlockHashes.add(oldChain.getHash());
 
       oldChain = blockchainStorage.getBlockHeader(oldChain.getParentHash()).get();
     }
@@ -296,6 +378,7 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
       newTransactions.put(newBlockHash, newTxs);
       removedTransactions.addAll(
           blockchainStorage.getBlockBody(oldChain.getHash()).get().getTransactions());
+      removedBlockHashes.add(oldChain.getHash());
 
       newChain = blockchainStorage.getBlockHeader(newChain.getParentHash()).get();
       oldChain = blockchainStorage.getBlockHeader(oldChain.getParentHash()).get();
@@ -322,7 +405,8 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
     return BlockAddedEvent.createForChainReorg(
         newChainHead,
         newTransactions.values().stream().flatMap(Collection::stream).collect(toList()),
-        removedTransactions);
+        removedTransactions,
+        Lists.reverse(removedBlockHashes));
   }
 
   private static void indexTransactionForBlock(
@@ -377,17 +461,18 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
   }
 
   private boolean blockIsAlreadyTracked(final Block block) {
-    if (block.getHeader().getParentHash().equals(chainHeader.getHash())) {
+    final BlockHeader head = batch != null ? batch.head : chainHeader;
+    if (block.getHeader().getParentHash().equals(head.getHash())) {
       // If this block builds on our chain head it would have a higher TD and be the chain head
       // but since it isn't we mustn't have imported it yet.
       // Saves a db read for the most common case
       return false;
     }
-    return blockchainStorage.getBlockHeader(block.getHash()).isPresent();
+    return getBlockHeader(block.getHash()).isPresent();
   }
 
   private boolean blockIsConnected(final Block block) {
-    return blockchainStorage.getBlockHeader(block.getHeader().getParentHash()).isPresent();
+    return getBlockHeader(block.getHeader().getParentHash()).isPresent();
   }
 
   @Override
@@ -409,4 +494,35 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
   private void notifyBlockAdded(final BlockAddedEvent event) {
     blockAddedObservers.forEach(observer -> observer.onBlockAdded(event, this));
   }
+
+  /** Blocks extending the chain head that are written to storage together in one transaction. */
+  private class AppendBatch {
+    private final int maxSize;
+    private final Map<Hash, BlockHeader> headers = new ConcurrentHashMap<>();
+    private final List<BlockAddedEvent> events = new ArrayList<>();
+    private BlockchainStorage.Updater updater;
+    private BlockHeader head = chainHeader;
+    private UInt256 headTotalDifficulty = totalDifficulty;
+
+    private AppendBatch(final int maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    private void append(final Block block, final List<TransactionReceipt> receipts) {
+      if (updater == null) {
+        updater = blockchainStorage.updater();
+      }
+      final UInt256 td = block.getHeader().getDifficulty().plus(headTotalDifficulty);
+      putBlock(updater, block, receipts, td);
+      events.add(advanceChainHead(updater, block));
+
+      headers.put(block.getHash(), block.getHeader());
+      head = block.getHeader();
+      headTotalDifficulty = td;
+    }
+
+    private boolean isFull() {
+      return events.size() >= maxSize;
+    }
+  }
 }
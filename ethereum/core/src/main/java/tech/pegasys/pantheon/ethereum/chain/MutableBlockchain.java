@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.chain;
 
 import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 
 import java.util.List;
@@ -30,4 +31,21 @@ public interface MutableBlockchain extends Blockchain {
    * @param receipts The list of receipts associated with this block's transactions.
    */
   void appendBlock(Block block, List<TransactionReceipt> receipts);
+
+  /**
+   * Runs an action that appends blocks, writing them to storage in transactions of up to {@code
+   * batchSize} blocks rather than one transaction per block.
+   *
+   * <p>Blocks the action appends that extend the chain head are held until a batch fills or the
+   * action completes, but their headers are returned by {@link #getBlockHeader(Hash)} immediately
+   * so that the following blocks can be validated against them. The chain head is updated, and
+   * observers are notified, once each batch has been written. Any other block the action appends
+   * first writes the pending batch and is then appended as normal.
+   *
+   * @param batchSize The maximum number of blocks to write in a single transaction.
+   * @param appender The action appending blocks via {@link #appendBlock(Block, List)}.
+   */
+  default void appendInBatches(final int batchSize, final Runnable appender) {
+    appender.run();
+  }
 }
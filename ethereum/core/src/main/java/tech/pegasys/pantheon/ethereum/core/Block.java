@@ -54,8 +54,7 @@ public class Block {
     out.startList();
 
     header.writeTo(out);
-    out.writeList(body.getTransactions(), Transaction::writeTo);
-    out.writeList(body.getOmmers(), BlockHeader::writeTo);
+    body.writeListsTo(out);
 
     out.endList();
   }
@@ -70,6 +69,23 @@ public class Block {
     return new Block(header, new BlockBody(transactions, ommers));
   }
 
+  /**
+   * Reads a block whose body is only decoded as it is accessed. See {@link
+   * BlockBody#readLazilyFrom(RLPInput, BlockHeaderFunctions)}.
+   *
+   * @param in Input to read from
+   * @param hashFunction The functions to use for the header and ommers
+   * @return the block read
+   */
+  public static Block readLazilyFrom(final RLPInput in, final BlockHeaderFunctions hashFunction) {
+    in.enterList();
+    final BlockHeader header = BlockHeader.readFrom(in, hashFunction);
+    final BlockBody body = BlockBody.readListsLazilyFrom(in, hashFunction);
+    in.leaveList();
+
+    return new Block(header, body);
+  }
+
   @Override
   public boolean equals(final Object obj) {
     if (obj == this) {
@@ -12,24 +12,46 @@
  */
 package tech.pegasys.pantheon.ethereum.core;
 
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 public class BlockBody {
 
   private static final BlockBody EMPTY =
       new BlockBody(Collections.emptyList(), Collections.emptyList());
 
-  private final List<Transaction> transactions;
-  private final List<BlockHeader> ommers;
+  // For a body read lazily, the RLP encoded lists of its transactions and ommers, which are only
+  // decoded as they are accessed.
+  private final BytesValue encodedTransactionList;
+  private final BytesValue encodedOmmerList;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+
+  private volatile List<BytesValue> encodedTransactions;
+  private volatile List<Transaction> transactions;
+  private volatile List<BlockHeader> ommers;
 
   public BlockBody(final List<Transaction> transactions, final List<BlockHeader> ommers) {
     this.transactions = transactions;
     this.ommers = ommers;
+    this.encodedTransactionList = null;
+    this.encodedOmmerList = null;
+    this.blockHeaderFunctions = null;
+  }
+
+  private BlockBody(
+      final BytesValue encodedTransactionList,
+      final BytesValue encodedOmmerList,
+      final BlockHeaderFunctions blockHeaderFunctions) {
+    this.encodedTransactionList = encodedTransactionList;
+    this.encodedOmmerList = encodedOmmerList;
+    this.blockHeaderFunctions = blockHeaderFunctions;
   }
 
   public static BlockBody empty() {
@@ -38,14 +60,46 @@ public class BlockBody {
 
   /** @return The list of transactions of the block. */
   public List<Transaction> getTransactions() {
+    if (transactions == null) {
+      transactions =
+          getEncodedTransactions().stream().map(Transaction::readFrom).collect(Collectors.toList());
+    }
     return transactions;
   }
 
   /** @return The list of ommers of the block. */
   public List<BlockHeader> getOmmers() {
+    if (ommers == null) {
+      ommers =
+          RLP.input(encodedOmmerList)
+              .readList(rlp -> BlockHeader.readFrom(rlp, blockHeaderFunctions));
+    }
     return ommers;
   }
 
+  /** @return The number of transactions of the block. */
+  public int getTransactionCount() {
+    final List<Transaction> decoded = transactions;
+    return decoded != null ? decoded.size() : getEncodedTransactions().size();
+  }
+
+  /** @return The hashes of the transactions of the block. */
+  public List<Hash> getTransactionHashes() {
+    final List<Transaction> decoded = transactions;
+    if (decoded != null) {
+      return decoded.stream().map(Transaction::hash).collect(Collectors.toList());
+    }
+    return getEncodedTransactions().stream().map(Hash::hash).collect(Collectors.toList());
+  }
+
+  private List<BytesValue> getEncodedTransactions() {
+    if (encodedTransactions == null) {
+      encodedTransactions =
+          RLP.input(encodedTransactionList).readList(rlp -> rlp.readAsRlp().raw());
+    }
+    return encodedTransactions;
+  }
+
   /**
    * Writes Block to {@link RLPOutput}.
    *
@@ -53,9 +107,23 @@ public class BlockBody {
    */
   public void writeTo(final RLPOutput output) {
     output.startList();
+    writeListsTo(output);
+    output.endList();
+  }
+
+  /**
+   * Writes the lists of transactions and ommers, which a block writes after its header.
+   *
+   * @param output Output to write to
+   */
+  void writeListsTo(final RLPOutput output) {
+    if (encodedTransactionList != null) {
+      output.writeRLPUnsafe(encodedTransactionList);
+      output.writeRLPUnsafe(encodedOmmerList);
+      return;
+    }
     output.writeList(getTransactions(), Transaction::writeTo);
     output.writeList(getOmmers(), BlockHeader::writeTo);
-    output.endList();
   }
 
   public static BlockBody readFrom(
@@ -70,6 +138,40 @@ public class BlockBody {
     return body;
   }
 
+  /**
+   * Reads a body without decoding its transactions and ommers, which are only decoded when they
+   * are first accessed. The body is written back, and its transactions hashed, from the RLP read.
+   *
+   * <p>As malformed transactions or ommers are only detected when they are decoded, this is meant
+   * for trusted data, or for data that is fully accessed before it is trusted.
+   *
+   * @param input Input to read from
+   * @param blockHeaderFunctions The functions to use for the ommers
+   * @return the body read
+   */
+  public static BlockBody readLazilyFrom(
+      final RLPInput input, final BlockHeaderFunctions blockHeaderFunctions) {
+    input.enterList();
+    final BlockBody body = readListsLazilyFrom(input, blockHeaderFunctions);
+    input.leaveList();
+    return body;
+  }
+
+  /**
+   * Reads the lists of transactions and ommers, which a block has after its header, as a body
+   * decoded lazily.
+   *
+   * @param input Input to read from
+   * @param blockHeaderFunctions The functions to use for the ommers
+   * @return the body read
+   */
+  static BlockBody readListsLazilyFrom(
+      final RLPInput input, final BlockHeaderFunctions blockHeaderFunctions) {
+    final BytesValue encodedTransactionList = input.readAsRlp().raw();
+    final BytesValue encodedOmmerList = input.readAsRlp().raw();
+    return new BlockBody(encodedTransactionList, encodedOmmerList, blockHeaderFunctions);
+  }
+
   @Override
   public boolean equals(final Object obj) {
     if (obj == this) {
@@ -79,20 +181,21 @@ public class BlockBody {
       return false;
     }
     final BlockBody other = (BlockBody) obj;
-    return transactions.equals(other.transactions) && ommers.equals(other.ommers);
+    return getTransactions().equals(other.getTransactions())
+        && getOmmers().equals(other.getOmmers());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(transactions, ommers);
+    return Objects.hash(getTransactions(), getOmmers());
   }
 
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder();
     sb.append("BlockBody{");
-    sb.append("transactions=").append(transactions).append(", ");
-    sb.append("ommers=").append(ommers);
+    sb.append("transactions=").append(getTransactions()).append(", ");
+    sb.append("ommers=").append(getOmmers());
     return sb.append("}").toString();
   }
 }
@@ -37,6 +37,9 @@ public class BlockHeader extends SealableBlockHeader {
 
   private final Supplier<ParsedExtraData> parsedExtraData;
 
+  // Caches the RLP the header was read from, if any, so it is hashed and written back as is.
+  private volatile BytesValue encoded;
+
   public BlockHeader(
       final Hash parentHash,
       final Hash ommersHash,
@@ -115,6 +118,11 @@ public class BlockHeader extends SealableBlockHeader {
    * @param out The RLP output to write to
    */
   public void writeTo(final RLPOutput out) {
+    if (encoded != null) {
+      out.writeRLPUnsafe(encoded);
+      return;
+    }
+
     out.startList();
 
     out.writeBytesValue(parentHash);
@@ -136,8 +144,17 @@ public class BlockHeader extends SealableBlockHeader {
     out.endList();
   }
 
+  /**
+   * Reads a header from RLP. The header keeps the RLP it was read from, which is what it is hashed
+   * and written back as.
+   *
+   * @param rlpInput The RLP input to read the header from
+   * @param blockHeaderFunctions The functions to hash the header and parse its extra data
+   * @return the header read
+   */
   public static BlockHeader readFrom(
-      final RLPInput input, final BlockHeaderFunctions blockHeaderFunctions) {
+      final RLPInput rlpInput, final BlockHeaderFunctions blockHeaderFunctions) {
+    final RLPInput input = rlpInput.readAsRlp();
     input.enterList();
     final BlockHeader blockHeader =
         new BlockHeader(
@@ -158,6 +175,7 @@ public class BlockHeader extends SealableBlockHeader {
             input.readLong(),
             blockHeaderFunctions);
     input.leaveList();
+    blockHeader.encoded = input.raw();
     return blockHeader;
   }
 
@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.core;
 
 import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.mainnet.BodyValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 
 import java.util.List;
@@ -52,11 +53,32 @@ public interface BlockImporter<C> {
    * @return {@code true} if the block was added somewhere in the blockchain; otherwise {@code
    *     false}
    */
+  default boolean importBlock(
+      final ProtocolContext<C> context,
+      final Block block,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode) {
+    return importBlock(
+        context, block, headerValidationMode, ommerValidationMode, BodyValidationMode.FULL);
+  }
+
+  /**
+   * Attempts to import the given block to the specified blockchain and world state.
+   *
+   * @param context The context to attempt to update
+   * @param block The block
+   * @param headerValidationMode Determines the validation to perform on this header.
+   * @param ommerValidationMode Determines the validation to perform on ommer headers.
+   * @param bodyValidationMode Determines whether the body is checked against its header.
+   * @return {@code true} if the block was added somewhere in the blockchain; otherwise {@code
+   *     false}
+   */
   boolean importBlock(
       ProtocolContext<C> context,
       Block block,
       HeaderValidationMode headerValidationMode,
-      HeaderValidationMode ommerValidationMode);
+      HeaderValidationMode ommerValidationMode,
+      BodyValidationMode bodyValidationMode);
 
   /**
    * Attempts to import the given block. Uses "fast" validation. Performs light validation using the
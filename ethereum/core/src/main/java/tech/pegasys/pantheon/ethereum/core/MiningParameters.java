@@ -22,16 +22,30 @@ public class MiningParameters {
   private final Wei minTransactionGasPrice;
   private final BytesValue extraData;
   private final Boolean enabled;
+  private final Boolean fullDagEnabled;
+  private final int minerThreads;
 
   public MiningParameters(
       final Address coinbase,
       final Wei minTransactionGasPrice,
       final BytesValue extraData,
       final Boolean enabled) {
+    this(coinbase, minTransactionGasPrice, extraData, enabled, false, 1);
+  }
+
+  public MiningParameters(
+      final Address coinbase,
+      final Wei minTransactionGasPrice,
+      final BytesValue extraData,
+      final Boolean enabled,
+      final Boolean fullDagEnabled,
+      final int minerThreads) {
     this.coinbase = Optional.ofNullable(coinbase);
     this.minTransactionGasPrice = minTransactionGasPrice;
     this.extraData = extraData;
     this.enabled = enabled;
+    this.fullDagEnabled = fullDagEnabled;
+    this.minerThreads = minerThreads;
   }
 
   public Optional<Address> getCoinbase() {
@@ -49,4 +63,12 @@ public class MiningParameters {
   public Boolean isMiningEnabled() {
     return enabled;
   }
+
+  public Boolean isFullDagEnabled() {
+    return fullDagEnabled;
+  }
+
+  public int getMinerThreads() {
+    return minerThreads;
+  }
 }
@@ -73,6 +73,10 @@ public class Transaction {
   // Caches the hash used to uniquely identify the transaction.
   protected volatile Hash hash;
 
+  // Caches the RLP the transaction was read from, if it was kept, or was first encoded to when
+  // requested through {@code encoded()}, so it is hashed and written back as is.
+  private volatile BytesValue encoded;
+
   public static Builder builder() {
     return new Builder();
   }
@@ -111,6 +115,19 @@ public class Transaction {
     return builder.signature(signature).build();
   }
 
+  /**
+   * Reads a transaction from its RLP encoding, which the transaction keeps so it is hashed and
+   * written back without being re-encoded.
+   *
+   * @param encoded the RLP encoding of the transaction
+   * @return the transaction read
+   */
+  static Transaction readFrom(final BytesValue encoded) {
+    final Transaction transaction = readFrom(RLP.input(encoded));
+    transaction.encoded = encoded;
+    return transaction;
+  }
+
   /**
    * Instantiates a transaction instance.
    *
@@ -260,6 +277,11 @@ public class Transaction {
    * @param out the output to write the transaction to
    */
   public void writeTo(final RLPOutput out) {
+    if (encoded != null) {
+      out.writeRLPUnsafe(encoded);
+      return;
+    }
+
     out.startList();
 
     out.writeLongScalar(getNonce());
@@ -298,6 +320,19 @@ public class Transaction {
     return v;
   }
 
+  /**
+   * Returns the RLP encoding of the transaction, which is kept so that later calls, and writing the
+   * transaction to RLP, reuse it rather than encoding the transaction again.
+   *
+   * @return the RLP encoding of the transaction
+   */
+  public BytesValue encoded() {
+    if (encoded == null) {
+      encoded = RLP.encode(this::writeTo);
+    }
+    return encoded;
+  }
+
   /**
    * Returns the transaction hash.
    *
@@ -305,7 +340,7 @@ public class Transaction {
    */
   public Hash hash() {
     if (hash == null) {
-      final BytesValue rlp = RLP.encode(this::writeTo);
+      final BytesValue rlp = encoded != null ? encoded : RLP.encode(this::writeTo);
       hash = Hash.hash(rlp);
     }
     return hash;
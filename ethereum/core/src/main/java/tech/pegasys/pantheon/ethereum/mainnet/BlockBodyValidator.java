@@ -31,6 +31,7 @@ public interface BlockBodyValidator<C> {
    * @param worldStateRootHash The rootHash defining the world state after processing this block and
    *     all of its transactions.
    * @param ommerValidationMode The validation mode to use for ommer headers
+   * @param bodyValidationMode Determines whether the body is checked against its header
    * @return {@code true} if valid; otherwise {@code false}
    */
   boolean validateBody(
@@ -38,7 +39,8 @@ public interface BlockBodyValidator<C> {
       Block block,
       List<TransactionReceipt> receipts,
       Hash worldStateRootHash,
-      final HeaderValidationMode ommerValidationMode);
+      final HeaderValidationMode ommerValidationMode,
+      final BodyValidationMode bodyValidationMode);
 
   /**
    * Validates that the block body is valid, but skips state root validation.
@@ -54,4 +56,13 @@ public interface BlockBodyValidator<C> {
       Block block,
       List<TransactionReceipt> receipts,
       final HeaderValidationMode ommerValidationMode);
+
+  /**
+   * Validates the parts of the block body that can be checked against its header alone, without
+   * executing the block: the transactions root and the ommers hash.
+   *
+   * @param block The block to validate
+   * @return {@code true} if valid; otherwise {@code false}
+   */
+  boolean validateBodyDetached(Block block);
 }
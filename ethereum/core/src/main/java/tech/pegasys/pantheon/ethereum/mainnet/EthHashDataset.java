@@ -0,0 +1,185 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/** The full EthHash dataset (DAG) of one epoch, memory mapped from a file. */
+public final class EthHashDataset {
+
+  // A single mapping cannot exceed 2 GiB, so larger datasets are mapped in segments. The segment
+  // size is a multiple of the item size, so no item spans two segments.
+  private static final long SEGMENT_BYTES = 1L << 30;
+
+  private static final int ITEMS_PER_SEGMENT = (int) (SEGMENT_BYTES / EthHash.HASH_BYTES);
+
+  // Generation work is split into tasks of this many items, none of which spans two segments.
+  private static final int ITEMS_PER_TASK = 1 << 16;
+
+  private final long epoch;
+  private final long datasetSize;
+  private final MappedByteBuffer[] segments;
+
+  private EthHashDataset(
+      final long epoch, final long datasetSize, final MappedByteBuffer[] segments) {
+    this.epoch = epoch;
+    this.datasetSize = datasetSize;
+    this.segments = segments;
+  }
+
+  /**
+   * Maps a previously generated dataset.
+   *
+   * @param file the file the dataset was generated into
+   * @param epoch the EthHash epoch of the dataset
+   * @return the dataset, or empty if the file does not exist or does not have the dataset's size
+   * @throws IOException if the file cannot be mapped
+   */
+  public static Optional<EthHashDataset> load(final Path file, final long epoch)
+      throws IOException {
+    return load(file, epoch, EthHash.datasetSize(epoch));
+  }
+
+  static Optional<EthHashDataset> load(final Path file, final long epoch, final long datasetSize)
+      throws IOException {
+    if (!Files.isRegularFile(file) || Files.size(file) != datasetSize) {
+      return Optional.empty();
+    }
+    try (final FileChannel channel = FileChannel.open(file, READ)) {
+      return Optional.of(
+          new EthHashDataset(epoch, datasetSize, map(channel, MapMode.READ_ONLY, datasetSize)));
+    }
+  }
+
+  /**
+   * Generates the dataset of an epoch into a file, calculating items in parallel on the given
+   * executor. The dataset is written to a temporary file first and only moved to {@code file} once
+   * complete, so an interrupted generation is never mistaken for a complete dataset.
+   *
+   * @param file the file to generate the dataset into
+   * @param epoch the EthHash epoch of the dataset
+   * @param cache the EthHash cache of the epoch
+   * @param executor the executor calculating dataset items
+   * @return the generated dataset
+   * @throws IOException if the file cannot be written
+   */
+  public static EthHashDataset generate(
+      final Path file, final long epoch, final int[] cache, final ExecutorService executor)
+      throws IOException {
+    return generate(file, epoch, EthHash.datasetSize(epoch), cache, executor);
+  }
+
+  static EthHashDataset generate(
+      final Path file,
+      final long epoch,
+      final long datasetSize,
+      final int[] cache,
+      final ExecutorService executor)
+      throws IOException {
+    final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    final MappedByteBuffer[] segments;
+    try (final FileChannel channel =
+        FileChannel.open(tempFile, CREATE, READ, WRITE, TRUNCATE_EXISTING)) {
+      segments = map(channel, MapMode.READ_WRITE, datasetSize);
+      final long items = datasetSize / EthHash.HASH_BYTES;
+      final List<Future<?>> tasks = new ArrayList<>();
+      for (long start = 0; start < items; start += ITEMS_PER_TASK) {
+        final int firstItem = (int) start;
+        final int lastItem = (int) Math.min(start + ITEMS_PER_TASK, items);
+        tasks.add(executor.submit(() -> calcItems(segments, cache, firstItem, lastItem)));
+      }
+      awaitAll(tasks);
+      for (final MappedByteBuffer segment : segments) {
+        segment.force();
+      }
+    }
+    // The mappings remain valid after the file is renamed.
+    Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+    return new EthHashDataset(epoch, datasetSize, segments);
+  }
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  public long getDatasetSize() {
+    return datasetSize;
+  }
+
+  /**
+   * Copies a dataset item to a buffer.
+   *
+   * @param buffer Buffer to store the dataset item in
+   * @param index Index of the dataset item
+   */
+  public void lookup(final byte[] buffer, final int index) {
+    final ByteBuffer segment = segments[index / ITEMS_PER_SEGMENT].duplicate();
+    segment.position(index % ITEMS_PER_SEGMENT * EthHash.HASH_BYTES);
+    segment.get(buffer, 0, EthHash.HASH_BYTES);
+  }
+
+  private static void calcItems(
+      final MappedByteBuffer[] segments, final int[] cache, final int firstItem, final int end) {
+    final ByteBuffer segment = segments[firstItem / ITEMS_PER_SEGMENT].duplicate();
+    segment.position(firstItem % ITEMS_PER_SEGMENT * EthHash.HASH_BYTES);
+    final byte[] item = new byte[EthHash.HASH_BYTES];
+    for (int index = firstItem; index < end; ++index) {
+      EthHash.calcDatasetItem(item, cache, index);
+      segment.put(item);
+    }
+  }
+
+  private static void awaitAll(final List<Future<?>> tasks) throws IOException {
+    try {
+      for (final Future<?> task : tasks) {
+        task.get();
+      }
+    } catch (final InterruptedException e) {
+      tasks.forEach(task -> task.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while generating EthHash dataset.", e);
+    } catch (final ExecutionException e) {
+      tasks.forEach(task -> task.cancel(true));
+      throw new IllegalStateException("Failed to generate EthHash dataset.", e.getCause());
+    }
+  }
+
+  private static MappedByteBuffer[] map(
+      final FileChannel channel, final MapMode mode, final long datasetSize) throws IOException {
+    final MappedByteBuffer[] segments =
+        new MappedByteBuffer[(int) ((datasetSize + SEGMENT_BYTES - 1) / SEGMENT_BYTES)];
+    for (int i = 0; i < segments.length; ++i) {
+      final long offset = i * SEGMENT_BYTES;
+      segments[i] = channel.map(mode, offset, Math.min(SEGMENT_BYTES, datasetSize - offset));
+    }
+    return segments;
+  }
+}
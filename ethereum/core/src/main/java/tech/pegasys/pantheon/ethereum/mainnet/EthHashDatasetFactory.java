@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Provides the full EthHash datasets used by {@link EthHasher.Full}.
+ *
+ * <p>Datasets are generated in the background into files under a directory, and are reused from
+ * there after a restart. Whenever the dataset of an epoch is requested, the dataset of the next
+ * epoch is prepared as well, so it is usually ready by the time the chain reaches that epoch.
+ * Datasets of earlier epochs are dropped and their files deleted.
+ */
+public class EthHashDatasetFactory implements AutoCloseable {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final String FILE_PREFIX = "full-";
+
+  private final Path directory;
+  private final EthHashCacheFactory cacheFactory = new EthHashCacheFactory();
+  private final ExecutorService generationScheduler;
+  private final ExecutorService generationExecutor;
+  private final Map<Long, CompletableFuture<EthHashDataset>> datasets = new ConcurrentHashMap<>();
+
+  private volatile EthHashDataset currentDataset;
+
+  /**
+   * @param directory the directory holding the dataset files
+   * @param generationThreads the number of threads calculating dataset items
+   */
+  public EthHashDatasetFactory(final Path directory, final int generationThreads) {
+    checkArgument(generationThreads > 0, "Must use at least one generation thread");
+    this.directory = directory;
+    this.generationScheduler =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("ethash-dataset-scheduler")
+                .setDaemon(true)
+                .build());
+    this.generationExecutor =
+        Executors.newFixedThreadPool(
+            generationThreads,
+            new ThreadFactoryBuilder().setNameFormat("ethash-dataset-%d").setDaemon(true).build());
+  }
+
+  /**
+   * Returns the dataset for the epoch of a block if it is ready, and starts preparing it and the
+   * dataset of the following epoch if that has not happened yet.
+   *
+   * @param blockNumber Block Number
+   * @return the dataset, or empty while it is still being prepared or if preparing it failed
+   */
+  public Optional<EthHashDataset> datasetFor(final long blockNumber) {
+    final long epoch = EthHash.epoch(blockNumber);
+    final EthHashDataset current = currentDataset;
+    if (current != null && current.getEpoch() == epoch) {
+      return Optional.of(current);
+    }
+
+    final CompletableFuture<EthHashDataset> dataset = prepare(epoch);
+    prepare(epoch + 1);
+    if (!dataset.isDone() || dataset.isCompletedExceptionally()) {
+      return Optional.empty();
+    }
+    currentDataset = dataset.join();
+    datasets.keySet().removeIf(otherEpoch -> otherEpoch < epoch);
+    return Optional.of(currentDataset);
+  }
+
+  private CompletableFuture<EthHashDataset> prepare(final long epoch) {
+    return datasets.computeIfAbsent(
+        epoch,
+        key ->
+            CompletableFuture.supplyAsync(() -> loadOrGenerate(epoch), generationScheduler)
+                .whenComplete(
+                    (dataset, error) -> {
+                      if (error != null) {
+                        LOG.error("Failed to prepare EthHash dataset for epoch " + epoch, error);
+                      }
+                    }));
+  }
+
+  private EthHashDataset loadOrGenerate(final long epoch) {
+    final Path file = directory.resolve(FILE_PREFIX + epoch);
+    try {
+      final Optional<EthHashDataset> existing = EthHashDataset.load(file, epoch);
+      if (existing.isPresent()) {
+        LOG.info("Loaded EthHash dataset for epoch {} from {}", epoch, file);
+        return existing.get();
+      }
+
+      LOG.info("Generating EthHash dataset for epoch {} in {}", epoch, file);
+      final Stopwatch stopwatch = Stopwatch.createStarted();
+      Files.createDirectories(directory);
+      final int[] cache = cacheFactory.ethHashCacheFor(epoch * EthHash.EPOCH_LENGTH).getCache();
+      final EthHashDataset dataset =
+          EthHashDataset.generate(file, epoch, cache, generationExecutor);
+      LOG.info(
+          "Generated EthHash dataset for epoch {} in {} s",
+          epoch,
+          stopwatch.elapsed(TimeUnit.SECONDS));
+      deleteDatasetsBefore(epoch - 1);
+      return dataset;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Deletes the files of datasets older than the given epoch, which are no longer needed. */
+  private void deleteDatasetsBefore(final long epoch) throws IOException {
+    try (final DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+      for (final Path file : files) {
+        final String name = file.getFileName().toString();
+        final String suffix = name.substring(FILE_PREFIX.length());
+        if (suffix.matches("\\d+") && Long.parseLong(suffix) < epoch) {
+          LOG.info("Deleting EthHash dataset {}", file);
+          Files.deleteIfExists(file);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    generationScheduler.shutdownNow();
+    generationExecutor.shutdownNow();
+  }
+}
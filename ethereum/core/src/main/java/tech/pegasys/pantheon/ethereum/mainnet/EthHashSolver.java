@@ -12,18 +12,25 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.MoreExecutors;
 
 public class EthHashSolver {
 
@@ -67,45 +74,105 @@ public class EthHashSolver {
     }
   }
 
-  private final long NO_MINING_CONDUCTED = -1;
+  private static final long NO_MINING_CONDUCTED = -1;
+
+  // Nonces are taken from the generator in batches, so threads rarely contend for it.
+  private static final int NONCE_BATCH_SIZE = 64;
 
   private final Iterable<Long> nonceGenerator;
   private final EthHasher ethHasher;
+  private final int threads;
+  private final Executor executor;
   private volatile long hashesPerSecond = NO_MINING_CONDUCTED;
 
   private volatile Optional<EthHashSolverJob> currentJob = Optional.empty();
 
   public EthHashSolver(final Iterable<Long> nonceGenerator, final EthHasher ethHasher) {
+    this(nonceGenerator, ethHasher, 1, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * @param nonceGenerator the nonces to try, shared by all threads searching for a solution
+   * @param ethHasher the hasher testing each nonce
+   * @param threads the number of threads searching for a solution, including the thread calling
+   *     {@link #solveFor(EthHashSolverJob)}
+   * @param executor runs the searching threads other than the calling one
+   */
+  public EthHashSolver(
+      final Iterable<Long> nonceGenerator,
+      final EthHasher ethHasher,
+      final int threads,
+      final Executor executor) {
+    checkArgument(threads > 0, "Must use at least one thread");
     this.nonceGenerator = nonceGenerator;
     this.ethHasher = ethHasher;
+    this.threads = threads;
+    this.executor = executor;
   }
 
   public EthHashSolution solveFor(final EthHashSolverJob job)
       throws InterruptedException, ExecutionException {
     currentJob = Optional.of(job);
-    findValidNonce();
-    return currentJob.get().getSolution();
+    final NonceSearch search = new NonceSearch(job);
+    for (int i = 1; i < threads; i++) {
+      executor.execute(search);
+    }
+    search.run();
+    return job.getSolution();
   }
 
-  private void findValidNonce() {
-    final Stopwatch operationTimer = Stopwatch.createStarted();
-    final EthHashSolverJob job = currentJob.get();
-    long hashesExecuted = 0;
-    final byte[] hashBuffer = new byte[64];
-    for (final Long n : nonceGenerator) {
+  /** The search for the solution of one job, run by each of the solver's threads. */
+  private class NonceSearch implements Runnable {
+    private final EthHashSolverJob job;
+    private final Iterator<Long> nonces = nonceGenerator.iterator();
+    private final Stopwatch operationTimer = Stopwatch.createStarted();
+    private final LongAdder hashesExecuted = new LongAdder();
+    private final AtomicInteger runningThreads = new AtomicInteger();
 
-      if (job.isDone()) {
-        return;
+    private NonceSearch(final EthHashSolverJob job) {
+      this.job = job;
+    }
+
+    @Override
+    public void run() {
+      runningThreads.incrementAndGet();
+      try {
+        findValidNonce();
+      } catch (final RuntimeException e) {
+        job.failed(e);
+      } finally {
+        // Only fails the job if no thread found a solution before the nonces ran out.
+        if (runningThreads.decrementAndGet() == 0) {
+          job.failed(new IllegalStateException("No valid nonce found."));
+        }
       }
+    }
 
-      final Optional<EthHashSolution> solution = testNonce(job.getInputs(), n, hashBuffer);
-      solution.ifPresent(job::solvedWith);
+    private void findValidNonce() {
+      final byte[] hashBuffer = new byte[64];
+      final long[] batch = new long[NONCE_BATCH_SIZE];
+      int batchSize;
+      while (!job.isDone() && (batchSize = nextBatch(batch)) > 0) {
+        for (int i = 0; i < batchSize && !job.isDone(); i++) {
+          final Optional<EthHashSolution> solution =
+              testNonce(job.getInputs(), batch[i], hashBuffer);
+          solution.ifPresent(job::solvedWith);
+          hashesExecuted.increment();
+        }
+        final double operationDurationSeconds = operationTimer.elapsed(TimeUnit.NANOSECONDS) / 1e9;
+        hashesPerSecond = (long) (hashesExecuted.sum() / operationDurationSeconds);
+      }
+    }
 
-      hashesExecuted++;
-      final double operationDurationSeconds = operationTimer.elapsed(TimeUnit.NANOSECONDS) / 1e9;
-      hashesPerSecond = (long) (hashesExecuted / operationDurationSeconds);
+    private int nextBatch(final long[] batch) {
+      synchronized (nonces) {
+        int batchSize = 0;
+        while (batchSize < batch.length && nonces.hasNext()) {
+          batch[batchSize++] = nonces.next();
+        }
+        return batchSize;
+      }
     }
-    job.failed(new IllegalStateException("No valid nonce found."));
   }
 
   private Optional<EthHashSolution> testNonce(
@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet;
 
+import java.util.Optional;
+
 public interface EthHasher {
 
   /**
@@ -35,4 +37,30 @@ public interface EthHasher {
       System.arraycopy(hash, 0, buffer, 0, hash.length);
     }
   }
+
+  /**
+   * Hashes with the full dataset of the block's epoch, falling back to the light cache while the
+   * dataset is still being prepared.
+   */
+  final class Full implements EthHasher {
+
+    private final EthHashDatasetFactory datasetFactory;
+    private final EthHasher fallback = new Light();
+
+    public Full(final EthHashDatasetFactory datasetFactory) {
+      this.datasetFactory = datasetFactory;
+    }
+
+    @Override
+    public void hash(
+        final byte[] buffer, final long nonce, final long number, final byte[] headerHash) {
+      final Optional<EthHashDataset> dataset = datasetFactory.datasetFor(number);
+      if (!dataset.isPresent()) {
+        fallback.hash(buffer, nonce, number, headerHash);
+        return;
+      }
+      final byte[] hash = EthHash.hashimotoFull(dataset.get(), headerHash, nonce);
+      System.arraycopy(hash, 0, buffer, 0, hash.length);
+    }
+  }
 }
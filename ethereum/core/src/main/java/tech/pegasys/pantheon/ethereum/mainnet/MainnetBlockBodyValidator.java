@@ -47,9 +47,14 @@ public class MainnetBlockBodyValidator<C> implements BlockBodyValidator<C> {
       final Block block,
       final List<TransactionReceipt> receipts,
       final Hash worldStateRootHash,
-      final HeaderValidationMode ommerValidationMode) {
+      final HeaderValidationMode ommerValidationMode,
+      final BodyValidationMode bodyValidationMode) {
+
+    if (bodyValidationMode == BodyValidationMode.FULL && !validateBodyDetached(block)) {
+      return false;
+    }
 
-    if (!validateBodyLight(context, block, receipts, ommerValidationMode)) {
+    if (!validateReceiptsAndOmmers(context, block, receipts, ommerValidationMode)) {
       return false;
     }
 
@@ -66,6 +71,19 @@ public class MainnetBlockBodyValidator<C> implements BlockBodyValidator<C> {
       final Block block,
       final List<TransactionReceipt> receipts,
       final HeaderValidationMode ommerValidationMode) {
+    if (!validateBodyDetached(block)) {
+      return false;
+    }
+
+    if (!validateReceiptsAndOmmers(context, block, receipts, ommerValidationMode)) {
+      return false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public boolean validateBodyDetached(final Block block) {
     final BlockHeader header = block.getHeader();
     final BlockBody body = block.getBody();
 
@@ -74,6 +92,21 @@ public class MainnetBlockBodyValidator<C> implements BlockBodyValidator<C> {
       return false;
     }
 
+    final Bytes32 ommerHash = BodyValidation.ommersHash(body.getOmmers());
+    if (!validateOmmersHash(header.getOmmersHash(), ommerHash)) {
+      return false;
+    }
+
+    return true;
+  }
+
+  private boolean validateReceiptsAndOmmers(
+      final ProtocolContext<C> context,
+      final Block block,
+      final List<TransactionReceipt> receipts,
+      final HeaderValidationMode ommerValidationMode) {
+    final BlockHeader header = block.getHeader();
+
     final Bytes32 receiptsRoot = BodyValidation.receiptsRoot(receipts);
     if (!validateReceiptsRoot(header.getReceiptsRoot(), receiptsRoot)) {
       return false;
@@ -89,7 +122,7 @@ public class MainnetBlockBodyValidator<C> implements BlockBodyValidator<C> {
       return false;
     }
 
-    if (!validateEthHash(context, block, ommerValidationMode)) {
+    if (!validateOmmers(context, header, block.getBody().getOmmers(), ommerValidationMode)) {
       return false;
     }
 
@@ -144,25 +177,6 @@ public class MainnetBlockBodyValidator<C> implements BlockBodyValidator<C> {
     return true;
   }
 
-  private boolean validateEthHash(
-      final ProtocolContext<C> context,
-      final Block block,
-      final HeaderValidationMode ommerValidationMode) {
-    final BlockHeader header = block.getHeader();
-    final BlockBody body = block.getBody();
-
-    final Bytes32 ommerHash = BodyValidation.ommersHash(body.getOmmers());
-    if (!validateOmmersHash(header.getOmmersHash(), ommerHash)) {
-      return false;
-    }
-
-    if (!validateOmmers(context, header, body.getOmmers(), ommerValidationMode)) {
-      return false;
-    }
-
-    return true;
-  }
-
   private static boolean validateOmmersHash(final Bytes32 expected, final Bytes32 actual) {
     if (!expected.equals(actual)) {
       LOG.warn("Invalid block: ommers hash mismatch (expected={}, actual={})", expected, actual);
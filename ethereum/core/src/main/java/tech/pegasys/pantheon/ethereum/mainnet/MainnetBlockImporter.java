@@ -36,14 +36,15 @@ public class MainnetBlockImporter<C> implements BlockImporter<C> {
       final ProtocolContext<C> context,
       final Block block,
       final HeaderValidationMode headerValidationMode,
-      final HeaderValidationMode ommerValidationMode) {
+      final HeaderValidationMode ommerValidationMode,
+      final BodyValidationMode bodyValidationMode) {
     if (context.getBlockchain().contains(block.getHash())) {
       return true;
     }
 
     final Optional<BlockProcessingOutputs> outputs =
         blockValidator.validateAndProcessBlock(
-            context, block, headerValidationMode, ommerValidationMode);
+            context, block, headerValidationMode, ommerValidationMode, bodyValidationMode);
 
     outputs.ifPresent(processingOutputs -> persistState(processingOutputs, block, context));
 
@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import com.google.common.collect.ImmutableList;
 import org.apache.logging.log4j.LogManager;
@@ -85,15 +86,32 @@ public class MainnetBlockProcessor implements BlockProcessor {
 
   private final MiningBeneficiaryCalculator miningBeneficiaryCalculator;
 
+  private final Optional<ParallelTransactionExecutor> parallelTransactionExecutor;
+
   public MainnetBlockProcessor(
       final TransactionProcessor transactionProcessor,
       final TransactionReceiptFactory transactionReceiptFactory,
       final Wei blockReward,
       final MiningBeneficiaryCalculator miningBeneficiaryCalculator) {
+    this(
+        transactionProcessor,
+        transactionReceiptFactory,
+        blockReward,
+        miningBeneficiaryCalculator,
+        Optional.empty());
+  }
+
+  public MainnetBlockProcessor(
+      final TransactionProcessor transactionProcessor,
+      final TransactionReceiptFactory transactionReceiptFactory,
+      final Wei blockReward,
+      final MiningBeneficiaryCalculator miningBeneficiaryCalculator,
+      final Optional<ParallelTransactionExecutor> parallelTransactionExecutor) {
     this.transactionProcessor = transactionProcessor;
     this.transactionReceiptFactory = transactionReceiptFactory;
     this.blockReward = blockReward;
     this.miningBeneficiaryCalculator = miningBeneficiaryCalculator;
+    this.parallelTransactionExecutor = parallelTransactionExecutor;
   }
 
   @Override
@@ -107,38 +125,59 @@ public class MainnetBlockProcessor implements BlockProcessor {
     long gasUsed = 0;
     final List<TransactionReceipt> receipts = new ArrayList<>();
 
-    for (final Transaction transaction : transactions) {
-      final long remainingGasBudget = blockHeader.getGasLimit() - gasUsed;
-      if (Long.compareUnsigned(transaction.getGasLimit(), remainingGasBudget) > 0) {
-        LOG.warn(
-            "Transaction processing error: transaction gas limit {} exceeds available block budget remaining {}",
-            transaction.getGasLimit(),
-            remainingGasBudget);
-        return Result.failed();
+    final Address miningBeneficiary = miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
+    final Optional<ParallelTransactionExecutor.BlockExecution> parallelExecution =
+        parallelTransactionExecutor
+            .filter(executor -> transactions.size() > 1)
+            .map(
+                executor ->
+                    executor.start(
+                        transactionProcessor,
+                        blockchain,
+                        worldState,
+                        blockHeader,
+                        transactions,
+                        miningBeneficiary));
+    try {
+      for (int i = 0; i < transactions.size(); ++i) {
+        final Transaction transaction = transactions.get(i);
+        final long remainingGasBudget = blockHeader.getGasLimit() - gasUsed;
+        if (Long.compareUnsigned(transaction.getGasLimit(), remainingGasBudget) > 0) {
+          LOG.warn(
+              "Transaction processing error: transaction gas limit {} exceeds available block budget remaining {}",
+              transaction.getGasLimit(),
+              remainingGasBudget);
+          return Result.failed();
+        }
+
+        final WorldUpdater worldStateUpdater = worldState.updater();
+        final TransactionProcessor.Result result;
+        if (parallelExecution.isPresent()) {
+          result = parallelExecution.get().process(i, transaction, worldStateUpdater);
+        } else {
+          final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
+          result =
+              transactionProcessor.processTransaction(
+                  blockchain,
+                  worldStateUpdater,
+                  blockHeader,
+                  transaction,
+                  miningBeneficiary,
+                  blockHashLookup,
+                  true);
+        }
+        if (result.isInvalid()) {
+          return Result.failed();
+        }
+
+        worldStateUpdater.commit();
+        gasUsed = transaction.getGasLimit() - result.getGasRemaining() + gasUsed;
+        final TransactionReceipt transactionReceipt =
+            transactionReceiptFactory.create(result, worldState, gasUsed);
+        receipts.add(transactionReceipt);
       }
-
-      final WorldUpdater worldStateUpdater = worldState.updater();
-      final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
-      final TransactionProcessor.Result result =
-          transactionProcessor.processTransaction(
-              blockchain,
-              worldStateUpdater,
-              blockHeader,
-              transaction,
-              miningBeneficiary,
-              blockHashLookup,
-              true);
-      if (result.isInvalid()) {
-        return Result.failed();
-      }
-
-      worldStateUpdater.commit();
-      gasUsed = transaction.getGasLimit() - result.getGasRemaining() + gasUsed;
-      final TransactionReceipt transactionReceipt =
-          transactionReceiptFactory.create(result, worldState, gasUsed);
-      receipts.add(transactionReceipt);
+    } finally {
+      parallelExecution.ifPresent(ParallelTransactionExecutor.BlockExecution::close);
     }
 
     if (!rewardCoinbase(worldState, blockHeader, ommers)) {
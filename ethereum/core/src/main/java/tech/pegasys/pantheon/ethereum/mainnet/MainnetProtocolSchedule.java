@@ -19,7 +19,7 @@ import tech.pegasys.pantheon.ethereum.difficulty.fixed.FixedDifficultyCalculator
 import tech.pegasys.pantheon.ethereum.difficulty.fixed.FixedDifficultyProtocolSchedule;
 
 import java.math.BigInteger;
-import java.util.function.Function;
+import java.util.Optional;
 
 /** Provides {@link ProtocolSpec} lookups for mainnet hard forks. */
 public class MainnetProtocolSchedule {
@@ -40,11 +40,32 @@ public class MainnetProtocolSchedule {
    */
   public static ProtocolSchedule<Void> fromConfig(
       final GenesisConfigOptions config, final PrivacyParameters privacyParameters) {
+    return fromConfig(config, privacyParameters, TransactionExecutionConfiguration.SEQUENTIAL);
+  }
+
+  /**
+   * Create a Mainnet protocol schedule from a config object
+   *
+   * @param config {@link GenesisConfigOptions} containing the config options for the milestone
+   *     starting points
+   * @param privacyParameters the parameters set for private transactions
+   * @param transactionExecutionConfiguration how the transactions of imported blocks are executed
+   * @return A configured mainnet protocol schedule
+   */
+  public static ProtocolSchedule<Void> fromConfig(
+      final GenesisConfigOptions config,
+      final PrivacyParameters privacyParameters,
+      final TransactionExecutionConfiguration transactionExecutionConfiguration) {
     if (FixedDifficultyCalculators.isFixedDifficultyInConfig(config)) {
       return FixedDifficultyProtocolSchedule.create(config, privacyParameters);
     }
+    final Optional<ParallelTransactionExecutor> parallelTransactionExecutor =
+        ParallelTransactionExecutor.create(transactionExecutionConfiguration);
     return new ProtocolScheduleBuilder<>(
-            config, DEFAULT_CHAIN_ID, Function.identity(), privacyParameters)
+            config,
+            DEFAULT_CHAIN_ID,
+            builder -> builder.parallelTransactionExecutor(parallelTransactionExecutor),
+            privacyParameters)
         .createProtocolSchedule();
   }
 
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.AbstractWorldUpdater.UpdateTrackingAccount;
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Executes the transactions of a block optimistically in parallel.
+ *
+ * <p>Every transaction but the first is executed on a worker thread against the world state at the
+ * start of the block, recording what it read. The block processor then takes the transactions in
+ * block order: a transaction that read nothing written by the transactions before it has its
+ * updates replayed onto the world state, and any other is executed again against the up to date
+ * world state. The resulting world state and receipts are therefore identical to those of
+ * sequential execution.
+ */
+public class ParallelTransactionExecutor {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ExecutorService executor;
+
+  public ParallelTransactionExecutor(final int threads) {
+    this(createExecutor(threads));
+  }
+
+  @VisibleForTesting
+  ParallelTransactionExecutor(final ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  public static Optional<ParallelTransactionExecutor> create(
+      final TransactionExecutionConfiguration configuration) {
+    return configuration.isParallel()
+        ? Optional.of(new ParallelTransactionExecutor(configuration.getParallelThreads()))
+        : Optional.empty();
+  }
+
+  private static ExecutorService createExecutor(final int threads) {
+    final ThreadPoolExecutor threadPool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            30,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("parallel-transaction-executor-%d")
+                .setDaemon(true)
+                .build());
+    // Idle threads exit so that nothing needs to be shut down.
+    threadPool.allowCoreThreadTimeOut(true);
+    return threadPool;
+  }
+
+  /**
+   * Starts speculatively executing the transactions of a block.
+   *
+   * @param transactionProcessor the transaction processor of the block's protocol spec
+   * @param blockchain the blockchain the block is being imported into
+   * @param worldState the world state at the start of the block, which is copied for each worker
+   *     without persisting any pending changes
+   * @param blockHeader the header of the block
+   * @param transactions the transactions of the block
+   * @param miningBeneficiary the account transaction fees are paid to
+   * @return the execution, whose transactions must be processed in order
+   */
+  BlockExecution start(
+      final TransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary) {
+    final BlockExecution execution =
+        new BlockExecution(
+            transactionProcessor, blockchain, worldState, blockHeader, miningBeneficiary);
+    // The first transaction can't conflict with anything, so just run it on the calling thread.
+    execution.speculations.add(null);
+    for (int i = 1; i < transactions.size(); ++i) {
+      final Transaction transaction = transactions.get(i);
+      final MutableWorldState snapshot = worldState.copy();
+      execution.speculations.add(executor.submit(() -> execution.speculate(transaction, snapshot)));
+    }
+    return execution;
+  }
+
+  static class BlockExecution implements AutoCloseable {
+    private final TransactionProcessor transactionProcessor;
+    private final Blockchain blockchain;
+    private final MutableWorldState worldState;
+    private final BlockHeader blockHeader;
+    private final Address miningBeneficiary;
+
+    private final List<Future<TransactionExecution>> speculations = new ArrayList<>();
+    private final BlockWrites writes = new BlockWrites();
+    private int reexecuted = 0;
+
+    private BlockExecution(
+        final TransactionProcessor transactionProcessor,
+        final Blockchain blockchain,
+        final MutableWorldState worldState,
+        final BlockHeader blockHeader,
+        final Address miningBeneficiary) {
+      this.transactionProcessor = transactionProcessor;
+      this.blockchain = blockchain;
+      this.worldState = worldState;
+      this.blockHeader = blockHeader;
+      this.miningBeneficiary = miningBeneficiary;
+    }
+
+    /**
+     * Processes the next transaction of the block, either by applying the updates of its
+     * speculative execution or by executing it again.
+     *
+     * @param index the index of the transaction in the block
+     * @param transaction the transaction
+     * @param worldStateUpdater an updater of the world state the updates are applied to
+     * @return the result of the transaction
+     */
+    TransactionProcessor.Result process(
+        final int index, final Transaction transaction, final WorldUpdater worldStateUpdater) {
+      TransactionExecution execution = speculation(index);
+      if (execution == null || execution.result.isInvalid() || writes.conflictWith(execution)) {
+        if (execution != null) {
+          ++reexecuted;
+        }
+        execution = execute(transaction, worldStateUpdater);
+        if (execution.result.isInvalid()) {
+          return execution.result;
+        }
+      }
+      execution.updater.applyTo(worldStateUpdater, execution.blindlyCredited);
+      writes.record(execution);
+      return execution.result;
+    }
+
+    private TransactionExecution speculation(final int index) {
+      final Future<TransactionExecution> speculation = speculations.get(index);
+      // If the speculation hasn't started yet, it is quicker to execute the transaction here.
+      if (speculation == null || speculation.cancel(false)) {
+        return null;
+      }
+      try {
+        return speculation.get();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      } catch (final ExecutionException e) {
+        LOG.debug("Speculative execution of transaction {} failed", index, e.getCause());
+        return null;
+      }
+    }
+
+    private TransactionExecution speculate(
+        final Transaction transaction, final MutableWorldState snapshot) {
+      // The later transactions of a sender are only valid once its earlier ones have executed, so
+      // executing them against the world state at the start of the block would be wasted.
+      final Account sender = snapshot.get(transaction.getSender());
+      final long nonce = sender == null ? Account.DEFAULT_NONCE : sender.getNonce();
+      return transaction.getNonce() == nonce ? execute(transaction, snapshot.updater()) : null;
+    }
+
+    private TransactionExecution execute(
+        final Transaction transaction, final WorldUpdater parent) {
+      final SpeculativeWorldUpdater updater = new SpeculativeWorldUpdater(parent);
+      final TransactionProcessor.Result result =
+          transactionProcessor.processTransaction(
+              blockchain,
+              updater,
+              blockHeader,
+              transaction,
+              miningBeneficiary,
+              new BlockHashLookup(blockHeader, blockchain),
+              true);
+      final Optional<Address> blindlyCredited =
+          !result.isInvalid()
+                  && updater.isBlindlyCredited(miningBeneficiary, transaction.getSender())
+              ? Optional.of(miningBeneficiary)
+              : Optional.empty();
+      return new TransactionExecution(updater, result, blindlyCredited);
+    }
+
+    @Override
+    public void close() {
+      speculations.stream().filter(Objects::nonNull).forEach(f -> f.cancel(false));
+      LOG.trace(
+          "Block {} executed in parallel, {} of {} transactions re-executed",
+          blockHeader.getNumber(),
+          reexecuted,
+          speculations.size());
+    }
+  }
+
+  private static class TransactionExecution {
+    private final SpeculativeWorldUpdater updater;
+    private final TransactionProcessor.Result result;
+    private final Optional<Address> blindlyCredited;
+
+    private TransactionExecution(
+        final SpeculativeWorldUpdater updater,
+        final TransactionProcessor.Result result,
+        final Optional<Address> blindlyCredited) {
+      this.updater = updater;
+      this.result = result;
+      this.blindlyCredited = blindlyCredited;
+    }
+  }
+
+  /** What the transactions of a block processed so far have written. */
+  private static class BlockWrites {
+    // Accounts whose existence, nonce, balance or code changed.
+    private final Set<Address> accounts = new HashSet<>();
+    // Accounts whose whole storage may have changed.
+    private final Set<Address> replacedStorage = new HashSet<>();
+    private final Map<Address, Set<UInt256>> storage = new HashMap<>();
+
+    boolean conflictWith(final TransactionExecution execution) {
+      final SpeculativeWorldUpdater updater = execution.updater;
+      for (final Address address : updater.getAccountReads()) {
+        if (accounts.contains(address)
+            && !execution.blindlyCredited.filter(address::equals).isPresent()) {
+          return true;
+        }
+      }
+      for (final Map.Entry<Address, Set<UInt256>> read : updater.getStorageReads().entrySet()) {
+        final Set<UInt256> written = storage.get(read.getKey());
+        if (replacedStorage.contains(read.getKey())
+            || (written != null && !Collections.disjoint(written, read.getValue()))) {
+          return true;
+        }
+      }
+      for (final Address address : updater.getStorageScans()) {
+        if (replacedStorage.contains(address) || storage.containsKey(address)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void record(final TransactionExecution execution) {
+      final SpeculativeWorldUpdater updater = execution.updater;
+      for (final Address address : updater.getDeletedAccounts()) {
+        accounts.add(address);
+        replacedStorage.add(address);
+      }
+      for (final UpdateTrackingAccount<Account> update : updater.getUpdatedAccounts()) {
+        final Address address = update.getAddress();
+        final Account original = update.getWrappedAccount();
+        if (original == null
+            || update.getNonce() != original.getNonce()
+            || !update.getBalance().equals(original.getBalance())
+            || update.codeWasUpdated()) {
+          accounts.add(address);
+        }
+        if (original == null || update.getStorageWasCleared()) {
+          replacedStorage.add(address);
+        }
+        if (!update.getUpdatedStorage().isEmpty()) {
+          storage
+              .computeIfAbsent(address, a -> new HashSet<>())
+              .addAll(update.getUpdatedStorage().keySet());
+        }
+      }
+    }
+  }
+}
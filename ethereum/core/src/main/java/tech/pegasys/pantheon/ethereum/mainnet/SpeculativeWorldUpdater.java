@@ -0,0 +1,269 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import tech.pegasys.pantheon.ethereum.core.AbstractWorldUpdater;
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.core.WorldView;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link WorldUpdater} that buffers the updates of a single transaction and records the accounts
+ * and storage slots it read from the updater underneath.
+ *
+ * <p>This lets a transaction be executed ahead of time against a copy of the world state at the
+ * start of the block, and its updates replayed later onto the real world state provided none of the
+ * transactions before it wrote anything it read.
+ */
+class SpeculativeWorldUpdater
+    extends AbstractWorldUpdater<SpeculativeWorldUpdater.RecordingWorldView, Account> {
+
+  // Accounts looked at other than through this updater's own getMutable, which the transaction
+  // processor only uses directly for the sender and to pay the mining beneficiary.
+  private final Set<Address> observedAccounts = new HashSet<>();
+  private boolean directMutation = false;
+  private final WorldUpdater parent;
+
+  SpeculativeWorldUpdater(final WorldUpdater parent) {
+    super(new RecordingWorldView(parent));
+    this.parent = parent;
+  }
+
+  @Override
+  public Account get(final Address address) {
+    observedAccounts.add(address);
+    return super.get(address);
+  }
+
+  @Override
+  public MutableAccount getMutable(final Address address) {
+    directMutation = true;
+    try {
+      return super.getMutable(address);
+    } finally {
+      directMutation = false;
+    }
+  }
+
+  @Override
+  protected Account getForMutation(final Address address) {
+    if (!directMutation) {
+      observedAccounts.add(address);
+    }
+    return wrappedWorldView().get(address);
+  }
+
+  @Override
+  public Collection<Account> getTouchedAccounts() {
+    return new ArrayList<>(updatedAccounts());
+  }
+
+  @Override
+  public void revert() {
+    deletedAccounts().clear();
+    updatedAccounts().clear();
+  }
+
+  @Override
+  public void commit() {
+    applyTo(parent, Optional.empty());
+  }
+
+  Set<Address> getAccountReads() {
+    return wrappedWorldView().accountReads;
+  }
+
+  Map<Address, Set<UInt256>> getStorageReads() {
+    return wrappedWorldView().storageReads;
+  }
+
+  Set<Address> getStorageScans() {
+    return wrappedWorldView().storageScans;
+  }
+
+  Collection<UpdateTrackingAccount<Account>> getUpdatedAccounts() {
+    return updatedAccounts();
+  }
+
+  Collection<Address> getDeletedAccounts() {
+    return deletedAccounts();
+  }
+
+  /**
+   * Whether the only thing the execution did with an account was to add to its balance, without
+   * the balance it started from having any effect on the execution. This is how the transaction
+   * processor pays the mining beneficiary, so in practice every transaction of a block would
+   * otherwise conflict with the ones before it.
+   *
+   * @param address the account to check
+   * @param sender the sender of the executed transaction, which is also mutated directly
+   * @return true if the account's balance update can be replayed as an increment
+   */
+  boolean isBlindlyCredited(final Address address, final Address sender) {
+    if (address.equals(sender) || observedAccounts.contains(address)) {
+      return false;
+    }
+    return getUpdatedAccounts().stream()
+        .filter(update -> update.getAddress().equals(address))
+        .anyMatch(SpeculativeWorldUpdater::onlyBalanceIncreased);
+  }
+
+  private static boolean onlyBalanceIncreased(final UpdateTrackingAccount<Account> update) {
+    final Account original = update.getWrappedAccount();
+    final long originalNonce = original == null ? Account.DEFAULT_NONCE : original.getNonce();
+    final Wei originalBalance = original == null ? Wei.ZERO : original.getBalance();
+    final boolean codeUnchanged =
+        original == null ? update.getCode().isEmpty() : !update.codeWasUpdated();
+    return codeUnchanged
+        && update.getNonce() == originalNonce
+        && !update.getStorageWasCleared()
+        && update.getUpdatedStorage().isEmpty()
+        && update.getBalance().compareTo(originalBalance) > 0;
+  }
+
+  /**
+   * Replays the updates of the execution onto another updater.
+   *
+   * @param target the updater to apply the updates to
+   * @param blindlyCredited an account whose balance increase is applied as an increment on top of
+   *     its balance in the target rather than as an absolute value
+   */
+  void applyTo(final WorldUpdater target, final Optional<Address> blindlyCredited) {
+    getDeletedAccounts().forEach(target::deleteAccount);
+    for (final UpdateTrackingAccount<Account> update : getUpdatedAccounts()) {
+      final Address address = update.getAddress();
+      final Account original = update.getWrappedAccount();
+      if (blindlyCredited.filter(address::equals).isPresent()) {
+        final Wei originalBalance = original == null ? Wei.ZERO : original.getBalance();
+        target.getOrCreate(address).incrementBalance(update.getBalance().minus(originalBalance));
+        continue;
+      }
+
+      final MutableAccount account;
+      if (original == null) {
+        account = target.createAccount(address, update.getNonce(), update.getBalance());
+      } else {
+        account = target.getMutable(address);
+        account.setNonce(update.getNonce());
+        account.setBalance(update.getBalance());
+      }
+      if (update.codeWasUpdated()) {
+        account.setCode(update.getCode());
+      }
+      if (update.getStorageWasCleared()) {
+        account.clearStorage();
+      }
+      update.getUpdatedStorage().forEach(account::setStorageValue);
+    }
+  }
+
+  static class RecordingWorldView implements WorldView {
+    private final WorldView world;
+    private final Set<Address> accountReads = new HashSet<>();
+    private final Map<Address, Set<UInt256>> storageReads = new HashMap<>();
+    private final Set<Address> storageScans = new HashSet<>();
+
+    private RecordingWorldView(final WorldView world) {
+      this.world = world;
+    }
+
+    @Override
+    public Account get(final Address address) {
+      accountReads.add(address);
+      final Account account = world.get(address);
+      return account == null ? null : new RecordingAccount(account);
+    }
+
+    private class RecordingAccount implements Account {
+      private final Account account;
+
+      private RecordingAccount(final Account account) {
+        this.account = account;
+      }
+
+      private void recordStorageRead(final UInt256 key) {
+        storageReads.computeIfAbsent(account.getAddress(), address -> new HashSet<>()).add(key);
+      }
+
+      @Override
+      public Address getAddress() {
+        return account.getAddress();
+      }
+
+      @Override
+      public Hash getAddressHash() {
+        return account.getAddressHash();
+      }
+
+      @Override
+      public long getNonce() {
+        return account.getNonce();
+      }
+
+      @Override
+      public Wei getBalance() {
+        return account.getBalance();
+      }
+
+      @Override
+      public BytesValue getCode() {
+        return account.getCode();
+      }
+
+      @Override
+      public Hash getCodeHash() {
+        return account.getCodeHash();
+      }
+
+      @Override
+      public boolean hasCode() {
+        return account.hasCode();
+      }
+
+      @Override
+      public UInt256 getStorageValue(final UInt256 key) {
+        recordStorageRead(key);
+        return account.getStorageValue(key);
+      }
+
+      @Override
+      public UInt256 getOriginalStorageValue(final UInt256 key) {
+        recordStorageRead(key);
+        return account.getOriginalStorageValue(key);
+      }
+
+      @Override
+      public NavigableMap<Bytes32, UInt256> storageEntriesFrom(
+          final Bytes32 startKeyHash, final int limit) {
+        storageScans.add(account.getAddress());
+        return account.storageEntriesFrom(startKeyHash, limit);
+      }
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import picocli.CommandLine;
+
+public class TransactionExecutionConfiguration {
+
+  public static final int DEFAULT_PARALLEL_THREADS = 0;
+
+  public static final TransactionExecutionConfiguration SEQUENTIAL =
+      new TransactionExecutionConfiguration(DEFAULT_PARALLEL_THREADS);
+
+  private final int parallelThreads;
+
+  private TransactionExecutionConfiguration(final int parallelThreads) {
+    checkArgument(parallelThreads >= 0, "Parallel execution threads must not be negative");
+    this.parallelThreads = parallelThreads;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public boolean isParallel() {
+    return parallelThreads > 0;
+  }
+
+  /**
+   * The number of threads that speculatively execute the transactions of a block ahead of the
+   * thread importing it.
+   *
+   * @return the number of speculation threads, 0 if transactions are executed sequentially
+   */
+  public int getParallelThreads() {
+    return parallelThreads;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("parallelThreads", parallelThreads).toString();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final TransactionExecutionConfiguration that = (TransactionExecutionConfiguration) o;
+    return parallelThreads == that.parallelThreads;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(parallelThreads);
+  }
+
+  public static class Builder {
+
+    @CommandLine.Option(
+        names = "--Xparallel-transaction-execution-threads",
+        hidden = true,
+        defaultValue = "0",
+        paramLabel = "<INTEGER>",
+        description =
+            "Number of threads speculatively executing the transactions of imported blocks in parallel, 0 to execute them sequentially (default: ${DEFAULT-VALUE})")
+    private int parallelThreads = DEFAULT_PARALLEL_THREADS;
+
+    public Builder parallelThreads(final int parallelThreads) {
+      this.parallelThreads = parallelThreads;
+      return this;
+    }
+
+    public TransactionExecutionConfiguration build() {
+      return new TransactionExecutionConfiguration(parallelThreads);
+    }
+  }
+}
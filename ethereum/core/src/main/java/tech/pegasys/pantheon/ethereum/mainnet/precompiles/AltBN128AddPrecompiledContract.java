@@ -12,17 +12,16 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
 
-import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
-import tech.pegasys.pantheon.crypto.altbn128.Fq;
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128JacobianPoint;
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.mainnet.AbstractPrecompiledContract;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
-import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Optional;
 
 public class AltBN128AddPrecompiledContract extends AbstractPrecompiledContract {
 
@@ -42,19 +41,12 @@ public class AltBN128AddPrecompiledContract extends AbstractPrecompiledContract
     final BigInteger x2 = extractParameter(input, 64, 32);
     final BigInteger y2 = extractParameter(input, 96, 32);
 
-    final AltBn128Point p1 = new AltBn128Point(Fq.create(x1), Fq.create(y1));
-    final AltBn128Point p2 = new AltBn128Point(Fq.create(x2), Fq.create(y2));
-    if (!p1.isOnCurve() || !p2.isOnCurve()) {
+    final Optional<AltBn128JacobianPoint> p1 = AltBn128JacobianPoint.fromAffine(x1, y1);
+    final Optional<AltBn128JacobianPoint> p2 = AltBn128JacobianPoint.fromAffine(x2, y2);
+    if (!p1.isPresent() || !p2.isPresent()) {
       return null;
     }
-    final AltBn128Point sum = p1.add(p2);
-    final BytesValue x = sum.getX().toBytesValue();
-    final BytesValue y = sum.getY().toBytesValue();
-    final MutableBytesValue result = MutableBytesValue.create(64);
-    x.copyTo(result, 32 - x.size());
-    y.copyTo(result, 64 - y.size());
-
-    return result;
+    return p1.get().add(p2.get()).toBytesValue();
   }
 
   private static BigInteger extractParameter(
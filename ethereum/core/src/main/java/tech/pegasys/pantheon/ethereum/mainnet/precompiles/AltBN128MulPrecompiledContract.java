@@ -12,17 +12,16 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
 
-import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
-import tech.pegasys.pantheon.crypto.altbn128.Fq;
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128JacobianPoint;
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.mainnet.AbstractPrecompiledContract;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
-import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Optional;
 
 public class AltBN128MulPrecompiledContract extends AbstractPrecompiledContract {
 
@@ -45,19 +44,11 @@ public class AltBN128MulPrecompiledContract extends AbstractPrecompiledContract
     final BigInteger y = extractParameter(input, 32, 32);
     final BigInteger n = extractParameter(input, 64, 32);
 
-    final AltBn128Point p = new AltBn128Point(Fq.create(x), Fq.create(y));
-    if (!p.isOnCurve() || n.compareTo(MAX_N) > 0) {
+    final Optional<AltBn128JacobianPoint> p = AltBn128JacobianPoint.fromAffine(x, y);
+    if (!p.isPresent() || n.compareTo(MAX_N) > 0) {
       return null;
     }
-    final AltBn128Point product = p.multiply(n);
-
-    final BytesValue xResult = product.getX().toBytesValue();
-    final BytesValue yResult = product.getY().toBytesValue();
-    final MutableBytesValue result = MutableBytesValue.create(64);
-    xResult.copyTo(result, 32 - xResult.size());
-    yResult.copyTo(result, 64 - yResult.size());
-
-    return result;
+    return p.get().multiply(n).toBytesValue();
   }
 
   private static BigInteger extractParameter(
@@ -12,12 +12,9 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
 
-import tech.pegasys.pantheon.crypto.altbn128.AltBn128Fq12Pairer;
-import tech.pegasys.pantheon.crypto.altbn128.AltBn128Fq2Point;
-import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
-import tech.pegasys.pantheon.crypto.altbn128.Fq;
-import tech.pegasys.pantheon.crypto.altbn128.Fq12;
-import tech.pegasys.pantheon.crypto.altbn128.Fq2;
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128JacobianFq2Point;
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128JacobianPoint;
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128MontgomeryPairer;
 import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.mainnet.AbstractPrecompiledContract;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
@@ -28,6 +25,7 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 public class AltBN128PairingPrecompiledContract extends AbstractPrecompiledContract {
 
@@ -61,36 +59,30 @@ public class AltBN128PairingPrecompiledContract extends AbstractPrecompiledContr
     }
 
     final int parameters = input.size() / PARAMETER_LENGTH;
-    final List<AltBn128Point> a = new ArrayList<>();
-    final List<AltBn128Fq2Point> b = new ArrayList<>();
+    final List<AltBn128JacobianPoint> a = new ArrayList<>();
+    final List<AltBn128JacobianFq2Point> b = new ArrayList<>();
     for (int i = 0; i < parameters; ++i) {
       final BigInteger p1_x = extractParameter(input, i * PARAMETER_LENGTH, FIELD_LENGTH);
       final BigInteger p1_y = extractParameter(input, i * PARAMETER_LENGTH + 32, FIELD_LENGTH);
-      final AltBn128Point p1 = new AltBn128Point(Fq.create(p1_x), Fq.create(p1_y));
-      if (!p1.isOnCurve()) {
+      final Optional<AltBn128JacobianPoint> p1 = AltBn128JacobianPoint.fromAffine(p1_x, p1_y);
+      if (!p1.isPresent()) {
         return null;
       }
-      a.add(p1);
+      a.add(p1.get());
 
       final BigInteger p2_xImag = extractParameter(input, i * PARAMETER_LENGTH + 64, FIELD_LENGTH);
       final BigInteger p2_xReal = extractParameter(input, i * PARAMETER_LENGTH + 96, FIELD_LENGTH);
       final BigInteger p2_yImag = extractParameter(input, i * PARAMETER_LENGTH + 128, FIELD_LENGTH);
       final BigInteger p2_yReal = extractParameter(input, i * PARAMETER_LENGTH + 160, FIELD_LENGTH);
-      final Fq2 p2_x = Fq2.create(p2_xReal, p2_xImag);
-      final Fq2 p2_y = Fq2.create(p2_yReal, p2_yImag);
-      final AltBn128Fq2Point p2 = new AltBn128Fq2Point(p2_x, p2_y);
-      if (!p2.isOnCurve()) {
+      final Optional<AltBn128JacobianFq2Point> p2 =
+          AltBn128JacobianFq2Point.fromAffine(p2_xReal, p2_xImag, p2_yReal, p2_yImag);
+      if (!p2.isPresent()) {
         return null;
       }
-      b.add(p2);
+      b.add(p2.get());
     }
 
-    Fq12 exponent = Fq12.one();
-    for (int i = 0; i < parameters; ++i) {
-      exponent = exponent.multiply(AltBn128Fq12Pairer.pair(a.get(i), b.get(i)));
-    }
-
-    if (AltBn128Fq12Pairer.finalize(exponent).equals(Fq12.one())) {
+    if (AltBn128MontgomeryPairer.pairingCheck(a, b)) {
       return TRUE;
     } else {
       return FALSE;
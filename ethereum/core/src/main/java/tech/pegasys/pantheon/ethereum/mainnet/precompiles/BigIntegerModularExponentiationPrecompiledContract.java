@@ -17,11 +17,9 @@ import tech.pegasys.pantheon.ethereum.mainnet.AbstractPrecompiledContract;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
-import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
 
 import java.math.BigInteger;
-import java.util.Arrays;
 
 // The big integer modular exponentiation precompiled contract defined in EIP-198.
 public class BigIntegerModularExponentiationPrecompiledContract
@@ -37,6 +35,8 @@ public class BigIntegerModularExponentiationPrecompiledContract
   private static final int EXPONENT_LENGTH_OFFSET = 32;
   private static final int MODULUS_LENGTH_OFFSET = 64;
   private static final int MAX_GAS_BITS = 255;
+  private static final long BASE_OFFSET_BYTES = 96;
+  private static final long GQUADDIVISOR_LONG = 20;
 
   private static final BigInteger BIGINT_4 = BigInteger.valueOf(4);
   private static final BigInteger BIGINT_16 = BigInteger.valueOf(16);
@@ -56,6 +56,32 @@ public class BigIntegerModularExponentiationPrecompiledContract
     // Typically gas calculations are delegated to a GasCalculator instance,
     // but the complexity and coupling wih other parts of the precompile seem
     // like reasonable reasons to do the math here instead.
+    final long baseLength = smallLength(input, BASE_LENGTH_OFFSET);
+    final long exponentLength = smallLength(input, EXPONENT_LENGTH_OFFSET);
+    final long modulusLength = smallLength(input, MODULUS_LENGTH_OFFSET);
+    if (baseLength < 0 || exponentLength < 0 || modulusLength < 0) {
+      return bigIntegerGasRequirement(input);
+    }
+    final long exponentOffset = BASE_OFFSET_BYTES + baseLength;
+    final int firstExponentBytesCap = (int) Math.min(exponentLength, PARAMETER_LENGTH);
+    final long firstExpBitLength = bitLength(input, exponentOffset, firstExponentBytesCap);
+    final long adjustedExponentLength =
+        exponentLength <= PARAMETER_LENGTH
+            ? firstExpBitLength
+            : 8 * (exponentLength - PARAMETER_LENGTH) + firstExpBitLength;
+    final long multiplicationComplexity =
+        multiplicationComplexity(Math.max(baseLength, modulusLength));
+    try {
+      return Gas.of(
+          Math.multiplyExact(multiplicationComplexity, Math.max(adjustedExponentLength, 1))
+              / GQUADDIVISOR_LONG);
+    } catch (final ArithmeticException e) {
+      // The product overflowed before the division; let BigInteger decide whether the result fits.
+      return bigIntegerGasRequirement(input);
+    }
+  }
+
+  private Gas bigIntegerGasRequirement(final BytesValue input) {
     final BigInteger baseLength = baseLength(input);
     final BigInteger exponentLength = exponentLength(input);
     final BigInteger modulusLength = modulusLength(input);
@@ -81,29 +107,86 @@ public class BigIntegerModularExponentiationPrecompiledContract
 
   @Override
   public BytesValue compute(final BytesValue input, final MessageFrame messageFrame) {
-    final BigInteger baseLength = baseLength(input);
-    final BigInteger exponentLength = exponentLength(input);
-    final BigInteger modulusLength = modulusLength(input);
-    final BigInteger exponentOffset = BASE_OFFSET.add(baseLength);
-    final BigInteger modulusOffset = exponentOffset.add(exponentLength);
-    final BigInteger base = extractParameter(input, BASE_OFFSET, baseLength.intValue());
-    final BigInteger exp = extractParameter(input, exponentOffset, exponentLength.intValue());
-    final BigInteger mod = extractParameter(input, modulusOffset, modulusLength.intValue());
+    final int baseLength = baseLength(input).intValue();
+    final int exponentLength = exponentLength(input).intValue();
+    final int modulusLength = modulusLength(input).intValue();
+    if (modulusLength == 0) {
+      return BytesValue.EMPTY;
+    }
+    final long exponentOffset = BASE_OFFSET_BYTES + baseLength;
+    final long modulusOffset = exponentOffset + exponentLength;
+    final BigInteger mod = new BigInteger(1, extractBytes(input, modulusOffset, modulusLength));
 
-    final BytesValue modExp;
     // Result must be the length of the modulus.
-    final MutableBytesValue result = MutableBytesValue.create(modulusLength.intValue());
-    if (mod.compareTo(BigInteger.ZERO) == 0) {
-      modExp = MutableBytesValue.EMPTY;
+    final byte[] result = new byte[modulusLength];
+    if (mod.signum() == 0) {
+      return BytesValue.wrap(result);
+    }
+    final BigInteger base = new BigInteger(1, extractBytes(input, BASE_OFFSET_BYTES, baseLength));
+    final BigInteger exp = new BigInteger(1, extractBytes(input, exponentOffset, exponentLength));
+
+    // BigInteger zero-pads positive values whose most significant bit is a 1 if
+    // the padding was not there, so copy only the bytes that fit in the result.
+    final byte[] modExp = base.modPow(exp, mod).toByteArray();
+    final int length = Math.min(modExp.length, modulusLength);
+    System.arraycopy(modExp, modExp.length - length, result, modulusLength - length, length);
+    return BytesValue.wrap(result);
+  }
+
+  // Equation to estimate the multiplication complexity, for lengths up to Integer.MAX_VALUE.
+  private static long multiplicationComplexity(final long x) {
+    if (x <= 64) {
+      return x * x;
+    } else if (x <= 1_024) {
+      return x * x / 4 + 96 * x - 3_072;
     } else {
-      // BigInteger zero-pads positive values whose most significant bit is a 1 if
-      // the padding was not there.
-      modExp =
-          BytesValues.trimLeadingZeros(MutableBytesValue.wrap(base.modPow(exp, mod).toByteArray()));
+      return x * x / 16 + 480 * x - 199_680;
+    }
+  }
+
+  /**
+   * Returns the length parameter at the given offset if it is at most {@link Integer#MAX_VALUE},
+   * or -1 if it is larger.
+   */
+  private static long smallLength(final BytesValue input, final int offset) {
+    long length = 0;
+    for (int i = 0; i < PARAMETER_LENGTH; ++i) {
+      final int index = offset + i;
+      final int b = index < input.size() ? input.get(index) & 0xFF : 0;
+      length = (length << 8) | b;
+      if (length > Integer.MAX_VALUE) {
+        return -1;
+      }
     }
+    return length;
+  }
 
-    modExp.copyTo(result, result.size() - modExp.size());
-    return result;
+  /**
+   * Returns the index of the highest set bit of the big-endian value at the given offset, or zero
+   * if the value is zero. Bytes past the end of the input read as zero.
+   */
+  private static long bitLength(final BytesValue input, final long offset, final int length) {
+    for (int i = 0; i < length; ++i) {
+      final long index = offset + i;
+      if (index >= input.size()) {
+        return 0;
+      }
+      final int b = input.get((int) index) & 0xFF;
+      if (b != 0) {
+        return 8L * (length - i - 1) + 31 - Integer.numberOfLeadingZeros(b);
+      }
+    }
+    return 0;
+  }
+
+  /** Copies a parameter out of the input, right-padding with zeros past the end of the input. */
+  private static byte[] extractBytes(final BytesValue input, final long offset, final int length) {
+    final byte[] raw = new byte[length];
+    if (offset < input.size()) {
+      final int available = (int) Math.min(length, input.size() - offset);
+      input.slice((int) offset, available).copyTo(MutableBytesValue.wrap(raw), 0);
+    }
+    return raw;
   }
 
   // Equation to estimate the multiplication complexity.
@@ -150,8 +233,7 @@ public class BigIntegerModularExponentiationPrecompiledContract
     if (offset > input.size() || length == 0) {
       return BigInteger.ZERO;
     }
-    final byte[] raw = Arrays.copyOfRange(input.extractArray(), offset, offset + length);
-    return new BigInteger(1, raw);
+    return new BigInteger(1, extractBytes(input, offset, length));
   }
 
   private static BigInteger extractParameter(
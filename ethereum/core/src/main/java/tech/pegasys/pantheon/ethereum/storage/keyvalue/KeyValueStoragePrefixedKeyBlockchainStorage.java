@@ -79,7 +79,7 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHash) {
     return get(BLOCK_BODY_PREFIX, blockHash)
-        .map(bytesValue -> BlockBody.readFrom(RLP.input(bytesValue), blockHeaderFunctions));
+        .map(bytesValue -> BlockBody.readLazilyFrom(RLP.input(bytesValue), blockHeaderFunctions));
   }
 
   @Override
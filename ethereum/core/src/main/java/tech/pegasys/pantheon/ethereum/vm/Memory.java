@@ -12,20 +12,17 @@
  */
 package tech.pegasys.pantheon.ethereum.vm;
 
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
-import tech.pegasys.pantheon.util.bytes.MutableBytes32;
 import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 import tech.pegasys.pantheon.util.uint.UInt256Value;
 import tech.pegasys.pantheon.util.uint.UInt256s;
 
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.Objects;
-
-import com.google.common.base.Joiner;
+import java.util.Arrays;
 
 /**
  * A EVM memory implementation.
@@ -36,50 +33,34 @@ import com.google.common.base.Joiner;
 public class Memory {
 
   // See below.
-  private static final long MAX_BYTES = 32L * Integer.MAX_VALUE;
+  private static final long MAX_BYTES = Integer.MAX_VALUE & ~(Bytes32.SIZE - 1);
+
+  private static final byte[] EMPTY_DATA = new byte[0];
 
   /**
    * The data stored within the memory.
    *
-   * <p>Note that the current Ethereum spec don't put a limit on memory, so we could theoretically
-   * overflow this. That said we can already store up to 64GB and:
-   *
-   * <ul>
-   *   <li>that's 64GB of underlying bytes, but *a lot* more physical memory use in practice,
-   *       because ... Java; worth testing but I suspect all but the beefiest servers would OOM
-   *       before we come close to his in the first place.
-   *   <li>the price of a transaction needing more than that is likely prohibitive.
-   * </ul>
-   *
-   * So this is likely a reasonable limitation, at least at first (and possibly ever if I'm to bet).
+   * <p>Note that the current Ethereum spec don't put a limit on memory, but we store it in a single
+   * array and so can address at most 2GB. The quadratic memory expansion cost makes a transaction
+   * needing anything close to that prohibitively expensive (well over the gas limit of any block),
+   * so this is a reasonable limitation.
    */
   /*
-   * Implementation note: using an array of word have a bunch of advantages: - it can make
-   * expansions cheaper (less bytes to copy on resize). - it makes word-related operations simple. -
-   * it's an easy way to put a higher limit on addressable memory (Integer.MAX_VALUE word is 32
-   * times more capacity than Integer.MAX_VALUE bytes). but it's not without downsides either: -
-   * non-word aligned operations (on more than 1 byte) are currently more expansive (could be
-   * improved, but with more works). - sequential access, even word-aligned, might be slower than if
-   * we allocated larger byte arrays underneath due to cache effects. This is likely good enough
-   * initially, but a page-based design (with a page being X word, X to be determined) could be
-   * worth exploring as a future improvement.
-   *
-   * Lastly note that we may want to share the underlying implementation with the VM Stack: the
-   * stack is really just growable memory that is grown/accessed from the end and on by fully word,
-   * but the same page-based design probably make sense.
+   * Implementation note: memory is a single contiguous array rather than one object per word, so
+   * that loads, stores and copies of arbitrary (non word-aligned) ranges are a single
+   * System.arraycopy, ranges can be hashed in place and expanding memory does not allocate an
+   * object per word. The array is grown geometrically and may be larger than the active memory;
+   * bytes past the active words are never written and so are always zero, which is what newly
+   * expanded memory must contain.
    */
-  private final ArrayList<MutableBytes32> data;
+  private byte[] data;
 
-  // Really data.size(), but cached as a UInt256 to avoid recomputing it each time.
-  private UInt256 activeWords = UInt256.ZERO;
+  // Kept as a primitive so that the common paths don't have to allocate a UInt256.
+  private long activeWords;
 
   public Memory() {
-    this(new ArrayList<>());
-  }
-
-  private Memory(final ArrayList<MutableBytes32> data) {
-    this.data = data;
-    this.activeWords = UInt256.of(data.size());
+    this.data = EMPTY_DATA;
+    this.activeWords = 0;
   }
 
   private static RuntimeException overflow(final long v) {
@@ -111,25 +92,14 @@ public class Memory {
 
   private static int asByteLength(final UInt256 l) {
     try {
-      // While we can theoretically support up to 32 * Integer.MAX_VALUE due to storing words, and
-      // so an index in memory need to be a long internally, we simply cannot load/store more than
-      // Integer.MAX_VALUE bytes at a time (BytesValue has an int size).
+      // We cannot load/store more than Integer.MAX_VALUE bytes at a time (BytesValue has an int
+      // size), and ensureCapacityForBytes() rejects anything going past MAX_BYTES anyway.
       return l.toInt();
     } catch (final IllegalStateException e) {
       throw overflow(l.toString());
     }
   }
 
-  private int wordForByte(final long byteIndex) {
-    checkByteIndex(byteIndex);
-    return (int) (byteIndex / Bytes32.SIZE);
-  }
-
-  private int indexInWord(final long byteIndex) {
-    checkByteIndex(byteIndex);
-    return (int) (byteIndex - ((byteIndex / Bytes32.SIZE) * Bytes32.SIZE));
-  }
-
   /**
    * For use in memoryExpansionGasCost() of GasCost. Returns the number of new active words that
    * accommodate at least the number of specified bytes from the provide memory offset.
@@ -145,15 +115,15 @@ public class Memory {
   public UInt256 calculateNewActiveWords(
       final UInt256Value<?> location, final UInt256Value<?> numBytes) {
     if (numBytes.isZero()) {
-      return activeWords;
+      return UInt256.of(activeWords);
     }
 
     if (location.fitsInt() && numBytes.fitsInt()) {
       // Fast common path (note that we work on int but use long arithmetic to avoid issues)
       final long byteSize = (long) location.toInt() + (long) numBytes.toInt();
-      int wordSize = (int) (byteSize / Bytes32.SIZE);
+      long wordSize = byteSize / Bytes32.SIZE;
       if (byteSize % Bytes32.SIZE != 0) wordSize += 1;
-      return wordSize > data.size() ? UInt256.of(wordSize) : activeWords;
+      return UInt256.of(Math.max(wordSize, activeWords));
     } else {
       // Slow, rare path
 
@@ -167,7 +137,7 @@ public class Memory {
       if (!result[1].equals(BigInteger.ZERO)) {
         wordSize = wordSize.add(BigInteger.ONE);
       }
-      return UInt256s.max(activeWords, UInt256.of(wordSize));
+      return UInt256s.max(UInt256.of(activeWords), UInt256.of(wordSize));
     }
   }
 
@@ -183,8 +153,10 @@ public class Memory {
     if (numBytes == 0) {
       return;
     }
-    final int lastWordRequired = wordForByte(address + numBytes - 1);
-    maybeExpandCapacity(lastWordRequired + 1);
+    checkByteIndex(address);
+    final long lastByteRequired = address + numBytes - 1;
+    checkByteIndex(lastByteRequired);
+    maybeExpandCapacity(lastByteRequired / Bytes32.SIZE + 1);
   }
 
   /**
@@ -192,16 +164,20 @@ public class Memory {
    *
    * @param newActiveWords The new number of active words to expand to.
    */
-  private void maybeExpandCapacity(final int newActiveWords) {
-    if (data.size() >= newActiveWords) return;
-
-    // Require full capacity to guarantee we don't resize more than once.
-    data.ensureCapacity(newActiveWords);
-    final int toAdd = newActiveWords - data.size();
-    for (int i = 0; i < toAdd; i++) {
-      data.add(MutableBytes32.create());
+  private void maybeExpandCapacity(final long newActiveWords) {
+    if (activeWords >= newActiveWords) return;
+
+    final int requiredBytes = (int) (newActiveWords * Bytes32.SIZE);
+    if (data.length < requiredBytes) {
+      // Grow geometrically so that memory growing a word at a time doesn't copy on every expansion.
+      final long doubled = Math.min(MAX_BYTES, 2L * data.length);
+      data = Arrays.copyOf(data, (int) Math.max(requiredBytes, doubled));
     }
-    this.activeWords = UInt256.of(data.size());
+    this.activeWords = newActiveWords;
+  }
+
+  private BytesValue activeData() {
+    return BytesValue.wrap(data, 0, (int) getActiveBytes());
   }
 
   /**
@@ -217,12 +193,12 @@ public class Memory {
     if (!(other instanceof Memory)) return false;
 
     final Memory that = (Memory) other;
-    return this.data.equals(that.data);
+    return this.activeWords == that.activeWords && this.activeData().equals(that.activeData());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(data);
+    return activeData().hashCode();
   }
 
   /**
@@ -231,7 +207,7 @@ public class Memory {
    * @return The current number of active bytes stored in memory.
    */
   public long getActiveBytes() {
-    return (long) data.size() * Bytes32.SIZE;
+    return activeWords * Bytes32.SIZE;
   }
 
   /**
@@ -239,7 +215,7 @@ public class Memory {
    *
    * @return The current number of active words stored in memory.
    */
-  public UInt256 getActiveWords() {
+  public long getActiveWords() {
     return activeWords;
   }
 
@@ -261,40 +237,35 @@ public class Memory {
       return BytesValue.EMPTY;
     }
 
-    final long start = asByteIndex(location);
+    final int start = (int) asByteIndex(location);
 
     ensureCapacityForBytes(start, length);
 
-    // Index of last byte to set.
-    final long end = start + length - 1;
-
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
-    final int endWord = wordForByte(end);
-    final int idxInEnd = indexInWord(end);
+    return BytesValue.wrap(Arrays.copyOfRange(data, start, start + length));
+  }
 
-    if (startWord == endWord) {
-      // Bytes within a word, fast-path.
-      final MutableBytesValue bytes = data.get(startWord);
-      return idxInStart == 0 && length == Bytes32.SIZE
-          ? bytes.copy()
-          : bytes.slice(idxInStart, length).copy();
+  /**
+   * Returns the Keccak-256 hash of bytes in memory, hashing them in place rather than copying them
+   * out first.
+   *
+   * @param location The location in memory to start with.
+   * @param numBytes The number of bytes to hash.
+   * @return The hash of the bytes in memory starting at {@code location} and extending {@code
+   *     numBytes}.
+   */
+  public Hash hashBytes(final UInt256 location, final UInt256 numBytes) {
+    // See getBytes for why we check length == 0 first, before calling asByteIndex(location).
+    final int length = asByteLength(numBytes);
+    if (length == 0) {
+      return Hash.hash(BytesValue.EMPTY);
     }
 
-    // Spans multiple word, slower path.
-    final int bytesInStartWord = Bytes32.SIZE - idxInStart;
-    final int bytesInEndWord = idxInEnd + 1;
-
-    final MutableBytesValue result = MutableBytesValue.create(length);
-    int resultIdx = 0;
-    data.get(startWord).slice(idxInStart).copyTo(result, resultIdx);
-    resultIdx += bytesInStartWord;
-    for (int i = startWord + 1; i < endWord; i++) {
-      data.get(i).copyTo(result, resultIdx);
-      resultIdx += Bytes32.SIZE;
-    }
-    data.get(endWord).slice(0, bytesInEndWord).copyTo(result, resultIdx);
-    return result;
+    final int start = (int) asByteIndex(location);
+
+    ensureCapacityForBytes(start, length);
+
+    // The view never escapes: it is only read by the digest before this method returns.
+    return Hash.hash(BytesValue.wrap(data, start, length));
   }
 
   /**
@@ -355,51 +326,22 @@ public class Memory {
       return;
     }
 
-    final long start = asByteIndex(location);
+    final int start = (int) asByteIndex(location);
     final int length = asByteLength(numBytes);
 
     ensureCapacityForBytes(start, length);
 
     // We've properly expanded memory as needed. We now have simply have to copy the
     // min(length, value.size()) first bytes of value and clear any bytes that exceed value's length
-    if (taintedValue.isEmpty()) {
-      clearBytes(location, numBytes);
-      return;
+    final int toCopy = Math.min(length, taintedValue.size());
+    if (toCopy > 0) {
+      final BytesValue value =
+          toCopy == taintedValue.size() ? taintedValue : taintedValue.slice(0, toCopy);
+      value.copyTo(MutableBytesValue.wrap(data, start, toCopy));
     }
-    final BytesValue value;
-    if (taintedValue.size() > length) {
-      value = taintedValue.slice(0, length);
-    } else if (taintedValue.size() < length) {
-      value = taintedValue;
-      clearBytes(location.plus(taintedValue.size()), numBytes.minus(taintedValue.size()));
-    } else {
-      value = taintedValue;
-    }
-
-    // Index of last byte to set.
-    final long end = start + value.size() - 1;
-
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
-    final int endWord = wordForByte(end);
-
-    if (startWord == endWord) {
-      // Bytes within a word, fast-path.
-      value.copyTo(data.get(startWord), idxInStart);
-      return;
-    }
-
-    // Spans multiple word, slower path.
-    final int bytesInStartWord = Bytes32.SIZE - idxInStart;
-
-    int valueIdx = 0;
-    value.slice(valueIdx, bytesInStartWord).copyTo(data.get(startWord), idxInStart);
-    valueIdx += bytesInStartWord;
-    for (int i = startWord + 1; i < endWord; i++) {
-      value.slice(valueIdx, Bytes32.SIZE).copyTo(data.get(i));
-      valueIdx += Bytes32.SIZE;
+    if (toCopy < length) {
+      Arrays.fill(data, start + toCopy, start + length, (byte) 0);
     }
-    value.slice(valueIdx).copyTo(data.get(endWord), 0);
   }
 
   /**
@@ -430,33 +372,8 @@ public class Memory {
 
     ensureCapacityForBytes(location, numBytes);
 
-    // Index of last byte to set.
-    final long end = location + numBytes - 1;
-
-    final int startWord = wordForByte(location);
-    final int idxInStart = indexInWord(location);
-    final int endWord = wordForByte(end);
-    final int idxInEnd = indexInWord(end);
-
-    if (startWord == endWord) {
-      // Bytes within a word, fast-path.
-      MutableBytesValue bytes = data.get(startWord);
-      if (idxInStart != 0 || numBytes != Bytes32.SIZE) {
-        bytes = bytes.mutableSlice(idxInStart, numBytes);
-      }
-      bytes.clear();
-      return;
-    }
-
-    // Spans multiple word, slower path.
-    final int bytesInStartWord = Bytes32.SIZE - idxInStart;
-    final int bytesInEndWord = idxInEnd + 1;
-
-    data.get(startWord).mutableSlice(idxInStart, bytesInStartWord).clear();
-    for (int i = startWord + 1; i < endWord; i++) {
-      data.get(i).clear();
-    }
-    data.get(endWord).mutableSlice(0, bytesInEndWord).clear();
+    final int start = (int) location;
+    Arrays.fill(data, start, start + numBytes, (byte) 0);
   }
 
   /**
@@ -469,10 +386,7 @@ public class Memory {
     final long start = asByteIndex(location);
     ensureCapacityForBytes(start, 1);
 
-    final int word = wordForByte(start);
-    final int idxInWord = indexInWord(start);
-
-    data.get(word).set(idxInWord, value);
+    data[(int) start] = value;
   }
 
   /**
@@ -482,25 +396,10 @@ public class Memory {
    * @return a copy of the 32-bytes word that begins at the specified memory location.
    */
   public Bytes32 getWord(final UInt256 location) {
-    final long start = asByteIndex(location);
+    final int start = (int) asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
 
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
-
-    if (idxInStart == 0) {
-      // Word-aligned. Fast-path.
-      return data.get(startWord).copy();
-    }
-
-    // Spans 2 memory word, slower path.
-    final MutableBytes32 result = MutableBytes32.create();
-    final int sizeInFirstWord = Bytes32.SIZE - idxInStart;
-    data.get(startWord).slice(idxInStart, sizeInFirstWord).copyTo(result, 0);
-    data.get(startWord + 1)
-        .slice(0, Bytes32.SIZE - sizeInFirstWord)
-        .copyTo(result, sizeInFirstWord);
-    return result;
+    return Bytes32.wrap(Arrays.copyOfRange(data, start, start + Bytes32.SIZE));
   }
 
   /**
@@ -513,30 +412,22 @@ public class Memory {
    * @param bytes the 32 bytes to copy at {@code location}.
    */
   public void setWord(final UInt256 location, final Bytes32 bytes) {
-    final long start = asByteIndex(location);
+    final int start = (int) asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
 
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
-
-    if (idxInStart == 0) {
-      // Word-aligned. Fast-path.
-      bytes.copyTo(data.get(startWord));
-      return;
-    }
-
-    // Spans 2 memory word, slower path.
-    final int sizeInFirstWord = Bytes32.SIZE - idxInStart;
-    bytes.slice(0, sizeInFirstWord).copyTo(data.get(startWord), idxInStart);
-    bytes.slice(sizeInFirstWord).copyTo(data.get(startWord + 1), 0);
+    bytes.copyTo(MutableBytesValue.wrap(data, start, Bytes32.SIZE));
   }
 
   @Override
   public String toString() {
-    if (data.isEmpty()) {
+    if (activeWords == 0) {
       return "";
     }
 
-    return '\n' + Joiner.on("\n").join(data);
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < activeWords; i++) {
+      builder.append('\n').append(Bytes32.wrap(data, i * Bytes32.SIZE));
+    }
+    return builder.toString();
   }
 }
@@ -17,6 +17,7 @@ import static com.google.common.base.Preconditions.checkState;
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.LogSeries;
 import tech.pegasys.pantheon.ethereum.core.ProcessableBlockHeader;
@@ -499,7 +500,7 @@ public class MessageFrame {
    * @return the number of words in memory
    */
   public UInt256 memoryWordSize() {
-    return memory.getActiveWords();
+    return UInt256.of(memory.getActiveWords());
   }
 
   /**
@@ -526,6 +527,17 @@ public class MessageFrame {
     return memory.getBytes(offset, length);
   }
 
+  /**
+   * Hash bytes in memory without copying them.
+   *
+   * @param offset The offset in memory
+   * @param length The length of the bytes to hash
+   * @return The Keccak-256 hash of the bytes in the specified range
+   */
+  public Hash hashMemory(final UInt256 offset, final UInt256 length) {
+    return memory.hashBytes(offset, length);
+  }
+
   /**
    * Write byte to memory
    *
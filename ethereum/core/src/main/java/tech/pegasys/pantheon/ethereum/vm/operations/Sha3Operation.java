@@ -13,11 +13,9 @@
 package tech.pegasys.pantheon.ethereum.vm.operations;
 
 import tech.pegasys.pantheon.ethereum.core.Gas;
-import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.vm.AbstractOperation;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
-import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 public class Sha3Operation extends AbstractOperation {
@@ -39,7 +37,6 @@ public class Sha3Operation extends AbstractOperation {
     final UInt256 from = frame.popStackItem().asUInt256();
     final UInt256 length = frame.popStackItem().asUInt256();
 
-    final BytesValue bytes = frame.readMemory(from, length);
-    frame.pushStackItem(Hash.hash(bytes));
+    frame.pushStackItem(frame.hashMemory(from, length));
   }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Keeps recently read and written trie nodes and contract code in memory in front of another
+ * {@link WorldStateStorage}.
+ *
+ * <p>Everything in world state storage is keyed by the hash of its value and is never removed, so
+ * cached entries never go stale. Values written through an {@link Updater} are only cached once
+ * the update has been committed.
+ */
+public class CachingWorldStateStorage implements WorldStateStorage {
+
+  private final WorldStateStorage storage;
+  private final Cache<Bytes32, BytesValue> cache;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter nodeDataHits;
+  private final Counter nodeDataMisses;
+  private final CachingWorldStateStorage preloadingView;
+
+  public CachingWorldStateStorage(
+      final WorldStateStorage storage,
+      final long maximumSizeBytes,
+      final MetricsSystem metricsSystem) {
+    this.storage = storage;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maximumSizeBytes)
+            .<Bytes32, BytesValue>weigher((key, value) -> key.size() + value.size())
+            .build();
+    final LabelledMetric<Counter> requests =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.BLOCKCHAIN,
+            "world_state_cache_requests_total",
+            "Reads of trie nodes and code from the world state cache",
+            "source",
+            "result");
+    this.hits = requests.labels("execution", "hit");
+    this.misses = requests.labels("execution", "miss");
+    // Node data is read by peers' requests and fast sync rather than by block execution.
+    this.nodeDataHits = requests.labels("node_data", "hit");
+    this.nodeDataMisses = requests.labels("node_data", "miss");
+    this.preloadingView =
+        new CachingWorldStateStorage(
+            storage,
+            cache,
+            requests.labels("preload", "hit"),
+            requests.labels("preload", "miss"),
+            nodeDataHits,
+            nodeDataMisses);
+  }
+
+  private CachingWorldStateStorage(
+      final WorldStateStorage storage,
+      final Cache<Bytes32, BytesValue> cache,
+      final Counter hits,
+      final Counter misses,
+      final Counter nodeDataHits,
+      final Counter nodeDataMisses) {
+    this.storage = storage;
+    this.cache = cache;
+    this.hits = hits;
+    this.misses = misses;
+    this.nodeDataHits = nodeDataHits;
+    this.nodeDataMisses = nodeDataMisses;
+    this.preloadingView = this;
+  }
+
+  /**
+   * Returns a view sharing this cache whose reads are reported separately, so that the hit rate of
+   * block execution is not diluted by reads made only to warm the cache.
+   *
+   * @return the view used by a {@link WorldStatePreloader}
+   */
+  public WorldStateStorage preloadingView() {
+    return preloadingView;
+  }
+
+  @Override
+  public Optional<BytesValue> getCode(final Bytes32 codeHash) {
+    return get(codeHash, storage::getCode, hits, misses);
+  }
+
+  @Override
+  public Optional<BytesValue> getAccountStateTrieNode(final Bytes32 nodeHash) {
+    return get(nodeHash, storage::getAccountStateTrieNode, hits, misses);
+  }
+
+  @Override
+  public Optional<BytesValue> getAccountStorageTrieNode(final Bytes32 nodeHash) {
+    return get(nodeHash, storage::getAccountStorageTrieNode, hits, misses);
+  }
+
+  @Override
+  public Optional<BytesValue> getNodeData(final Bytes32 hash) {
+    return get(hash, storage::getNodeData, nodeDataHits, nodeDataMisses);
+  }
+
+  private Optional<BytesValue> get(
+      final Bytes32 hash,
+      final Function<Bytes32, Optional<BytesValue>> loader,
+      final Counter hits,
+      final Counter misses) {
+    final BytesValue cached = cache.getIfPresent(hash);
+    if (cached != null) {
+      hits.inc();
+      return Optional.of(cached);
+    }
+    misses.inc();
+    final Optional<BytesValue> value = loader.apply(hash);
+    value.ifPresent(v -> cache.put(hash, v));
+    return value;
+  }
+
+  @Override
+  public boolean isWorldStateAvailable(final Bytes32 rootHash) {
+    return cache.getIfPresent(rootHash) != null || storage.isWorldStateAvailable(rootHash);
+  }
+
+  @Override
+  public WorldStateStorage.Updater updater() {
+    return new Updater(storage.updater());
+  }
+
+  private class Updater implements WorldStateStorage.Updater {
+
+    private final WorldStateStorage.Updater updater;
+    private final Map<Bytes32, BytesValue> pending = new HashMap<>();
+
+    private Updater(final WorldStateStorage.Updater updater) {
+      this.updater = updater;
+    }
+
+    @Override
+    public WorldStateStorage.Updater putCode(final Bytes32 codeHash, final BytesValue code) {
+      updater.putCode(codeHash, code);
+      pending.put(codeHash, code);
+      return this;
+    }
+
+    @Override
+    public WorldStateStorage.Updater putAccountStateTrieNode(
+        final Bytes32 nodeHash, final BytesValue node) {
+      updater.putAccountStateTrieNode(nodeHash, node);
+      pending.put(nodeHash, node);
+      return this;
+    }
+
+    @Override
+    public WorldStateStorage.Updater putAccountStorageTrieNode(
+        final Bytes32 nodeHash, final BytesValue node) {
+      updater.putAccountStorageTrieNode(nodeHash, node);
+      pending.put(nodeHash, node);
+      return this;
+    }
+
+    @Override
+    public void commit() {
+      updater.commit();
+      cache.putAll(pending);
+      pending.clear();
+    }
+
+    @Override
+    public void rollback() {
+      updater.rollback();
+      pending.clear();
+    }
+  }
+}
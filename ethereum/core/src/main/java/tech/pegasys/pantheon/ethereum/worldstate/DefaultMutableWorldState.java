@@ -42,8 +42,8 @@ import java.util.stream.Stream;
 
 public class DefaultMutableWorldState implements MutableWorldState {
 
-  private final MerklePatriciaTrie<Bytes32, BytesValue> accountStateTrie;
-  private final Map<Address, MerklePatriciaTrie<Bytes32, BytesValue>> updatedStorageTries =
+  private final StoredMerklePatriciaTrie<Bytes32, BytesValue> accountStateTrie;
+  private final Map<Address, StoredMerklePatriciaTrie<Bytes32, BytesValue>> updatedStorageTries =
       new HashMap<>();
   private final Map<Address, BytesValue> updatedAccountCode = new HashMap<>();
   private final WorldStateStorage worldStateStorage;
@@ -71,12 +71,14 @@ public class DefaultMutableWorldState implements MutableWorldState {
     this.accountStateTrie = newAccountStateTrie(other.accountStateTrie.getRootHash());
   }
 
-  private MerklePatriciaTrie<Bytes32, BytesValue> newAccountStateTrie(final Bytes32 rootHash) {
+  private StoredMerklePatriciaTrie<Bytes32, BytesValue> newAccountStateTrie(
+      final Bytes32 rootHash) {
     return new StoredMerklePatriciaTrie<>(
         worldStateStorage::getAccountStateTrieNode, rootHash, b -> b, b -> b);
   }
 
-  private MerklePatriciaTrie<Bytes32, BytesValue> newAccountStorageTrie(final Bytes32 rootHash) {
+  private StoredMerklePatriciaTrie<Bytes32, BytesValue> newAccountStorageTrie(
+      final Bytes32 rootHash) {
     return new StoredMerklePatriciaTrie<>(
         worldStateStorage::getAccountStorageTrieNode, rootHash, b -> b, b -> b);
   }
@@ -86,9 +88,28 @@ public class DefaultMutableWorldState implements MutableWorldState {
     return Hash.wrap(accountStateTrie.getRootHash());
   }
 
+  private DefaultMutableWorldState(
+      final WorldStateStorage worldStateStorage,
+      final StoredMerklePatriciaTrie<Bytes32, BytesValue> accountStateTrie) {
+    this.worldStateStorage = worldStateStorage;
+    this.accountStateTrie = accountStateTrie;
+  }
+
+  /**
+   * Creates a copy of this world state that includes the changes not yet persisted, without
+   * writing anything to storage. Trie nodes are never modified once created, so the copy shares
+   * them with this world state.
+   *
+   * @return a copy of this world state.
+   */
   @Override
   public MutableWorldState copy() {
-    return new DefaultMutableWorldState(rootHash(), worldStateStorage);
+    final DefaultMutableWorldState copy =
+        new DefaultMutableWorldState(worldStateStorage, accountStateTrie.copy());
+    updatedStorageTries.forEach(
+        (address, storageTrie) -> copy.updatedStorageTries.put(address, storageTrie.copy()));
+    copy.updatedAccountCode.putAll(updatedAccountCode);
+    return copy;
   }
 
   @Override
@@ -149,7 +170,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
       updater.putCode(code);
     }
     // Commit account storage tries
-    for (final MerklePatriciaTrie<Bytes32, BytesValue> updatedStorage :
+    for (final StoredMerklePatriciaTrie<Bytes32, BytesValue> updatedStorage :
         updatedStorageTries.values()) {
       updatedStorage.commit(updater::putAccountStorageTrieNode);
     }
@@ -174,7 +195,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
     final StateTrieAccountValue accountValue;
 
     // Lazily initialized since we don't always access storage.
-    private volatile MerklePatriciaTrie<Bytes32, BytesValue> storageTrie;
+    private volatile StoredMerklePatriciaTrie<Bytes32, BytesValue> storageTrie;
 
     private AccountState(
         final Address address, final Hash addressHash, final StateTrieAccountValue accountValue) {
@@ -184,8 +205,9 @@ public class DefaultMutableWorldState implements MutableWorldState {
       this.accountValue = accountValue;
     }
 
-    private MerklePatriciaTrie<Bytes32, BytesValue> storageTrie() {
-      final MerklePatriciaTrie<Bytes32, BytesValue> updatedTrie = updatedStorageTries.get(address);
+    private StoredMerklePatriciaTrie<Bytes32, BytesValue> storageTrie() {
+      final StoredMerklePatriciaTrie<Bytes32, BytesValue> updatedTrie =
+          updatedStorageTries.get(address);
       if (updatedTrie != null) {
         storageTrie = updatedTrie;
       }
@@ -345,7 +367,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
         final SortedMap<UInt256, UInt256> updatedStorage = updated.getUpdatedStorage();
         if (!updatedStorage.isEmpty()) {
           // Apply any storage updates
-          final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie =
+          final StoredMerklePatriciaTrie<Bytes32, BytesValue> storageTrie =
               freshState
                   ? wrapped.newAccountStorageTrie(Hash.EMPTY_TRIE_HASH)
                   : origin.storageTrie();
@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.ethereum.worldstate;
 
+import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.WorldState;
@@ -22,10 +23,17 @@ import java.util.Optional;
 
 public class WorldStateArchive {
   private final WorldStateStorage storage;
+  private final Optional<WorldStatePreloader> preloader;
   private static final Hash EMPTY_ROOT_HASH = Hash.wrap(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH);
 
   public WorldStateArchive(final WorldStateStorage storage) {
+    this(storage, Optional.empty());
+  }
+
+  public WorldStateArchive(
+      final WorldStateStorage storage, final Optional<WorldStatePreloader> preloader) {
     this.storage = storage;
+    this.preloader = preloader;
   }
 
   public Optional<WorldState> get(final Hash rootHash) {
@@ -51,6 +59,17 @@ public class WorldStateArchive {
     return getMutable(EMPTY_ROOT_HASH).get();
   }
 
+  /**
+   * Starts reading the accounts a block touches in the background if this archive has a
+   * preloader, so that the block executes against a warm cache.
+   *
+   * @param rootHash the root of the world state the block will be executed on
+   * @param block the block about to be executed
+   */
+  public void preload(final Hash rootHash, final Block block) {
+    preloader.ifPresent(p -> p.preload(rootHash, block));
+  }
+
   public Optional<BytesValue> getNodeData(final Hash hash) {
     return storage.getNodeData(hash);
   }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import picocli.CommandLine;
+
+public class WorldStateCacheConfiguration {
+
+  public static final long DEFAULT_CACHE_SIZE_BYTES = 64L * 1024 * 1024;
+  public static final int DEFAULT_PRELOAD_THREADS = 0;
+
+  public static final WorldStateCacheConfiguration DEFAULT = builder().build();
+
+  private final long cacheSizeBytes;
+  private final int preloadThreads;
+
+  private WorldStateCacheConfiguration(final long cacheSizeBytes, final int preloadThreads) {
+    checkArgument(cacheSizeBytes >= 0, "World state cache size must not be negative");
+    checkArgument(preloadThreads >= 0, "World state preload threads must not be negative");
+    checkArgument(
+        preloadThreads == 0 || cacheSizeBytes > 0,
+        "World state preloading requires the world state cache to be enabled");
+    this.cacheSizeBytes = cacheSizeBytes;
+    this.preloadThreads = preloadThreads;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public boolean isCacheEnabled() {
+    return cacheSizeBytes > 0;
+  }
+
+  /**
+   * The maximum size of the trie nodes and code kept in memory in front of world state storage.
+   *
+   * @return the cache size in bytes, 0 if world state reads are not cached
+   */
+  public long getCacheSizeBytes() {
+    return cacheSizeBytes;
+  }
+
+  /**
+   * The number of threads reading the accounts a block touches into the cache before the block is
+   * executed.
+   *
+   * @return the number of preloading threads, 0 if nothing is preloaded
+   */
+  public int getPreloadThreads() {
+    return preloadThreads;
+  }
+
+  /**
+   * Creates the world state archive for the given storage, caching reads and preloading blocks as
+   * configured.
+   *
+   * @param storage the world state storage to read from and write to
+   * @param metricsSystem the metrics system
+   * @return the world state archive
+   */
+  public WorldStateArchive createWorldStateArchive(
+      final WorldStateStorage storage, final MetricsSystem metricsSystem) {
+    if (!isCacheEnabled()) {
+      return new WorldStateArchive(storage);
+    }
+    final CachingWorldStateStorage cachingStorage =
+        new CachingWorldStateStorage(storage, cacheSizeBytes, metricsSystem);
+    final Optional<WorldStatePreloader> preloader =
+        preloadThreads > 0
+            ? Optional.of(
+                new WorldStatePreloader(
+                    cachingStorage.preloadingView(), preloadThreads, metricsSystem))
+            : Optional.empty();
+    return new WorldStateArchive(cachingStorage, preloader);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("cacheSizeBytes", cacheSizeBytes)
+        .add("preloadThreads", preloadThreads)
+        .toString();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final WorldStateCacheConfiguration that = (WorldStateCacheConfiguration) o;
+    return cacheSizeBytes == that.cacheSizeBytes && preloadThreads == that.preloadThreads;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(cacheSizeBytes, preloadThreads);
+  }
+
+  public static class Builder {
+
+    @CommandLine.Option(
+        names = "--Xworld-state-cache-size",
+        hidden = true,
+        defaultValue = "67108864",
+        paramLabel = "<LONG>",
+        description =
+            "Size in bytes of the in-memory cache of world state trie nodes and code, 0 to disable the cache (default: ${DEFAULT-VALUE})")
+    private long cacheSizeBytes = DEFAULT_CACHE_SIZE_BYTES;
+
+    @CommandLine.Option(
+        names = "--Xworld-state-preload-threads",
+        hidden = true,
+        defaultValue = "0",
+        paramLabel = "<INTEGER>",
+        description =
+            "Number of threads reading the accounts of imported blocks into the world state cache ahead of execution, 0 to disable preloading (default: ${DEFAULT-VALUE})")
+    private int preloadThreads = DEFAULT_PRELOAD_THREADS;
+
+    public Builder cacheSizeBytes(final long cacheSizeBytes) {
+      this.cacheSizeBytes = cacheSizeBytes;
+      return this;
+    }
+
+    public Builder preloadThreads(final int preloadThreads) {
+      this.preloadThreads = preloadThreads;
+      return this;
+    }
+
+    public WorldStateCacheConfiguration build() {
+      return new WorldStateCacheConfiguration(cacheSizeBytes, preloadThreads);
+    }
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.WorldState;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads accounts from a world state on background threads so that the trie nodes and code on their
+ * paths are already cached by the time a block touching them is executed.
+ *
+ * <p>Accounts are read in the order the block's transactions use them and execution does not wait
+ * for preloading, so reads for later transactions overlap the execution of earlier ones.
+ *
+ * <p>Preloading is best effort: requests are dropped when the preloading threads fall behind, and
+ * failures are only logged.
+ */
+public class WorldStatePreloader {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final int MAX_QUEUED_ACCOUNTS = 4096;
+
+  private final WorldStateStorage storage;
+  private final ExecutorService executor;
+  private final Counter preloadedAccounts;
+  private final Counter droppedAccounts;
+  private final Counter droppedBlocks;
+
+  /**
+   * @param storage the storage to read through, normally {@link
+   *     CachingWorldStateStorage#preloadingView()}
+   * @param threads the number of threads reading accounts concurrently
+   * @param metricsSystem the metrics system
+   */
+  public WorldStatePreloader(
+      final WorldStateStorage storage, final int threads, final MetricsSystem metricsSystem) {
+    this(storage, createExecutor(threads), metricsSystem);
+  }
+
+  @VisibleForTesting
+  WorldStatePreloader(
+      final WorldStateStorage storage,
+      final ExecutorService executor,
+      final MetricsSystem metricsSystem) {
+    this.storage = storage;
+    this.executor = executor;
+    this.preloadedAccounts =
+        metricsSystem.createCounter(
+            MetricCategory.BLOCKCHAIN,
+            "world_state_preloaded_accounts_total",
+            "Accounts read ahead of block execution to warm the world state cache");
+    this.droppedAccounts =
+        metricsSystem.createCounter(
+            MetricCategory.BLOCKCHAIN,
+            "world_state_preload_dropped_accounts_total",
+            "Accounts not read ahead of block execution because the preloader was busy");
+    this.droppedBlocks =
+        metricsSystem.createCounter(
+            MetricCategory.BLOCKCHAIN,
+            "world_state_preload_dropped_blocks_total",
+            "Blocks not read ahead of execution because the preloader was busy");
+  }
+
+  private static ExecutorService createExecutor(final int threads) {
+    final ThreadPoolExecutor threadPool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            30,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(MAX_QUEUED_ACCOUNTS),
+            new ThreadFactoryBuilder()
+                .setNameFormat("world-state-preloader-%d")
+                .setDaemon(true)
+                .build());
+    // Idle threads exit so that nothing needs to be shut down.
+    threadPool.allowCoreThreadTimeOut(true);
+    return threadPool;
+  }
+
+  /**
+   * Starts reading the senders and recipients of a block's transactions, and the block's
+   * beneficiaries, from the world state the block will be executed on.
+   *
+   * <p>Senders are recovered on the preloading threads, which also leaves them cached on the
+   * transactions for execution.
+   *
+   * @param stateRoot the root of the world state to read from
+   * @param block the block about to be executed
+   */
+  public void preload(final Hash stateRoot, final Block block) {
+    execute(() -> preload(stateRoot, accountsTouchedBy(block)), droppedBlocks);
+  }
+
+  /**
+   * Starts reading the given accounts, in order, from the world state with the given root.
+   *
+   * @param stateRoot the root of the world state to read from
+   * @param addresses the addresses of the accounts to read
+   */
+  public void preload(final Hash stateRoot, final Collection<Address> addresses) {
+    for (final Address address : addresses) {
+      execute(() -> preloadAccount(stateRoot, address), droppedAccounts);
+    }
+  }
+
+  private void execute(final Runnable task, final Counter droppedCounter) {
+    try {
+      executor.execute(task);
+    } catch (final RejectedExecutionException e) {
+      droppedCounter.inc();
+    }
+  }
+
+  private static Collection<Address> accountsTouchedBy(final Block block) {
+    final Set<Address> accounts = new LinkedHashSet<>();
+    for (final Transaction transaction : block.getBody().getTransactions()) {
+      try {
+        accounts.add(transaction.getSender());
+      } catch (final IllegalStateException e) {
+        // The transaction is invalid, which block execution will report.
+      }
+      transaction.getTo().ifPresent(accounts::add);
+    }
+    accounts.add(block.getHeader().getCoinbase());
+    block.getBody().getOmmers().forEach(ommer -> accounts.add(ommer.getCoinbase()));
+    return accounts;
+  }
+
+  private void preloadAccount(final Hash stateRoot, final Address address) {
+    try {
+      // Each read uses its own trie so that loaded nodes are never shared between threads.
+      final WorldState worldState = new DefaultMutableWorldState(stateRoot, storage);
+      final Account account = worldState.get(address);
+      if (account != null && account.hasCode()) {
+        // Warm the top of the storage trie, which is shared by the paths to every slot.
+        account.getStorageValue(UInt256.ZERO);
+      }
+      preloadedAccounts.inc();
+    } catch (final RuntimeException e) {
+      LOG.debug("Failed to preload account {} from world state {}", address, stateRoot, e);
+    }
+  }
+}
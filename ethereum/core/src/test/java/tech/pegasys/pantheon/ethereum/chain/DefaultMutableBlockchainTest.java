@@ -158,6 +158,82 @@ public class DefaultMutableBlockchainTest {
     assertThat(blockchain.getForks()).isEmpty();
   }
 
+  @Test
+  public void appendInBatchesWritesBlocksOnceBatchIsFull() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final List<Block> chain = gen.blockSequence(6);
+    final List<List<TransactionReceipt>> blockReceipts =
+        chain.stream().map(gen::receipts).collect(Collectors.toList());
+
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final DefaultMutableBlockchain blockchain = createBlockchain(kvStore, chain.get(0));
+    final List<Block> addedBlocks = new ArrayList<>();
+    blockchain.observeBlockAdded((event, c) -> addedBlocks.add(event.getBlock()));
+
+    blockchain.appendInBatches(
+        2,
+        () -> {
+          blockchain.appendBlock(chain.get(1), blockReceipts.get(1));
+          // Pending until the batch is full, but visible to validate the next block against.
+          assertBlockIsHead(blockchain, chain.get(0));
+          assertThat(blockchain.getBlockHeader(chain.get(1).getHash()))
+              .contains(chain.get(1).getHeader());
+          assertThat(blockchain.getBlockBody(chain.get(1).getHash())).isEmpty();
+          assertThat(addedBlocks).isEmpty();
+
+          blockchain.appendBlock(chain.get(2), blockReceipts.get(2));
+          assertBlockIsHead(blockchain, chain.get(2));
+          assertThat(addedBlocks).containsExactly(chain.get(1), chain.get(2));
+
+          for (int i = 3; i < chain.size(); i++) {
+            blockchain.appendBlock(chain.get(i), blockReceipts.get(i));
+          }
+          assertBlockIsHead(blockchain, chain.get(4));
+        });
+
+    for (int i = 1; i < chain.size(); i++) {
+      assertBlockDataIsStored(blockchain, chain.get(i), blockReceipts.get(i));
+    }
+    final Block head = chain.get(chain.size() - 1);
+    assertBlockIsHead(blockchain, head);
+    assertTotalDifficultiesAreConsistent(blockchain, head);
+    assertThat(blockchain.getForks()).isEmpty();
+    assertThat(addedBlocks).isEqualTo(chain.subList(1, chain.size()));
+  }
+
+  @Test
+  public void appendInBatchesWritesPendingBlocksBeforeFork() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final List<Block> chain = gen.blockSequence(4);
+    final List<List<TransactionReceipt>> blockReceipts =
+        chain.stream().map(gen::receipts).collect(Collectors.toList());
+    final Block fork =
+        gen.block(
+            new BlockOptions()
+                .setParentHash(chain.get(1).getHash())
+                .setBlockNumber(2)
+                .setDifficulty(chain.get(2).getHeader().getDifficulty()));
+
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final DefaultMutableBlockchain blockchain = createBlockchain(kvStore, chain.get(0));
+    blockchain.appendInBatches(
+        10,
+        () -> {
+          for (int i = 1; i < chain.size(); i++) {
+            blockchain.appendBlock(chain.get(i), blockReceipts.get(i));
+          }
+          blockchain.appendBlock(fork, gen.receipts(fork));
+          assertBlockIsHead(blockchain, chain.get(3));
+        });
+
+    for (int i = 1; i < chain.size(); i++) {
+      assertBlockDataIsStored(blockchain, chain.get(i), blockReceipts.get(i));
+    }
+    assertBlockIsHead(blockchain, chain.get(3));
+    assertTotalDifficultiesAreConsistent(blockchain, chain.get(3));
+    assertThat(blockchain.getForks()).containsExactly(fork.getHash());
+  }
+
   @Test
   public void appendBlockWithReorgToChainAtEqualHeight() {
     final BlockDataGenerator gen = new BlockDataGenerator(1);
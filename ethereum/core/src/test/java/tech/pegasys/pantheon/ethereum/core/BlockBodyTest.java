@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPException;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class BlockBodyTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final BlockHeaderFunctions blockHeaderFunctions = new MainnetBlockHeaderFunctions();
+
+  private BlockBody bodyWithTransactions(final int count) {
+    final BlockOptions options = BlockOptions.create();
+    for (int i = 0; i < count; ++i) {
+      options.addTransaction(gen.transaction());
+    }
+    return gen.body(options);
+  }
+
+  @Test
+  public void lazilyReadBodyEqualsEagerlyReadBody() {
+    final BytesValue encoded = RLP.encode(bodyWithTransactions(5)::writeTo);
+
+    final BlockBody lazy = BlockBody.readLazilyFrom(RLP.input(encoded), blockHeaderFunctions);
+    final BlockBody eager = BlockBody.readFrom(RLP.input(encoded), blockHeaderFunctions);
+
+    assertThat(lazy).isEqualTo(eager);
+    assertThat(lazy.getTransactionCount()).isEqualTo(5);
+  }
+
+  @Test
+  public void lazilyReadBodyIsWrittenBackAsRead() {
+    final BytesValue encoded = RLP.encode(bodyWithTransactions(5)::writeTo);
+
+    final BlockBody lazy = BlockBody.readLazilyFrom(RLP.input(encoded), blockHeaderFunctions);
+
+    assertThat(RLP.encode(lazy::writeTo)).isEqualTo(encoded);
+    lazy.getTransactions();
+    assertThat(RLP.encode(lazy::writeTo)).isEqualTo(encoded);
+  }
+
+  @Test
+  public void transactionHashesDoNotNeedDecodedTransactions() {
+    final BlockBody body = bodyWithTransactions(5);
+    final List<Hash> expected =
+        body.getTransactions().stream().map(Transaction::hash).collect(Collectors.toList());
+
+    final BlockBody lazy =
+        BlockBody.readLazilyFrom(RLP.input(RLP.encode(body::writeTo)), blockHeaderFunctions);
+
+    assertThat(lazy.getTransactionHashes()).isEqualTo(expected);
+    assertThat(body.getTransactionHashes()).isEqualTo(expected);
+    assertThat(
+            lazy.getTransactions().stream().map(Transaction::hash).collect(Collectors.toList()))
+        .isEqualTo(expected);
+  }
+
+  @Test
+  public void lazilyReadBlockIsWrittenBackAsRead() {
+    final Block block = gen.block(BlockOptions.create().addTransaction(gen.transaction()));
+    final BytesValue encoded = block.toRlp();
+
+    final Block lazy = Block.readLazilyFrom(RLP.input(encoded), blockHeaderFunctions);
+
+    assertThat(lazy.toRlp()).isEqualTo(encoded);
+    assertThat(lazy).isEqualTo(block);
+  }
+
+  @Test
+  public void malformedTransactionIsDetectedWhenDecoded() {
+    final BytesValue encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.startList();
+              out.writeBytesValue(BytesValue.of(1, 2, 3));
+              out.endList();
+              out.startList();
+              out.endList();
+              out.endList();
+            });
+
+    final BlockBody lazy = BlockBody.readLazilyFrom(RLP.input(encoded), blockHeaderFunctions);
+
+    assertThat(lazy.getTransactionCount()).isEqualTo(1);
+    assertThatThrownBy(lazy::getTransactions).isInstanceOf(RLPException.class);
+  }
+
+  @Test
+  public void headerIsWrittenBackAsRead() {
+    final BlockHeader header = gen.header();
+    final BytesValue encoded = RLP.encode(header::writeTo);
+
+    final BlockHeader read = BlockHeader.readFrom(RLP.input(encoded), blockHeaderFunctions);
+
+    assertThat(RLP.encode(read::writeTo)).isEqualTo(encoded);
+    assertThat(read.getHash()).isEqualTo(header.getHash());
+  }
+}
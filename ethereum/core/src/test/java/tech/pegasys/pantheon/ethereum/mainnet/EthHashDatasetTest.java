@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EthHashDatasetTest {
+
+  // Far smaller than a real dataset, but still split into several generation tasks.
+  private static final long DATASET_SIZE = 128 * 40_009;
+  private static final int[] CACHE = EthHash.mkCache(64 * 1021, 0);
+
+  @ClassRule public static final TemporaryFolder folder = new TemporaryFolder();
+
+  private static Path file;
+  private static EthHashDataset dataset;
+
+  @BeforeClass
+  public static void generateDataset() throws IOException {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      file = folder.getRoot().toPath().resolve("full-0");
+      dataset = EthHashDataset.generate(file, 0, DATASET_SIZE, CACHE, executor);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void generatedItemsMatchLightCalculation() throws IOException {
+    final byte[] expected = new byte[EthHash.HASH_BYTES];
+    final byte[] actual = new byte[EthHash.HASH_BYTES];
+    for (int index = 0; index < DATASET_SIZE / EthHash.HASH_BYTES; ++index) {
+      EthHash.calcDatasetItem(expected, CACHE, index);
+      dataset.lookup(actual, index);
+      assertThat(actual).isEqualTo(expected);
+    }
+    assertThat(Files.size(file)).isEqualTo(DATASET_SIZE);
+    assertThat(file.resolveSibling("full-0.tmp")).doesNotExist();
+  }
+
+  @Test
+  public void hashimotoFullMatchesHashimotoLight() {
+    final byte[] header = new byte[32];
+    header[0] = 42;
+
+    for (long nonce = 0; nonce < 100; ++nonce) {
+      assertThat(EthHash.hashimotoFull(dataset, header, nonce))
+          .isEqualTo(EthHash.hashimotoLight(DATASET_SIZE, CACHE, header, nonce));
+    }
+  }
+
+  @Test
+  public void generatedDatasetIsReloaded() throws IOException {
+    final Optional<EthHashDataset> loaded = EthHashDataset.load(file, 0, DATASET_SIZE);
+
+    assertThat(loaded).isPresent();
+    assertThat(loaded.get().getDatasetSize()).isEqualTo(DATASET_SIZE);
+    final byte[] expected = new byte[EthHash.HASH_BYTES];
+    final byte[] actual = new byte[EthHash.HASH_BYTES];
+    for (int index = 0; index < DATASET_SIZE / EthHash.HASH_BYTES; index += 97) {
+      dataset.lookup(expected, index);
+      loaded.get().lookup(actual, index);
+      assertThat(actual).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void incompleteDatasetIsNotLoaded() throws IOException {
+    final Path incompleteFile = folder.newFile("full-1").toPath();
+    Files.write(incompleteFile, new byte[1024]);
+
+    assertThat(EthHashDataset.load(incompleteFile, 1, DATASET_SIZE)).isEmpty();
+  }
+
+  @Test
+  public void missingDatasetIsNotLoaded() throws IOException {
+    final Path missingFile = folder.getRoot().toPath().resolve("full-2");
+
+    assertThat(EthHashDataset.load(missingFile, 2, DATASET_SIZE)).isEmpty();
+  }
+}
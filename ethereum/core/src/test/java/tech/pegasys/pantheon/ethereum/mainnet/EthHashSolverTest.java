@@ -13,10 +13,13 @@
 package tech.pegasys.pantheon.ethereum.mainnet;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.mainnet.EthHashSolver.EthHashSolverJob;
@@ -26,6 +29,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
@@ -125,4 +130,73 @@ public class EthHashSolverTest {
     soln = solver.solveFor(EthHashSolverJob.createFromInputs(secondInputs));
     assertThat(soln.getMixHash()).isEqualTo(expectedSecondOutput.getMixHash());
   }
+
+  @Test
+  public void multipleThreadsFindTheSolution() throws InterruptedException, ExecutionException {
+    final EthHashSolverInputs inputs =
+        new EthHashSolverInputs(
+            UInt256.fromHexString(
+                "0x0083126e978d4fdf3b645a1cac083126e978d4fdf3b645a1cac083126e978d4f"),
+            new byte[] {
+              15, -114, -104, 87, -95, -36, -17, 120, 52, 1, 124, 61, -6, -66, 78, -27, -57, 118,
+              -18, -64, -103, -91, -74, -121, 42, 91, -14, -98, 101, 86, -43, -51
+            },
+            468);
+    final long solvingNonce = -6506032554016940193L;
+
+    // The solving nonce comes late, so it is handed to one of the other threads.
+    final List<Long> noncesToTry = Lists.newArrayList();
+    for (long nonce = 0; nonce < 200; nonce++) {
+      noncesToTry.add(nonce);
+    }
+    noncesToTry.add(solvingNonce);
+
+    final ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      final EthHashSolver solver =
+          new EthHashSolver(noncesToTry, new EthHasher.Light(), 4, executor);
+
+      final EthHashSolution solution = solver.solveFor(EthHashSolverJob.createFromInputs(inputs));
+
+      assertThat(solution.getNonce()).isEqualTo(solvingNonce);
+      assertThat(solution.getMixHash())
+          .isEqualTo(
+              Hash.fromHexString(
+                  "0xc5e3c33c86d64d0641dd3c86e8ce4628fe0aac0ef7b4c087c5fcaa45d5046d90"));
+      assertThat(solver.hashesPerSecond()).isPresent();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void multipleThreadsFailOnceAllNoncesAreTried() {
+    final EthHasher hasher = mock(EthHasher.class);
+    doAnswer(
+            invocation -> {
+              // A hash far above any target.
+              Arrays.fill((byte[]) invocation.getArguments()[0], (byte) 0xFF);
+              return null;
+            })
+        .when(hasher)
+        .hash(any(), anyLong(), anyLong(), any());
+
+    final List<Long> noncesToTry = Lists.newArrayList();
+    for (long nonce = 0; nonce < 1000; nonce++) {
+      noncesToTry.add(nonce);
+    }
+
+    final ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      final EthHashSolver solver = new EthHashSolver(noncesToTry, hasher, 4, executor);
+      final EthHashSolverInputs inputs = new EthHashSolverInputs(UInt256.ONE, new byte[0], 5);
+
+      assertThatThrownBy(() -> solver.solveFor(EthHashSolverJob.createFromInputs(inputs)))
+          .isInstanceOf(ExecutionException.class)
+          .hasMessageContaining("No valid nonce found.");
+      verify(hasher, times(noncesToTry.size())).hash(any(), anyLong(), anyLong(), any());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
@@ -53,7 +53,8 @@ public class MainnetBlockImporterTest {
     when(blockchain.contains(hash)).thenReturn(true);
 
     assertThat(blockImporter.importBlock(context, block, FULL, FULL)).isTrue();
-    verify(blockValidator, never()).validateAndProcessBlock(context, block, FULL, FULL);
+    verify(blockValidator, never())
+        .validateAndProcessBlock(context, block, FULL, FULL, BodyValidationMode.FULL);
     verify(blockchain, never()).appendBlock(eq(block), any());
   }
 }
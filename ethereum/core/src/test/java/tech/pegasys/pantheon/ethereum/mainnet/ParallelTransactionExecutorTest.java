@@ -0,0 +1,244 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.config.StubGenesisConfigOptions;
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.core.TransactionTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Util;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageWorldStateStorage;
+import tech.pegasys.pantheon.ethereum.vm.TestBlockchain;
+import tech.pegasys.pantheon.ethereum.worldstate.DefaultMutableWorldState;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Test;
+
+public class ParallelTransactionExecutorTest {
+
+  private static final BigInteger CHAIN_ID = BigInteger.valueOf(2018);
+  private static final Address COINBASE = Address.fromHexString("0xcb");
+  private static final Address RECIPIENT = Address.fromHexString("0xaa");
+  private static final Address COUNTER = Address.fromHexString("0xc0");
+  private static final Address COINBASE_READER = Address.fromHexString("0xc1");
+  // PUSH1 1 PUSH1 0 SLOAD ADD PUSH1 0 SSTORE
+  private static final BytesValue COUNTER_CODE = BytesValue.fromHexString("0x600160005401600055");
+  // COINBASE BALANCE PUSH1 0 SSTORE
+  private static final BytesValue COINBASE_READER_CODE = BytesValue.fromHexString("0x4131600055");
+
+  private final List<KeyPair> senders = new ArrayList<>();
+  private final Blockchain blockchain = new TestBlockchain();
+  private final BlockHeader blockHeader =
+      new BlockHeaderTestFixture().number(1).coinbase(COINBASE).gasLimit(10_000_000).buildHeader();
+
+  // Speculative executions run synchronously when the block starts, so every one of them
+  // completes and is checked for conflicts.
+  private final ProtocolSpec<Void> parallelSpec =
+      protocolSpec(
+          Optional.of(new ParallelTransactionExecutor(MoreExecutors.newDirectExecutorService())));
+  private final ProtocolSpec<Void> sequentialSpec = protocolSpec(Optional.empty());
+
+  public ParallelTransactionExecutorTest() {
+    for (int i = 0; i < 6; ++i) {
+      senders.add(KeyPair.generate());
+    }
+  }
+
+  @Test
+  public void independentTransactionsMatchSequentialExecution() {
+    assertMatchesSequentialExecution(
+        Arrays.asList(
+            transfer(0, 0, RECIPIENT),
+            transfer(1, 0, Address.fromHexString("0xab")),
+            transfer(2, 0, Address.fromHexString("0xac")),
+            call(3, 0, COUNTER)));
+  }
+
+  @Test
+  public void conflictingTransactionsMatchSequentialExecution() {
+    assertMatchesSequentialExecution(
+        Arrays.asList(
+            // Funds the next sender of a transaction.
+            transfer(0, 0, Util.publicKeyToAddress(senders.get(1).getPublicKey())),
+            transfer(1, 0, RECIPIENT),
+            // Only valid once the sender's first transaction has been executed.
+            transfer(0, 1, RECIPIENT),
+            // Both update the same storage slot.
+            call(2, 0, COUNTER),
+            call(3, 0, COUNTER),
+            // Looks at the fees paid by the transactions before it.
+            call(4, 0, COINBASE_READER),
+            transfer(5, 0, COINBASE),
+            contractCreation(2, 1)));
+  }
+
+  @Test
+  public void blockWithInvalidTransactionFails() {
+    final List<Transaction> transactions =
+        Arrays.asList(transfer(0, 0, RECIPIENT), transfer(1, 5, RECIPIENT));
+
+    final BlockProcessor.Result result =
+        parallelSpec
+            .getBlockProcessor()
+            .processBlock(
+                blockchain,
+                createWorldState(),
+                blockHeader,
+                transactions,
+                Collections.emptyList());
+
+    assertThat(result.isSuccessful()).isFalse();
+  }
+
+  @Test
+  public void unpersistedChangesAreSeenWithoutBeingPersisted() {
+    // Like the DAO fork changes, which are made to the world state just before the block.
+    final KeyValueStorageWorldStateStorage storage =
+        new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
+    final MutableWorldState worldState = createWorldState(storage, false);
+    final List<Transaction> transactions =
+        Arrays.asList(
+            transfer(0, 0, RECIPIENT), transfer(1, 0, RECIPIENT), transfer(1, 5, RECIPIENT));
+
+    final BlockProcessor.Result result =
+        parallelSpec
+            .getBlockProcessor()
+            .processBlock(
+                blockchain, worldState, blockHeader, transactions, Collections.emptyList());
+
+    assertThat(result.isSuccessful()).isFalse();
+    assertThat(storage.getCode(Hash.hash(COUNTER_CODE))).isEmpty();
+    assertMatchesSequentialExecution(transactions.subList(0, 2), false);
+  }
+
+  private void assertMatchesSequentialExecution(final List<Transaction> transactions) {
+    assertMatchesSequentialExecution(transactions, true);
+  }
+
+  private void assertMatchesSequentialExecution(
+      final List<Transaction> transactions, final boolean persistWorldState) {
+    final MutableWorldState sequentialWorldState = createWorldState(persistWorldState);
+    final BlockProcessor.Result sequentialResult =
+        sequentialSpec
+            .getBlockProcessor()
+            .processBlock(
+                blockchain,
+                sequentialWorldState,
+                blockHeader,
+                transactions,
+                Collections.emptyList());
+    final MutableWorldState parallelWorldState = createWorldState(persistWorldState);
+    final BlockProcessor.Result parallelResult =
+        parallelSpec
+            .getBlockProcessor()
+            .processBlock(
+                blockchain, parallelWorldState, blockHeader, transactions, Collections.emptyList());
+
+    assertThat(sequentialResult.isSuccessful()).isTrue();
+    assertThat(parallelResult.isSuccessful()).isTrue();
+    assertThat(encoded(parallelResult.getReceipts()))
+        .isEqualTo(encoded(sequentialResult.getReceipts()));
+    assertThat(parallelWorldState.rootHash()).isEqualTo(sequentialWorldState.rootHash());
+  }
+
+  private static List<BytesValue> encoded(final List<TransactionReceipt> receipts) {
+    return receipts.stream().map(receipt -> RLP.encode(receipt::writeTo)).collect(toList());
+  }
+
+  private ProtocolSpec<Void> protocolSpec(
+      final Optional<ParallelTransactionExecutor> parallelTransactionExecutor) {
+    return new ProtocolScheduleBuilder<>(
+            new StubGenesisConfigOptions().constantinopleFixBlock(0).chainId(CHAIN_ID),
+            builder -> builder.parallelTransactionExecutor(parallelTransactionExecutor),
+            PrivacyParameters.DEFAULT)
+        .createProtocolSchedule()
+        .getByBlockNumber(1);
+  }
+
+  private MutableWorldState createWorldState() {
+    return createWorldState(true);
+  }
+
+  private MutableWorldState createWorldState(final boolean persist) {
+    return createWorldState(
+        new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage()), persist);
+  }
+
+  private MutableWorldState createWorldState(
+      final KeyValueStorageWorldStateStorage storage, final boolean persist) {
+    final MutableWorldState worldState = new DefaultMutableWorldState(storage);
+    final WorldUpdater updater = worldState.updater();
+    senders.forEach(
+        keyPair ->
+            updater.createAccount(
+                Util.publicKeyToAddress(keyPair.getPublicKey()), 0, Wei.fromEth(1)));
+    updater.createAccount(COUNTER).setCode(COUNTER_CODE);
+    updater.createAccount(COINBASE_READER).setCode(COINBASE_READER_CODE);
+    updater.commit();
+    if (persist) {
+      worldState.persist();
+    }
+    return worldState;
+  }
+
+  private Transaction transfer(final int sender, final long nonce, final Address to) {
+    return new TransactionTestFixture()
+        .nonce(nonce)
+        .to(Optional.of(to))
+        .value(Wei.of(1000))
+        .gasLimit(21_000)
+        .createTransaction(senders.get(sender));
+  }
+
+  private Transaction call(final int sender, final long nonce, final Address to) {
+    return new TransactionTestFixture()
+        .nonce(nonce)
+        .to(Optional.of(to))
+        .value(Wei.ZERO)
+        .gasLimit(100_000)
+        .createTransaction(senders.get(sender));
+  }
+
+  private Transaction contractCreation(final int sender, final long nonce) {
+    return new TransactionTestFixture()
+        .nonce(nonce)
+        .to(Optional.empty())
+        .value(Wei.ZERO)
+        .payload(BytesValue.fromHexString("0x60016000f3"))
+        .gasLimit(100_000)
+        .createTransaction(senders.get(sender));
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageWorldStateStorage;
+import tech.pegasys.pantheon.ethereum.worldstate.DefaultMutableWorldState;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpeculativeWorldUpdaterTest {
+
+  private static final Address SENDER = Address.fromHexString("0x01aa");
+  private static final Address CONTRACT = Address.fromHexString("0x01bb");
+  private static final Address BENEFICIARY = Address.fromHexString("0x01cc");
+
+  private final MutableWorldState worldState =
+      new DefaultMutableWorldState(
+          new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage()));
+
+  @Before
+  public void setUp() {
+    final WorldUpdater updater = worldState.updater();
+    updater.createAccount(SENDER, 0, Wei.of(100));
+    final MutableAccount contract = updater.createAccount(CONTRACT, 1, Wei.ZERO);
+    contract.setStorageValue(UInt256.ONE, UInt256.of(5));
+    updater.createAccount(BENEFICIARY, 0, Wei.of(7));
+    updater.commit();
+  }
+
+  @Test
+  public void recordsAccountsAndStorageSlotsRead() {
+    final SpeculativeWorldUpdater speculativeUpdater =
+        new SpeculativeWorldUpdater(worldState.updater());
+
+    speculativeUpdater.getMutable(SENDER).incrementNonce();
+    final MutableAccount contract = speculativeUpdater.updater().getMutable(CONTRACT);
+    contract.setStorageValue(UInt256.of(2), contract.getStorageValue(UInt256.ONE));
+
+    assertThat(speculativeUpdater.getAccountReads()).containsOnly(SENDER, CONTRACT);
+    assertThat(speculativeUpdater.getStorageReads()).containsOnlyKeys(CONTRACT);
+    assertThat(speculativeUpdater.getStorageReads().get(CONTRACT)).containsOnly(UInt256.ONE);
+    assertThat(speculativeUpdater.getStorageScans()).isEmpty();
+  }
+
+  @Test
+  public void beneficiaryOnlyPaidIsBlindlyCredited() {
+    final SpeculativeWorldUpdater speculativeUpdater =
+        new SpeculativeWorldUpdater(worldState.updater());
+    speculativeUpdater.getMutable(SENDER).decrementBalance(Wei.of(3));
+    speculativeUpdater.getOrCreate(BENEFICIARY).incrementBalance(Wei.of(3));
+
+    assertThat(speculativeUpdater.isBlindlyCredited(BENEFICIARY, SENDER)).isTrue();
+
+    // Another transaction paid the beneficiary in the meantime.
+    final WorldUpdater updater = worldState.updater();
+    updater.getMutable(BENEFICIARY).incrementBalance(Wei.of(10));
+    speculativeUpdater.applyTo(updater, Optional.of(BENEFICIARY));
+    updater.commit();
+
+    assertThat(worldState.get(BENEFICIARY).getBalance()).isEqualTo(Wei.of(20));
+    assertThat(worldState.get(SENDER).getBalance()).isEqualTo(Wei.of(97));
+  }
+
+  @Test
+  public void beneficiaryLookedAtIsNotBlindlyCredited() {
+    final SpeculativeWorldUpdater speculativeUpdater =
+        new SpeculativeWorldUpdater(worldState.updater());
+    speculativeUpdater.updater().get(BENEFICIARY).getBalance();
+    speculativeUpdater.getOrCreate(BENEFICIARY).incrementBalance(Wei.of(3));
+
+    assertThat(speculativeUpdater.isBlindlyCredited(BENEFICIARY, SENDER)).isFalse();
+  }
+
+  @Test
+  public void beneficiarySendingTheTransactionIsNotBlindlyCredited() {
+    final SpeculativeWorldUpdater speculativeUpdater =
+        new SpeculativeWorldUpdater(worldState.updater());
+    speculativeUpdater.getMutable(BENEFICIARY).incrementNonce();
+    speculativeUpdater.getOrCreate(BENEFICIARY).incrementBalance(Wei.of(3));
+
+    assertThat(speculativeUpdater.isBlindlyCredited(BENEFICIARY, BENEFICIARY)).isFalse();
+  }
+
+  @Test
+  public void appliesUpdatesAndDeletions() {
+    final SpeculativeWorldUpdater speculativeUpdater =
+        new SpeculativeWorldUpdater(worldState.updater());
+    speculativeUpdater.getMutable(SENDER).setBalance(Wei.of(42));
+    speculativeUpdater.getMutable(CONTRACT).setStorageValue(UInt256.of(3), UInt256.of(9));
+    speculativeUpdater.deleteAccount(BENEFICIARY);
+
+    final WorldUpdater updater = worldState.updater();
+    speculativeUpdater.applyTo(updater, Optional.empty());
+    updater.commit();
+
+    assertThat(worldState.get(SENDER).getBalance()).isEqualTo(Wei.of(42));
+    assertThat(worldState.get(CONTRACT).getStorageValue(UInt256.ONE)).isEqualTo(UInt256.of(5));
+    assertThat(worldState.get(CONTRACT).getStorageValue(UInt256.of(3))).isEqualTo(UInt256.of(9));
+    assertThat(worldState.get(BENEFICIARY)).isNull();
+  }
+
+  @Test
+  public void commitAppliesUpdatesToParent() {
+    final WorldUpdater parent = worldState.updater();
+    final SpeculativeWorldUpdater speculativeUpdater = new SpeculativeWorldUpdater(parent);
+    speculativeUpdater.getMutable(SENDER).setBalance(Wei.of(42));
+    speculativeUpdater.deleteAccount(BENEFICIARY);
+
+    speculativeUpdater.commit();
+
+    assertThat(parent.get(SENDER).getBalance()).isEqualTo(Wei.of(42));
+    assertThat(parent.get(BENEFICIARY)).isNull();
+    assertThat(worldState.get(SENDER).getBalance()).isEqualTo(Wei.of(100));
+
+    parent.commit();
+
+    assertThat(worldState.get(SENDER).getBalance()).isEqualTo(Wei.of(42));
+    assertThat(worldState.get(BENEFICIARY)).isNull();
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
+import tech.pegasys.pantheon.crypto.altbn128.Fq;
+import tech.pegasys.pantheon.ethereum.mainnet.SpuriousDragonGasCalculator;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class AltBN128AddPrecompiledContractTest {
+
+  private final AltBN128AddPrecompiledContract contract =
+      new AltBN128AddPrecompiledContract(new SpuriousDragonGasCalculator());
+
+  private final MessageFrame messageFrame = mock(MessageFrame.class);
+
+  @Parameters
+  public static Object[][] parameters() {
+    return new Object[][] {
+      {
+        // EIP-196: the generator added to itself.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002",
+        "0x030644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd3"
+            + "15ed738c0e0a7c92e7845f96b2ae9c0a68a6a449e3538fc7ff3ebf7a5a18a2c4"
+      },
+      {
+        // Two different points.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "030644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd3"
+            + "15ed738c0e0a7c92e7845f96b2ae9c0a68a6a449e3538fc7ff3ebf7a5a18a2c4",
+        "0x0769bf9ac56bea3ff40232bcb1b6bd159315d84715b8e679f2d355961915abf0"
+            + "2ab799bee0489429554fdb7c8d086475319e63b40b9c5b57cdf1ff3dd9fe2261"
+      },
+      {
+        // A point added to its negation is the point at infinity, encoded as (0, 0).
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000001"
+            + "30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd45",
+        "0x0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+      },
+      {
+        // (0, 0) is the point at infinity.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000000",
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+      },
+      {
+        // EIP-196: missing input is padded with zeros, so the second point is at infinity.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002",
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+      },
+      {
+        // An empty input adds two points at infinity.
+        "0x",
+        "0x0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+      },
+      {
+        // The padding goes after the input, so a truncated coordinate changes the point.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "030644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd3"
+            + "15ed738c0e0a7c92e7845f96b2ae9c0a68a6a449e3538fc7ff3ebf7a5a18a2",
+        null
+      },
+      {
+        // A point not on the curve.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000003"
+            + "0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002",
+        null
+      },
+      {
+        // A coordinate equal to the field modulus plus one is not reduced to the generator.
+        "0x30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd48"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002",
+        null
+      },
+      {
+        // The y coordinate of infinity must not be the field modulus either.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+            + "30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd47",
+        null
+      },
+    };
+  }
+
+  @Parameter public String input;
+
+  @Parameter(1)
+  public String expectedResult;
+
+  @Test
+  public void compute() {
+    final BytesValue result = contract.compute(BytesValue.fromHexString(input), messageFrame);
+    if (expectedResult == null) {
+      assertThat(result).isNull();
+    } else {
+      assertThat(result).isEqualTo(BytesValue.fromHexString(expectedResult));
+      assertThat(result.size()).isEqualTo(64);
+    }
+  }
+
+  @Test
+  public void computeMatchesBigIntegerImplementation() {
+    final BytesValue input = BytesValue.fromHexString(this.input);
+    assertThat(contract.compute(input, messageFrame)).isEqualTo(computeWithBigIntegers(input));
+  }
+
+  private static BytesValue computeWithBigIntegers(final BytesValue input) {
+    final AltBn128Point p1 =
+        new AltBn128Point(
+            Fq.create(extractParameter(input, 0)), Fq.create(extractParameter(input, 32)));
+    final AltBn128Point p2 =
+        new AltBn128Point(
+            Fq.create(extractParameter(input, 64)), Fq.create(extractParameter(input, 96)));
+    if (!p1.isOnCurve() || !p2.isOnCurve()) {
+      return null;
+    }
+    return encode(p1.add(p2));
+  }
+
+  private static BigInteger extractParameter(final BytesValue input, final int offset) {
+    if (offset > input.size()) {
+      return BigInteger.ZERO;
+    }
+    return new BigInteger(1, Arrays.copyOfRange(input.extractArray(), offset, offset + 32));
+  }
+
+  private static BytesValue encode(final AltBn128Point point) {
+    final BytesValue x = point.getX().toBytesValue();
+    final BytesValue y = point.getY().toBytesValue();
+    final MutableBytesValue result = MutableBytesValue.create(64);
+    x.copyTo(result, 32 - x.size());
+    y.copyTo(result, 64 - y.size());
+    return result;
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
+import tech.pegasys.pantheon.crypto.altbn128.Fq;
+import tech.pegasys.pantheon.ethereum.mainnet.SpuriousDragonGasCalculator;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class AltBN128MulPrecompiledContractTest {
+
+  private static final BigInteger MAX_N = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+
+  private final AltBN128MulPrecompiledContract contract =
+      new AltBN128MulPrecompiledContract(new SpuriousDragonGasCalculator());
+
+  private final MessageFrame messageFrame = mock(MessageFrame.class);
+
+  @Parameters
+  public static Object[][] parameters() {
+    return new Object[][] {
+      {
+        // EIP-196: the generator doubled.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000002",
+        "0x030644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd3"
+            + "15ed738c0e0a7c92e7845f96b2ae9c0a68a6a449e3538fc7ff3ebf7a5a18a2c4"
+      },
+      {
+        // A small scalar.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000009",
+        "0x039730ea8dff1254c0fee9c0ea777d29a9c710b7e616683f194f18c43b43b869"
+            + "073a5ffcc6fc7a28c30723d6e58ce577356982d65b833a5a5c15bf9024b43d98"
+      },
+      {
+        // The largest scalar, which is greater than the group order.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff",
+        "0x2f588cffe99db877a4434b598ab28f81e0522910ea52b45f0adaa772b2d5d352"
+            + "12f42fa8fd34fb1b33d8c6a718b6590198389b26fc9d8808d971f8b009777a97"
+      },
+      {
+        // The group order gives the point at infinity, encoded as (0, 0).
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "30644e72e131a029b85045b68181585d2833e84879b9709143e1f593f0000001",
+        "0x0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+      },
+      {
+        // A zero scalar.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000000",
+        "0x0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+      },
+      {
+        // (0, 0) is the point at infinity.
+        "0x0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000005",
+        "0x0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+      },
+      {
+        // EIP-196: missing input is padded with zeros, so the scalar is zero.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002",
+        "0x0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+      },
+      {
+        // The padding goes after the input, so a truncated scalar is shifted left.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "02",
+        "0x065a6b8b56220596ad72f24aea44c1d62f4c1544f23d4e968112d3d57f76c9b5"
+            + "2d8d82657d6f9f9d5676cece3b7547be1b2ab34879690cd1d231716891525cf7"
+      },
+      {
+        // A point not on the curve.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000003"
+            + "0000000000000000000000000000000000000000000000000000000000000002",
+        null
+      },
+      {
+        // A coordinate equal to the field modulus plus one is not reduced to the generator.
+        "0x30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd48"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000002",
+        null
+      },
+    };
+  }
+
+  @Parameter public String input;
+
+  @Parameter(1)
+  public String expectedResult;
+
+  @Test
+  public void compute() {
+    final BytesValue result = contract.compute(BytesValue.fromHexString(input), messageFrame);
+    if (expectedResult == null) {
+      assertThat(result).isNull();
+    } else {
+      assertThat(result).isEqualTo(BytesValue.fromHexString(expectedResult));
+      assertThat(result.size()).isEqualTo(64);
+    }
+  }
+
+  @Test
+  public void computeMatchesBigIntegerImplementation() {
+    final BytesValue input = BytesValue.fromHexString(this.input);
+    assertThat(contract.compute(input, messageFrame)).isEqualTo(computeWithBigIntegers(input));
+  }
+
+  private static BytesValue computeWithBigIntegers(final BytesValue input) {
+    final AltBn128Point p =
+        new AltBn128Point(
+            Fq.create(extractParameter(input, 0)), Fq.create(extractParameter(input, 32)));
+    final BigInteger n = extractParameter(input, 64);
+    if (!p.isOnCurve() || n.compareTo(MAX_N) > 0) {
+      return null;
+    }
+    return encode(p.multiply(n));
+  }
+
+  private static BigInteger extractParameter(final BytesValue input, final int offset) {
+    if (offset > input.size()) {
+      return BigInteger.ZERO;
+    }
+    return new BigInteger(1, Arrays.copyOfRange(input.extractArray(), offset, offset + 32));
+  }
+
+  private static BytesValue encode(final AltBn128Point point) {
+    final BytesValue x = point.getX().toBytesValue();
+    final BytesValue y = point.getY().toBytesValue();
+    final MutableBytesValue result = MutableBytesValue.create(64);
+    x.copyTo(result, 32 - x.size());
+    y.copyTo(result, 64 - y.size());
+    return result;
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128Fq12Pairer;
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128Fq2Point;
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
+import tech.pegasys.pantheon.crypto.altbn128.Fq;
+import tech.pegasys.pantheon.crypto.altbn128.Fq12;
+import tech.pegasys.pantheon.crypto.altbn128.Fq2;
+import tech.pegasys.pantheon.ethereum.mainnet.SpuriousDragonGasCalculator;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class AltBN128PairingPrecompiledContractTest {
+
+  private static final String G1 =
+      "0000000000000000000000000000000000000000000000000000000000000001"
+          + "0000000000000000000000000000000000000000000000000000000000000002";
+  private static final String NEGATED_G1 =
+      "0000000000000000000000000000000000000000000000000000000000000001"
+          + "30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd45";
+  private static final String G2 =
+      "198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+          + "1800deef121f1e76426a00665e5c4479674322d4f75edadd46debd5cd992f6ed"
+          + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+          + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7daa";
+  private static final String G1_INFINITY =
+      "0000000000000000000000000000000000000000000000000000000000000000"
+          + "0000000000000000000000000000000000000000000000000000000000000000";
+  private static final String G2_INFINITY = G1_INFINITY + G1_INFINITY;
+
+  private static final String TRUE =
+      "0x0000000000000000000000000000000000000000000000000000000000000001";
+  private static final String FALSE =
+      "0x0000000000000000000000000000000000000000000000000000000000000000";
+
+  private final AltBN128PairingPrecompiledContract contract =
+      new AltBN128PairingPrecompiledContract(new SpuriousDragonGasCalculator());
+
+  private final MessageFrame messageFrame = mock(MessageFrame.class);
+
+  @Parameters
+  public static Object[][] parameters() {
+    return new Object[][] {
+      {
+        // EIP-197: an empty input is an empty product of pairings.
+        "0x", TRUE, false
+      },
+      {
+        // e(G1, G2) * e(-G1, G2) = 1
+        "0x" + G1 + G2 + NEGATED_G1 + G2, TRUE, false
+      },
+      {
+        // e(G1, G2) is not 1.
+        "0x" + G1 + G2, FALSE, false
+      },
+      {
+        // e(G1, G2) * e(G1, G2) is not 1 either.
+        "0x" + G1 + G2 + G1 + G2, FALSE, false
+      },
+      {
+        // (0, 0) is the point at infinity of G1.
+        "0x" + G1_INFINITY + G2, TRUE, false
+      },
+      {
+        // All zeros is the point at infinity of G2.
+        "0x" + G1 + G2_INFINITY, TRUE, false
+      },
+      {
+        // Two pairs from the EIP-197 test vectors used across clients.
+        "0x1c76476f4def4bb94541d57ebba1193381ffa7aa76ada664dd31c16024c43f59"
+            + "3034dd2920f673e204fee2811c678745fc819b55d3e9d294e45c9b03a76aef41"
+            + "209dd15ebff5d46c4bd888e51a93cf99a7329636c63514396b4a452003a35bf7"
+            + "04bf11ca01483bfa8b34b43561848d28905960114c8ac04049af4b6315a41678"
+            + "2bb8324af6cfc93537a2ad1a445cfd0ca2a71acd7ac41fadbf933c2a51be344d"
+            + "120a2a4cf30c1bf9845f20c6fe39e07ea2cce61f0c9bb048165fe5e4de877550"
+            + "111e129f1cf1097710d41c4ac70fcdfa5ba2023c6ff1cbeac322de49d1b6df7c"
+            + "2032c61a830e3c17286de9462bf242fca2883585b93870a73853face6a6bf411"
+            + G2,
+        TRUE,
+        false
+      },
+      {
+        // The input is not a whole number of pairs.
+        "0x" + G1 + G2 + "00", null, false
+      },
+      {
+        // A G1 coordinate equal to the field modulus plus one is not reduced to the generator.
+        "0x30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd48"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + G2,
+        null,
+        false
+      },
+      {
+        // A G1 point not on the curve.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000003"
+            + G2,
+        null,
+        false
+      },
+      {
+        // A G2 point not on the twist.
+        "0x"
+            + G1
+            + "198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+            + "1800deef121f1e76426a00665e5c4479674322d4f75edadd46debd5cd992f6ed"
+            + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+            + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7dab",
+        null,
+        false
+      },
+      {
+        // A G2 coordinate equal to itself plus the field modulus.
+        "0x"
+            + G1
+            + "198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+            + "48652d61f350be9ffaba461cdfdd9cd6fec48d665fd0a56a82ff4973b20ff434"
+            + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+            + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7daa",
+        null,
+        false
+      },
+      {
+        // EIP-197: a G2 point on the twist but outside the subgroup of order r. The BigInteger
+        // implementation only checked that G2 points are on the twist.
+        "0x"
+            + G1
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000001"
+            + "0d1271953ed9ea0836846e70a1934187998c7f790cb4d7511b7f8da82de048a4"
+            + "2869111d5381f072f8e2728fdb825a51aadd70e52c9830e9ab4b871c0531f1bb",
+        null,
+        true
+      },
+    };
+  }
+
+  @Parameter public String input;
+
+  @Parameter(1)
+  public String expectedResult;
+
+  @Parameter(2)
+  public boolean rejectedOnlyBySubgroupCheck;
+
+  @Test
+  public void compute() {
+    final BytesValue result = contract.compute(BytesValue.fromHexString(input), messageFrame);
+    if (expectedResult == null) {
+      assertThat(result).isNull();
+    } else {
+      assertThat(result).isEqualTo(BytesValue.fromHexString(expectedResult));
+      assertThat(result.size()).isEqualTo(32);
+    }
+  }
+
+  @Test
+  public void computeMatchesBigIntegerImplementation() {
+    final BytesValue input = BytesValue.fromHexString(this.input);
+    final BytesValue result = contract.compute(input, messageFrame);
+    if (rejectedOnlyBySubgroupCheck) {
+      assertThat(result).isNull();
+      assertThat(computeWithBigIntegers(input)).isNotNull();
+    } else {
+      assertThat(result).isEqualTo(computeWithBigIntegers(input));
+    }
+  }
+
+  private static BytesValue computeWithBigIntegers(final BytesValue input) {
+    if (input.isEmpty()) {
+      return BytesValue.fromHexString(TRUE);
+    }
+    if (input.size() % 192 != 0) {
+      return null;
+    }
+    Fq12 exponent = Fq12.one();
+    for (int offset = 0; offset < input.size(); offset += 192) {
+      final AltBn128Point p1 =
+          new AltBn128Point(
+              Fq.create(extractParameter(input, offset)),
+              Fq.create(extractParameter(input, offset + 32)));
+      final AltBn128Fq2Point p2 =
+          new AltBn128Fq2Point(
+              Fq2.create(
+                  extractParameter(input, offset + 96), extractParameter(input, offset + 64)),
+              Fq2.create(
+                  extractParameter(input, offset + 160), extractParameter(input, offset + 128)));
+      if (!p1.isOnCurve() || !p2.isOnCurve()) {
+        return null;
+      }
+      exponent = exponent.multiply(AltBn128Fq12Pairer.pair(p1, p2));
+    }
+    return BytesValue.fromHexString(
+        AltBn128Fq12Pairer.finalize(exponent).equals(Fq12.one()) ? TRUE : FALSE);
+  }
+
+  private static BigInteger extractParameter(final BytesValue input, final int offset) {
+    return new BigInteger(1, Arrays.copyOfRange(input.extractArray(), offset, offset + 32));
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.mainnet.SpuriousDragonGasCalculator;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class BigIntegerModularExponentiationPrecompiledContractTest {
+
+  private final BigIntegerModularExponentiationPrecompiledContract contract =
+      new BigIntegerModularExponentiationPrecompiledContract(new SpuriousDragonGasCalculator());
+
+  private final MessageFrame messageFrame = mock(MessageFrame.class);
+
+  @Parameters
+  public static Object[][] parameters() {
+    return new Object[][] {
+      {
+        // EIP-198 example: Fermat's little theorem.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000020"
+            + "0000000000000000000000000000000000000000000000000000000000000020"
+            + "03"
+            + "fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffffc2e"
+            + "fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffffc2f",
+        "0x0000000000000000000000000000000000000000000000000000000000000001",
+        13056L
+      },
+      {
+        // EIP-198 example: an empty base is zero.
+        "0x0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000020"
+            + "0000000000000000000000000000000000000000000000000000000000000020"
+            + "fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffffc2e"
+            + "fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffffc2f",
+        "0x0000000000000000000000000000000000000000000000000000000000000000",
+        13056L
+      },
+      {
+        // EIP-198 example: bytes past the declared lengths are ignored.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000020"
+            + "03"
+            + "ffff"
+            + "8000000000000000000000000000000000000000000000000000000000000000"
+            + "07",
+        "0x3b01b01ac41f2d6e917c6d6a221ce793802469026d9ab7578fa2e79e4da6aaab",
+        768L
+      },
+      {
+        // EIP-198 example: missing trailing bytes are zero.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000020"
+            + "03"
+            + "ffff"
+            + "80",
+        "0x3b01b01ac41f2d6e917c6d6a221ce793802469026d9ab7578fa2e79e4da6aaab",
+        768L
+      },
+      {
+        // EIP-198 example: lengths too large to ever pay for.
+        "0x0000000000000000000000000000000000000000000000000000000000000000"
+            + "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"
+            + "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"
+            + "fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffffc2e",
+        null,
+        Long.MAX_VALUE
+      },
+      {
+        // An empty modulus gives an empty result.
+        "0x0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+            + "0203",
+        "0x",
+        0L
+      },
+      {
+        // A 768-bit modulus with an exponent longer than 32 bytes.
+        "0x0000000000000000000000000000000000000000000000000000000000000040"
+            + "0000000000000000000000000000000000000000000000000000000000000028"
+            + "0000000000000000000000000000000000000000000000000000000000000060"
+            + "55e5cd8e46dc8ed4b7c2764d2a5a4d767706f85d8690024ad6bda3401be9c8cb"
+            + "ccc935f6cd1f61226ae15338ae1a34004d33ba0d246ac04c81b1baf23e3bf9ee"
+            + "f5f79f2b4934af87f5520b69b94b0d982e85bb55b672a872637acd7466fcb60e"
+            + "0e8ff18463b0e4b2"
+            + "a54dca182530bb1d6d132cded6237b2ed91e3f721fcb1971174494d6493c9d5c"
+            + "3460be31201e69fedaa0eee8b9997f5c7c2999fdafe593253cd654af4dfad714"
+            + "27a0aeb3fee9232f8af2211f9ee491c5b10becb5563bfc1e6f93427ecbc8fe29",
+        "0x0976a9942303aa2ad0c47801697acae296cbe8f49c1abda7a52475b8ed4e4f4a"
+            + "c2ccdfd64033b8fd774cafa7e88d29bf309e8087d492c8ee7532810a20250289"
+            + "f1893c15828536523a71c14de90b730b066995620c3452674bfc87076186f086",
+        134745L
+      },
+      {
+        // A modulus longer than 1024 bytes, priced by the last complexity band.
+        "0x0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000800",
+        null,
+        52275L
+      },
+      {
+        // Complexity times exponent length overflows a long, but the gas does not.
+        "0x0000000000000000000000000000000000000000000000000000000000000000"
+            + "0000000000000000000000000000000000000000000000000000000000000028"
+            + "000000000000000000000000000000000000000000000000000000007fffffff",
+        null,
+        922340501360726937L
+      },
+    };
+  }
+
+  @Parameter public String input;
+
+  @Parameter(1)
+  public String expectedResult;
+
+  @Parameter(2)
+  public long expectedGas;
+
+  @Test
+  public void gasRequirement() {
+    assertThat(contract.gasRequirement(BytesValue.fromHexString(input)))
+        .isEqualTo(Gas.of(expectedGas));
+  }
+
+  @Test
+  public void compute() {
+    if (expectedResult == null) {
+      return;
+    }
+    assertThat(contract.compute(BytesValue.fromHexString(input), messageFrame))
+        .isEqualTo(BytesValue.fromHexString(expectedResult));
+  }
+}
@@ -20,7 +20,9 @@ import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockImporter;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.mainnet.BlockProcessor;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
+import tech.pegasys.pantheon.ethereum.mainnet.ParallelTransactionExecutor;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
@@ -29,6 +31,7 @@ import tech.pegasys.pantheon.testutil.JsonTestParameters;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Assert;
 
@@ -36,6 +39,19 @@ public class BlockchainReferenceTestTools {
   private static final ReferenceTestProtocolSchedules REFERENCE_TEST_PROTOCOL_SCHEDULES =
       ReferenceTestProtocolSchedules.create();
 
+  // When enabled, every block is also processed with parallel transaction execution and must
+  // produce the same result as sequential execution.
+  private static final boolean COMPARE_PARALLEL_EXECUTION =
+      Boolean.getBoolean("test.ethereum.blockchain.parallel");
+
+  private static final ReferenceTestProtocolSchedules PARALLEL_REFERENCE_TEST_PROTOCOL_SCHEDULES =
+      ReferenceTestProtocolSchedules.create(
+          builder ->
+              builder.parallelTransactionExecutor(
+                  Optional.of(
+                      new ParallelTransactionExecutor(
+                          Math.max(2, Runtime.getRuntime().availableProcessors())))));
+
   private static final List<String> NETWORKS_TO_RUN;
 
   static {
@@ -95,6 +111,9 @@ public class BlockchainReferenceTestTools {
 
         final ProtocolSpec<Void> protocolSpec =
             schedule.getByBlockNumber(block.getHeader().getNumber());
+        if (COMPARE_PARALLEL_EXECUTION) {
+          assertParallelExecutionMatchesSequential(spec, protocolSpec, block);
+        }
         final BlockImporter<Void> blockImporter = protocolSpec.getBlockImporter();
         final HeaderValidationMode validationMode =
             "NoProof".equalsIgnoreCase(spec.getSealEngine())
@@ -111,4 +130,38 @@ public class BlockchainReferenceTestTools {
 
     assertThat(blockchain.getChainHeadHash()).isEqualTo(spec.getLastBlockHash());
   }
+
+  private static void assertParallelExecutionMatchesSequential(
+      final BlockchainReferenceTestCaseSpec spec,
+      final ProtocolSpec<Void> protocolSpec,
+      final Block block) {
+    final MutableBlockchain blockchain = spec.getBlockchain();
+    final Optional<BlockHeader> parentHeader =
+        blockchain.getBlockHeader(block.getHeader().getParentHash());
+    if (!parentHeader.isPresent()) {
+      return;
+    }
+
+    final ProtocolSpec<Void> parallelProtocolSpec =
+        PARALLEL_REFERENCE_TEST_PROTOCOL_SCHEDULES
+            .getByName(spec.getNetwork())
+            .getByBlockNumber(block.getHeader().getNumber());
+
+    final MutableWorldState sequentialWorldState =
+        spec.getWorldStateArchive().getMutable(parentHeader.get().getStateRoot()).get();
+    final MutableWorldState parallelWorldState =
+        spec.getWorldStateArchive().getMutable(parentHeader.get().getStateRoot()).get();
+    final BlockProcessor.Result sequentialResult =
+        protocolSpec.getBlockProcessor().processBlock(blockchain, sequentialWorldState, block);
+    final BlockProcessor.Result parallelResult =
+        parallelProtocolSpec
+            .getBlockProcessor()
+            .processBlock(blockchain, parallelWorldState, block);
+
+    assertThat(parallelResult.isSuccessful()).isEqualTo(sequentialResult.isSuccessful());
+    if (sequentialResult.isSuccessful()) {
+      assertThat(parallelWorldState.rootHash()).isEqualTo(sequentialWorldState.rootHash());
+      assertThat(parallelResult.getReceipts()).isEqualTo(sequentialResult.getReceipts());
+    }
+  }
 }
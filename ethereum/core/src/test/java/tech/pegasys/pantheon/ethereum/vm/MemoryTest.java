@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.vm;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
@@ -147,6 +148,78 @@ public class MemoryTest {
     assertThat(memory.getWord(UInt256.of(64))).isEqualTo(Bytes32.ZERO);
   }
 
+  @Test
+  public void shouldGetBytesSpanningSeveralWords() {
+    final BytesValue value = BytesValues.concatenate(WORD1, WORD2, WORD3);
+    memory.setBytes(UInt256.ZERO, UInt256.of(value.size()), value);
+
+    assertThat(memory.getBytes(UInt256.of(20), UInt256.of(50))).isEqualTo(value.slice(20, 50));
+  }
+
+  @Test
+  public void shouldExpandMemoryToWholeWords() {
+    assertThat(memory.getActiveWords()).isEqualTo(0);
+
+    memory.setByte(UInt256.of(32), (byte) 1);
+    assertThat(memory.getActiveWords()).isEqualTo(2);
+    assertThat(memory.getActiveBytes()).isEqualTo(64);
+
+    memory.getBytes(UInt256.of(64), UInt256.of(33));
+    assertThat(memory.getActiveWords()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldNotExpandMemoryForZeroLengthAccess() {
+    memory.getBytes(UInt256.of(1024), UInt256.ZERO);
+    memory.clearBytes(UInt256.of(1024), UInt256.ZERO);
+
+    assertThat(memory.getActiveWords()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldKeepContentWhenExpanding() {
+    memory.setWord(UInt256.of(7), WORD1);
+    memory.setWord(UInt256.of(100_000), WORD2);
+
+    assertThat(memory.getWord(UInt256.of(7))).isEqualTo(WORD1);
+    assertThat(memory.getWord(UInt256.of(100_000))).isEqualTo(WORD2);
+    assertThat(memory.getWord(UInt256.of(50_000))).isEqualTo(Bytes32.ZERO);
+  }
+
+  @Test
+  public void shouldHashBytesInMemory() {
+    final BytesValue value = BytesValues.concatenate(WORD1, WORD2, WORD3);
+    memory.setBytes(UInt256.of(5), UInt256.of(value.size()), value);
+
+    assertThat(memory.hashBytes(UInt256.of(5), UInt256.of(value.size())))
+        .isEqualTo(Hash.hash(value));
+    assertThat(memory.hashBytes(UInt256.of(5), UInt256.ZERO))
+        .isEqualTo(Hash.hash(BytesValue.EMPTY));
+  }
+
+  @Test
+  public void shouldHashExpandedMemoryAsZeros() {
+    assertThat(memory.hashBytes(UInt256.of(16), UInt256.of(40)))
+        .isEqualTo(Hash.hash(BytesValue.wrap(new byte[40])));
+    assertThat(memory.getActiveWords()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldBeEqualToMemoryWithSameContent() {
+    final Memory other = new Memory();
+    memory.setWord(UInt256.of(3), WORD1);
+    other.setWord(UInt256.of(3), WORD1);
+    // Gives other a larger backing array than its active memory.
+    other.setWord(UInt256.of(4096), WORD2);
+    other.clearBytes(UInt256.of(4096), UInt256.of(32));
+
+    assertThat(memory).isNotEqualTo(other);
+
+    memory.clearBytes(UInt256.of(4096), UInt256.of(32));
+    assertThat(memory).isEqualTo(other);
+    assertThat(memory.hashCode()).isEqualTo(other.hashCode());
+  }
+
   private static Bytes32 fillBytes32(final long value) {
     return Bytes32.fromHexString(Strings.repeat(Long.toString(value), 64));
   }
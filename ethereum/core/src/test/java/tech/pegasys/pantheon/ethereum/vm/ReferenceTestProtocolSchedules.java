@@ -17,6 +17,7 @@ import tech.pegasys.pantheon.config.StubGenesisConfigOptions;
 import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolScheduleBuilder;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpecBuilder;
 
 import java.math.BigInteger;
 import java.util.Map;
@@ -29,28 +30,53 @@ public class ReferenceTestProtocolSchedules {
   private static final BigInteger CHAIN_ID = BigInteger.ONE;
 
   public static ReferenceTestProtocolSchedules create() {
+    return create(Function.identity());
+  }
+
+  /**
+   * Creates the reference test protocol schedules with changes applied to every protocol spec.
+   *
+   * @param protocolSpecAdapter the changes to apply to each protocol spec
+   * @return the protocol schedules by network name
+   */
+  public static ReferenceTestProtocolSchedules create(
+      final Function<ProtocolSpecBuilder<Void>, ProtocolSpecBuilder<Void>> protocolSpecAdapter) {
     final ImmutableMap.Builder<String, ProtocolSchedule<Void>> builder = ImmutableMap.builder();
-    builder.put("Frontier", createSchedule(new StubGenesisConfigOptions()));
+    builder.put("Frontier", createSchedule(new StubGenesisConfigOptions(), protocolSpecAdapter));
+    builder.put(
+        "FrontierToHomesteadAt5",
+        createSchedule(new StubGenesisConfigOptions().homesteadBlock(5), protocolSpecAdapter));
     builder.put(
-        "FrontierToHomesteadAt5", createSchedule(new StubGenesisConfigOptions().homesteadBlock(5)));
-    builder.put("Homestead", createSchedule(new StubGenesisConfigOptions().homesteadBlock(0)));
+        "Homestead",
+        createSchedule(new StubGenesisConfigOptions().homesteadBlock(0), protocolSpecAdapter));
     builder.put(
         "HomesteadToEIP150At5",
-        createSchedule(new StubGenesisConfigOptions().homesteadBlock(0).eip150Block(5)));
+        createSchedule(
+            new StubGenesisConfigOptions().homesteadBlock(0).eip150Block(5), protocolSpecAdapter));
     builder.put(
         "HomesteadToDaoAt5",
-        createSchedule(new StubGenesisConfigOptions().homesteadBlock(0).daoForkBlock(5)));
-    builder.put("EIP150", createSchedule(new StubGenesisConfigOptions().eip150Block(0)));
-    builder.put("EIP158", createSchedule(new StubGenesisConfigOptions().eip158Block(0)));
+        createSchedule(
+            new StubGenesisConfigOptions().homesteadBlock(0).daoForkBlock(5), protocolSpecAdapter));
+    builder.put(
+        "EIP150",
+        createSchedule(new StubGenesisConfigOptions().eip150Block(0), protocolSpecAdapter));
+    builder.put(
+        "EIP158",
+        createSchedule(new StubGenesisConfigOptions().eip158Block(0), protocolSpecAdapter));
     builder.put(
         "EIP158ToByzantiumAt5",
-        createSchedule(new StubGenesisConfigOptions().eip158Block(0).byzantiumBlock(5)));
-    builder.put("Byzantium", createSchedule(new StubGenesisConfigOptions().byzantiumBlock(0)));
+        createSchedule(
+            new StubGenesisConfigOptions().eip158Block(0).byzantiumBlock(5), protocolSpecAdapter));
+    builder.put(
+        "Byzantium",
+        createSchedule(new StubGenesisConfigOptions().byzantiumBlock(0), protocolSpecAdapter));
     builder.put(
-        "Constantinople", createSchedule(new StubGenesisConfigOptions().constantinopleBlock(0)));
+        "Constantinople",
+        createSchedule(new StubGenesisConfigOptions().constantinopleBlock(0), protocolSpecAdapter));
     builder.put(
         "ConstantinopleFix",
-        createSchedule(new StubGenesisConfigOptions().constantinopleFixBlock(0)));
+        createSchedule(
+            new StubGenesisConfigOptions().constantinopleFixBlock(0), protocolSpecAdapter));
     return new ReferenceTestProtocolSchedules(builder.build());
   }
 
@@ -64,9 +90,11 @@ public class ReferenceTestProtocolSchedules {
     return schedules.get(name);
   }
 
-  private static ProtocolSchedule<Void> createSchedule(final GenesisConfigOptions options) {
+  private static ProtocolSchedule<Void> createSchedule(
+      final GenesisConfigOptions options,
+      final Function<ProtocolSpecBuilder<Void>, ProtocolSpecBuilder<Void>> protocolSpecAdapter) {
     return new ProtocolScheduleBuilder<>(
-            options, CHAIN_ID, Function.identity(), PrivacyParameters.DEFAULT)
+            options, CHAIN_ID, protocolSpecAdapter, PrivacyParameters.DEFAULT)
         .createProtocolSchedule();
   }
 }
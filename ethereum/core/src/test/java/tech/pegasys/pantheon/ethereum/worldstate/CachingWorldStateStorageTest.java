@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageWorldStateStorage;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.junit.Test;
+
+public class CachingWorldStateStorageTest {
+
+  private static final BytesValue NODE = BytesValue.fromHexString("0x123456");
+  private static final Hash NODE_HASH = Hash.hash(NODE);
+
+  private final KeyValueStorageWorldStateStorage storage =
+      spy(new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage()));
+  private final CachingWorldStateStorage cachingStorage =
+      new CachingWorldStateStorage(storage, 1024, new NoOpMetricsSystem());
+
+  @Test
+  public void readsStorageOnlyOnce() {
+    storage.updater().putAccountStateTrieNode(NODE_HASH, NODE).commit();
+
+    assertThat(cachingStorage.getAccountStateTrieNode(NODE_HASH)).contains(NODE);
+    assertThat(cachingStorage.getAccountStateTrieNode(NODE_HASH)).contains(NODE);
+    assertThat(cachingStorage.getNodeData(NODE_HASH)).contains(NODE);
+
+    verify(storage, times(1)).getAccountStateTrieNode(NODE_HASH);
+  }
+
+  @Test
+  public void doesNotCacheMissingValues() {
+    assertThat(cachingStorage.getCode(NODE_HASH)).isEmpty();
+    storage.updater().putCode(NODE_HASH, NODE).commit();
+
+    assertThat(cachingStorage.getCode(NODE_HASH)).contains(NODE);
+  }
+
+  @Test
+  public void cachesCommittedValues() {
+    cachingStorage.updater().putAccountStorageTrieNode(NODE_HASH, NODE).commit();
+
+    assertThat(cachingStorage.getAccountStorageTrieNode(NODE_HASH)).contains(NODE);
+    assertThat(cachingStorage.isWorldStateAvailable(NODE_HASH)).isTrue();
+    verify(storage, times(0)).getAccountStorageTrieNode(NODE_HASH);
+  }
+
+  @Test
+  public void doesNotCacheRolledBackValues() {
+    final WorldStateStorage.Updater updater = cachingStorage.updater();
+    updater.putAccountStateTrieNode(NODE_HASH, NODE);
+    updater.rollback();
+
+    assertThat(cachingStorage.getAccountStateTrieNode(NODE_HASH)).isEmpty();
+    assertThat(cachingStorage.isWorldStateAvailable(NODE_HASH)).isFalse();
+  }
+
+  @Test
+  public void preloadingViewSharesTheCache() {
+    storage.updater().putCode(NODE_HASH, NODE).commit();
+
+    assertThat(cachingStorage.preloadingView().getCode(NODE_HASH)).contains(NODE);
+    assertThat(cachingStorage.getCode(NODE_HASH)).contains(NODE);
+
+    verify(storage, times(1)).getCode(NODE_HASH);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void countsNodeDataReadsSeparatelyFromExecution() {
+    final MetricsSystem metricsSystem = mock(MetricsSystem.class);
+    final LabelledMetric<Counter> requests = mock(LabelledMetric.class);
+    final Counter executionHits = mock(Counter.class);
+    final Counter nodeDataHits = mock(Counter.class);
+    when(metricsSystem.createLabelledCounter(
+            eq(MetricCategory.BLOCKCHAIN),
+            eq("world_state_cache_requests_total"),
+            anyString(),
+            any()))
+        .thenReturn(requests);
+    when(requests.labels(anyString(), anyString())).thenReturn(mock(Counter.class));
+    when(requests.labels("execution", "hit")).thenReturn(executionHits);
+    when(requests.labels("node_data", "hit")).thenReturn(nodeDataHits);
+    final CachingWorldStateStorage cachingStorage =
+        new CachingWorldStateStorage(storage, 1024, metricsSystem);
+    cachingStorage.updater().putAccountStateTrieNode(NODE_HASH, NODE).commit();
+
+    assertThat(cachingStorage.getNodeData(NODE_HASH)).contains(NODE);
+
+    verify(nodeDataHits).inc();
+    verify(executionHits, never()).inc();
+  }
+}
@@ -557,6 +557,46 @@ public class DefaultMutableWorldStateTest {
     assertThat(storage).isEqualTo(expected);
   }
 
+  @Test
+  public void copyIncludesUnpersistedChangesWithoutWritingThem() {
+    final KeyValueStorageWorldStateStorage storage =
+        new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
+    final MutableWorldState worldState = createEmpty(storage);
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount account = updater.createAccount(ADDRESS);
+    account.setBalance(Wei.of(100000));
+    account.setCode(BytesValue.of(1, 2, 3));
+    account.setStorageValue(UInt256.ONE, UInt256.of(2));
+    updater.commit();
+
+    final MutableWorldState copy = worldState.copy();
+
+    assertThat(storage.isWorldStateAvailable(worldState.rootHash())).isFalse();
+    assertThat(storage.getCode(Hash.hash(BytesValue.of(1, 2, 3)))).isEmpty();
+    assertThat(copy.rootHash()).isEqualTo(worldState.rootHash());
+    assertThat(copy.get(ADDRESS).getBalance()).isEqualTo(Wei.of(100000));
+    assertThat(copy.get(ADDRESS).getCode()).isEqualTo(BytesValue.of(1, 2, 3));
+    assertThat(copy.get(ADDRESS).getStorageValue(UInt256.ONE)).isEqualTo(UInt256.of(2));
+  }
+
+  @Test
+  public void copyIsIndependentOfOriginal() {
+    final MutableWorldState worldState = createEmpty();
+    WorldUpdater updater = worldState.updater();
+    updater.createAccount(ADDRESS).setStorageValue(UInt256.ONE, UInt256.of(2));
+    updater.commit();
+    final MutableWorldState copy = worldState.copy();
+
+    updater = worldState.updater();
+    updater.getMutable(ADDRESS).setStorageValue(UInt256.ONE, UInt256.of(3));
+    updater.commit();
+    worldState.persist();
+
+    assertThat(copy.get(ADDRESS).getStorageValue(UInt256.ONE)).isEqualTo(UInt256.of(2));
+    assertThat(worldState.get(ADDRESS).getStorageValue(UInt256.ONE)).isEqualTo(UInt256.of(3));
+    assertThat(copy.rootHash()).isNotEqualTo(worldState.rootHash());
+  }
+
   private Hash hash(final UInt256 key) {
     return Hash.hash(key.getBytes());
   }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Util;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageWorldStateStorage;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WorldStatePreloaderTest {
+
+  private static final Address CONTRACT =
+      Address.fromHexString("0xa94f5374fce5edbc8e2a8697c15331677e6ebf0b");
+  private static final BytesValue CODE = BytesValue.fromHexString("0x6001600055");
+
+  private final KeyPair senderKeys = KeyPair.generate();
+  private final Address sender = Util.publicKeyToAddress(senderKeys.getPublicKey());
+  private final KeyValueStorageWorldStateStorage storage =
+      spy(new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage()));
+  private final CachingWorldStateStorage cachingStorage =
+      new CachingWorldStateStorage(storage, 1024 * 1024, new NoOpMetricsSystem());
+  private Hash stateRoot;
+
+  @Before
+  public void setUp() {
+    final MutableWorldState worldState = new DefaultMutableWorldState(storage);
+    final WorldUpdater updater = worldState.updater();
+    updater.createAccount(sender).setBalance(Wei.of(1_000_000));
+    final MutableAccount contract = updater.createAccount(CONTRACT);
+    contract.setCode(CODE);
+    contract.setStorageValue(UInt256.ZERO, UInt256.ONE);
+    contract.setStorageValue(UInt256.ONE, UInt256.ONE);
+    updater.commit();
+    worldState.persist();
+    stateRoot = worldState.rootHash();
+    clearInvocations(storage);
+  }
+
+  @Test
+  public void preloadsTheAccountsABlockTouches() {
+    final Transaction transaction =
+        new TransactionTestFixture().to(Optional.of(CONTRACT)).createTransaction(senderKeys);
+    final Block block =
+        new Block(
+            new BlockHeaderTestFixture().coinbase(sender).buildHeader(),
+            new BlockBody(singletonList(transaction), emptyList()));
+
+    preloader(MoreExecutors.newDirectExecutorService()).preload(stateRoot, block);
+    verify(storage).getCode(any());
+    clearInvocations(storage);
+
+    final MutableWorldState worldState = new DefaultMutableWorldState(stateRoot, cachingStorage);
+    assertThat(worldState.get(sender).getBalance()).isEqualTo(Wei.of(1_000_000));
+    final Account contract = worldState.get(CONTRACT);
+    assertThat(contract.getCode()).isEqualTo(CODE);
+    assertThat(contract.getStorageValue(UInt256.ZERO)).isEqualTo(UInt256.ONE);
+    verifyZeroInteractions(storage);
+  }
+
+  @Test
+  public void dropsAccountsWhenTheExecutorIsBusy() {
+    final ExecutorService executor = MoreExecutors.newDirectExecutorService();
+    executor.shutdown();
+
+    preloader(executor).preload(stateRoot, singletonList(CONTRACT));
+
+    verify(storage, never()).getAccountStateTrieNode(any());
+  }
+
+  @Test
+  public void ignoresWorldStatesMissingFromStorage() {
+    final Hash missingRoot = Hash.hash(BytesValue.fromHexString("0x01"));
+
+    preloader(MoreExecutors.newDirectExecutorService())
+        .preload(missingRoot, singletonList(CONTRACT));
+
+    assertThat(cachingStorage.isWorldStateAvailable(missingRoot)).isFalse();
+  }
+
+  private WorldStatePreloader preloader(final ExecutorService executor) {
+    return new WorldStatePreloader(
+        cachingStorage.preloadingView(), executor, new NoOpMetricsSystem());
+  }
+}
@@ -34,7 +34,7 @@ import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
 import tech.pegasys.pantheon.services.tasks.CachingTaskCollection;
-import tech.pegasys.pantheon.services.tasks.FlatFileTaskCollection;
+import tech.pegasys.pantheon.services.tasks.MappedFileTaskCollection;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.nio.file.Path;
@@ -49,6 +49,7 @@ import com.google.common.io.MoreFiles;
 import com.google.common.io.RecursiveDeleteOption;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -57,6 +58,9 @@ import org.openjdk.jmh.annotations.TearDown;
 @State(Scope.Thread)
 public class WorldStateDownloaderBenchmark {
 
+  @Param({"fifo", "deepest_first"})
+  public String ordering;
+
   private final BlockDataGenerator dataGen = new BlockDataGenerator();
   private Path tempDir;
   private BlockHeader blockHeader;
@@ -95,13 +99,15 @@ public class WorldStateDownloaderBenchmark {
             metricsSystem);
     worldStateStorage = storageProvider.createWorldStateStorage();
 
+    final Path queueDir = tempDir.resolve("fastsync");
+    queueDir.toFile().mkdirs();
+    final MappedFileTaskCollection<NodeDataRequest> fileTaskCollection =
+        new MappedFileTaskCollection<>(
+            queueDir, NodeDataRequest::serialize, NodeDataRequest::deserialize);
     pendingRequests =
-        new CachingTaskCollection<>(
-            new FlatFileTaskCollection<>(
-                tempDir.resolve("fastsync"),
-                NodeDataRequest::serialize,
-                NodeDataRequest::deserialize),
-            0);
+        ordering.equals("deepest_first")
+            ? new CachingTaskCollection<>(fileTaskCollection, NodeDataRequest.DEEPEST_FIRST)
+            : new CachingTaskCollection<>(fileTaskCollection);
     worldStateDownloader =
         new WorldStateDownloader(
             ethContext,
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.transactions;
+
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthProtocolManager;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthProtocolManagerTestUtil;
+import tech.pegasys.pantheon.ethereum.eth.messages.LimitedTransactionsMessages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Queues a batch of new transactions for every peer and builds the transactions messages each peer
+ * is sent, as {@link TransactionSender} and {@link TransactionsMessageSender} do, without the
+ * network write.
+ */
+@State(Scope.Thread)
+public class TransactionGossipBenchmark {
+
+  @Param({"100", "1000", "5000"})
+  public int transactionCount;
+
+  @Param({"25"})
+  public int peerCount;
+
+  private EthProtocolManager ethProtocolManager;
+  private List<EthPeer> peers;
+  private List<Transaction> transactions;
+
+  @Setup
+  public void prepare() {
+    ethProtocolManager = EthProtocolManagerTestUtil.create();
+    peers =
+        IntStream.range(0, peerCount)
+            .mapToObj(i -> EthProtocolManagerTestUtil.createPeer(ethProtocolManager).getEthPeer())
+            .collect(Collectors.toList());
+    transactions = new ArrayList<>(new BlockDataGenerator().transactions(transactionCount));
+  }
+
+  @TearDown
+  public void tearDown() {
+    ethProtocolManager.stop();
+  }
+
+  @Benchmark
+  public long gossip() {
+    final PeerTransactionTracker tracker = new PeerTransactionTracker();
+    peers.forEach(
+        peer -> transactions.forEach(transaction -> tracker.addToPeerSendQueue(peer, transaction)));
+    return peers
+        .parallelStream()
+        .mapToLong(
+            peer -> {
+              final List<Transaction> toSend =
+                  new ArrayList<>(tracker.claimTransactionsToSendToPeer(peer));
+              long bytes = 0;
+              int sent = 0;
+              while (sent < toSend.size()) {
+                final LimitedTransactionsMessages messages =
+                    LimitedTransactionsMessages.createLimited(toSend.subList(sent, toSend.size()));
+                sent += messages.getIncludedTransactions().size();
+                bytes += messages.getTransactionsMessage().getSize();
+              }
+              return bytes;
+            })
+        .sum();
+  }
+}
@@ -25,21 +25,38 @@ public class EthereumWireProtocolConfiguration {
   public static final int DEFAULT_MAX_GET_BLOCK_BODIES = 128;
   public static final int DEFAULT_MAX_GET_RECEIPTS = 256;
   public static final int DEFAULT_MAX_GET_NODE_DATA = 384;
+  public static final int DEFAULT_MIN_FULL_BLOCK_PEERS = 4;
 
   private final int maxGetBlockHeaders;
   private final int maxGetBlockBodies;
   private final int maxGetReceipts;
   private final int maxGetNodeData;
+  private final int minFullBlockPeers;
 
   public EthereumWireProtocolConfiguration(
       final int maxGetBlockHeaders,
       final int maxGetBlockBodies,
       final int maxGetReceipts,
       final int maxGetNodeData) {
+    this(
+        maxGetBlockHeaders,
+        maxGetBlockBodies,
+        maxGetReceipts,
+        maxGetNodeData,
+        DEFAULT_MIN_FULL_BLOCK_PEERS);
+  }
+
+  public EthereumWireProtocolConfiguration(
+      final int maxGetBlockHeaders,
+      final int maxGetBlockBodies,
+      final int maxGetReceipts,
+      final int maxGetNodeData,
+      final int minFullBlockPeers) {
     this.maxGetBlockHeaders = maxGetBlockHeaders;
     this.maxGetBlockBodies = maxGetBlockBodies;
     this.maxGetReceipts = maxGetReceipts;
     this.maxGetNodeData = maxGetNodeData;
+    this.minFullBlockPeers = minFullBlockPeers;
   }
 
   public static EthereumWireProtocolConfiguration defaultConfig() {
@@ -47,7 +64,8 @@ public class EthereumWireProtocolConfiguration {
         DEFAULT_MAX_GET_BLOCK_HEADERS,
         DEFAULT_MAX_GET_BLOCK_BODIES,
         DEFAULT_MAX_GET_RECEIPTS,
-        DEFAULT_MAX_GET_NODE_DATA);
+        DEFAULT_MAX_GET_NODE_DATA,
+        DEFAULT_MIN_FULL_BLOCK_PEERS);
   }
 
   public static Builder builder() {
@@ -70,6 +88,16 @@ public class EthereumWireProtocolConfiguration {
     return maxGetNodeData;
   }
 
+  /**
+   * The minimum number of peers new blocks are sent to in full, when that is more than the square
+   * root of the peers that have not seen the block. The other peers are sent the block hash.
+   *
+   * @return the minimum number of peers sent each new block in full.
+   */
+  public int getMinFullBlockPeers() {
+    return minFullBlockPeers;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -82,12 +110,14 @@ public class EthereumWireProtocolConfiguration {
     return maxGetBlockHeaders == that.maxGetBlockHeaders
         && maxGetBlockBodies == that.maxGetBlockBodies
         && maxGetReceipts == that.maxGetReceipts
-        && maxGetNodeData == that.maxGetNodeData;
+        && maxGetNodeData == that.maxGetNodeData
+        && minFullBlockPeers == that.minFullBlockPeers;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(maxGetBlockHeaders, maxGetBlockBodies, maxGetReceipts, maxGetNodeData);
+    return Objects.hash(
+        maxGetBlockHeaders, maxGetBlockBodies, maxGetReceipts, maxGetNodeData, minFullBlockPeers);
   }
 
   @Override
@@ -97,6 +127,7 @@ public class EthereumWireProtocolConfiguration {
         .add("maxGetBlockBodies", maxGetBlockBodies)
         .add("maxGetReceipts", maxGetReceipts)
         .add("maxGetNodeData", maxGetNodeData)
+        .add("minFullBlockPeers", minFullBlockPeers)
         .toString();
   }
 
@@ -137,6 +168,15 @@ public class EthereumWireProtocolConfiguration {
     private PositiveNumber maxGetNodeData =
         PositiveNumber.fromInt(EthereumWireProtocolConfiguration.DEFAULT_MAX_GET_NODE_DATA);
 
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xewp-min-full-block-peers"},
+        paramLabel = "<INTEGER>",
+        description =
+            "Minimum number of peers sent each new block in full rather than its hash. (default: ${DEFAULT-VALUE})")
+    private PositiveNumber minFullBlockPeers =
+        PositiveNumber.fromInt(EthereumWireProtocolConfiguration.DEFAULT_MIN_FULL_BLOCK_PEERS);
+
     public Builder maxGetBlockHeaders(final PositiveNumber maxGetBlockHeaders) {
       this.maxGetBlockHeaders = maxGetBlockHeaders;
       return this;
@@ -157,12 +197,18 @@ public class EthereumWireProtocolConfiguration {
       return this;
     }
 
+    public Builder minFullBlockPeers(final PositiveNumber minFullBlockPeers) {
+      this.minFullBlockPeers = minFullBlockPeers;
+      return this;
+    }
+
     public EthereumWireProtocolConfiguration build() {
       return new EthereumWireProtocolConfiguration(
           maxGetBlockHeaders.getValue(),
           maxGetBlockBodies.getValue(),
           maxGetReceipts.getValue(),
-          maxGetNodeData.getValue());
+          maxGetNodeData.getValue(),
+          minFullBlockPeers.getValue());
     }
   }
 }
@@ -87,7 +87,9 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
     ethMessages = new EthMessages();
     ethContext = new EthContext(ethPeers, ethMessages, scheduler);
 
-    this.blockBroadcaster = new BlockBroadcaster(ethContext);
+    this.blockBroadcaster =
+        new BlockBroadcaster(
+            ethContext, ethereumWireProtocolConfiguration.getMinFullBlockPeers(), metricsSystem);
 
     // Set up request handlers
     new EthServer(blockchain, worldStateArchive, ethMessages, ethereumWireProtocolConfiguration);
@@ -140,6 +142,10 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
     return ethContext;
   }
 
+  public BlockBroadcaster blockBroadcaster() {
+    return blockBroadcaster;
+  }
+
   @Override
   public String getSupportedProtocol() {
     return EthProtocol.NAME;
@@ -286,5 +292,6 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
                     new IllegalStateException(
                         "Unable to get total difficulty from blockchain for mined block."));
     blockBroadcaster.propagate(block, totalDifficulty);
+    blockBroadcaster.announce(block);
   }
 }
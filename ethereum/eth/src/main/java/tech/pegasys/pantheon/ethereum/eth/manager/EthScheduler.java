@@ -119,7 +119,23 @@ public class EthScheduler {
   }
 
   public CompletableFuture<Void> startPipeline(final Pipeline<?> pipeline) {
-    final CompletableFuture<Void> pipelineFuture = pipeline.start(servicesExecutor);
+    return trackServiceFuture(pipeline.start(servicesExecutor));
+  }
+
+  /**
+   * Starts a pipeline with its processing stages scheduled cooperatively on the computation
+   * executor instead of each being given a dedicated thread. Only the source stage, if any, runs in
+   * its own thread. The functions run by the pipeline's stages must not block waiting on other
+   * pipelines.
+   *
+   * @param pipeline the pipeline to start.
+   * @return a future that completes when the pipeline completes.
+   */
+  public CompletableFuture<Void> startPipelineCooperatively(final Pipeline<?> pipeline) {
+    return trackServiceFuture(pipeline.startCooperatively(servicesExecutor, computationExecutor));
+  }
+
+  private CompletableFuture<Void> trackServiceFuture(final CompletableFuture<Void> pipelineFuture) {
     serviceFutures.add(pipelineFuture);
     pipelineFuture.whenComplete((r, t) -> serviceFutures.remove(pipelineFuture));
     return pipelineFuture;
@@ -19,7 +19,7 @@ import tech.pegasys.pantheon.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.wire.AbstractMessageData;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPInput;
-import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.DirectRLPOutput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.List;
@@ -39,7 +39,7 @@ public final class BlockBodiesMessage extends AbstractMessageData {
   }
 
   public static BlockBodiesMessage create(final Iterable<BlockBody> bodies) {
-    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    final DirectRLPOutput tmp = new DirectRLPOutput();
     tmp.startList();
     bodies.forEach(body -> body.writeTo(tmp));
     tmp.endList();
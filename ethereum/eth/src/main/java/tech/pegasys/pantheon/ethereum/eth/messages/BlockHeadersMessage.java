@@ -19,7 +19,7 @@ import tech.pegasys.pantheon.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.wire.AbstractMessageData;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPInput;
-import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.DirectRLPOutput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.Arrays;
@@ -44,7 +44,7 @@ public final class BlockHeadersMessage extends AbstractMessageData {
   }
 
   public static BlockHeadersMessage create(final Iterable<BlockHeader> headers) {
-    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    final DirectRLPOutput tmp = new DirectRLPOutput();
     tmp.startList();
     for (final BlockHeader header : headers) {
       header.writeTo(tmp);
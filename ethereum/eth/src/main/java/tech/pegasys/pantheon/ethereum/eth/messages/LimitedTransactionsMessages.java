@@ -13,7 +13,7 @@
 package tech.pegasys.pantheon.ethereum.eth.messages;
 
 import tech.pegasys.pantheon.ethereum.core.Transaction;
-import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.DirectRLPOutput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.HashSet;
@@ -35,13 +35,12 @@ public final class LimitedTransactionsMessages {
   public static LimitedTransactionsMessages createLimited(
       final Iterable<Transaction> transactions) {
     final Set<Transaction> includedTransactions = new HashSet<>();
-    final BytesValueRLPOutput message = new BytesValueRLPOutput();
+    final DirectRLPOutput message = new DirectRLPOutput();
     int messageSize = 0;
     message.startList();
     for (final Transaction transaction : transactions) {
-      final BytesValueRLPOutput encodedTransaction = new BytesValueRLPOutput();
-      transaction.writeTo(encodedTransaction);
-      BytesValue encodedBytes = encodedTransaction.encoded();
+      // Transactions keep their encoding, so one gossiped to many peers is only encoded once.
+      final BytesValue encodedBytes = transaction.encoded();
       // Break if individual transaction size exceeds limit
       if (encodedBytes.size() > LIMIT && (messageSize != 0)) {
         break;
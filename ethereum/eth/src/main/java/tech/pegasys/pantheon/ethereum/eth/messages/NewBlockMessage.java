@@ -18,7 +18,7 @@ import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.wire.AbstractMessageData;
-import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.DirectRLPOutput;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
@@ -42,7 +42,7 @@ public class NewBlockMessage extends AbstractMessageData {
 
   public static NewBlockMessage create(final Block block, final UInt256 totalDifficulty) {
     final NewBlockMessageData msgData = new NewBlockMessageData(block, totalDifficulty);
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    final DirectRLPOutput out = new DirectRLPOutput();
     msgData.writeTo(out);
     return new NewBlockMessage(out.encoded());
   }
@@ -105,7 +105,8 @@ public class NewBlockMessage extends AbstractMessageData {
       final BlockHeaderFunctions blockHeaderFunctions =
           ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
       in.enterList();
-      final Block block = Block.readFrom(in, blockHeaderFunctions);
+      // The body is only decoded if the block is going to be imported.
+      final Block block = Block.readLazilyFrom(in, blockHeaderFunctions);
       final UInt256 totaldifficulty = in.readUInt256Scalar();
       return new NewBlockMessageData(block, totaldifficulty);
     }
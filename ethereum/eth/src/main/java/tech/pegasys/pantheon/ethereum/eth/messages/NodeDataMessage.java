@@ -15,7 +15,7 @@ package tech.pegasys.pantheon.ethereum.eth.messages;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.wire.AbstractMessageData;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPInput;
-import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.DirectRLPOutput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
@@ -37,7 +37,7 @@ public final class NodeDataMessage extends AbstractMessageData {
   }
 
   public static NodeDataMessage create(final Iterable<BytesValue> nodeData) {
-    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    final DirectRLPOutput tmp = new DirectRLPOutput();
     tmp.startList();
     nodeData.forEach(tmp::writeBytesValue);
     tmp.endList();
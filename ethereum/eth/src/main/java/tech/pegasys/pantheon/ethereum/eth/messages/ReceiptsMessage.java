@@ -16,7 +16,7 @@ import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.wire.AbstractMessageData;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPInput;
-import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.DirectRLPOutput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
@@ -38,7 +38,7 @@ public final class ReceiptsMessage extends AbstractMessageData {
   }
 
   public static ReceiptsMessage create(final List<List<TransactionReceipt>> receipts) {
-    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    final DirectRLPOutput tmp = new DirectRLPOutput();
     tmp.startList();
     receipts.forEach(
         (receiptSet) -> {
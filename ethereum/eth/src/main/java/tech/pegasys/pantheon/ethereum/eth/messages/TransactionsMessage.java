@@ -16,7 +16,7 @@ import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.wire.AbstractMessageData;
 import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPInput;
-import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.DirectRLPOutput;
 import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
@@ -38,7 +38,7 @@ public class TransactionsMessage extends AbstractMessageData {
   }
 
   public static TransactionsMessage create(final Iterable<Transaction> transactions) {
-    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    final DirectRLPOutput tmp = new DirectRLPOutput();
     tmp.startList();
     for (final Transaction transaction : transactions) {
       transaction.writeTo(tmp);
@@ -12,38 +12,128 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.sync;
 
+import static java.util.stream.Collectors.toList;
+
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.messages.NewBlockHashesMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.NewBlockHashesMessage.NewBlockHash;
 import tech.pegasys.pantheon.ethereum.eth.messages.NewBlockMessage;
+import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Broadcasts new blocks to peers: in full to roughly the square root of the peers that have not
+ * seen the block, and as a hash announcement to the others, which can then fetch the block if they
+ * need it. Each message is encoded once and the same bytes are sent to every peer.
+ */
 public class BlockBroadcaster {
   private static final Logger LOG = LogManager.getLogger();
 
   private final EthContext ethContext;
+  private final int minFullBlockPeers;
+  private final LabelledMetric<Counter> bytesSentCounter;
+  private final LabelledMetric<OperationTimer> broadcastTimer;
 
-  public BlockBroadcaster(final EthContext ethContext) {
+  public BlockBroadcaster(
+      final EthContext ethContext, final int minFullBlockPeers, final MetricsSystem metricsSystem) {
     this.ethContext = ethContext;
+    this.minFullBlockPeers = minFullBlockPeers;
+    bytesSentCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.NETWORK,
+            "block_broadcast_bytes_sent_total",
+            "Bytes of block broadcast messages sent to peers",
+            "message");
+    broadcastTimer =
+        metricsSystem.createLabelledTimer(
+            MetricCategory.NETWORK,
+            "block_broadcast_latency_seconds",
+            "Time taken to send a block broadcast message to all the selected peers",
+            "message");
   }
 
+  /**
+   * Sends the block in full to a subset of the peers that have not seen it: the square root of
+   * their number, but at least the configured minimum.
+   *
+   * @param block the block to send
+   * @param totalDifficulty the total difficulty of the chain ending with the block
+   */
   public void propagate(final Block block, final UInt256 totalDifficulty) {
-    final NewBlockMessage newBlockMessage = NewBlockMessage.create(block, totalDifficulty);
-    ethContext
+    final List<EthPeer> peers = peersWithoutBlock(block);
+    if (peers.isEmpty()) {
+      return;
+    }
+    Collections.shuffle(peers);
+    final int fullBlockPeers =
+        Math.min(
+            peers.size(), Math.max(minFullBlockPeers, (int) Math.ceil(Math.sqrt(peers.size()))));
+    send(
+        "new_block",
+        NewBlockMessage.create(block, totalDifficulty),
+        block,
+        peers.subList(0, fullBlockPeers));
+  }
+
+  /**
+   * Announces the hash of the block to every peer that has not seen it yet. Peers request the block
+   * from us, so it should have been imported first.
+   *
+   * @param block the block to announce
+   */
+  public void announce(final Block block) {
+    final List<EthPeer> peers = peersWithoutBlock(block);
+    if (peers.isEmpty()) {
+      return;
+    }
+    final NewBlockHash newBlockHash =
+        new NewBlockHash(block.getHash(), block.getHeader().getNumber());
+    send(
+        "new_block_hashes",
+        NewBlockHashesMessage.create(Collections.singletonList(newBlockHash)),
+        block,
+        peers);
+  }
+
+  private List<EthPeer> peersWithoutBlock(final Block block) {
+    return ethContext
         .getEthPeers()
         .streamAvailablePeers()
         .filter(ethPeer -> !ethPeer.hasSeenBlock(block.getHash()))
-        .forEach(
-            ethPeer -> {
-              ethPeer.registerKnownBlock(block.getHash());
-              try {
-                ethPeer.send(newBlockMessage);
-              } catch (final PeerConnection.PeerNotConnected e) {
-                LOG.trace("Failed to broadcast new block to peer", e);
-              }
-            });
+        .collect(toList());
+  }
+
+  private void send(
+      final String messageType,
+      final MessageData message,
+      final Block block,
+      final List<EthPeer> peers) {
+    final Counter bytesSent = bytesSentCounter.labels(messageType);
+    try (final OperationTimer.TimingContext ignored =
+        broadcastTimer.labels(messageType).startTimer()) {
+      for (final EthPeer ethPeer : peers) {
+        ethPeer.registerKnownBlock(block.getHash());
+        try {
+          ethPeer.send(message);
+          bytesSent.inc(message.getSize());
+        } catch (final PeerConnection.PeerNotConnected e) {
+          LOG.trace("Failed to broadcast new block to peer", e);
+        }
+      }
+    }
   }
 }
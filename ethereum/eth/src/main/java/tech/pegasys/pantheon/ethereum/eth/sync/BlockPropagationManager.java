@@ -171,6 +171,10 @@ public class BlockPropagationManager<C> {
         return;
       }
 
+      // The body of the block is decoded lazily: decode it now, so that a malformed body is
+      // attributed to the peer that sent it.
+      block.getBody().getTransactions();
+      block.getBody().getOmmers();
       importOrSavePendingBlock(block);
     } catch (final RLPException e) {
       message.getPeer().disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
@@ -330,6 +334,8 @@ public class BlockPropagationManager<C> {
                     block.getHeader().getNumber(),
                     block.getHash());
               } else {
+                // Peers sent only the hash will fetch the block from us, now that we can serve it.
+                blockBroadcaster.announce(block);
                 final double timeInS = importTask.getTaskTimeInSec();
                 LOG.info(
                     String.format(
@@ -56,6 +56,7 @@ public class DefaultSynchronizer<C> implements Synchronizer {
       final ProtocolContext<C> protocolContext,
       final WorldStateStorage worldStateStorage,
       final EthContext ethContext,
+      final BlockBroadcaster blockBroadcaster,
       final SyncState syncState,
       final Path dataDirectory,
       final Clock clock,
@@ -78,7 +79,7 @@ public class DefaultSynchronizer<C> implements Synchronizer {
             syncState,
             new PendingBlocks(),
             metricsSystem,
-            new BlockBroadcaster(ethContext));
+            blockBroadcaster);
 
     this.fullSyncDownloader =
         new FullSyncDownloader<>(
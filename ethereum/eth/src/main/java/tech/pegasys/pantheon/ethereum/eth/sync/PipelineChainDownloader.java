@@ -144,6 +144,6 @@ public class PipelineChainDownloader<C> implements ChainDownloader {
     }
     syncState.setSyncTarget(target.peer(), target.commonAncestor());
     currentDownloadPipeline = downloadPipelineFactory.createDownloadPipelineForSyncTarget(target);
-    return scheduler.startPipeline(currentDownloadPipeline);
+    return scheduler.startPipelineCooperatively(currentDownloadPipeline);
   }
 }
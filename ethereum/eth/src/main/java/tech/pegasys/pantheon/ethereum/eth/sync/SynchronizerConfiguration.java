@@ -28,6 +28,7 @@ public class SynchronizerConfiguration {
   // TODO: Determine reasonable defaults here
   private static final int DEFAULT_PIVOT_DISTANCE_FROM_HEAD = 50;
   private static final float DEFAULT_FULL_VALIDATION_RATE = .1f;
+  private static final int DEFAULT_FAST_SYNC_IMPORT_BATCH_SIZE = 200;
   private static final int DEFAULT_FAST_SYNC_MINIMUM_PEERS = 5;
   private static final int DEFAULT_WORLD_STATE_HASH_COUNT_PER_REQUEST = 384;
   private static final int DEFAULT_WORLD_STATE_REQUEST_PARALLELISM = 10;
@@ -38,6 +39,7 @@ public class SynchronizerConfiguration {
   // Fast sync config
   private final int fastSyncPivotDistance;
   private final float fastSyncFullValidationRate;
+  private final int fastSyncImportBatchSize;
   private final int fastSyncMinimumPeerCount;
   private final int worldStateHashCountPerRequest;
   private final int worldStateRequestParallelism;
@@ -64,6 +66,7 @@ public class SynchronizerConfiguration {
   private SynchronizerConfiguration(
       final int fastSyncPivotDistance,
       final float fastSyncFullValidationRate,
+      final int fastSyncImportBatchSize,
       final int fastSyncMinimumPeerCount,
       final int worldStateHashCountPerRequest,
       final int worldStateRequestParallelism,
@@ -82,6 +85,7 @@ public class SynchronizerConfiguration {
       final int maxTrailingPeers) {
     this.fastSyncPivotDistance = fastSyncPivotDistance;
     this.fastSyncFullValidationRate = fastSyncFullValidationRate;
+    this.fastSyncImportBatchSize = fastSyncImportBatchSize;
     this.fastSyncMinimumPeerCount = fastSyncMinimumPeerCount;
     this.worldStateHashCountPerRequest = worldStateHashCountPerRequest;
     this.worldStateRequestParallelism = worldStateRequestParallelism;
@@ -176,6 +180,15 @@ public class SynchronizerConfiguration {
     return fastSyncFullValidationRate;
   }
 
+  /**
+   * The maximum number of blocks fast sync writes to storage in a single transaction.
+   *
+   * @return the maximum number of blocks imported per storage transaction during fast sync.
+   */
+  public int fastSyncImportBatchSize() {
+    return fastSyncImportBatchSize;
+  }
+
   public int getFastSyncMinimumPeerCount() {
     return fastSyncMinimumPeerCount;
   }
@@ -311,6 +324,15 @@ public class SynchronizerConfiguration {
             "Fraction of headers fast sync will fully validate (default: ${DEFAULT-VALUE})")
     private float fastSyncFullValidationRate = DEFAULT_FULL_VALIDATION_RATE;
 
+    @CommandLine.Option(
+        names = "--Xsynchronizer-fast-sync-import-batch-size",
+        hidden = true,
+        defaultValue = "200",
+        paramLabel = "<INTEGER>",
+        description =
+            "Maximum number of blocks fast sync writes to storage in one transaction (default: ${DEFAULT-VALUE})")
+    private int fastSyncImportBatchSize = DEFAULT_FAST_SYNC_IMPORT_BATCH_SIZE;
+
     @CommandLine.Option(
         names = "--Xsynchronizer-world-state-hash-count-per-request",
         hidden = true,
@@ -358,6 +380,12 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder fastSyncImportBatchSize(final int fastSyncImportBatchSize) {
+      checkArgument(fastSyncImportBatchSize > 0, "Import batch size must be positive.");
+      this.fastSyncImportBatchSize = fastSyncImportBatchSize;
+      return this;
+    }
+
     public Builder syncMode(final SyncMode mode) {
       this.syncMode = mode;
       return this;
@@ -447,6 +475,7 @@ public class SynchronizerConfiguration {
       return new SynchronizerConfiguration(
           fastSyncPivotDistance,
           fastSyncFullValidationRate,
+          fastSyncImportBatchSize,
           fastSyncMinimumPeerCount,
           worldStateHashCountPerRequest,
           worldStateRequestParallelism,
@@ -26,7 +26,7 @@ import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.services.tasks.CachingTaskCollection;
-import tech.pegasys.pantheon.services.tasks.FlatFileTaskCollection;
+import tech.pegasys.pantheon.services.tasks.MappedFileTaskCollection;
 
 import java.io.File;
 import java.nio.file.Path;
@@ -119,8 +119,9 @@ public class FastDownloaderFactory {
       final Path dataDirectory, final MetricsSystem metricsSystem) {
     final CachingTaskCollection<NodeDataRequest> taskCollection =
         new CachingTaskCollection<>(
-            new FlatFileTaskCollection<>(
-                dataDirectory, NodeDataRequest::serialize, NodeDataRequest::deserialize));
+            new MappedFileTaskCollection<>(
+                dataDirectory, NodeDataRequest::serialize, NodeDataRequest::deserialize),
+            NodeDataRequest.DEEPEST_FIRST);
 
     metricsSystem.createLongGauge(
         MetricCategory.SYNCHRONIZER,
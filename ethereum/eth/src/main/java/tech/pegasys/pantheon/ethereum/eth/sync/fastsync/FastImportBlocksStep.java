@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockExce
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
@@ -30,20 +31,39 @@ public class FastImportBlocksStep<C> implements Consumer<List<BlockWithReceipts>
   private final ProtocolContext<C> protocolContext;
   private final ValidationPolicy headerValidationPolicy;
   private final ValidationPolicy ommerValidationPolicy;
+  private final int importBatchSize;
 
   public FastImportBlocksStep(
       final ProtocolSchedule<C> protocolSchedule,
       final ProtocolContext<C> protocolContext,
       final ValidationPolicy headerValidationPolicy,
-      final ValidationPolicy ommerValidationPolicy) {
+      final ValidationPolicy ommerValidationPolicy,
+      final int importBatchSize) {
     this.protocolSchedule = protocolSchedule;
     this.protocolContext = protocolContext;
     this.headerValidationPolicy = headerValidationPolicy;
     this.ommerValidationPolicy = ommerValidationPolicy;
+    this.importBatchSize = importBatchSize;
   }
 
   @Override
   public void accept(final List<BlockWithReceipts> blocksWithReceipts) {
+    final long startNanos = System.nanoTime();
+    protocolContext
+        .getBlockchain()
+        .appendInBatches(importBatchSize, () -> importBlocks(blocksWithReceipts));
+    final long elapsedMillis =
+        Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), 1);
+    final long firstBlock = blocksWithReceipts.get(0).getNumber();
+    final long lastBlock = blocksWithReceipts.get(blocksWithReceipts.size() - 1).getNumber();
+    LOG.info(
+        "Completed importing chain segment {} to {} ({} blocks/s)",
+        firstBlock,
+        lastBlock,
+        blocksWithReceipts.size() * 1000L / elapsedMillis);
+  }
+
+  private void importBlocks(final List<BlockWithReceipts> blocksWithReceipts) {
     for (final BlockWithReceipts blockWithReceipts : blocksWithReceipts) {
       if (!importBlock(blockWithReceipts)) {
         throw new InvalidBlockException(
@@ -52,9 +72,6 @@ public class FastImportBlocksStep<C> implements Consumer<List<BlockWithReceipts>
             blockWithReceipts.getHash());
       }
     }
-    final long firstBlock = blocksWithReceipts.get(0).getNumber();
-    final long lastBlock = blocksWithReceipts.get(blocksWithReceipts.size() - 1).getNumber();
-    LOG.info("Completed importing chain segment {} to {}", firstBlock, lastBlock);
   }
 
   private boolean importBlock(final BlockWithReceipts blockWithReceipts) {
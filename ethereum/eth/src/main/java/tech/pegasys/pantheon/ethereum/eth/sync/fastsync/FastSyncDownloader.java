@@ -84,7 +84,8 @@ public class FastSyncDownloader<C> {
     trailingPeerRequirements = Optional.empty();
     if (ExceptionUtils.rootCause(error) instanceof StalledDownloadException) {
       LOG.warn(
-          "Fast sync was unable to download the world state. Retrying with a new pivot block.");
+          "Fast sync was unable to download the world state. Retrying with a new pivot block, "
+              + "keeping the pending world state requests.");
       return start(FastSyncState.EMPTY_SYNC_STATE);
     } else {
       return completedExceptionally(error);
@@ -14,20 +14,36 @@ package tech.pegasys.pantheon.ethereum.eth.sync.fullsync;
 
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
-public class ExtractTxSignaturesStep implements Function<List<Block>, Stream<Block>> {
+/**
+ * Recovers the sender of every transaction in a batch of blocks on the computation executor, so
+ * that signature recovery for several batches runs in parallel ahead of the single threaded block
+ * import rather than as part of it.
+ */
+public class ExtractTxSignaturesStep
+    implements Function<List<Block>, CompletableFuture<List<Block>>> {
+
+  private final EthScheduler scheduler;
+
+  public ExtractTxSignaturesStep(final EthScheduler scheduler) {
+    this.scheduler = scheduler;
+  }
 
   @Override
-  public Stream<Block> apply(final List<Block> blocks) {
-    return blocks.stream().map(this::extractSignatures);
+  public CompletableFuture<List<Block>> apply(final List<Block> blocks) {
+    return scheduler.scheduleComputationTask(
+        () -> {
+          blocks.forEach(this::extractSignatures);
+          return blocks;
+        });
   }
 
-  private Block extractSignatures(final Block block) {
+  private void extractSignatures(final Block block) {
     block.getBody().getTransactions().forEach(Transaction::getSender);
-    return block;
   }
 }
@@ -16,8 +16,13 @@ import tech.pegasys.pantheon.ethereum.ProtocolContext;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockImporter;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import tech.pegasys.pantheon.ethereum.mainnet.BodyValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
 
 import java.util.function.Consumer;
 
@@ -28,11 +33,27 @@ public class FullImportBlockStep<C> implements Consumer<Block> {
   private static final Logger LOG = LogManager.getLogger();
   private final ProtocolSchedule<C> protocolSchedule;
   private final ProtocolContext<C> protocolContext;
+  private final OperationTimer importTimer;
+  private final Counter importedGas;
 
   public FullImportBlockStep(
-      final ProtocolSchedule<C> protocolSchedule, final ProtocolContext<C> protocolContext) {
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> protocolContext,
+      final MetricsSystem metricsSystem) {
     this.protocolSchedule = protocolSchedule;
     this.protocolContext = protocolContext;
+    // Together these give the import time per gas, which unlike the time per block is comparable
+    // across blocks of different sizes.
+    this.importTimer =
+        metricsSystem.createTimer(
+            MetricCategory.SYNCHRONIZER,
+            "full_sync_block_import_duration_seconds",
+            "Time taken to validate, execute and store each block imported by full sync");
+    this.importedGas =
+        metricsSystem.createCounter(
+            MetricCategory.SYNCHRONIZER,
+            "full_sync_imported_gas_total",
+            "Gas used by the blocks imported by full sync");
   }
 
   @Override
@@ -40,9 +61,18 @@ public class FullImportBlockStep<C> implements Consumer<Block> {
     final long blockNumber = block.getHeader().getNumber();
     final BlockImporter<C> importer =
         protocolSchedule.getByBlockNumber(blockNumber).getBlockImporter();
-    if (!importer.importBlock(protocolContext, block, HeaderValidationMode.SKIP_DETACHED)) {
-      throw new InvalidBlockException("Failed to import block", blockNumber, block.getHash());
+    try (final OperationTimer.TimingContext ignored = importTimer.startTimer()) {
+      // The body was already checked against its header by ValidateBodiesStep.
+      if (!importer.importBlock(
+          protocolContext,
+          block,
+          HeaderValidationMode.SKIP_DETACHED,
+          HeaderValidationMode.FULL,
+          BodyValidationMode.SKIP_DETACHED)) {
+        throw new InvalidBlockException("Failed to import block", blockNumber, block.getHash());
+      }
     }
+    importedGas.inc(block.getHeader().getGasUsed());
     if (blockNumber % 200 == 0) {
       LOG.info("Import reached block {}", blockNumber);
     }
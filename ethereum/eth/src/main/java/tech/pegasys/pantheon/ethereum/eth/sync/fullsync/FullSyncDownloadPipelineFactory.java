@@ -32,6 +32,7 @@ import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.services.pipeline.Pipeline;
 import tech.pegasys.pantheon.services.pipeline.PipelineBuilder;
 
+import java.util.List;
 import java.util.Optional;
 
 public class FullSyncDownloadPipelineFactory<C> implements DownloadPipelineFactory {
@@ -86,9 +87,12 @@ public class FullSyncDownloadPipelineFactory<C> implements DownloadPipelineFacto
             protocolSchedule, protocolContext, detachedValidationPolicy);
     final DownloadBodiesStep<C> downloadBodiesStep =
         new DownloadBodiesStep<>(protocolSchedule, ethContext, metricsSystem);
-    final ExtractTxSignaturesStep extractTxSignaturesStep = new ExtractTxSignaturesStep();
+    final ValidateBodiesStep<C> validateBodiesStep =
+        new ValidateBodiesStep<>(protocolSchedule, ethContext.getScheduler());
+    final ExtractTxSignaturesStep extractTxSignaturesStep =
+        new ExtractTxSignaturesStep(ethContext.getScheduler());
     final FullImportBlockStep<C> importBlockStep =
-        new FullImportBlockStep<>(protocolSchedule, protocolContext);
+        new FullImportBlockStep<>(protocolSchedule, protocolContext, metricsSystem);
 
     return PipelineBuilder.createPipelineFrom(
             "fetchCheckpoints",
@@ -104,7 +108,10 @@ public class FullSyncDownloadPipelineFactory<C> implements DownloadPipelineFacto
         .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
         .inBatches(headerRequestSize)
         .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
-        .thenFlatMap("extractTxSignatures", extractTxSignaturesStep, singleHeaderBufferSize)
+        .thenProcessAsyncOrdered("validateBodies", validateBodiesStep, downloaderParallelism)
+        .thenProcessAsyncOrdered(
+            "extractTxSignatures", extractTxSignaturesStep, downloaderParallelism)
+        .thenFlatMap("unbatchBlocks", List::stream, singleHeaderBufferSize)
         .andFinishWith("importBlock", importBlockStep);
   }
 
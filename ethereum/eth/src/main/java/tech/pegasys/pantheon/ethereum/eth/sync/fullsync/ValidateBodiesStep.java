@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.fullsync;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
+import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Checks the body of every block in a batch against its header on the computation executor, so
+ * that the block import can skip those checks. The checks need neither the parent block nor the
+ * world state, so several batches can be validated in parallel.
+ */
+public class ValidateBodiesStep<C>
+    implements Function<List<Block>, CompletableFuture<List<Block>>> {
+
+  private final ProtocolSchedule<C> protocolSchedule;
+  private final EthScheduler scheduler;
+
+  public ValidateBodiesStep(
+      final ProtocolSchedule<C> protocolSchedule, final EthScheduler scheduler) {
+    this.protocolSchedule = protocolSchedule;
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public CompletableFuture<List<Block>> apply(final List<Block> blocks) {
+    return scheduler.scheduleComputationTask(
+        () -> {
+          blocks.forEach(this::validateBody);
+          return blocks;
+        });
+  }
+
+  private void validateBody(final Block block) {
+    final long blockNumber = block.getHeader().getNumber();
+    if (!protocolSchedule
+        .getByBlockNumber(blockNumber)
+        .getBlockBodyValidator()
+        .validateBodyDetached(block)) {
+      throw new InvalidBlockException("Invalid block body", blockNumber, block.getHash());
+    }
+  }
+}
@@ -24,6 +24,7 @@ public class CompleteTaskStep {
   private final WorldStateStorage worldStateStorage;
   private final Counter completedRequestsCounter;
   private final Counter retriedRequestsCounter;
+  private final Counter droppedRequestsCounter;
 
   public CompleteTaskStep(
       final WorldStateStorage worldStateStorage, final MetricsSystem metricsSystem) {
@@ -39,6 +40,11 @@ public class CompleteTaskStep {
             MetricCategory.SYNCHRONIZER,
             "world_state_retried_requests_total",
             "Total number of node data requests repeated as part of fast sync world state download");
+    droppedRequestsCounter =
+        metricsSystem.createCounter(
+            MetricCategory.SYNCHRONIZER,
+            "world_state_dropped_requests_total",
+            "Total number of node data requests for an earlier pivot block dropped after failing");
   }
 
   public void markAsCompleteOrFailed(
@@ -50,6 +56,12 @@ public class CompleteTaskStep {
       completedRequestsCounter.inc();
       task.markCompleted();
       downloadState.checkCompletion(worldStateStorage, header);
+    } else if (isForEarlierPivotBlock(header, downloadState, task.getData())) {
+      // Peers may have discarded nodes that are only part of an earlier pivot block's state. Any
+      // that are still needed are requested again from the new state root.
+      droppedRequestsCounter.inc();
+      task.markCompleted();
+      downloadState.checkCompletion(worldStateStorage, header);
     } else {
       retriedRequestsCounter.inc();
       task.markFailed();
@@ -70,6 +82,15 @@ public class CompleteTaskStep {
     }
   }
 
+  private boolean isForEarlierPivotBlock(
+      final BlockHeader blockHeader,
+      final WorldDownloadState downloadState,
+      final NodeDataRequest request) {
+    // A resumed download doesn't requeue the state root so every pending request must be kept.
+    return !downloadState.downloadWasResumed()
+        && request.getPivotBlockNumber() != blockHeader.getNumber();
+  }
+
   private boolean isRootState(final BlockHeader blockHeader, final NodeDataRequest request) {
     return request.getHash().equals(blockHeader.getStateRoot());
   }
@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.sync.worldstate;
 
+import static tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem.NO_OP_COUNTER;
+
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.metrics.Counter;
 import tech.pegasys.pantheon.metrics.MetricCategory;
@@ -27,10 +29,24 @@ public class LoadLocalDataStep {
 
   private final WorldStateStorage worldStateStorage;
   private final Counter existingNodeCounter;
+  private final Counter reusedNodeCounter;
 
   public LoadLocalDataStep(
       final WorldStateStorage worldStateStorage, final MetricsSystem metricsSystem) {
+    this(worldStateStorage, metricsSystem, NO_OP_COUNTER);
+  }
+
+  /**
+   * @param worldStateStorage the storage to load existing data from
+   * @param metricsSystem the metrics system
+   * @param reusedNodeCounter counts existing data that was downloaded for an earlier pivot block
+   */
+  public LoadLocalDataStep(
+      final WorldStateStorage worldStateStorage,
+      final MetricsSystem metricsSystem,
+      final Counter reusedNodeCounter) {
     this.worldStateStorage = worldStateStorage;
+    this.reusedNodeCounter = reusedNodeCounter;
     existingNodeCounter =
         metricsSystem.createCounter(
             MetricCategory.SYNCHRONIZER,
@@ -44,6 +60,7 @@ public class LoadLocalDataStep {
     final Optional<BytesValue> existingData = request.getExistingData(worldStateStorage);
     if (existingData.isPresent()) {
       existingNodeCounter.inc();
+      reusedNodeCounter.inc();
       request.setData(existingData.get());
       request.setRequiresPersisting(false);
       completedTasks.put(task);
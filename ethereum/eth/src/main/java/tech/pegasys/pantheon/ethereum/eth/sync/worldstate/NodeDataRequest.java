@@ -21,12 +21,25 @@ import tech.pegasys.pantheon.ethereum.rlp.RLPOutput;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 public abstract class NodeDataRequest {
+  /**
+   * Orders requests so the deepest come first. Working through requests in this order downloads
+   * the trie depth first, so the number of pending requests stays proportional to the depth of the
+   * trie rather than its width, and each subtree is finished before the next is started.
+   */
+  public static final Comparator<NodeDataRequest> DEEPEST_FIRST =
+      Comparator.comparingInt(NodeDataRequest::getDepth).reversed();
+
   private final RequestType requestType;
   private final Hash hash;
+  // The number of requests between this one and the request for the state root.
+  private int depth = 0;
+  // The pivot block whose state root this request was reached from.
+  private long pivotBlockNumber = 0;
   private BytesValue data;
   private boolean requiresPersisting = true;
 
@@ -56,6 +69,9 @@ public abstract class NodeDataRequest {
     in.enterList();
     final RequestType requestType = RequestType.fromValue(in.readByte());
     final Hash hash = Hash.wrap(in.readBytes32());
+    // Requests stored before the depth or pivot block was recorded don't have one.
+    final int depth = in.isEndOfCurrentList() ? 0 : in.readIntScalar();
+    final long pivotBlockNumber = in.isEndOfCurrentList() ? 0 : in.readLongScalar();
     in.leaveList();
 
     final NodeDataRequest deserialized;
@@ -75,13 +91,15 @@ public abstract class NodeDataRequest {
                 + NodeDataRequest.class.getSimpleName());
     }
 
-    return deserialized;
+    return deserialized.setDepth(depth).setPivotBlockNumber(pivotBlockNumber);
   }
 
   private void writeTo(final RLPOutput out) {
     out.startList();
     out.writeByte(requestType.getValue());
     out.writeBytesValue(hash);
+    out.writeIntScalar(depth);
+    out.writeLongScalar(pivotBlockNumber);
     out.endList();
   }
 
@@ -93,6 +111,24 @@ public abstract class NodeDataRequest {
     return hash;
   }
 
+  public int getDepth() {
+    return depth;
+  }
+
+  NodeDataRequest setDepth(final int depth) {
+    this.depth = depth;
+    return this;
+  }
+
+  public long getPivotBlockNumber() {
+    return pivotBlockNumber;
+  }
+
+  NodeDataRequest setPivotBlockNumber(final long pivotBlockNumber) {
+    this.pivotBlockNumber = pivotBlockNumber;
+    return this;
+  }
+
   public BytesValue getData() {
     return data;
   }
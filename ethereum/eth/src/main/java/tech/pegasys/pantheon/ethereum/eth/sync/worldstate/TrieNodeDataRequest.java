@@ -45,7 +45,8 @@ abstract class TrieNodeDataRequest extends NodeDataRequest {
                     .map(this::getRequestsFromTrieNodeValue)
                     .orElseGet(Stream::empty);
               }
-            });
+            })
+        .map(child -> child.setDepth(getDepth() + 1).setPivotBlockNumber(getPivotBlockNumber()));
   }
 
   private boolean nodeIsHashReferencedDescendant(final Node<BytesValue> node) {
@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.sync.worldstate;
 
+import static java.util.stream.Collectors.toList;
+
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
 import tech.pegasys.pantheon.ethereum.eth.manager.task.EthTask;
@@ -23,11 +25,13 @@ import tech.pegasys.pantheon.util.ExceptionUtils;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
@@ -42,23 +46,37 @@ class WorldDownloadState {
   private final Clock clock;
   private final Set<EthTask<?>> outstandingRequests =
       Collections.newSetFromMap(new ConcurrentHashMap<>());
+  // Requests taken from the pending requests that have not yet been marked completed or failed.
+  private final Set<Task<NodeDataRequest>> dequeuedRequests =
+      Collections.newSetFromMap(new ConcurrentHashMap<>());
   private final CompletableFuture<Void> internalFuture;
   private final CompletableFuture<Void> downloadFuture;
   // Volatile so monitoring can access it without having to synchronize.
   private volatile int requestsSinceLastProgress = 0;
+  private volatile long maxPendingRequests = 0;
   private final long minMillisBeforeStalling;
   private volatile long timestampOfLastProgress;
+  private BooleanSupplier pivotBlockStateUnavailable = () -> false;
   private BytesValue rootNodeData;
   private WorldStateDownloadProcess worldStateDownloadProcess;
 
+  /**
+   * @param pendingRequests the requests still to be made
+   * @param downloadWasResumed true if the pending requests already include the children of the
+   *     state root being downloaded
+   * @param maxRequestsWithoutProgress the number of requests without progress before stalling
+   * @param minMillisBeforeStalling the minimum time without progress before stalling
+   * @param clock the clock
+   */
   public WorldDownloadState(
       final CachingTaskCollection<NodeDataRequest> pendingRequests,
+      final boolean downloadWasResumed,
       final int maxRequestsWithoutProgress,
       final long minMillisBeforeStalling,
       final Clock clock) {
     this.minMillisBeforeStalling = minMillisBeforeStalling;
     this.timestampOfLastProgress = clock.millis();
-    this.downloadWasResumed = !pendingRequests.isEmpty();
+    this.downloadWasResumed = downloadWasResumed;
     this.pendingRequests = pendingRequests;
     this.maxRequestsWithoutProgress = maxRequestsWithoutProgress;
     this.clock = clock;
@@ -87,7 +105,14 @@ class WorldDownloadState {
     for (final EthTask<?> outstandingRequest : outstandingRequests) {
       outstandingRequest.cancel();
     }
-    pendingRequests.clear();
+    if (error != null && ExceptionUtils.rootCause(error) instanceof StalledDownloadException) {
+      // Keep the pending requests so the download can carry on from a new pivot block. Requests
+      // that were in progress are returned to them.
+      new ArrayList<>(dequeuedRequests).forEach(Task::markFailed);
+    } else {
+      pendingRequests.clear();
+    }
+    dequeuedRequests.clear();
 
     if (error != null) {
       if (worldStateDownloadProcess != null) {
@@ -122,22 +147,34 @@ class WorldDownloadState {
   public synchronized void enqueueRequest(final NodeDataRequest request) {
     if (!internalFuture.isDone()) {
       pendingRequests.add(request);
+      updateMaxPendingRequests();
       notifyAll();
     }
   }
 
   public synchronized void enqueueRequests(final Stream<NodeDataRequest> requests) {
     if (!internalFuture.isDone()) {
-      requests.forEach(pendingRequests::add);
+      pendingRequests.addAll(requests.collect(toList()));
+      updateMaxPendingRequests();
       notifyAll();
     }
   }
 
+  private void updateMaxPendingRequests() {
+    maxPendingRequests = Math.max(maxPendingRequests, pendingRequests.size());
+  }
+
+  public long getMaxPendingRequests() {
+    return maxPendingRequests;
+  }
+
   public synchronized Task<NodeDataRequest> dequeueRequestBlocking() {
     while (!internalFuture.isDone()) {
       final Task<NodeDataRequest> task = pendingRequests.remove();
       if (task != null) {
-        return task;
+        final Task<NodeDataRequest> dequeuedRequest = new DequeuedRequest(task);
+        dequeuedRequests.add(dequeuedRequest);
+        return dequeuedRequest;
       }
       try {
         wait();
@@ -153,6 +190,20 @@ class WorldDownloadState {
     this.rootNodeData = rootNodeData;
   }
 
+  /**
+   * Sets a check for whether peers are likely to have discarded the state of the pivot block. Once
+   * they have, the download is marked as stalled after the usual number of requests without
+   * progress, without also waiting for the minimum time, so that a new pivot block can be selected
+   * sooner.
+   *
+   * @param pivotBlockStateUnavailable returns true if peers are unlikely to have the state of the
+   *     pivot block
+   */
+  public synchronized void setPivotBlockStateUnavailableCheck(
+      final BooleanSupplier pivotBlockStateUnavailable) {
+    this.pivotBlockStateUnavailable = pivotBlockStateUnavailable;
+  }
+
   public synchronized void requestComplete(final boolean madeProgress) {
     if (madeProgress) {
       requestsSinceLastProgress = 0;
@@ -160,7 +211,8 @@ class WorldDownloadState {
     } else {
       requestsSinceLastProgress++;
       if (requestsSinceLastProgress >= maxRequestsWithoutProgress
-          && timestampOfLastProgress + minMillisBeforeStalling < clock.millis()) {
+          && (timestampOfLastProgress + minMillisBeforeStalling < clock.millis()
+              || pivotBlockStateUnavailable.getAsBoolean())) {
         markAsStalled(maxRequestsWithoutProgress);
       }
     }
@@ -183,7 +235,9 @@ class WorldDownloadState {
       final WorldStateStorage worldStateStorage, final BlockHeader header) {
     if (!internalFuture.isDone() && pendingRequests.allTasksCompleted()) {
       if (rootNodeData == null) {
-        enqueueRequest(NodeDataRequest.createAccountDataRequest(header.getStateRoot()));
+        enqueueRequest(
+            NodeDataRequest.createAccountDataRequest(header.getStateRoot())
+                .setPivotBlockNumber(header.getNumber()));
         return false;
       }
       final Updater updater = worldStateStorage.updater();
@@ -231,4 +285,29 @@ class WorldDownloadState {
         });
     return downloadFuture;
   }
+
+  private class DequeuedRequest implements Task<NodeDataRequest> {
+    private final Task<NodeDataRequest> task;
+
+    private DequeuedRequest(final Task<NodeDataRequest> task) {
+      this.task = task;
+    }
+
+    @Override
+    public NodeDataRequest getData() {
+      return task.getData();
+    }
+
+    @Override
+    public void markCompleted() {
+      dequeuedRequests.remove(this);
+      task.markCompleted();
+    }
+
+    @Override
+    public void markFailed() {
+      dequeuedRequests.remove(this);
+      task.markFailed();
+    }
+  }
 }
@@ -12,15 +12,19 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.sync.worldstate;
 
+import static tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem.NO_OP_COUNTER;
+
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.metrics.Counter;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.services.tasks.CachingTaskCollection;
 
 import java.time.Clock;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -31,6 +35,8 @@ import org.apache.logging.log4j.Logger;
 
 public class WorldStateDownloader {
   private static final Logger LOG = LogManager.getLogger();
+  // Peers usually only keep the state of the most recent blocks (the last 128 by default in geth).
+  private static final long PIVOT_BLOCK_STATE_RETENTION = 128;
 
   private final long minMillisBeforeStalling;
   private final Clock clock;
@@ -43,7 +49,15 @@ public class WorldStateDownloader {
   private final int maxNodeRequestsWithoutProgress;
   private final WorldStateStorage worldStateStorage;
 
+  private final Counter pivotBlockChangesCounter;
+  private final Counter reusedNodeCounter;
+
   private final AtomicReference<WorldDownloadState> downloadState = new AtomicReference<>();
+  // The state root that the requests in taskCollection were queued for. Guarded by this.
+  // This is only kept in memory because the task collection doesn't survive a restart either. After
+  // a restart the download starts again from the pivot block's state root, and the only progress
+  // carried over is the nodes already in world state storage.
+  private Optional<Hash> queuedStateRoot = Optional.empty();
 
   public WorldStateDownloader(
       final EthContext ethContext,
@@ -65,6 +79,17 @@ public class WorldStateDownloader {
     this.clock = clock;
     this.metricsSystem = metricsSystem;
 
+    pivotBlockChangesCounter =
+        metricsSystem.createCounter(
+            MetricCategory.SYNCHRONIZER,
+            "world_state_pivot_block_changes_total",
+            "Total number of times the world state download moved to a new pivot block");
+    reusedNodeCounter =
+        metricsSystem.createCounter(
+            MetricCategory.SYNCHRONIZER,
+            "world_state_reused_nodes_total",
+            "Total number of nodes downloaded for an earlier pivot block that were reused");
+
     metricsSystem.createIntegerGauge(
         MetricCategory.SYNCHRONIZER,
         "world_state_node_requests_since_last_progress_current",
@@ -76,6 +101,15 @@ public class WorldStateDownloader {
         "world_state_inflight_requests_current",
         "Number of in progress requests for world state data",
         downloadStateValue(WorldDownloadState::getOutstandingTaskCount));
+
+    metricsSystem.createLongGauge(
+        MetricCategory.SYNCHRONIZER,
+        "world_state_pending_requests_max",
+        "Largest number of pending requests for world state data during the current download",
+        () -> {
+          final WorldDownloadState state = this.downloadState.get();
+          return state != null ? state.getMaxPendingRequests() : 0L;
+        });
   }
 
   private Supplier<Integer> downloadStateValue(final Function<WorldDownloadState, Integer> getter) {
@@ -110,22 +144,46 @@ public class WorldStateDownloader {
           header.getNumber(),
           header.getHash(),
           stateRoot);
+      // When the pivot block moves, the requests pending for the earlier pivot block are kept and
+      // the new state root is queued alongside them. Nodes already downloaded, or still pending,
+      // that are part of the new state are then found locally rather than requested again.
+      final boolean pivotBlockChanged =
+          queuedStateRoot.map(root -> !root.equals(stateRoot)).orElse(false);
+      final boolean downloadWasResumed = !taskCollection.isEmpty() && !pivotBlockChanged;
+      if (pivotBlockChanged) {
+        pivotBlockChangesCounter.inc();
+        LOG.info(
+            "Pivot block changed, keeping {} pending world state requests", taskCollection.size());
+      }
+      queuedStateRoot = Optional.of(stateRoot);
 
       final WorldDownloadState newDownloadState =
           new WorldDownloadState(
-              taskCollection, maxNodeRequestsWithoutProgress, minMillisBeforeStalling, clock);
+              taskCollection,
+              downloadWasResumed,
+              maxNodeRequestsWithoutProgress,
+              minMillisBeforeStalling,
+              clock);
+      newDownloadState.setPivotBlockStateUnavailableCheck(
+          () -> isPivotBlockStateUnavailable(header));
       this.downloadState.set(newDownloadState);
 
-      if (!newDownloadState.downloadWasResumed()) {
-        // Only queue the root node if we're starting a new download from scratch
-        newDownloadState.enqueueRequest(NodeDataRequest.createAccountDataRequest(stateRoot));
+      if (!downloadWasResumed) {
+        // Only queue the root node if we're not resuming a download of this state root
+        newDownloadState.enqueueRequest(
+            NodeDataRequest.createAccountDataRequest(stateRoot)
+                .setPivotBlockNumber(header.getNumber()));
       }
 
       final WorldStateDownloadProcess downloadProcess =
           WorldStateDownloadProcess.builder()
               .hashCountPerRequest(hashCountPerRequest)
               .maxOutstandingRequests(maxOutstandingRequests)
-              .loadLocalDataStep(new LoadLocalDataStep(worldStateStorage, metricsSystem))
+              .loadLocalDataStep(
+                  new LoadLocalDataStep(
+                      worldStateStorage,
+                      metricsSystem,
+                      pivotBlockChanged ? reusedNodeCounter : NO_OP_COUNTER))
               .requestDataStep(new RequestDataStep(ethContext, metricsSystem))
               .persistDataStep(new PersistDataStep(worldStateStorage))
               .completeTaskStep(new CompleteTaskStep(worldStateStorage, metricsSystem))
@@ -140,6 +198,18 @@ public class WorldStateDownloader {
     }
   }
 
+  private boolean isPivotBlockStateUnavailable(final BlockHeader pivotBlockHeader) {
+    return ethContext
+        .getEthPeers()
+        .bestPeer()
+        .filter(peer -> peer.chainState().hasEstimatedHeight())
+        .map(
+            peer ->
+                peer.chainState().getEstimatedHeight() - pivotBlockHeader.getNumber()
+                    > PIVOT_BLOCK_STATE_RETENTION)
+        .orElse(false);
+  }
+
   public void cancel() {
     synchronized (this) {
       final WorldDownloadState downloadState = this.downloadState.get();
@@ -26,47 +26,62 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Tracks the transactions each peer has seen and those queued to be sent to it. State is kept and
+ * locked per peer so that gossip to different peers, which is sent in parallel, never contends on a
+ * shared lock, and marking received transactions as seen does not lock at all.
+ */
 public class PeerTransactionTracker implements DisconnectCallback {
   private static final int MAX_TRACKED_SEEN_TRANSACTIONS = 10_000;
-  private final Map<EthPeer, Set<Hash>> seenTransactions = new ConcurrentHashMap<>();
-  private final Map<EthPeer, Set<Transaction>> transactionsToSend = new ConcurrentHashMap<>();
+  private final Map<EthPeer, PeerTransactions> peerTransactions = new ConcurrentHashMap<>();
+  private final Set<EthPeer> peersWithUnsentTransactions = ConcurrentHashMap.newKeySet();
 
-  public synchronized void markTransactionsAsSeen(
+  public void markTransactionsAsSeen(
       final EthPeer peer, final Collection<Transaction> transactions) {
-    final Set<Hash> seenTransactionsForPeer = getOrCreateSeenTransactionsForPeer(peer);
+    final Set<Hash> seenTransactionsForPeer = getOrCreatePeerTransactions(peer).seenTransactions;
     transactions.stream().map(Transaction::hash).forEach(seenTransactionsForPeer::add);
   }
 
-  public synchronized void addToPeerSendQueue(final EthPeer peer, final Transaction transaction) {
-    if (!hasPeerSeenTransaction(peer, transaction)) {
-      transactionsToSend.computeIfAbsent(peer, key -> createTransactionsSet()).add(transaction);
+  public void addToPeerSendQueue(final EthPeer peer, final Transaction transaction) {
+    final PeerTransactions transactions = getOrCreatePeerTransactions(peer);
+    synchronized (transactions) {
+      if (!transactions.seenTransactions.contains(transaction.hash())) {
+        transactions.transactionsToSend.add(transaction);
+        peersWithUnsentTransactions.add(peer);
+      }
     }
   }
 
   public Iterable<EthPeer> getEthPeersWithUnsentTransactions() {
-    return transactionsToSend.keySet();
+    return peersWithUnsentTransactions;
   }
 
-  public synchronized Set<Transaction> claimTransactionsToSendToPeer(final EthPeer peer) {
-    final Set<Transaction> transactionsToSend = this.transactionsToSend.remove(peer);
-    if (transactionsToSend != null) {
-      markTransactionsAsSeen(peer, transactionsToSend);
-      return transactionsToSend;
-    } else {
+  public Set<Transaction> claimTransactionsToSendToPeer(final EthPeer peer) {
+    final PeerTransactions transactions = peerTransactions.get(peer);
+    if (transactions == null) {
       return emptySet();
     }
+    synchronized (transactions) {
+      peersWithUnsentTransactions.remove(peer);
+      final Set<Transaction> transactionsToSend = transactions.transactionsToSend;
+      if (transactionsToSend.isEmpty()) {
+        return emptySet();
+      }
+      transactions.transactionsToSend = createTransactionsSet();
+      for (final Transaction transaction : transactionsToSend) {
+        transactions.seenTransactions.add(transaction.hash());
+      }
+      return transactionsToSend;
+    }
   }
 
-  private Set<Hash> getOrCreateSeenTransactionsForPeer(final EthPeer peer) {
-    return seenTransactions.computeIfAbsent(peer, key -> createTransactionsSet());
-  }
-
-  private boolean hasPeerSeenTransaction(final EthPeer peer, final Transaction transaction) {
-    final Set<Hash> seenTransactionsForPeer = seenTransactions.get(peer);
-    return seenTransactionsForPeer != null && seenTransactionsForPeer.contains(transaction.hash());
+  private PeerTransactions getOrCreatePeerTransactions(final EthPeer peer) {
+    return peerTransactions.computeIfAbsent(peer, key -> new PeerTransactions());
   }
 
-  private <T> Set<T> createTransactionsSet() {
+  private static <T> Set<T> createTransactionsSet() {
     return Collections.newSetFromMap(
         new LinkedHashMap<T, Boolean>(1 << 4, 0.75f, true) {
           @Override
@@ -78,7 +93,20 @@ public class PeerTransactionTracker implements DisconnectCallback {
 
   @Override
   public void onDisconnect(final EthPeer peer) {
-    seenTransactions.remove(peer);
-    transactionsToSend.remove(peer);
+    peerTransactions.remove(peer);
+    peersWithUnsentTransactions.remove(peer);
+  }
+
+  private static class PeerTransactions {
+    // Bounded and safe for concurrent use, so marking and checking seen transactions never locks.
+    private final Set<Hash> seenTransactions =
+        Collections.newSetFromMap(
+            CacheBuilder.newBuilder()
+                .maximumSize(MAX_TRACKED_SEEN_TRANSACTIONS)
+                .<Hash, Boolean>build()
+                .asMap());
+
+    // Guarded by this.
+    private Set<Transaction> transactionsToSend = createTransactionsSet();
   }
 }
@@ -17,7 +17,8 @@ import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
 import tech.pegasys.pantheon.ethereum.eth.messages.LimitedTransactionsMessages;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection.PeerNotConnected;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.StreamSupport;
 
 class TransactionsMessageSender {
@@ -35,11 +36,13 @@ class TransactionsMessageSender {
   }
 
   private void sendTransactionsToPeer(final EthPeer peer) {
-    final Set<Transaction> allTxToSend = transactionTracker.claimTransactionsToSendToPeer(peer);
-    while (!allTxToSend.isEmpty()) {
+    final List<Transaction> allTxToSend =
+        new ArrayList<>(transactionTracker.claimTransactionsToSendToPeer(peer));
+    int sent = 0;
+    while (sent < allTxToSend.size()) {
       final LimitedTransactionsMessages limitedTransactionsMessages =
-          LimitedTransactionsMessages.createLimited(allTxToSend);
-      allTxToSend.removeAll(limitedTransactionsMessages.getIncludedTransactions());
+          LimitedTransactionsMessages.createLimited(allTxToSend.subList(sent, allTxToSend.size()));
+      sent += limitedTransactionsMessages.getIncludedTransactions().size();
       try {
         peer.send(limitedTransactionsMessages.getTransactionsMessage());
       } catch (final PeerNotConnected e) {
@@ -44,6 +44,7 @@ import tech.pegasys.pantheon.ethereum.eth.messages.GetBlockBodiesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.GetBlockHeadersMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.GetNodeDataMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.GetReceiptsMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.NewBlockHashesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.NewBlockMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.NodeDataMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.ReceiptsMessage;
@@ -916,7 +917,7 @@ public final class EthProtocolManagerTest {
   }
 
   @Test
-  public void newBlockMinedSendsNewBlockMessageToAllPeers() {
+  public void newBlockMinedSendsNewBlockOrHashToAllPeers() {
     final EthProtocolManager ethManager =
         new EthProtocolManager(
             blockchain,
@@ -951,8 +952,8 @@ public final class EthProtocolManagerTest {
 
     ethManager.blockMined(minedBlock);
 
-    final ArgumentCaptor<NewBlockMessage> messageSentCaptor =
-        ArgumentCaptor.forClass(NewBlockMessage.class);
+    final ArgumentCaptor<MessageData> messageSentCaptor =
+        ArgumentCaptor.forClass(MessageData.class);
     final ArgumentCaptor<PeerConnection> receivingPeerCaptor =
         ArgumentCaptor.forClass(PeerConnection.class);
     final ArgumentCaptor<Capability> capabilityCaptor = ArgumentCaptor.forClass(Capability.class);
@@ -965,12 +966,23 @@ public final class EthProtocolManagerTest {
     assertThat(capabilityCaptor.getAllValues().stream().distinct().collect(Collectors.toList()))
         .isEqualTo(Collections.singletonList(EthProtocol.ETH63));
 
-    // assert that all messages transmitted contain the expected block & total difficulty.
+    // assert that the default minimum of peers receive the full block and the rest its hash.
     final ProtocolSchedule<Void> protocolSchdeule = MainnetProtocolSchedule.create();
-    for (final NewBlockMessage msg : messageSentCaptor.getAllValues()) {
-      assertThat(msg.block(protocolSchdeule)).isEqualTo(minedBlock);
-      assertThat(msg.totalDifficulty(protocolSchdeule)).isEqualTo(expectedTotalDifficulty);
+    int fullBlockCount = 0;
+    for (final MessageData msg : messageSentCaptor.getAllValues()) {
+      if (msg.getCode() == EthPV62.NEW_BLOCK) {
+        final NewBlockMessage newBlock = (NewBlockMessage) msg;
+        assertThat(newBlock.block(protocolSchdeule)).isEqualTo(minedBlock);
+        assertThat(newBlock.totalDifficulty(protocolSchdeule)).isEqualTo(expectedTotalDifficulty);
+        fullBlockCount++;
+      } else {
+        assertThat(msg.getCode()).isEqualTo(EthPV62.NEW_BLOCK_HASHES);
+        assertThat(((NewBlockHashesMessage) msg).getNewHashes().next().hash())
+            .isEqualTo(minedBlock.getHash());
+      }
     }
+    assertThat(fullBlockCount)
+        .isEqualTo(EthereumWireProtocolConfiguration.DEFAULT_MIN_FULL_BLOCK_PEERS);
 
     assertThat(receivingPeerCaptor.getAllValues().containsAll(peers)).isTrue();
   }
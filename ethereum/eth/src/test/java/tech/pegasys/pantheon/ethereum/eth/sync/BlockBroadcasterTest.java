@@ -12,7 +12,10 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.sync;
 
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -22,14 +25,24 @@ import static org.mockito.Mockito.when;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeers;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
+import tech.pegasys.pantheon.ethereum.eth.messages.NewBlockHashesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.NewBlockMessage;
+import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.Test;
@@ -45,7 +58,8 @@ public class BlockBroadcasterTest {
     final EthContext ethContext = mock(EthContext.class);
     when(ethContext.getEthPeers()).thenReturn(ethPeers);
 
-    final BlockBroadcaster blockBroadcaster = new BlockBroadcaster(ethContext);
+    final BlockBroadcaster blockBroadcaster =
+        new BlockBroadcaster(ethContext, 4, new NoOpMetricsSystem());
     final Block block = generateBlock();
     final NewBlockMessage newBlockMessage =
         NewBlockMessage.create(block, block.getHeader().getDifficulty());
@@ -68,7 +82,8 @@ public class BlockBroadcasterTest {
     final EthContext ethContext = mock(EthContext.class);
     when(ethContext.getEthPeers()).thenReturn(ethPeers);
 
-    final BlockBroadcaster blockBroadcaster = new BlockBroadcaster(ethContext);
+    final BlockBroadcaster blockBroadcaster =
+        new BlockBroadcaster(ethContext, 4, new NoOpMetricsSystem());
     final Block block = generateBlock();
     final NewBlockMessage newBlockMessage =
         NewBlockMessage.create(block, block.getHeader().getDifficulty());
@@ -79,6 +94,75 @@ public class BlockBroadcasterTest {
     verify(ethPeer1, times(1)).send(newBlockMessage);
   }
 
+  @Test
+  public void shouldSendFullBlockToSquareRootOfPeersAndHashToTheRest() {
+    final List<MessageData> sentMessages = new ArrayList<>();
+    final List<EthPeer> peers =
+        IntStream.range(0, 36).mapToObj(i -> trackingPeer(sentMessages)).collect(toList());
+    final EthPeers ethPeers = mock(EthPeers.class);
+    when(ethPeers.streamAvailablePeers()).thenAnswer(invocation -> peers.stream());
+    final EthContext ethContext = mock(EthContext.class);
+    when(ethContext.getEthPeers()).thenReturn(ethPeers);
+
+    final BlockBroadcaster blockBroadcaster =
+        new BlockBroadcaster(ethContext, 4, new NoOpMetricsSystem());
+    final Block block = generateBlock();
+
+    blockBroadcaster.propagate(block, UInt256.ONE);
+    assertThat(sentMessages).hasSize(6);
+    assertThat(sentMessages).allMatch(message -> message.getCode() == EthPV62.NEW_BLOCK);
+    // The message is encoded once and shared between the peers.
+    assertThat(sentMessages.stream().distinct()).hasSize(1);
+
+    sentMessages.clear();
+    blockBroadcaster.announce(block);
+    assertThat(sentMessages).hasSize(30);
+    assertThat(sentMessages).allMatch(message -> message.getCode() == EthPV62.NEW_BLOCK_HASHES);
+    assertThat(NewBlockHashesMessage.readFrom(sentMessages.get(0)).getNewHashes().next().hash())
+        .isEqualTo(block.getHash());
+
+    sentMessages.clear();
+    blockBroadcaster.announce(block);
+    assertThat(sentMessages).isEmpty();
+  }
+
+  @Test
+  public void shouldSendFullBlockToMinimumNumberOfPeers() {
+    final List<MessageData> sentMessages = new ArrayList<>();
+    final List<EthPeer> peers =
+        IntStream.range(0, 9).mapToObj(i -> trackingPeer(sentMessages)).collect(toList());
+    final EthPeers ethPeers = mock(EthPeers.class);
+    when(ethPeers.streamAvailablePeers()).thenAnswer(invocation -> peers.stream());
+    final EthContext ethContext = mock(EthContext.class);
+    when(ethContext.getEthPeers()).thenReturn(ethPeers);
+
+    new BlockBroadcaster(ethContext, 5, new NoOpMetricsSystem())
+        .propagate(generateBlock(), UInt256.ONE);
+
+    assertThat(sentMessages).hasSize(5);
+  }
+
+  private EthPeer trackingPeer(final List<MessageData> sentMessages) {
+    final EthPeer ethPeer = mock(EthPeer.class);
+    final Set<Hash> knownBlocks = new HashSet<>();
+    when(ethPeer.hasSeenBlock(any()))
+        .thenAnswer(invocation -> knownBlocks.contains(invocation.<Hash>getArgument(0)));
+    doAnswer(invocation -> knownBlocks.add(invocation.getArgument(0)))
+        .when(ethPeer)
+        .registerKnownBlock(any());
+    try {
+      when(ethPeer.send(any()))
+          .thenAnswer(
+              invocation -> {
+                sentMessages.add(invocation.getArgument(0));
+                return null;
+              });
+    } catch (final PeerConnection.PeerNotConnected e) {
+      throw new IllegalStateException(e);
+    }
+    return ethPeer;
+  }
+
   private Block generateBlock() {
     final BlockBody body = new BlockBody(Collections.emptyList(), Collections.emptyList());
     return new Block(new BlockHeaderTestFixture().buildHeader(), body);
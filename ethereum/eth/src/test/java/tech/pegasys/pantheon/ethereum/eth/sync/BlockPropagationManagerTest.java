@@ -622,5 +622,6 @@ public class BlockPropagationManagerTest {
     peer.respondWhile(responder, peer::hasOutstandingRequests);
 
     verify(blockBroadcaster, times(1)).propagate(block, totalDifficulty);
+    verify(blockBroadcaster, times(1)).announce(block);
   }
 }
@@ -88,14 +88,15 @@ public class PipelineChainDownloaderTest {
     final CompletableFuture<SyncTarget> selectTargetFuture = new CompletableFuture<>();
     when(syncTargetManager.findSyncTarget(Optional.empty())).thenReturn(selectTargetFuture);
     expectPipelineCreation(syncTarget, downloadPipeline);
-    when(scheduler.startPipeline(downloadPipeline)).thenReturn(new CompletableFuture<>());
+    when(scheduler.startPipelineCooperatively(downloadPipeline))
+        .thenReturn(new CompletableFuture<>());
     chainDownloader.start();
     verifyZeroInteractions(downloadPipelineFactory);
 
     selectTargetFuture.complete(syncTarget);
 
     verify(downloadPipelineFactory).createDownloadPipelineForSyncTarget(syncTarget);
-    verify(scheduler).startPipeline(downloadPipeline);
+    verify(scheduler).startPipelineCooperatively(downloadPipeline);
   }
 
   @Test
@@ -103,7 +104,8 @@ public class PipelineChainDownloaderTest {
     final CompletableFuture<SyncTarget> selectTargetFuture = new CompletableFuture<>();
     when(syncTargetManager.findSyncTarget(Optional.empty())).thenReturn(selectTargetFuture);
     expectPipelineCreation(syncTarget, downloadPipeline);
-    when(scheduler.startPipeline(downloadPipeline)).thenReturn(new CompletableFuture<>());
+    when(scheduler.startPipelineCooperatively(downloadPipeline))
+        .thenReturn(new CompletableFuture<>());
     chainDownloader.start();
     verifyZeroInteractions(downloadPipelineFactory);
 
@@ -261,7 +263,7 @@ public class PipelineChainDownloaderTest {
     when(syncTargetManager.findSyncTarget(Optional.empty()))
         .thenReturn(completedFuture(syncTarget));
     expectPipelineCreation(syncTarget, pipeline);
-    when(scheduler.startPipeline(pipeline)).thenReturn(pipelineFuture);
+    when(scheduler.startPipelineCooperatively(pipeline)).thenReturn(pipelineFuture);
     return pipelineFuture;
   }
 
@@ -15,7 +15,11 @@ package tech.pegasys.pantheon.ethereum.eth.sync.fastsync;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,6 +27,7 @@ import static tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode.FULL;
 import static tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode.LIGHT;
 
 import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.BlockImporter;
@@ -45,6 +50,7 @@ public class FastImportBlocksStepTest {
   @Mock private ProtocolSchedule<Void> protocolSchedule;
   @Mock private ProtocolSpec<Void> protocolSpec;
   @Mock private ProtocolContext<Void> protocolContext;
+  @Mock private MutableBlockchain blockchain;
   @Mock private BlockImporter<Void> blockImporter;
   @Mock private ValidationPolicy validationPolicy;
   @Mock private ValidationPolicy ommerValidationPolicy;
@@ -58,10 +64,18 @@ public class FastImportBlocksStepTest {
     when(protocolSpec.getBlockImporter()).thenReturn(blockImporter);
     when(validationPolicy.getValidationModeForNextBlock()).thenReturn(FULL);
     when(ommerValidationPolicy.getValidationModeForNextBlock()).thenReturn(LIGHT);
+    when(protocolContext.getBlockchain()).thenReturn(blockchain);
+    doAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(1).run();
+              return null;
+            })
+        .when(blockchain)
+        .appendInBatches(anyInt(), any());
 
     importBlocksStep =
         new FastImportBlocksStep<>(
-            protocolSchedule, protocolContext, validationPolicy, ommerValidationPolicy);
+            protocolSchedule, protocolContext, validationPolicy, ommerValidationPolicy, 2);
   }
 
   @Test
@@ -87,6 +101,7 @@ public class FastImportBlocksStepTest {
       verify(protocolSchedule).getByBlockNumber(blockWithReceipts.getNumber());
     }
     verify(validationPolicy, times(blocks.size())).getValidationModeForNextBlock();
+    verify(blockchain).appendInBatches(eq(2), any());
   }
 
   @Test
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.fullsync;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.eth.manager.DeterministicEthScheduler;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+public class ExtractTxSignaturesStepTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final DeterministicEthScheduler scheduler = new DeterministicEthScheduler();
+  private final ExtractTxSignaturesStep step = new ExtractTxSignaturesStep(scheduler);
+
+  @Test
+  public void shouldExtractSignaturesOnComputationExecutor() {
+    scheduler.disableAutoRun();
+    final List<Block> blocks = asList(gen.block(), gen.block(), gen.block());
+
+    final CompletableFuture<List<Block>> result = step.apply(blocks);
+    assertThat(result).isNotDone();
+
+    scheduler.runPendingFutures();
+    assertThat(result).isCompletedWithValue(blocks);
+  }
+
+  @Test
+  public void shouldRecoverSenderOfEveryTransaction() {
+    scheduler.disableAutoRun();
+    final Transaction tx1 = spy(gen.transaction());
+    final Transaction tx2 = spy(gen.transaction());
+    final Transaction tx3 = spy(gen.transaction());
+    final List<Block> blocks =
+        asList(
+            gen.block(BlockOptions.create().addTransaction(tx1, tx2)),
+            gen.block(BlockOptions.create().addTransaction(tx3)));
+
+    step.apply(blocks);
+    verify(tx1, never()).getSender();
+
+    scheduler.runPendingFutures();
+    verify(tx1).getSender();
+    verify(tx2).getSender();
+    verify(tx3).getSender();
+  }
+}
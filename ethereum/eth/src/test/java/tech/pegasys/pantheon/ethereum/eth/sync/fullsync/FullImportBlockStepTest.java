@@ -16,6 +16,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode.FULL;
 import static tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode.SKIP_DETACHED;
 
 import tech.pegasys.pantheon.ethereum.ProtocolContext;
@@ -23,8 +24,10 @@ import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.BlockImporter;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import tech.pegasys.pantheon.ethereum.mainnet.BodyValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -48,25 +51,31 @@ public class FullImportBlockStepTest {
     when(protocolSchedule.getByBlockNumber(anyLong())).thenReturn(protocolSpec);
     when(protocolSpec.getBlockImporter()).thenReturn(blockImporter);
 
-    importBlocksStep = new FullImportBlockStep<>(protocolSchedule, protocolContext);
+    importBlocksStep =
+        new FullImportBlockStep<>(protocolSchedule, protocolContext, new NoOpMetricsSystem());
   }
 
   @Test
   public void shouldImportBlock() {
     final Block block = gen.block();
 
-    when(blockImporter.importBlock(protocolContext, block, SKIP_DETACHED)).thenReturn(true);
+    when(blockImporter.importBlock(
+            protocolContext, block, SKIP_DETACHED, FULL, BodyValidationMode.SKIP_DETACHED))
+        .thenReturn(true);
     importBlocksStep.accept(block);
 
     verify(protocolSchedule).getByBlockNumber(block.getHeader().getNumber());
-    verify(blockImporter).importBlock(protocolContext, block, SKIP_DETACHED);
+    verify(blockImporter)
+        .importBlock(protocolContext, block, SKIP_DETACHED, FULL, BodyValidationMode.SKIP_DETACHED);
   }
 
   @Test
   public void shouldThrowExceptionWhenValidationFails() {
     final Block block = gen.block();
 
-    when(blockImporter.importBlock(protocolContext, block, SKIP_DETACHED)).thenReturn(false);
+    when(blockImporter.importBlock(
+            protocolContext, block, SKIP_DETACHED, FULL, BodyValidationMode.SKIP_DETACHED))
+        .thenReturn(false);
     assertThatThrownBy(() -> importBlocksStep.accept(block))
         .isInstanceOf(InvalidBlockException.class);
   }
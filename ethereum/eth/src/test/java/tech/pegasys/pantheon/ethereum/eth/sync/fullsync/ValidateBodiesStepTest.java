@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.fullsync;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.eth.manager.DeterministicEthScheduler;
+import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import tech.pegasys.pantheon.ethereum.mainnet.BlockBodyValidator;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ValidateBodiesStepTest {
+
+  @Mock private ProtocolSchedule<Void> protocolSchedule;
+  @Mock private ProtocolSpec<Void> protocolSpec;
+  @Mock private BlockBodyValidator<Void> blockBodyValidator;
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final DeterministicEthScheduler scheduler = new DeterministicEthScheduler();
+
+  private ValidateBodiesStep<Void> validateBodiesStep;
+
+  @Before
+  public void setUp() {
+    when(protocolSchedule.getByBlockNumber(anyLong())).thenReturn(protocolSpec);
+    when(protocolSpec.getBlockBodyValidator()).thenReturn(blockBodyValidator);
+
+    validateBodiesStep = new ValidateBodiesStep<>(protocolSchedule, scheduler);
+  }
+
+  @Test
+  public void shouldValidateBodiesOnComputationExecutor() {
+    scheduler.disableAutoRun();
+    final List<Block> blocks = asList(gen.block(), gen.block());
+    when(blockBodyValidator.validateBodyDetached(any())).thenReturn(true);
+
+    final CompletableFuture<List<Block>> result = validateBodiesStep.apply(blocks);
+    assertThat(result).isNotDone();
+
+    scheduler.runPendingFutures();
+    assertThat(result).isCompletedWithValue(blocks);
+  }
+
+  @Test
+  public void shouldFailWhenBodyDoesNotMatchHeader() {
+    final Block validBlock = gen.block();
+    final Block invalidBlock = gen.block();
+    when(blockBodyValidator.validateBodyDetached(validBlock)).thenReturn(true);
+    when(blockBodyValidator.validateBodyDetached(invalidBlock)).thenReturn(false);
+
+    final CompletableFuture<List<Block>> result =
+        validateBodiesStep.apply(asList(validBlock, invalidBlock));
+
+    assertThat(result).isCompletedExceptionally();
+    assertThatThrownBy(result::get).hasCauseInstanceOf(InvalidBlockException.class);
+  }
+}
@@ -16,6 +16,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
@@ -56,6 +57,34 @@ public class CompleteTaskStepTest {
     verify(downloadState, never()).checkCompletion(worldStateStorage, blockHeader);
   }
 
+  @Test
+  public void shouldDropTaskQueuedForDifferentPivotBlockIfItDoesNotHaveData() {
+    final StubTask task =
+        new StubTask(
+            NodeDataRequest.createAccountDataRequest(ROOT_HASH)
+                .setPivotBlockNumber(blockHeader.getNumber() + 1));
+
+    completeTaskStep.markAsCompleteOrFailed(blockHeader, downloadState, task);
+
+    assertThat(task.isCompleted()).isTrue();
+    assertThat(task.isFailed()).isFalse();
+    verify(downloadState).checkCompletion(worldStateStorage, blockHeader);
+  }
+
+  @Test
+  public void shouldNotDropTaskQueuedForDifferentPivotBlockWhenDownloadWasResumed() {
+    when(downloadState.downloadWasResumed()).thenReturn(true);
+    final StubTask task =
+        new StubTask(
+            NodeDataRequest.createAccountDataRequest(ROOT_HASH)
+                .setPivotBlockNumber(blockHeader.getNumber() + 1));
+
+    completeTaskStep.markAsCompleteOrFailed(blockHeader, downloadState, task);
+
+    assertThat(task.isCompleted()).isFalse();
+    assertThat(task.isFailed()).isTrue();
+  }
+
   @Test
   public void shouldEnqueueChildrenAndMarkCompleteWhenTaskHasData() {
     // Use an arbitrary but actually valid trie node to get children from.
@@ -14,12 +14,14 @@ package tech.pegasys.pantheon.ethereum.eth.sync.worldstate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem.NO_OP_COUNTER;
 
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.metrics.Counter;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.services.pipeline.Pipe;
 import tech.pegasys.pantheon.services.tasks.Task;
@@ -69,4 +71,18 @@ public class LoadLocalDataStepTest {
     request.persist(updater);
     verifyZeroInteractions(updater);
   }
+
+  @Test
+  public void shouldCountDataThatIsPresentAsReused() {
+    final Counter reusedNodeCounter = mock(Counter.class);
+    final LoadLocalDataStep step =
+        new LoadLocalDataStep(worldStateStorage, new NoOpMetricsSystem(), reusedNodeCounter);
+
+    step.loadLocalData(task, completedTasks);
+    verifyZeroInteractions(reusedNodeCounter);
+
+    when(worldStateStorage.getCode(HASH)).thenReturn(Optional.of(DATA));
+    step.loadLocalData(task, completedTasks);
+    verify(reusedNodeCounter).inc();
+  }
 }
@@ -15,6 +15,9 @@ package tech.pegasys.pantheon.ethereum.eth.sync.worldstate;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import org.junit.Test;
 
@@ -47,6 +50,44 @@ public class NodeDataRequestTest {
     assertThat(sedeRequest).isInstanceOf(CodeNodeDataRequest.class);
   }
 
+  @Test
+  public void serializesDepth() {
+    BlockDataGenerator gen = new BlockDataGenerator(0);
+    NodeDataRequest request = NodeDataRequest.createStorageDataRequest(gen.hash()).setDepth(12);
+    NodeDataRequest sedeRequest = serializeThenDeserialize(request);
+    assertRequestsEquals(sedeRequest, request);
+    assertThat(sedeRequest.getDepth()).isEqualTo(12);
+  }
+
+  @Test
+  public void serializesPivotBlockNumber() {
+    BlockDataGenerator gen = new BlockDataGenerator(0);
+    NodeDataRequest request =
+        NodeDataRequest.createAccountDataRequest(gen.hash()).setPivotBlockNumber(1234);
+    NodeDataRequest sedeRequest = serializeThenDeserialize(request);
+    assertRequestsEquals(sedeRequest, request);
+    assertThat(sedeRequest.getPivotBlockNumber()).isEqualTo(1234);
+  }
+
+  @Test
+  public void deserializesRequestsWithoutDepth() {
+    BlockDataGenerator gen = new BlockDataGenerator(0);
+    Hash hash = gen.hash();
+    BytesValue encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeByte(RequestType.ACCOUNT_TRIE_NODE.getValue());
+              out.writeBytesValue(hash);
+              out.endList();
+            });
+    NodeDataRequest request = NodeDataRequest.deserialize(encoded);
+    assertThat(request).isInstanceOf(AccountTrieNodeDataRequest.class);
+    assertThat(request.getHash()).isEqualTo(hash);
+    assertThat(request.getDepth()).isZero();
+    assertThat(request.getPivotBlockNumber()).isZero();
+  }
+
   private NodeDataRequest serializeThenDeserialize(final NodeDataRequest request) {
     return NodeDataRequest.deserialize(NodeDataRequest.serialize(request));
   }
@@ -55,5 +96,7 @@ public class NodeDataRequestTest {
     assertThat(actual.getRequestType()).isEqualTo(expected.getRequestType());
     assertThat(actual.getHash()).isEqualTo(expected.getHash());
     assertThat(actual.getData()).isEqualTo(expected.getData());
+    assertThat(actual.getDepth()).isEqualTo(expected.getDepth());
+    assertThat(actual.getPivotBlockNumber()).isEqualTo(expected.getPivotBlockNumber());
   }
 }
@@ -32,6 +32,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 import org.junit.Before;
@@ -57,7 +58,7 @@ public class WorldDownloadStateTest {
   private final TestClock clock = new TestClock();
   private final WorldDownloadState downloadState =
       new WorldDownloadState(
-          pendingRequests, MAX_REQUESTS_WITHOUT_PROGRESS, MIN_MILLIS_BEFORE_STALLING, clock);
+          pendingRequests, false, MAX_REQUESTS_WITHOUT_PROGRESS, MIN_MILLIS_BEFORE_STALLING, clock);
 
   private final CompletableFuture<Void> future = downloadState.getDownloadFuture();
 
@@ -177,6 +178,47 @@ public class WorldDownloadStateTest {
     assertThat(downloadState.getDownloadFuture()).isNotDone();
   }
 
+  @Test
+  public void shouldNotWaitForMinimumTimeBeforeStallingOncePivotBlockStateIsUnavailable() {
+    final AtomicBoolean pivotBlockStateUnavailable = new AtomicBoolean(false);
+    downloadState.setPivotBlockStateUnavailableCheck(pivotBlockStateUnavailable::get);
+
+    for (int i = 0; i < MAX_REQUESTS_WITHOUT_PROGRESS; i++) {
+      downloadState.requestComplete(false);
+      assertThat(downloadState.getDownloadFuture()).isNotDone();
+    }
+
+    // The maximum requests without progress is still required once the pivot block state is gone
+    downloadState.requestComplete(true);
+    pivotBlockStateUnavailable.set(true);
+    for (int i = 0; i < MAX_REQUESTS_WITHOUT_PROGRESS - 1; i++) {
+      downloadState.requestComplete(false);
+      assertThat(downloadState.getDownloadFuture()).isNotDone();
+    }
+
+    downloadState.requestComplete(false);
+    assertWorldStateStalled(downloadState);
+  }
+
+  @Test
+  public void shouldKeepPendingRequestsWhenStalled() {
+    final NodeDataRequest inProgressRequest = createAccountDataRequest(Hash.EMPTY_TRIE_HASH);
+    final NodeDataRequest pendingRequest = createAccountDataRequest(Hash.EMPTY);
+    pendingRequests.add(inProgressRequest);
+    pendingRequests.add(pendingRequest);
+    assertThat(downloadState.dequeueRequestBlocking().getData()).isEqualTo(inProgressRequest);
+
+    clock.stepMillis(MIN_MILLIS_BEFORE_STALLING + 1);
+    for (int i = 0; i < MAX_REQUESTS_WITHOUT_PROGRESS; i++) {
+      downloadState.requestComplete(false);
+    }
+    assertWorldStateStalled(downloadState);
+
+    // The request that was in progress is returned to the pending requests
+    assertThat(pendingRequests.size()).isEqualTo(2);
+    assertThat(pendingRequests.allTasksCompleted()).isFalse();
+  }
+
   @Test
   public void shouldNotAddRequestsAfterDownloadIsCompleted() {
     downloadState.checkCompletion(worldStateStorage, header);
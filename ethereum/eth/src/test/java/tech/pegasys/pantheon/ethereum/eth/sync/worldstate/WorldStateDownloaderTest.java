@@ -645,6 +645,8 @@ public class WorldStateDownloaderTest {
 
     assertThat(result).isCompletedExceptionally();
     assertThatThrownBy(result::get).hasCauseInstanceOf(StalledDownloadException.class);
+    // The pending requests are kept for the next pivot block
+    assertThat(taskCollection.isEmpty()).isFalse();
 
     // Finally, check that when we restart the download with state that is available it works
     final CompletableFuture<Void> retryResult = downloader.run(header);
@@ -70,6 +70,20 @@ public class PeerTransactionTrackerTest {
     assertThat(tracker.claimTransactionsToSendToPeer(ethPeer2)).containsOnly(transaction3);
   }
 
+  @Test
+  public void shouldNotQueueClaimedTransactionsAgain() {
+    tracker.addToPeerSendQueue(ethPeer1, transaction1);
+    assertThat(tracker.claimTransactionsToSendToPeer(ethPeer1)).containsOnly(transaction1);
+    assertThat(tracker.getEthPeersWithUnsentTransactions()).isEmpty();
+
+    tracker.addToPeerSendQueue(ethPeer1, transaction1);
+    tracker.addToPeerSendQueue(ethPeer1, transaction2);
+
+    assertThat(tracker.getEthPeersWithUnsentTransactions()).containsOnly(ethPeer1);
+    assertThat(tracker.claimTransactionsToSendToPeer(ethPeer1)).containsOnly(transaction2);
+    assertThat(tracker.claimTransactionsToSendToPeer(ethPeer1)).isEmpty();
+  }
+
   @Test
   public void shouldClearDataWhenPeerDisconnects() {
     tracker.markTransactionsAsSeen(ethPeer1, ImmutableSet.of(transaction1));
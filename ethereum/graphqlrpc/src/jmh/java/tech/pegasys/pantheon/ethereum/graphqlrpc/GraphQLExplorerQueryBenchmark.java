@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.graphqlrpc;
+
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryWorldStateArchive;
+
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.Util;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
+import tech.pegasys.pantheon.ethereum.graphqlrpc.internal.CachingBlockchainQuery;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Runs the queries a block explorer typically issues against an in-memory chain, with every field
+ * loading its data independently and with the per-request {@link CachingBlockchainQuery}.
+ */
+@State(Scope.Benchmark)
+public class GraphQLExplorerQueryBenchmark {
+
+  private static final int ACCOUNT_COUNT = 20;
+
+  @Param({"20"})
+  public int blockCount;
+
+  @Param({"50"})
+  public int transactionsPerBlock;
+
+  @Param({"false", "true"})
+  public boolean cached;
+
+  private GraphQL graphQL;
+  private GraphQLDataFetcherContext context;
+  private String blockRangeQuery;
+  private String transactionQuery;
+
+  @Setup(Level.Trial)
+  public void prepare() throws IOException {
+    final BlockDataGenerator generator = new BlockDataGenerator(1);
+    final KeyPair keyPair = KeyPair.generate();
+
+    final List<Address> accounts = new ArrayList<>(ACCOUNT_COUNT);
+    accounts.add(Util.publicKeyToAddress(keyPair.getPublicKey()));
+    for (int i = 1; i < ACCOUNT_COUNT; i++) {
+      accounts.add(generator.address());
+    }
+    final WorldStateArchive worldStateArchive = createInMemoryWorldStateArchive();
+    final MutableWorldState worldState = worldStateArchive.getMutable();
+    final WorldUpdater updater = worldState.updater();
+    accounts.forEach(address -> updater.createAccount(address, 0, Wei.of(1_000_000)));
+    updater.commit();
+    worldState.persist();
+    final Hash stateRoot = worldState.rootHash();
+
+    Block parent =
+        generator.block(
+            BlockOptions.create()
+                .setBlockNumber(0)
+                .setParentHash(Hash.ZERO)
+                .setStateRoot(stateRoot));
+    final MutableBlockchain blockchain = createInMemoryBlockchain(parent);
+    Transaction lastTransaction = null;
+    for (int i = 1; i <= blockCount; i++) {
+      final BlockOptions options = generator.nextBlockOptions(parent).setStateRoot(stateRoot);
+      for (int j = 0; j < transactionsPerBlock; j++) {
+        lastTransaction =
+            Transaction.builder()
+                .nonce((long) i * transactionsPerBlock + j)
+                .gasPrice(Wei.of(1))
+                .gasLimit(21_000)
+                .to(accounts.get(1 + j % (ACCOUNT_COUNT - 1)))
+                .value(Wei.of(1))
+                .payload(BytesValue.EMPTY)
+                .chainId(BigInteger.ONE)
+                .signAndBuild(keyPair);
+        options.addTransaction(lastTransaction);
+      }
+      final Block block = generator.block(options);
+      blockchain.appendBlock(block, generator.receipts(block));
+      parent = block;
+    }
+
+    graphQL =
+        GraphQLProvider.buildGraphQL(
+            new GraphQLDataFetchers(Collections.singleton(EthProtocol.ETH63)),
+            GraphQLRpcConfiguration.DEFAULT_MAX_QUERY_DEPTH,
+            Integer.MAX_VALUE);
+    context = new GraphQLDataFetcherContext(blockchain, worldStateArchive, null, null, null, null);
+
+    blockRangeQuery =
+        "{blocks(from: 1, to: "
+            + blockCount
+            + ") {number hash gasUsed transactions"
+            + " {hash status gasUsed cumulativeGasUsed from {balance} to {balance}}}}";
+    transactionQuery =
+        "{transaction(hash: \""
+            + lastTransaction.hash()
+            + "\") {hash index status gasUsed cumulativeGasUsed"
+            + " from {balance transactionCount} to {balance} block {number hash}}}";
+  }
+
+  @Benchmark
+  public ExecutionResult blockRange() {
+    return execute(blockRangeQuery);
+  }
+
+  @Benchmark
+  public ExecutionResult transactionDetails() {
+    return execute(transactionQuery);
+  }
+
+  private ExecutionResult execute(final String query) {
+    final GraphQLDataFetcherContext requestContext =
+        cached
+            ? new GraphQLDataFetcherContext(
+                context, new CachingBlockchainQuery(context.getBlockchainQuery()))
+            : context;
+    final ExecutionResult result =
+        graphQL.execute(ExecutionInput.newExecutionInput().query(query).context(requestContext));
+    if (!result.getErrors().isEmpty()) {
+      throw new IllegalStateException(result.getErrors().toString());
+    }
+    return result;
+  }
+}
@@ -42,6 +42,22 @@ public class GraphQLDataFetcherContext {
     this.transactionPool = transactionPool;
   }
 
+  /**
+   * Creates a context that shares everything with the given one except for how blockchain data is
+   * queried, allowing each request to work against its own {@link BlockchainQuery}.
+   *
+   * @param base the context to copy
+   * @param blockchainQuery the blockchain query to use instead of the base context's
+   */
+  public GraphQLDataFetcherContext(
+      final GraphQLDataFetcherContext base, final BlockchainQuery blockchainQuery) {
+    this.blockchain = blockchainQuery;
+    this.protocolSchedule = base.getProtocolSchedule();
+    this.miningCoordinator = base.getMiningCoordinator();
+    this.synchronizer = base.getSynchronizer();
+    this.transactionPool = base.getTransactionPool();
+  }
+
   public TransactionPool getTransactionPool() {
     return transactionPool;
   }
@@ -22,10 +22,17 @@ import tech.pegasys.pantheon.ethereum.graphqlrpc.internal.scalar.LongScalar;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Map;
 
 import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 import graphql.GraphQL;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
@@ -36,12 +43,64 @@ public class GraphQLProvider {
 
   private GraphQLProvider() {}
 
+  /**
+   * An open ended {@code blocks} range runs up to the chain head, which is not known when a query
+   * is analysed, so it is costed as if it covered this many blocks.
+   */
+  static final int OPEN_BLOCK_RANGE_ESTIMATE = 100;
+
   public static GraphQL buildGraphQL(final GraphQLDataFetchers graphQLDataFetchers)
       throws IOException {
+    return buildGraphQL(
+        graphQLDataFetchers,
+        GraphQLRpcConfiguration.DEFAULT_MAX_QUERY_DEPTH,
+        GraphQLRpcConfiguration.DEFAULT_MAX_QUERY_COMPLEXITY);
+  }
+
+  /**
+   * Builds the GraphQL engine, rejecting queries that are nested deeper than {@code maxQueryDepth}
+   * or whose estimated cost exceeds {@code maxQueryComplexity} before any data is fetched.
+   *
+   * @param graphQLDataFetchers the data fetchers backing the schema
+   * @param maxQueryDepth the maximum depth of field selections a query may have
+   * @param maxQueryComplexity the maximum complexity a query may have, where every field costs one
+   *     and the fields selected on each block of a {@code blocks} range are counted once per block
+   * @return the GraphQL engine
+   * @throws IOException if the schema cannot be loaded
+   */
+  public static GraphQL buildGraphQL(
+      final GraphQLDataFetchers graphQLDataFetchers,
+      final int maxQueryDepth,
+      final int maxQueryComplexity)
+      throws IOException {
     final URL url = Resources.getResource("schema.graphqls");
     final String sdl = Resources.toString(url, Charsets.UTF_8);
     final GraphQLSchema graphQLSchema = buildSchema(sdl, graphQLDataFetchers);
-    return GraphQL.newGraphQL(graphQLSchema).build();
+    final Instrumentation queryLimits =
+        new ChainedInstrumentation(
+            Arrays.asList(
+                new MaxQueryDepthInstrumentation(maxQueryDepth),
+                new MaxQueryComplexityInstrumentation(
+                    maxQueryComplexity, GraphQLProvider::fieldComplexity)));
+    return GraphQL.newGraphQL(graphQLSchema).instrumentation(queryLimits).build();
+  }
+
+  private static int fieldComplexity(
+      final FieldComplexityEnvironment environment, final int childComplexity) {
+    if (!"blocks".equals(environment.getField().getName())) {
+      return 1 + childComplexity;
+    }
+    final long blockCount = blockCount(environment.getArguments());
+    return (int) Math.min(Integer.MAX_VALUE, 1 + blockCount * Math.max(1, childComplexity));
+  }
+
+  private static long blockCount(final Map<String, Object> arguments) {
+    final Object from = arguments.get("from");
+    final Object to = arguments.get("to");
+    if (!(from instanceof Long) || !(to instanceof Long)) {
+      return OPEN_BLOCK_RANGE_ESTIMATE;
+    }
+    return Math.max(1, (Long) to - (Long) from + 1);
   }
 
   private static GraphQLSchema buildSchema(
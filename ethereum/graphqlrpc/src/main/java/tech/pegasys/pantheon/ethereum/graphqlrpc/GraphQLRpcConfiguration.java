@@ -25,12 +25,16 @@ import com.google.common.base.MoreObjects;
 public class GraphQLRpcConfiguration {
   private static final String DEFAULT_GRAPHQL_RPC_HOST = "127.0.0.1";
   public static final int DEFAULT_GRAPHQL_RPC_PORT = 8547;
+  public static final int DEFAULT_MAX_QUERY_DEPTH = 30;
+  public static final int DEFAULT_MAX_QUERY_COMPLEXITY = 20_000;
 
   private boolean enabled;
   private int port;
   private String host;
   private List<String> corsAllowedDomains = Collections.emptyList();
   private List<String> hostsWhitelist = Arrays.asList("localhost", "127.0.0.1");
+  private int maxQueryDepth = DEFAULT_MAX_QUERY_DEPTH;
+  private int maxQueryComplexity = DEFAULT_MAX_QUERY_COMPLEXITY;
 
   public static GraphQLRpcConfiguration createDefault() {
     final GraphQLRpcConfiguration config = new GraphQLRpcConfiguration();
@@ -84,6 +88,22 @@ public class GraphQLRpcConfiguration {
     this.hostsWhitelist = hostsWhitelist;
   }
 
+  public int getMaxQueryDepth() {
+    return maxQueryDepth;
+  }
+
+  public void setMaxQueryDepth(final int maxQueryDepth) {
+    this.maxQueryDepth = maxQueryDepth;
+  }
+
+  public int getMaxQueryComplexity() {
+    return maxQueryComplexity;
+  }
+
+  public void setMaxQueryComplexity(final int maxQueryComplexity) {
+    this.maxQueryComplexity = maxQueryComplexity;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -92,6 +112,8 @@ public class GraphQLRpcConfiguration {
         .add("host", host)
         .add("corsAllowedDomains", corsAllowedDomains)
         .add("hostsWhitelist", hostsWhitelist)
+        .add("maxQueryDepth", maxQueryDepth)
+        .add("maxQueryComplexity", maxQueryComplexity)
         .toString();
   }
 
@@ -108,11 +130,14 @@ public class GraphQLRpcConfiguration {
         && port == that.port
         && Objects.equals(host, that.host)
         && Objects.equals(corsAllowedDomains, that.corsAllowedDomains)
-        && Objects.equals(hostsWhitelist, that.hostsWhitelist);
+        && Objects.equals(hostsWhitelist, that.hostsWhitelist)
+        && maxQueryDepth == that.maxQueryDepth
+        && maxQueryComplexity == that.maxQueryComplexity;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(enabled, port, host, corsAllowedDomains, hostsWhitelist);
+    return Objects.hash(
+        enabled, port, host, corsAllowedDomains, hostsWhitelist, maxQueryDepth, maxQueryComplexity);
   }
 }
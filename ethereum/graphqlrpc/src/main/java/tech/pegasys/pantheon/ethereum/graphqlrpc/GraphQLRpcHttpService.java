@@ -16,6 +16,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Streams.stream;
 import static tech.pegasys.pantheon.util.NetworkUtility.urlForSocketAddress;
 
+import tech.pegasys.pantheon.ethereum.graphqlrpc.internal.CachingBlockchainQuery;
 import tech.pegasys.pantheon.ethereum.graphqlrpc.internal.response.GraphQLJsonRequest;
 import tech.pegasys.pantheon.ethereum.graphqlrpc.internal.response.GraphQLRpcErrorResponse;
 import tech.pegasys.pantheon.ethereum.graphqlrpc.internal.response.GraphQLRpcResponse;
@@ -352,7 +353,7 @@ public class GraphQLRpcHttpService {
             .query(requestJson)
             .operationName(operationName)
             .variables(variables)
-            .context(dataFetcherContext)
+            .context(requestContext())
             .build();
     final ExecutionResult result = graphQL.execute(executionInput);
     final Map<String, Object> toSpecificationResult = result.toSpecification();
@@ -364,6 +365,15 @@ public class GraphQLRpcHttpService {
     }
   }
 
+  /**
+   * Each request gets its own caching view of the blockchain, so that blocks, receipts and world
+   * states resolved for several fields of the same query are only loaded once.
+   */
+  private GraphQLDataFetcherContext requestContext() {
+    return new GraphQLDataFetcherContext(
+        dataFetcherContext, new CachingBlockchainQuery(dataFetcherContext.getBlockchainQuery()));
+  }
+
   private void handleGraphQLRpcError(final RoutingContext routingContext, final Exception ex) {
     LOG.debug("Error handling GraphQL request", ex);
     routingContext
@@ -24,6 +24,7 @@ import tech.pegasys.pantheon.ethereum.core.WorldState;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -184,6 +185,44 @@ public class BlockchainQuery {
             header.getNumber()));
   }
 
+  /**
+   * Returns the receipts of every transaction in the given block, reading the block's body, header
+   * and receipts only once.
+   *
+   * @param blockHash The hash of the block whose receipts to retrieve.
+   * @return The receipts of the block's transactions in order, or an empty list if the block is
+   *     unknown.
+   */
+  public List<TransactionReceiptWithMetadata> transactionReceiptsByBlockHash(final Hash blockHash) {
+    final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockHash);
+    final Optional<BlockBody> maybeBody = blockchain.getBlockBody(blockHash);
+    final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(blockHash);
+    if (!maybeHeader.isPresent() || !maybeBody.isPresent() || !maybeReceipts.isPresent()) {
+      return Collections.emptyList();
+    }
+    final long blockNumber = maybeHeader.get().getNumber();
+    final List<Transaction> transactions = maybeBody.get().getTransactions();
+    final List<TransactionReceipt> receipts = maybeReceipts.get();
+
+    final List<TransactionReceiptWithMetadata> result = new ArrayList<>(receipts.size());
+    long previousCumulativeGasUsed = 0;
+    for (int i = 0; i < receipts.size(); i++) {
+      final TransactionReceipt receipt = receipts.get(i);
+      final Transaction transaction = transactions.get(i);
+      result.add(
+          new TransactionReceiptWithMetadata(
+              receipt,
+              transaction,
+              transaction.hash(),
+              i,
+              receipt.getCumulativeGasUsed() - previousCumulativeGasUsed,
+              blockHash,
+              blockNumber));
+      previousCumulativeGasUsed = receipt.getCumulativeGasUsed();
+    }
+    return result;
+  }
+
   /**
    * Returns the world state for the corresponding block number
    *
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.graphqlrpc.internal;
+
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.WorldState;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A {@link BlockchainQuery} that remembers everything it has loaded.
+ *
+ * <p>A GraphQL query typically resolves several fields from the same block, transaction or account
+ * - an explorer listing a range of blocks asks for the status, gas used and sender of every
+ * transaction. Resolving each field independently reads the same block body, receipts and world
+ * state over and over. An instance of this class is created for every request so that each of these
+ * is loaded at most once while the request executes. It must not outlive the request, as nothing
+ * is ever evicted and the chain head it sees is fixed for its lifetime.
+ */
+public class CachingBlockchainQuery extends BlockchainQuery {
+
+  private final BlockchainQuery delegate;
+
+  private final Map<Hash, Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>>
+      blocksByHash = new ConcurrentHashMap<>();
+  private final Map<Long, Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>>
+      blocksByNumber = new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<TransactionWithMetadata>> transactions =
+      new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<TransactionReceiptWithMetadata>> receiptsByTransactionHash =
+      new ConcurrentHashMap<>();
+  private final Map<Hash, List<TransactionReceiptWithMetadata>> receiptsByBlockHash =
+      new ConcurrentHashMap<>();
+  private final Map<Long, Optional<WorldState>> worldStates = new ConcurrentHashMap<>();
+  private final Map<OmmerKey, Optional<BlockHeader>> ommers = new ConcurrentHashMap<>();
+  private volatile Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> latestBlock;
+
+  public CachingBlockchainQuery(final BlockchainQuery delegate) {
+    super(delegate.getBlockchain(), delegate.getWorldStateArchive());
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Optional<BlockHeader> getOmmer(final Hash blockHeaderHash, final int index) {
+    return cached(
+        ommers,
+        new OmmerKey(blockHeaderHash, index),
+        key -> delegate.getOmmer(key.hash, key.index));
+  }
+
+  @Override
+  public Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> blockByHash(
+      final Hash blockHeaderHash) {
+    return cached(blocksByHash, blockHeaderHash, delegate::blockByHash);
+  }
+
+  @Override
+  public Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> blockByNumber(
+      final long number) {
+    return cached(blocksByNumber, number, delegate::blockByNumber);
+  }
+
+  @Override
+  public Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> latestBlock() {
+    if (latestBlock == null) {
+      latestBlock = delegate.latestBlock();
+    }
+    return latestBlock;
+  }
+
+  @Override
+  public Optional<TransactionWithMetadata> transactionByHash(final Hash transactionHash) {
+    return cached(transactions, transactionHash, delegate::transactionByHash);
+  }
+
+  @Override
+  public Optional<TransactionReceiptWithMetadata> transactionReceiptByTransactionHash(
+      final Hash transactionHash) {
+    return cached(
+        receiptsByTransactionHash, transactionHash, delegate::transactionReceiptByTransactionHash);
+  }
+
+  @Override
+  public List<TransactionReceiptWithMetadata> transactionReceiptsByBlockHash(final Hash blockHash) {
+    return cached(receiptsByBlockHash, blockHash, delegate::transactionReceiptsByBlockHash);
+  }
+
+  @Override
+  public Optional<WorldState> getWorldState(final long blockNumber) {
+    return cached(worldStates, blockNumber, delegate::getWorldState);
+  }
+
+  // Deliberately not computeIfAbsent: loading a value may itself go through this cache.
+  private static <K, V> V cached(final Map<K, V> cache, final K key, final Function<K, V> loader) {
+    final V cachedValue = cache.get(key);
+    if (cachedValue != null) {
+      return cachedValue;
+    }
+    final V value = loader.apply(key);
+    cache.put(key, value);
+    return value;
+  }
+
+  private static class OmmerKey {
+    private final Hash hash;
+    private final int index;
+
+    private OmmerKey(final Hash hash, final int index) {
+      this.hash = hash;
+      this.index = index;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof OmmerKey)) {
+        return false;
+      }
+      final OmmerKey other = (OmmerKey) o;
+      return index == other.index && hash.equals(other.hash);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * hash.hashCode() + index;
+    }
+  }
+}
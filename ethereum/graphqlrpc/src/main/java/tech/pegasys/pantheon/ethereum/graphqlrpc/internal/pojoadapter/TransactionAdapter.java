@@ -14,7 +14,6 @@ package tech.pegasys.pantheon.ethereum.graphqlrpc.internal.pojoadapter;
 
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Hash;
-import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.core.WorldState;
 import tech.pegasys.pantheon.ethereum.graphqlrpc.internal.BlockchainQuery;
@@ -108,9 +107,7 @@ public class TransactionAdapter extends AdapterBase {
   }
 
   public Optional<Long> getStatus(final DataFetchingEnvironment environment) {
-    return Optional.ofNullable(transactionWithMetadata.getTransaction())
-        .map(Transaction::hash)
-        .flatMap(rpt -> getBlockchainQuery(environment).transactionReceiptByTransactionHash(rpt))
+    return receipt(environment)
         .map(TransactionReceiptWithMetadata::getReceipt)
         .flatMap(
             receipt ->
@@ -120,16 +117,12 @@ public class TransactionAdapter extends AdapterBase {
   }
 
   public Optional<Long> getGasUsed(final DataFetchingEnvironment environment) {
-    final BlockchainQuery query = getBlockchainQuery(environment);
-    final Optional<TransactionReceiptWithMetadata> rpt =
-        query.transactionReceiptByTransactionHash(transactionWithMetadata.getTransaction().hash());
+    final Optional<TransactionReceiptWithMetadata> rpt = receipt(environment);
     return rpt.map(TransactionReceiptWithMetadata::getGasUsed);
   }
 
   public Optional<Long> getCumulativeGasUsed(final DataFetchingEnvironment environment) {
-    final BlockchainQuery query = getBlockchainQuery(environment);
-    final Optional<TransactionReceiptWithMetadata> rpt =
-        query.transactionReceiptByTransactionHash(transactionWithMetadata.getTransaction().hash());
+    final Optional<TransactionReceiptWithMetadata> rpt = receipt(environment);
     if (rpt.isPresent()) {
       final TransactionReceipt receipt = rpt.get().getReceipt();
       return Optional.of(receipt.getCumulativeGasUsed());
@@ -161,10 +154,8 @@ public class TransactionAdapter extends AdapterBase {
   }
 
   public List<LogAdapter> getLogs(final DataFetchingEnvironment environment) {
-    final BlockchainQuery query = getBlockchainQuery(environment);
     final Hash hash = transactionWithMetadata.getTransaction().hash();
-    final Optional<TransactionReceiptWithMetadata> tranRpt =
-        query.transactionReceiptByTransactionHash(hash);
+    final Optional<TransactionReceiptWithMetadata> tranRpt = receipt(environment);
     final List<LogAdapter> results = new ArrayList<>();
     if (tranRpt.isPresent()) {
       final List<LogWithMetadata> logs =
@@ -181,4 +172,25 @@ public class TransactionAdapter extends AdapterBase {
     }
     return results;
   }
+
+  /**
+   * Looks the receipt up through the receipts of the whole block when the transaction's location is
+   * known, so that resolving several receipt fields for every transaction of a block reads the
+   * block's receipts once per request rather than once per field.
+   */
+  private Optional<TransactionReceiptWithMetadata> receipt(
+      final DataFetchingEnvironment environment) {
+    final BlockchainQuery query = getBlockchainQuery(environment);
+    final Optional<Hash> blockHash = transactionWithMetadata.getBlockHash();
+    final Optional<Integer> index = transactionWithMetadata.getTransactionIndex();
+    if (blockHash.isPresent() && index.isPresent()) {
+      final List<TransactionReceiptWithMetadata> receipts =
+          query.transactionReceiptsByBlockHash(blockHash.get());
+      if (index.get() < receipts.size()) {
+        return Optional.of(receipts.get(index.get()));
+      }
+    }
+    return query.transactionReceiptByTransactionHash(
+        transactionWithMetadata.getTransaction().hash());
+  }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.graphqlrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
+
+import java.util.Collections;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GraphQLProviderTest {
+
+  private final GraphQLDataFetcherContext context = mock(GraphQLDataFetcherContext.class);
+  private GraphQL graphQL;
+
+  @Before
+  public void setUp() throws Exception {
+    final GraphQLDataFetchers dataFetchers =
+        new GraphQLDataFetchers(Collections.singleton(EthProtocol.ETH63));
+    graphQL = GraphQLProvider.buildGraphQL(dataFetchers, 4, 100);
+  }
+
+  @Test
+  public void queryWithinLimitsIsExecuted() {
+    final ExecutionResult result = execute("{protocolVersion}");
+
+    assertThat(result.getErrors()).isEmpty();
+    assertThat(result.<Object>getData()).isNotNull();
+  }
+
+  @Test
+  public void queryDeeperThanMaxDepthIsRejectedBeforeExecution() {
+    final ExecutionResult result = execute("{block {parent {parent {parent {number}}}}}");
+
+    assertThat(result.getErrors()).hasSize(1);
+    assertThat(result.getErrors().get(0).getMessage()).contains("maximum query depth exceeded");
+    verifyZeroInteractions(context);
+  }
+
+  @Test
+  public void blockRangeIsCostedPerBlock() {
+    final ExecutionResult result = execute("{blocks(from: 1, to: 100) {number hash}}");
+
+    assertThat(result.getErrors()).hasSize(1);
+    assertThat(result.getErrors().get(0).getMessage())
+        .contains("maximum query complexity exceeded");
+    verifyZeroInteractions(context);
+  }
+
+  @Test
+  public void openEndedBlockRangeIsCostedAsEstimate() {
+    final ExecutionResult result = execute("{blocks(from: 1) {number hash}}");
+
+    assertThat(result.getErrors()).hasSize(1);
+    assertThat(result.getErrors().get(0).getMessage())
+        .contains("maximum query complexity exceeded");
+    verifyZeroInteractions(context);
+  }
+
+  private ExecutionResult execute(final String query) {
+    return graphQL.execute(ExecutionInput.newExecutionInput().query(query).context(context));
+  }
+}
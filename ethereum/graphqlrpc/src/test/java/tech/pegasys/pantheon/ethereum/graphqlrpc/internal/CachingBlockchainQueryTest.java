@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.graphqlrpc.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.WorldState;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class CachingBlockchainQueryTest {
+
+  private static final Hash BLOCK_HASH = Hash.hash(BytesValue.of(1));
+  private static final Hash TRANSACTION_HASH = Hash.hash(BytesValue.of(2));
+
+  private final BlockchainQuery delegate = mock(BlockchainQuery.class);
+  private final CachingBlockchainQuery query = new CachingBlockchainQuery(delegate);
+
+  @Test
+  public void blockByHashIsLoadedOnce() {
+    @SuppressWarnings("unchecked")
+    final BlockWithMetadata<TransactionWithMetadata, Hash> block = mock(BlockWithMetadata.class);
+    when(delegate.blockByHash(BLOCK_HASH)).thenReturn(Optional.of(block));
+
+    assertThat(query.blockByHash(BLOCK_HASH)).contains(block);
+    assertThat(query.blockByHash(BLOCK_HASH)).contains(block);
+
+    verify(delegate, times(1)).blockByHash(BLOCK_HASH);
+  }
+
+  @Test
+  public void blockByNumberIsLoadedOnce() {
+    @SuppressWarnings("unchecked")
+    final BlockWithMetadata<TransactionWithMetadata, Hash> block = mock(BlockWithMetadata.class);
+    when(delegate.blockByNumber(5L)).thenReturn(Optional.of(block));
+
+    assertThat(query.blockByNumber(5L)).contains(block);
+    assertThat(query.blockByNumber(5L)).contains(block);
+
+    verify(delegate, times(1)).blockByNumber(5L);
+  }
+
+  @Test
+  public void latestBlockIsFixedForTheLifetimeOfTheQuery() {
+    @SuppressWarnings("unchecked")
+    final BlockWithMetadata<TransactionWithMetadata, Hash> block = mock(BlockWithMetadata.class);
+    when(delegate.latestBlock()).thenReturn(Optional.of(block));
+
+    assertThat(query.latestBlock()).contains(block);
+    assertThat(query.latestBlock()).contains(block);
+
+    verify(delegate, times(1)).latestBlock();
+  }
+
+  @Test
+  public void missingValuesAreRemembered() {
+    when(delegate.transactionByHash(TRANSACTION_HASH)).thenReturn(Optional.empty());
+
+    assertThat(query.transactionByHash(TRANSACTION_HASH)).isEmpty();
+    assertThat(query.transactionByHash(TRANSACTION_HASH)).isEmpty();
+
+    verify(delegate, times(1)).transactionByHash(TRANSACTION_HASH);
+  }
+
+  @Test
+  public void receiptsAreLoadedOncePerBlock() {
+    final TransactionReceiptWithMetadata receipt = mock(TransactionReceiptWithMetadata.class);
+    final List<TransactionReceiptWithMetadata> receipts = Collections.singletonList(receipt);
+    when(delegate.transactionReceiptsByBlockHash(BLOCK_HASH)).thenReturn(receipts);
+    when(delegate.transactionReceiptByTransactionHash(TRANSACTION_HASH))
+        .thenReturn(Optional.of(receipt));
+
+    assertThat(query.transactionReceiptsByBlockHash(BLOCK_HASH)).isSameAs(receipts);
+    assertThat(query.transactionReceiptsByBlockHash(BLOCK_HASH)).isSameAs(receipts);
+    assertThat(query.transactionReceiptByTransactionHash(TRANSACTION_HASH)).contains(receipt);
+    assertThat(query.transactionReceiptByTransactionHash(TRANSACTION_HASH)).contains(receipt);
+
+    verify(delegate, times(1)).transactionReceiptsByBlockHash(BLOCK_HASH);
+    verify(delegate, times(1)).transactionReceiptByTransactionHash(TRANSACTION_HASH);
+  }
+
+  @Test
+  public void worldStateIsLoadedOncePerBlock() {
+    final WorldState worldState = mock(WorldState.class);
+    when(delegate.getWorldState(7L)).thenReturn(Optional.of(worldState));
+
+    assertThat(query.getWorldState(7L)).contains(worldState);
+    assertThat(query.getWorldState(7L)).contains(worldState);
+    assertThat(query.getWorldState(8L)).isEmpty();
+
+    verify(delegate, times(1)).getWorldState(7L);
+    verify(delegate, times(1)).getWorldState(8L);
+  }
+}
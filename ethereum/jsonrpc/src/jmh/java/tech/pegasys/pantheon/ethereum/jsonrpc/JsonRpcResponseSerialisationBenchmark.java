@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockWithMetadata;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionWithMetadata;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.BlockResultFactory;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares building a pretty-printed String for a large eth_getBlockByNumber(full=true) response
+ * against streaming compact JSON directly into a Vert.x {@link Buffer}.
+ */
+@State(Scope.Benchmark)
+public class JsonRpcResponseSerialisationBenchmark {
+
+  private static final ObjectWriter STREAMING_WRITER =
+      Json.mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+  @Param({"10", "200", "1000"})
+  public int transactionCount;
+
+  private JsonRpcResponse response;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final BlockOptions options = new BlockOptions().setBlockNumber(1);
+    gen.transactions(transactionCount).forEach(options::addTransaction);
+    final Block block = gen.block(options);
+
+    final List<TransactionWithMetadata> transactions = new ArrayList<>();
+    final List<Transaction> blockTransactions = block.getBody().getTransactions();
+    for (int i = 0; i < blockTransactions.size(); i++) {
+      transactions.add(
+          new TransactionWithMetadata(
+              blockTransactions.get(i), block.getHeader().getNumber(), block.getHash(), i));
+    }
+    final BlockWithMetadata<TransactionWithMetadata, Hash> blockWithMetadata =
+        new BlockWithMetadata<>(
+            block.getHeader(),
+            transactions,
+            Collections.emptyList(),
+            UInt256.ONE,
+            block.calculateSize());
+    response =
+        new JsonRpcSuccessResponse(
+            1, new BlockResultFactory().transactionComplete(blockWithMetadata));
+  }
+
+  @Benchmark
+  public Buffer encodePrettily() {
+    return Buffer.buffer(Json.encodePrettily(response));
+  }
+
+  @Benchmark
+  public Buffer streamCompact() throws IOException {
+    final ByteBuf byteBuf = Unpooled.buffer(JsonResponseStreamer.DEFAULT_CHUNK_SIZE);
+    final OutputStream out = new ByteBufOutputStream(byteBuf);
+    STREAMING_WRITER.writeValue(out, response);
+    return Buffer.buffer(byteBuf);
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter;
+
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares testing every installed filter against every log of a block with routing the logs
+ * through a {@link LogsIndex} built for the block.
+ */
+@State(Scope.Benchmark)
+public class LogsDispatchBenchmark {
+
+  private static final int ADDRESS_COUNT = 2_000;
+  private static final int TOPIC_COUNT = 500;
+
+  @Param({"100", "1000", "10000"})
+  public int filterCount;
+
+  @Param({"500"})
+  public int logCount;
+
+  private final List<LogsQuery> queries = new ArrayList<>();
+  private final List<LogWithMetadata> logs = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final Random random = new Random(42);
+    final List<Address> addresses = new ArrayList<>(ADDRESS_COUNT);
+    for (int i = 0; i < ADDRESS_COUNT; i++) {
+      addresses.add(Address.wrap(BytesValue.wrap(randomBytes(random, Address.SIZE))));
+    }
+    final List<LogTopic> topics = new ArrayList<>(TOPIC_COUNT);
+    for (int i = 0; i < TOPIC_COUNT; i++) {
+      topics.add(LogTopic.wrap(Bytes32.wrap(randomBytes(random, Bytes32.SIZE))));
+    }
+
+    // Mostly address filters, some topic-only filters and a few catch-all filters.
+    for (int i = 0; i < filterCount; i++) {
+      final int kind = random.nextInt(100);
+      final LogsQuery.Builder builder = new LogsQuery.Builder();
+      if (kind < 80) {
+        builder.address(addresses.get(random.nextInt(ADDRESS_COUNT)));
+      } else if (kind < 98) {
+        builder.topics(
+            Collections.singletonList(
+                Collections.singletonList(topics.get(random.nextInt(TOPIC_COUNT)))));
+      }
+      queries.add(builder.build());
+    }
+
+    for (int i = 0; i < logCount; i++) {
+      logs.add(
+          LogWithMetadata.create(
+              i % 4,
+              1L,
+              Hash.ZERO,
+              Hash.ZERO,
+              i / 4,
+              addresses.get(random.nextInt(ADDRESS_COUNT)),
+              BytesValue.EMPTY,
+              Collections.singletonList(topics.get(random.nextInt(TOPIC_COUNT))),
+              false));
+    }
+  }
+
+  @Benchmark
+  public void matchEveryFilter(final Blackhole blackhole) {
+    for (final LogsQuery query : queries) {
+      for (final LogWithMetadata log : logs) {
+        if (query.matches(log)) {
+          blackhole.consume(log);
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void routeThroughIndex(final Blackhole blackhole) {
+    final LogsIndex<LogsQuery> index = new LogsIndex<>();
+    for (final LogsQuery query : queries) {
+      index.add(query, query);
+    }
+    for (final LogWithMetadata log : logs) {
+      index.forEachMatch(log, (query, matchingLog) -> blackhole.consume(matchingLog));
+    }
+  }
+
+  private static byte[] randomBytes(final Random random, final int size) {
+    final byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+}
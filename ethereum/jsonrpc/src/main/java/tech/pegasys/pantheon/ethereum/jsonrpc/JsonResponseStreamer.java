@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import java.io.OutputStream;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * An {@link OutputStream} that hands serialised JSON straight to a {@link HttpServerResponse}.
+ *
+ * <p>Output is accumulated into a {@link Buffer} and only written once it reaches the chunk size,
+ * at which point the response switches to chunked transfer encoding. Responses smaller than a
+ * single chunk are sent in one piece with a regular content length.
+ */
+class JsonResponseStreamer extends OutputStream {
+
+  static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+  private final HttpServerResponse response;
+  private final int chunkSize;
+  private Buffer buffer;
+  private boolean chunked = false;
+  private boolean closed = false;
+
+  JsonResponseStreamer(final HttpServerResponse response) {
+    this(response, DEFAULT_CHUNK_SIZE);
+  }
+
+  JsonResponseStreamer(final HttpServerResponse response, final int chunkSize) {
+    this.response = response;
+    this.chunkSize = chunkSize;
+    this.buffer = Buffer.buffer(chunkSize);
+  }
+
+  @Override
+  public void write(final int b) {
+    buffer.appendByte((byte) b);
+    flushIfFull();
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length) {
+    buffer.appendBytes(bytes, offset, length);
+    flushIfFull();
+  }
+
+  private void flushIfFull() {
+    if (buffer.length() < chunkSize) {
+      return;
+    }
+    if (!chunked) {
+      response.setChunked(true);
+      chunked = true;
+    }
+    response.write(buffer);
+    buffer = Buffer.buffer(chunkSize);
+  }
+
+  /** Writes any remaining output and ends the response. */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    response.end(buffer);
+  }
+
+  /**
+   * Abandons the response after a serialisation failure. If nothing has been sent yet the client
+   * receives an internal server error, otherwise the connection is closed so the truncated body
+   * cannot be mistaken for a complete one.
+   */
+  void abort() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (chunked) {
+      response.close();
+    } else {
+      response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
+    }
+  }
+}
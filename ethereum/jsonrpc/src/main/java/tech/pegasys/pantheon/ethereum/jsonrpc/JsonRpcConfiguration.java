@@ -12,6 +12,9 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc;
 
+import tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead.BulkheadConfiguration;
+import tech.pegasys.pantheon.ethereum.jsonrpc.cache.ResponseCacheConfiguration;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -33,6 +36,9 @@ public class JsonRpcConfiguration {
   private List<String> hostsWhitelist = Arrays.asList("localhost", "127.0.0.1");
   private boolean authenticationEnabled = false;
   private String authenticationCredentialsFile;
+  private BulkheadConfiguration bulkheadConfiguration = BulkheadConfiguration.DISABLED;
+  private ResponseCacheConfiguration responseCacheConfiguration =
+      ResponseCacheConfiguration.DISABLED;
 
   public static JsonRpcConfiguration createDefault() {
     final JsonRpcConfiguration config = new JsonRpcConfiguration();
@@ -111,6 +117,8 @@ public class JsonRpcConfiguration {
         .add("rpcApis", rpcApis)
         .add("authenticationEnabled", authenticationEnabled)
         .add("authenticationCredentialsFile", authenticationCredentialsFile)
+        .add("bulkheadConfiguration", bulkheadConfiguration)
+        .add("responseCacheConfiguration", responseCacheConfiguration)
         .toString();
   }
 
@@ -151,4 +159,21 @@ public class JsonRpcConfiguration {
   public String getAuthenticationCredentialsFile() {
     return authenticationCredentialsFile;
   }
+
+  public BulkheadConfiguration getBulkheadConfiguration() {
+    return bulkheadConfiguration;
+  }
+
+  public void setBulkheadConfiguration(final BulkheadConfiguration bulkheadConfiguration) {
+    this.bulkheadConfiguration = bulkheadConfiguration;
+  }
+
+  public ResponseCacheConfiguration getResponseCacheConfiguration() {
+    return responseCacheConfiguration;
+  }
+
+  public void setResponseCacheConfiguration(
+      final ResponseCacheConfiguration responseCacheConfiguration) {
+    this.responseCacheConfiguration = responseCacheConfiguration;
+  }
 }
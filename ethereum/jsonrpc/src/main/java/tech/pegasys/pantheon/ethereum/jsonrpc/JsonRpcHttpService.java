@@ -19,6 +19,7 @@ import static tech.pegasys.pantheon.util.NetworkUtility.urlForSocketAddress;
 
 import tech.pegasys.pantheon.ethereum.jsonrpc.authentication.AuthenticationService;
 import tech.pegasys.pantheon.ethereum.jsonrpc.authentication.AuthenticationUtils;
+import tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead.JsonRpcBulkheads;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequestId;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.exception.InvalidJsonRpcParameters;
@@ -36,6 +37,7 @@ import tech.pegasys.pantheon.metrics.OperationTimer;
 import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
 import tech.pegasys.pantheon.util.NetworkUtility;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.nio.file.Path;
@@ -45,6 +47,8 @@ import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
@@ -77,12 +81,15 @@ public class JsonRpcHttpService {
   private static final String APPLICATION_JSON = "application/json";
   private static final JsonRpcResponse NO_RESPONSE = new JsonRpcNoResponse();
   private static final String EMPTY_RESPONSE = "";
+  private static final ObjectWriter JSON_WRITER =
+      Json.mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
   private final Vertx vertx;
   private final JsonRpcConfiguration config;
   private final RpcMethods rpcMethods;
   private final Path dataDir;
   private final LabelledMetric<OperationTimer> requestTimer;
+  private final JsonRpcBulkheads bulkheads;
 
   @VisibleForTesting public final Optional<AuthenticationService> authenticationService;
 
@@ -131,6 +138,13 @@ public class JsonRpcHttpService {
     this.vertx = vertx;
     this.rpcMethods = new RpcMethods(methods);
     this.authenticationService = authenticationService;
+    this.bulkheads =
+        JsonRpcBulkheads.create(
+            vertx,
+            "json-rpc-http",
+            config.getBulkheadConfiguration(),
+            metricsSystem,
+            methods.keySet());
   }
 
   private void validateConfig(final JsonRpcConfiguration config) {
@@ -257,6 +271,7 @@ public class JsonRpcHttpService {
     if (httpServer == null) {
       return CompletableFuture.completedFuture(null);
     }
+    bulkheads.close();
 
     final CompletableFuture<?> resultFuture = new CompletableFuture<>();
     httpServer.close(
@@ -330,23 +345,32 @@ public class JsonRpcHttpService {
   private void handleJsonSingleRequest(
       final RoutingContext routingContext, final JsonObject request, final Optional<User> user) {
     final HttpServerResponse response = routingContext.response();
-    vertx.executeBlocking(
-        future -> {
-          final JsonRpcResponse jsonRpcResponse = process(request, user);
-          future.complete(jsonRpcResponse);
-        },
-        false,
-        (res) -> {
-          if (res.failed()) {
-            response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
-            return;
-          }
+    final boolean accepted =
+        bulkheads.execute(
+            methodName(request),
+            future -> {
+              final JsonRpcResponse jsonRpcResponse = process(request, user);
+              future.complete(jsonRpcResponse);
+            },
+            false,
+            (res) -> {
+              if (res.failed()) {
+                response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
+                return;
+              }
 
-          final JsonRpcResponse jsonRpcResponse = (JsonRpcResponse) res.result();
-          response.setStatusCode(status(jsonRpcResponse).code());
-          response.putHeader("Content-Type", APPLICATION_JSON);
-          response.end(serialise(jsonRpcResponse));
-        });
+              final JsonRpcResponse jsonRpcResponse = (JsonRpcResponse) res.result();
+              response.setStatusCode(status(jsonRpcResponse).code());
+              response.putHeader("Content-Type", APPLICATION_JSON);
+              if (jsonRpcResponse.getType() == JsonRpcResponseType.NONE) {
+                response.end(EMPTY_RESPONSE);
+              } else {
+                writeResponse(response, jsonRpcResponse);
+              }
+            });
+    if (!accepted) {
+      handleJsonRpcError(routingContext, requestId(request), JsonRpcError.SERVER_BUSY);
+    }
   }
 
   private HttpResponseStatus status(final JsonRpcResponse response) {
@@ -363,13 +387,19 @@ public class JsonRpcHttpService {
     }
   }
 
-  private String serialise(final JsonRpcResponse response) {
-
-    if (response.getType() == JsonRpcResponseType.NONE) {
-      return EMPTY_RESPONSE;
+  /**
+   * Serialises the response body with a streaming generator directly into the HTTP response,
+   * avoiding an intermediate String copy of potentially very large results.
+   */
+  private void writeResponse(final HttpServerResponse response, final Object body) {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response);
+    try {
+      JSON_WRITER.writeValue(streamer, body);
+      streamer.close();
+    } catch (final IOException | RuntimeException e) {
+      LOG.error("Error serialising JSON-RPC response", e);
+      streamer.abort();
     }
-
-    return Json.encodePrettily(response);
   }
 
   @SuppressWarnings("rawtypes")
@@ -387,16 +417,22 @@ public class JsonRpcHttpService {
 
                   final JsonObject req = (JsonObject) obj;
                   final Future<JsonRpcResponse> fut = Future.future();
-                  vertx.executeBlocking(
-                      future -> future.complete(process(req, user)),
-                      false,
-                      ar -> {
-                        if (ar.failed()) {
-                          fut.fail(ar.cause());
-                        } else {
-                          fut.complete((JsonRpcResponse) ar.result());
-                        }
-                      });
+                  final boolean accepted =
+                      bulkheads.execute(
+                          methodName(req),
+                          future -> future.complete(process(req, user)),
+                          false,
+                          ar -> {
+                            if (ar.failed()) {
+                              fut.fail(ar.cause());
+                            } else {
+                              fut.complete((JsonRpcResponse) ar.result());
+                            }
+                          });
+                  if (!accepted) {
+                    return Future.succeededFuture(
+                        errorResponse(requestId(req), JsonRpcError.SERVER_BUSY));
+                  }
                   return fut;
                 })
             .collect(toList());
@@ -417,7 +453,7 @@ public class JsonRpcHttpService {
                       .filter(this::isNonEmptyResponses)
                       .toArray(JsonRpcResponse[]::new);
 
-              routingContext.response().end(Json.encode(completed));
+              writeResponse(routingContext.response(), completed);
             });
   }
 
@@ -425,6 +461,19 @@ public class JsonRpcHttpService {
     return result.getType() != JsonRpcResponseType.NONE;
   }
 
+  private String methodName(final JsonObject requestJson) {
+    final Object method = requestJson.getValue("method");
+    return method instanceof String ? (String) method : null;
+  }
+
+  private Object requestId(final JsonObject requestJson) {
+    try {
+      return new JsonRpcRequestId(requestJson.getValue("id")).getValue();
+    } catch (final IllegalArgumentException exception) {
+      return null;
+    }
+  }
+
   private JsonRpcResponse process(final JsonObject requestJson, final Optional<User> user) {
     final JsonRpcRequest request;
     Object id = null;
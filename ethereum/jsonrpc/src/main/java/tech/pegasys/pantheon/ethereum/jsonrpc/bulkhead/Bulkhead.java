@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead.BulkheadConfiguration.MethodClass;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.WorkerExecutor;
+
+/** A bounded worker pool that rejects work once its in-flight limit has been reached. */
+class Bulkhead {
+
+  private final String name;
+  private final WorkerExecutor executor;
+  private final int maxInFlightRequests;
+  private final AtomicInteger inFlightRequests = new AtomicInteger(0);
+
+  Bulkhead(final String name, final WorkerExecutor executor, final MethodClass methodClass) {
+    this.name = name;
+    this.executor = executor;
+    this.maxInFlightRequests = methodClass.getPoolSize() + methodClass.getMaxQueuedRequests();
+  }
+
+  String getName() {
+    return name;
+  }
+
+  <T> boolean tryExecute(
+      final Handler<Future<T>> blockingCode,
+      final boolean ordered,
+      final OperationTimer queueTimer,
+      final Handler<AsyncResult<T>> resultHandler) {
+    if (inFlightRequests.incrementAndGet() > maxInFlightRequests) {
+      inFlightRequests.decrementAndGet();
+      return false;
+    }
+    final TimingContext queueTimingContext = queueTimer.startTimer();
+    executor.<T>executeBlocking(
+        future -> {
+          queueTimingContext.stopTimer();
+          blockingCode.handle(future);
+        },
+        ordered,
+        result -> {
+          inFlightRequests.decrementAndGet();
+          resultHandler.handle(result);
+        });
+    return true;
+  }
+
+  void close() {
+    executor.close();
+  }
+}
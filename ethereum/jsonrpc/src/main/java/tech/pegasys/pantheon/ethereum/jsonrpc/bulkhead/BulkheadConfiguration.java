@@ -0,0 +1,278 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.RpcMethod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+import picocli.CommandLine;
+
+/**
+ * Describes how JSON-RPC methods are partitioned into bulkheads. Each {@link MethodClass} is
+ * executed on its own bounded worker pool so that a burst of expensive requests cannot starve
+ * cheap ones.
+ */
+public class BulkheadConfiguration {
+
+  public static final BulkheadConfiguration DISABLED =
+      new BulkheadConfiguration(Collections.emptyList());
+
+  public static final String EXPENSIVE_METHOD_CLASS = "expensive";
+  public static final String DEFAULT_METHOD_CLASS = "default";
+
+  public static final List<String> DEFAULT_EXPENSIVE_METHODS =
+      Arrays.asList(
+          RpcMethod.DEBUG_STORAGE_RANGE_AT.getMethodName(),
+          RpcMethod.DEBUG_TRACE_BLOCK.getMethodName(),
+          RpcMethod.DEBUG_TRACE_BLOCK_BY_HASH.getMethodName(),
+          RpcMethod.DEBUG_TRACE_BLOCK_BY_NUMBER.getMethodName(),
+          RpcMethod.DEBUG_TRACE_TRANSACTION.getMethodName(),
+          RpcMethod.ETH_CALL.getMethodName(),
+          RpcMethod.ETH_ESTIMATE_GAS.getMethodName(),
+          RpcMethod.ETH_GET_FILTER_LOGS.getMethodName(),
+          RpcMethod.ETH_GET_LOGS.getMethodName());
+
+  private final List<MethodClass> methodClasses;
+
+  private BulkheadConfiguration(final List<MethodClass> methodClasses) {
+    this.methodClasses = methodClasses;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public boolean isEnabled() {
+    return !methodClasses.isEmpty();
+  }
+
+  public List<MethodClass> getMethodClasses() {
+    return methodClasses;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("methodClasses", methodClasses).toString();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final BulkheadConfiguration that = (BulkheadConfiguration) o;
+    return Objects.equals(methodClasses, that.methodClasses);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(methodClasses);
+  }
+
+  /**
+   * A named group of JSON-RPC methods sharing a worker pool. A method class with no methods acts
+   * as the catch-all for every method not claimed by another class.
+   */
+  public static class MethodClass {
+    private final String name;
+    private final Set<String> methods;
+    private final int poolSize;
+    private final int maxQueuedRequests;
+
+    public MethodClass(
+        final String name,
+        final Collection<String> methods,
+        final int poolSize,
+        final int maxQueuedRequests) {
+      checkArgument(poolSize > 0, "Bulkhead pool size must be positive");
+      checkArgument(maxQueuedRequests >= 0, "Bulkhead queue size must not be negative");
+      this.name = name;
+      this.methods = ImmutableSet.copyOf(methods);
+      this.poolSize = poolSize;
+      this.maxQueuedRequests = maxQueuedRequests;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public Set<String> getMethods() {
+      return methods;
+    }
+
+    public boolean isCatchAll() {
+      return methods.isEmpty();
+    }
+
+    public int getPoolSize() {
+      return poolSize;
+    }
+
+    public int getMaxQueuedRequests() {
+      return maxQueuedRequests;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("name", name)
+          .add("methods", methods)
+          .add("poolSize", poolSize)
+          .add("maxQueuedRequests", maxQueuedRequests)
+          .toString();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final MethodClass that = (MethodClass) o;
+      return poolSize == that.poolSize
+          && maxQueuedRequests == that.maxQueuedRequests
+          && Objects.equals(name, that.name)
+          && Objects.equals(methods, that.methods);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, methods, poolSize, maxQueuedRequests);
+    }
+  }
+
+  public static class Builder {
+
+    @CommandLine.Option(
+        names = {"--Xrpc-bulkheads-enabled"},
+        hidden = true,
+        defaultValue = "false",
+        description =
+            "Execute expensive JSON-RPC methods on a separate bounded worker pool (default: ${DEFAULT-VALUE})")
+    private boolean enabled = false;
+
+    @CommandLine.Option(
+        names = {"--Xrpc-bulkhead-expensive-methods"},
+        hidden = true,
+        split = ",",
+        arity = "1..*",
+        paramLabel = "<METHOD>",
+        description =
+            "Comma separated list of JSON-RPC methods treated as expensive (default: ${DEFAULT-VALUE})")
+    private List<String> expensiveMethods = new ArrayList<>(DEFAULT_EXPENSIVE_METHODS);
+
+    @CommandLine.Option(
+        names = {"--Xrpc-bulkhead-expensive-pool-size"},
+        hidden = true,
+        defaultValue = "4",
+        paramLabel = "<INTEGER>",
+        description =
+            "Number of threads executing expensive JSON-RPC methods (default: ${DEFAULT-VALUE})")
+    private int expensivePoolSize = 4;
+
+    @CommandLine.Option(
+        names = {"--Xrpc-bulkhead-expensive-max-queued"},
+        hidden = true,
+        defaultValue = "64",
+        paramLabel = "<INTEGER>",
+        description =
+            "Maximum number of expensive JSON-RPC requests waiting for a thread before new ones are rejected (default: ${DEFAULT-VALUE})")
+    private int expensiveMaxQueued = 64;
+
+    @CommandLine.Option(
+        names = {"--Xrpc-bulkhead-default-pool-size"},
+        hidden = true,
+        defaultValue = "16",
+        paramLabel = "<INTEGER>",
+        description =
+            "Number of threads executing all other JSON-RPC methods (default: ${DEFAULT-VALUE})")
+    private int defaultPoolSize = 16;
+
+    @CommandLine.Option(
+        names = {"--Xrpc-bulkhead-default-max-queued"},
+        hidden = true,
+        defaultValue = "1024",
+        paramLabel = "<INTEGER>",
+        description =
+            "Maximum number of other JSON-RPC requests waiting for a thread before new ones are rejected (default: ${DEFAULT-VALUE})")
+    private int defaultMaxQueued = 1024;
+
+    private final List<MethodClass> additionalMethodClasses = new ArrayList<>();
+
+    public Builder enabled(final boolean enabled) {
+      this.enabled = enabled;
+      return this;
+    }
+
+    public Builder expensiveMethods(final List<String> expensiveMethods) {
+      this.expensiveMethods = expensiveMethods;
+      return this;
+    }
+
+    public Builder expensivePoolSize(final int expensivePoolSize) {
+      this.expensivePoolSize = expensivePoolSize;
+      return this;
+    }
+
+    public Builder expensiveMaxQueued(final int expensiveMaxQueued) {
+      this.expensiveMaxQueued = expensiveMaxQueued;
+      return this;
+    }
+
+    public Builder defaultPoolSize(final int defaultPoolSize) {
+      this.defaultPoolSize = defaultPoolSize;
+      return this;
+    }
+
+    public Builder defaultMaxQueued(final int defaultMaxQueued) {
+      this.defaultMaxQueued = defaultMaxQueued;
+      return this;
+    }
+
+    /** Adds a method class in addition to the built in expensive and default classes. */
+    public Builder methodClass(final MethodClass methodClass) {
+      additionalMethodClasses.add(methodClass);
+      return this;
+    }
+
+    public BulkheadConfiguration build() {
+      if (!enabled) {
+        return DISABLED;
+      }
+      final List<MethodClass> methodClasses = new ArrayList<>(additionalMethodClasses);
+      methodClasses.add(
+          new MethodClass(
+              EXPENSIVE_METHOD_CLASS, expensiveMethods, expensivePoolSize, expensiveMaxQueued));
+      methodClasses.add(
+          new MethodClass(
+              DEFAULT_METHOD_CLASS, Collections.emptyList(), defaultPoolSize, defaultMaxQueued));
+      return new BulkheadConfiguration(Collections.unmodifiableList(methodClasses));
+    }
+  }
+}
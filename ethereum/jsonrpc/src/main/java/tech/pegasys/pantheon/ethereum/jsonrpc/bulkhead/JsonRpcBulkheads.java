@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead.BulkheadConfiguration.MethodClass;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * Dispatches JSON-RPC method execution to the bulkhead configured for each method. When bulkheads
+ * are disabled all methods run on the shared Vert.x worker pool, exactly as before.
+ */
+public class JsonRpcBulkheads {
+
+  private static final String UNKNOWN_METHOD_LABEL = "unknown";
+
+  private final Vertx vertx;
+  private final Set<String> knownMethods;
+  private final Map<String, Bulkhead> bulkheadsByMethod = new HashMap<>();
+  private final List<Bulkhead> bulkheads = new ArrayList<>();
+  private final Optional<Bulkhead> catchAllBulkhead;
+  private final LabelledMetric<Counter> rejectedRequestsCounter;
+  private final LabelledMetric<OperationTimer> queueTimer;
+
+  private JsonRpcBulkheads(
+      final Vertx vertx,
+      final String namePrefix,
+      final BulkheadConfiguration configuration,
+      final MetricsSystem metricsSystem,
+      final Set<String> knownMethods) {
+    this.vertx = vertx;
+    this.knownMethods = knownMethods;
+    Bulkhead catchAll = null;
+    for (final MethodClass methodClass : configuration.getMethodClasses()) {
+      final String name = namePrefix + "-" + methodClass.getName();
+      final Bulkhead bulkhead =
+          new Bulkhead(
+              name,
+              vertx.createSharedWorkerExecutor(name, methodClass.getPoolSize()),
+              methodClass);
+      bulkheads.add(bulkhead);
+      if (methodClass.isCatchAll()) {
+        if (catchAll == null) {
+          catchAll = bulkhead;
+        }
+      } else {
+        methodClass.getMethods().forEach(method -> bulkheadsByMethod.putIfAbsent(method, bulkhead));
+      }
+    }
+    this.catchAllBulkhead = Optional.ofNullable(catchAll);
+
+    rejectedRequestsCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "rejected_requests_total",
+            "Number of JSON-RPC requests rejected because their bulkhead was full",
+            "bulkhead",
+            "methodName");
+    queueTimer =
+        metricsSystem.createLabelledTimer(
+            MetricCategory.RPC,
+            "request_queue_time",
+            "Time a JSON-RPC request waited for a worker thread in its bulkhead",
+            "bulkhead",
+            "methodName");
+  }
+
+  public static JsonRpcBulkheads create(
+      final Vertx vertx,
+      final String namePrefix,
+      final BulkheadConfiguration configuration,
+      final MetricsSystem metricsSystem,
+      final Set<String> knownMethods) {
+    return new JsonRpcBulkheads(vertx, namePrefix, configuration, metricsSystem, knownMethods);
+  }
+
+  /**
+   * Runs the blocking code for the given method on its bulkhead.
+   *
+   * @param methodName the JSON-RPC method being executed, used to select the bulkhead
+   * @param blockingCode the code to run on a worker thread
+   * @param ordered whether executions on the same context must run in order
+   * @param resultHandler invoked on the calling context once the blocking code completes
+   * @param <T> the result type
+   * @return false if the request was rejected because the bulkhead is full, in which case the
+   *     result handler is never called
+   */
+  public <T> boolean execute(
+      final String methodName,
+      final Handler<Future<T>> blockingCode,
+      final boolean ordered,
+      final Handler<AsyncResult<T>> resultHandler) {
+    final Optional<Bulkhead> bulkhead = bulkheadFor(methodName);
+    if (!bulkhead.isPresent()) {
+      vertx.executeBlocking(blockingCode, ordered, resultHandler);
+      return true;
+    }
+    final String methodLabel =
+        knownMethods.contains(methodName) ? methodName : UNKNOWN_METHOD_LABEL;
+    final boolean accepted =
+        bulkhead
+            .get()
+            .tryExecute(
+                blockingCode,
+                ordered,
+                queueTimer.labels(bulkhead.get().getName(), methodLabel),
+                resultHandler);
+    if (!accepted) {
+      rejectedRequestsCounter.labels(bulkhead.get().getName(), methodLabel).inc();
+    }
+    return accepted;
+  }
+
+  private Optional<Bulkhead> bulkheadFor(final String methodName) {
+    final Bulkhead bulkhead = methodName == null ? null : bulkheadsByMethod.get(methodName);
+    return bulkhead != null ? Optional.of(bulkhead) : catchAllBulkhead;
+  }
+
+  public void close() {
+    bulkheads.forEach(Bulkhead::close);
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.cache;
+
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.chain.TransactionLocation;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.jsonrpc.RpcMethod;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.BlockParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.FilterParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Determines which block, if any, fixes the result of a JSON-RPC request. A request is pinned when
+ * it refers to a block by hash, by explicit number, or to a transaction that has been included in
+ * a block. Requests relative to the chain head ("latest", "pending") are never pinned.
+ */
+class PinnedBlockResolver {
+
+  private final Blockchain blockchain;
+  private final JsonRpcParameter parameters = new JsonRpcParameter();
+  private final Map<String, Function<Object[], OptionalLong>> resolvers = new HashMap<>();
+
+  PinnedBlockResolver(final Blockchain blockchain) {
+    this.blockchain = blockchain;
+
+    register(RpcMethod.ETH_GET_BLOCK_BY_HASH, params -> blockHash(params, 0));
+    register(RpcMethod.ETH_GET_BLOCK_TRANSACTION_COUNT_BY_HASH, params -> blockHash(params, 0));
+    register(RpcMethod.ETH_GET_TRANSACTION_BY_BLOCK_HASH_AND_INDEX, params -> blockHash(params, 0));
+    register(RpcMethod.ETH_GET_UNCLE_BY_BLOCK_HASH_AND_INDEX, params -> blockHash(params, 0));
+    register(RpcMethod.ETH_GET_UNCLE_COUNT_BY_BLOCK_HASH, params -> blockHash(params, 0));
+    register(RpcMethod.DEBUG_TRACE_BLOCK_BY_HASH, params -> blockHash(params, 0));
+
+    register(RpcMethod.ETH_GET_BLOCK_BY_NUMBER, params -> blockNumber(params, 0));
+    register(RpcMethod.ETH_GET_BLOCK_TRANSACTION_COUNT_BY_NUMBER, params -> blockNumber(params, 0));
+    register(
+        RpcMethod.ETH_GET_TRANSACTION_BY_BLOCK_NUMBER_AND_INDEX, params -> blockNumber(params, 0));
+    register(RpcMethod.ETH_GET_UNCLE_BY_BLOCK_NUMBER_AND_INDEX, params -> blockNumber(params, 0));
+    register(RpcMethod.ETH_GET_UNCLE_COUNT_BY_BLOCK_NUMBER, params -> blockNumber(params, 0));
+    register(RpcMethod.DEBUG_TRACE_BLOCK_BY_NUMBER, params -> blockNumber(params, 0));
+
+    register(RpcMethod.ETH_GET_BALANCE, params -> blockNumber(params, 1));
+    register(RpcMethod.ETH_GET_CODE, params -> blockNumber(params, 1));
+    register(RpcMethod.ETH_GET_TRANSACTION_COUNT, params -> blockNumber(params, 1));
+    register(RpcMethod.ETH_CALL, params -> blockNumber(params, 1));
+    register(RpcMethod.ETH_GET_STORAGE_AT, params -> blockNumber(params, 2));
+
+    register(RpcMethod.ETH_GET_TRANSACTION_BY_HASH, params -> transaction(params, 0));
+    register(RpcMethod.ETH_GET_TRANSACTION_RECEIPT, params -> transaction(params, 0));
+    register(RpcMethod.DEBUG_TRACE_TRANSACTION, params -> transaction(params, 0));
+
+    register(RpcMethod.ETH_GET_LOGS, this::logsRange);
+  }
+
+  private void register(final RpcMethod method, final Function<Object[], OptionalLong> resolver) {
+    resolvers.put(method.getMethodName(), resolver);
+  }
+
+  Set<String> supportedMethods() {
+    return resolvers.keySet();
+  }
+
+  /**
+   * Returns the highest block number the result of the request depends on.
+   *
+   * @param request the JSON-RPC request
+   * @return the pinned block number, or empty if the result may still change
+   */
+  OptionalLong pinnedBlock(final JsonRpcRequest request) {
+    final Function<Object[], OptionalLong> resolver = resolvers.get(request.getMethod());
+    if (resolver == null) {
+      return OptionalLong.empty();
+    }
+    try {
+      return resolver.apply(request.getParams());
+    } catch (final IllegalArgumentException e) {
+      // Let the method itself report the invalid parameters.
+      return OptionalLong.empty();
+    }
+  }
+
+  private OptionalLong blockHash(final Object[] params, final int index) {
+    final Optional<Hash> hash = parameters.optional(params, index, Hash.class);
+    return toOptionalLong(hash.flatMap(blockchain::getBlockHeader));
+  }
+
+  private OptionalLong blockNumber(final Object[] params, final int index) {
+    final Optional<BlockParameter> blockParameter =
+        parameters.optional(params, index, BlockParameter.class);
+    if (!blockParameter.isPresent()
+        || !(blockParameter.get().isNumeric() || blockParameter.get().isEarliest())) {
+      return OptionalLong.empty();
+    }
+    return blockParameter.get().getNumber();
+  }
+
+  private OptionalLong transaction(final Object[] params, final int index) {
+    final Optional<Hash> hash = parameters.optional(params, index, Hash.class);
+    return toOptionalLong(
+        hash.flatMap(blockchain::getTransactionLocation)
+            .map(TransactionLocation::getBlockHash)
+            .flatMap(blockchain::getBlockHeader));
+  }
+
+  private OptionalLong logsRange(final Object[] params) {
+    final Optional<FilterParameter> filter =
+        parameters.optional(params, 0, FilterParameter.class);
+    if (!filter.isPresent()) {
+      return OptionalLong.empty();
+    }
+    if (filter.get().getBlockhash() != null) {
+      return toOptionalLong(blockchain.getBlockHeader(filter.get().getBlockhash()));
+    }
+    final BlockParameter fromBlock = filter.get().getFromBlock();
+    final BlockParameter toBlock = filter.get().getToBlock();
+    if (!isFixed(fromBlock) || !isFixed(toBlock)) {
+      return OptionalLong.empty();
+    }
+    return toBlock.getNumber();
+  }
+
+  private static boolean isFixed(final BlockParameter blockParameter) {
+    return blockParameter != null && (blockParameter.isNumeric() || blockParameter.isEarliest());
+  }
+
+  private static OptionalLong toOptionalLong(final Optional<BlockHeader> header) {
+    return header.map(h -> OptionalLong.of(h.getNumber())).orElse(OptionalLong.empty());
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.cache;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent.EventType;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedObserver;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponseType;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.vertx.core.json.Json;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Caches the serialised results of JSON-RPC requests that can no longer change.
+ *
+ * <p>A result is only cached once the block it is pinned to (see {@link PinnedBlockResolver}) is
+ * buried under the configured number of confirmations. Entries remember the canonical hash of that
+ * block and are dropped if a chain reorganisation replaces it. The cache is bounded by the total
+ * size of the serialised keys and results.
+ */
+public class ResponseCache implements BlockAddedObserver {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final Pattern HEX_VALUE = Pattern.compile("0[xX][0-9a-fA-F]*");
+
+  private final Blockchain blockchain;
+  private final PinnedBlockResolver pinnedBlockResolver;
+  private final long confirmations;
+  private final Cache<String, CachedResult> cache;
+  private final AtomicLong sizeBytes = new AtomicLong();
+  private final LabelledMetric<Counter> hits;
+  private final LabelledMetric<Counter> misses;
+
+  public ResponseCache(
+      final ResponseCacheConfiguration config,
+      final Blockchain blockchain,
+      final MetricsSystem metricsSystem) {
+    this.blockchain = blockchain;
+    this.pinnedBlockResolver = new PinnedBlockResolver(blockchain);
+    this.confirmations = config.getConfirmations();
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(config.getMaxSizeBytes())
+            .<String, CachedResult>weigher(ResponseCache::weight)
+            .removalListener(
+                notification ->
+                    sizeBytes.addAndGet(-weight(notification.getKey(), notification.getValue())))
+            .build();
+
+    hits =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "response_cache_hits_total",
+            "Number of JSON-RPC requests served from the response cache",
+            "methodName");
+    misses =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.RPC,
+            "response_cache_misses_total",
+            "Number of cacheable JSON-RPC requests not found in the response cache",
+            "methodName");
+    metricsSystem.createLongGauge(
+        MetricCategory.RPC,
+        "response_cache_entries",
+        "Number of entries in the JSON-RPC response cache",
+        cache::size);
+    metricsSystem.createLongGauge(
+        MetricCategory.RPC,
+        "response_cache_size_bytes",
+        "Approximate size in bytes of the JSON-RPC response cache",
+        sizeBytes::get);
+  }
+
+  /**
+   * Wraps every method whose results can be pinned to a block so its responses are served from
+   * this cache.
+   *
+   * @param methods the JSON-RPC methods by name, replaced in place
+   */
+  public void decorate(final Map<String, JsonRpcMethod> methods) {
+    for (final String methodName : pinnedBlockResolver.supportedMethods()) {
+      methods.computeIfPresent(
+          methodName, (name, method) -> new CachingJsonRpcMethod(method, this));
+    }
+  }
+
+  JsonRpcResponse response(final JsonRpcRequest request, final JsonRpcMethod method) {
+    final OptionalLong pinnedBlock = pinnedBlockResolver.pinnedBlock(request);
+    if (!pinnedBlock.isPresent() || !isConfirmed(pinnedBlock.getAsLong())) {
+      return method.response(request);
+    }
+
+    final Optional<String> key = key(request);
+    if (!key.isPresent()) {
+      return method.response(request);
+    }
+
+    final CachedResult cached = cache.getIfPresent(key.get());
+    if (cached != null) {
+      hits.labels(request.getMethod()).inc();
+      return new JsonRpcSuccessResponse(request.getId(), new RawValue(cached.json));
+    }
+    misses.labels(request.getMethod()).inc();
+
+    final JsonRpcResponse response = method.response(request);
+    if (response.getType() == JsonRpcResponseType.SUCCESS) {
+      store(key.get(), pinnedBlock.getAsLong(), ((JsonRpcSuccessResponse) response).getResult());
+    }
+    return response;
+  }
+
+  private boolean isConfirmed(final long blockNumber) {
+    return blockNumber <= blockchain.getChainHeadBlockNumber() - confirmations;
+  }
+
+  private void store(final String key, final long blockNumber, final Object result) {
+    final Optional<Hash> blockHash = blockchain.getBlockHashByNumber(blockNumber);
+    if (!blockHash.isPresent()) {
+      return;
+    }
+    try {
+      final CachedResult value =
+          new CachedResult(blockNumber, blockHash.get(), Json.mapper.writeValueAsString(result));
+      sizeBytes.addAndGet(weight(key, value));
+      cache.put(key, value);
+    } catch (final JsonProcessingException e) {
+      LOG.debug("Unable to cache JSON-RPC result for {}", key, e);
+    }
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event, final Blockchain blockchain) {
+    if (event.getEventType() != EventType.CHAIN_REORG) {
+      return;
+    }
+    final Map<Long, Optional<Hash>> canonicalHashes = new HashMap<>();
+    cache
+        .asMap()
+        .values()
+        .removeIf(
+            entry ->
+                !canonicalHashes
+                    .computeIfAbsent(entry.blockNumber, blockchain::getBlockHashByNumber)
+                    .map(entry.blockHash::equals)
+                    .orElse(false));
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.size();
+  }
+
+  @VisibleForTesting
+  long sizeBytes() {
+    return sizeBytes.get();
+  }
+
+  private static Optional<String> key(final JsonRpcRequest request) {
+    try {
+      final JsonNode params = normaliseHex(Json.mapper.valueToTree(request.getParams()));
+      return Optional.of(request.getMethod() + '|' + Json.mapper.writeValueAsString(params));
+    } catch (final IllegalArgumentException | JsonProcessingException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Lowercases hex quantity and data values so requests differing only in their case share an
+   * entry. Field names and other strings are left alone, as the methods treat them case
+   * sensitively.
+   */
+  private static JsonNode normaliseHex(final JsonNode node) {
+    if (node.isTextual() && HEX_VALUE.matcher(node.textValue()).matches()) {
+      return TextNode.valueOf(node.textValue().toLowerCase(Locale.ROOT));
+    } else if (node.isArray()) {
+      final ArrayNode array = (ArrayNode) node;
+      for (int i = 0; i < array.size(); i++) {
+        array.set(i, normaliseHex(array.get(i)));
+      }
+    } else if (node.isObject()) {
+      final ObjectNode object = (ObjectNode) node;
+      object.fields().forEachRemaining(field -> field.setValue(normaliseHex(field.getValue())));
+    }
+    return node;
+  }
+
+  private static int weight(final String key, final CachedResult value) {
+    return key.length() + value.json.length();
+  }
+
+  private static class CachedResult {
+    private final long blockNumber;
+    private final Hash blockHash;
+    private final String json;
+
+    private CachedResult(final long blockNumber, final Hash blockHash, final String json) {
+      this.blockNumber = blockNumber;
+      this.blockHash = blockHash;
+      this.json = json;
+    }
+  }
+}
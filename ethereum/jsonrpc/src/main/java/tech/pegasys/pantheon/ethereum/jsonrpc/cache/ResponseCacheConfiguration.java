@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import picocli.CommandLine;
+
+public class ResponseCacheConfiguration {
+
+  public static final long DEFAULT_MAX_SIZE_BYTES = 0L;
+  public static final long DEFAULT_CONFIRMATIONS = 12L;
+
+  public static final ResponseCacheConfiguration DISABLED =
+      new ResponseCacheConfiguration(0L, DEFAULT_CONFIRMATIONS);
+
+  private final long maxSizeBytes;
+  private final long confirmations;
+
+  private ResponseCacheConfiguration(final long maxSizeBytes, final long confirmations) {
+    checkArgument(maxSizeBytes >= 0, "Response cache size must not be negative");
+    checkArgument(confirmations >= 0, "Response cache confirmations must not be negative");
+    this.maxSizeBytes = maxSizeBytes;
+    this.confirmations = confirmations;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public boolean isEnabled() {
+    return maxSizeBytes > 0;
+  }
+
+  public long getMaxSizeBytes() {
+    return maxSizeBytes;
+  }
+
+  /**
+   * The number of blocks that must have been built on top of the block a response is pinned to
+   * before the response may be cached.
+   *
+   * @return the required confirmation depth
+   */
+  public long getConfirmations() {
+    return confirmations;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("maxSizeBytes", maxSizeBytes)
+        .add("confirmations", confirmations)
+        .toString();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final ResponseCacheConfiguration that = (ResponseCacheConfiguration) o;
+    return maxSizeBytes == that.maxSizeBytes && confirmations == that.confirmations;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(maxSizeBytes, confirmations);
+  }
+
+  public static class Builder {
+
+    @CommandLine.Option(
+        names = "--Xrpc-response-cache-size",
+        hidden = true,
+        defaultValue = "0",
+        paramLabel = "<LONG>",
+        description =
+            "Maximum size in bytes of the cache of immutable historical JSON-RPC responses, 0 to disable (default: ${DEFAULT-VALUE})")
+    private long maxSizeBytes = DEFAULT_MAX_SIZE_BYTES;
+
+    @CommandLine.Option(
+        names = "--Xrpc-response-cache-confirmations",
+        hidden = true,
+        defaultValue = "12",
+        paramLabel = "<LONG>",
+        description =
+            "Number of confirmations before a JSON-RPC response is considered immutable and may be cached (default: ${DEFAULT-VALUE})")
+    private long confirmations = DEFAULT_CONFIRMATIONS;
+
+    public Builder maxSizeBytes(final long maxSizeBytes) {
+      this.maxSizeBytes = maxSizeBytes;
+      return this;
+    }
+
+    public Builder confirmations(final long confirmations) {
+      this.confirmations = confirmations;
+      return this;
+    }
+
+    public ResponseCacheConfiguration build() {
+      return new ResponseCacheConfiguration(maxSizeBytes, confirmations);
+    }
+  }
+}
@@ -25,13 +25,15 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.vertx.core.AbstractVerticle;
 
 /** Manages JSON-RPC filter events. */
-public class FilterManager extends AbstractVerticle {
+public class FilterManager extends AbstractVerticle implements LogsDispatcher.LogsListener {
 
   private static final int FILTER_TIMEOUT_CHECK_TIMER = 10000;
 
@@ -44,10 +46,25 @@ public class FilterManager extends AbstractVerticle {
       final TransactionPool transactionPool,
       final FilterIdGenerator filterIdGenerator,
       final FilterRepository filterRepository) {
+    this(
+        blockchainQueries,
+        transactionPool,
+        filterIdGenerator,
+        filterRepository,
+        LogsDispatcher.observing(blockchainQueries));
+  }
+
+  public FilterManager(
+      final BlockchainQueries blockchainQueries,
+      final TransactionPool transactionPool,
+      final FilterIdGenerator filterIdGenerator,
+      final FilterRepository filterRepository,
+      final LogsDispatcher logsDispatcher) {
     this.filterIdGenerator = filterIdGenerator;
     this.filterRepository = filterRepository;
     checkNotNull(blockchainQueries.getBlockchain());
     blockchainQueries.getBlockchain().observeBlockAdded(this::recordBlockEvent);
+    logsDispatcher.addListener(this);
     transactionPool.addTransactionListener(this::recordPendingTransactionEvent);
     this.blockchainQueries = blockchainQueries;
   }
@@ -132,23 +149,46 @@ public class FilterManager extends AbstractVerticle {
             filter.addBlockHash(blockHash);
           }
         });
+  }
 
-    checkBlockchainForMatchingLogsForFilters();
+  @Override
+  public boolean isListening() {
+    return !filterRepository.getFiltersOfType(LogFilter.class).isEmpty();
   }
 
-  private void checkBlockchainForMatchingLogsForFilters() {
-    final Collection<LogFilter> logFilters = filterRepository.getFiltersOfType(LogFilter.class);
-    logFilters.forEach(
-        (filter) -> {
-          final long headBlockNumber = blockchainQueries.headBlockNumber();
-          final long toBlockNumber =
-              filter.getToBlock().getNumber().orElse(blockchainQueries.headBlockNumber());
-          final List<LogWithMetadata> logs =
-              blockchainQueries.matchingLogs(headBlockNumber, toBlockNumber, filter.getLogsQuery());
-          filter.addLog(logs);
+  @Override
+  public void onLogs(final List<LogWithMetadata> logs) {
+    final LogsIndex<LogFilter> index = new LogsIndex<>();
+    filterRepository
+        .getFiltersOfType(LogFilter.class)
+        .forEach(filter -> index.add(filter.getLogsQuery(), filter));
+    if (index.isEmpty()) {
+      return;
+    }
+
+    final Map<LogFilter, List<LogWithMetadata>> matches = new HashMap<>();
+    for (final LogWithMetadata log : logs) {
+      index.forEachMatch(
+          log,
+          (filter, matchingLog) -> {
+            if (isBeforeToBlock(filter, matchingLog)) {
+              matches.computeIfAbsent(filter, key -> new ArrayList<>()).add(matchingLog);
+            }
+          });
+    }
+
+    matches.forEach(
+        (filter, filterLogs) -> {
+          synchronized (filter) {
+            filter.addLog(filterLogs);
+          }
         });
   }
 
+  private static boolean isBeforeToBlock(final LogFilter filter, final LogWithMetadata log) {
+    return log.getBlockNumber() <= filter.getToBlock().getNumber().orElse(Long.MAX_VALUE);
+  }
+
   @VisibleForTesting
   void recordPendingTransactionEvent(final Transaction transaction) {
     final Collection<PendingTransactionFilter> pendingTransactionFilters =
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedObserver;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Loads the logs of each new canonical block once and hands them to every interested listener.
+ *
+ * <p>Logs from transactions added to the canonical chain are dispatched first, followed by logs
+ * from blocks removed from it by a reorganisation, which are flagged as removed. The removed logs
+ * are read from the removed blocks' receipts because their transactions are no longer indexed.
+ */
+public class LogsDispatcher implements BlockAddedObserver {
+
+  private final BlockchainQueries blockchainQueries;
+  private final List<LogsListener> listeners = new CopyOnWriteArrayList<>();
+
+  public LogsDispatcher(final BlockchainQueries blockchainQueries) {
+    this.blockchainQueries = blockchainQueries;
+  }
+
+  /**
+   * Creates a dispatcher and registers it to observe the queried blockchain.
+   *
+   * @param blockchainQueries the blockchain queries to load logs with
+   * @return the dispatcher
+   */
+  public static LogsDispatcher observing(final BlockchainQueries blockchainQueries) {
+    final LogsDispatcher dispatcher = new LogsDispatcher(blockchainQueries);
+    blockchainQueries.getBlockchain().observeBlockAdded(dispatcher);
+    return dispatcher;
+  }
+
+  public void addListener(final LogsListener listener) {
+    listeners.add(listener);
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event, final Blockchain blockchain) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+
+    final List<LogsListener> activeListeners = new ArrayList<>(listeners.size());
+    for (final LogsListener listener : listeners) {
+      if (listener.isListening()) {
+        activeListeners.add(listener);
+      }
+    }
+    if (activeListeners.isEmpty()) {
+      return;
+    }
+
+    final List<LogWithMetadata> logs =
+        new ArrayList<>(blockchainQueries.transactionLogs(event.getAddedTransactions()));
+    logs.addAll(blockchainQueries.blockLogs(event.getRemovedBlockHashes()));
+    if (logs.isEmpty()) {
+      return;
+    }
+
+    activeListeners.forEach(listener -> listener.onLogs(logs));
+  }
+
+  /** Receives the logs of new canonical blocks. */
+  public interface LogsListener {
+
+    /**
+     * Whether the listener currently has any filters installed. Logs are only loaded when at least
+     * one listener is listening.
+     *
+     * @return true if the listener wants to receive logs
+     */
+    boolean isListening();
+
+    /**
+     * Called with the logs of a new canonical block, or of a reorganisation.
+     *
+     * @param logs the logs, which must not be modified
+     */
+    void onLogs(List<LogWithMetadata> logs);
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter;
+
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Routes logs to the {@link LogsQuery logs queries} they match without testing every query.
+ *
+ * <p>Queries naming one or more addresses are indexed by address. Queries that match any address
+ * but require particular first topics are indexed by those topics. Only the remaining queries,
+ * which constrain neither, are tested against every log.
+ *
+ * @param <T> the type of value associated with each query
+ */
+public class LogsIndex<T> {
+
+  private final Map<Address, List<Entry<T>>> byAddress = new HashMap<>();
+  private final Map<LogTopic, List<Entry<T>>> byFirstTopic = new HashMap<>();
+  private final List<Entry<T>> unindexed = new ArrayList<>();
+  private int size = 0;
+
+  public void add(final LogsQuery query, final T value) {
+    final Entry<T> entry = new Entry<>(query, value);
+    size++;
+
+    if (!query.getAddresses().isEmpty()) {
+      for (final Address address : new HashSet<>(query.getAddresses())) {
+        byAddress.computeIfAbsent(address, key -> new ArrayList<>()).add(entry);
+      }
+      return;
+    }
+
+    final List<List<LogTopic>> topics = query.getTopics();
+    if (!topics.isEmpty() && !topics.get(0).isEmpty() && !topics.get(0).contains(null)) {
+      for (final LogTopic topic : new HashSet<>(topics.get(0))) {
+        byFirstTopic.computeIfAbsent(topic, key -> new ArrayList<>()).add(entry);
+      }
+      return;
+    }
+
+    unindexed.add(entry);
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Calls the action once for every value whose query matches the log.
+   *
+   * @param log the log to route
+   * @param action called with the value of each matching query and the log
+   */
+  public void forEachMatch(final LogWithMetadata log, final BiConsumer<T, LogWithMetadata> action) {
+    dispatch(byAddress.getOrDefault(log.getAddress(), Collections.emptyList()), log, action);
+    if (!log.getTopics().isEmpty()) {
+      dispatch(
+          byFirstTopic.getOrDefault(log.getTopics().get(0), Collections.emptyList()), log, action);
+    }
+    dispatch(unindexed, log, action);
+  }
+
+  private void dispatch(
+      final List<Entry<T>> candidates,
+      final LogWithMetadata log,
+      final BiConsumer<T, LogWithMetadata> action) {
+    for (final Entry<T> candidate : candidates) {
+      if (candidate.query.matches(log)) {
+        action.accept(candidate.value, log);
+      }
+    }
+  }
+
+  private static class Entry<T> {
+    private final LogsQuery query;
+    private final T value;
+
+    private Entry(final LogsQuery query, final T value) {
+      this.query = query;
+      this.value = value;
+    }
+  }
+}
@@ -16,6 +16,7 @@ import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.LogTopic;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.TopicsParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
 
 import java.util.Arrays;
 import java.util.List;
@@ -33,7 +34,23 @@ public class LogsQuery {
   }
 
   public boolean matches(final Log log) {
-    return matchesAddresses(log.getLogger()) && matchesTopics(log.getTopics());
+    return matches(log.getLogger(), log.getTopics());
+  }
+
+  public boolean matches(final LogWithMetadata log) {
+    return matches(log.getAddress(), log.getTopics());
+  }
+
+  private boolean matches(final Address address, final List<LogTopic> topics) {
+    return matchesAddresses(address) && matchesTopics(topics);
+  }
+
+  List<Address> getAddresses() {
+    return queryAddresses;
+  }
+
+  List<List<LogTopic>> getTopics() {
+    return queryTopics;
   }
 
   private boolean matchesAddresses(final Address address) {
@@ -22,6 +22,7 @@ import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
@@ -33,7 +34,9 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -141,7 +144,7 @@ public class BlockchainQueries {
   public Integer getTransactionCount(final Hash blockHeaderHash) {
     return blockchain
         .getBlockBody(blockHeaderHash)
-        .map(body -> body.getTransactions().size())
+        .map(BlockBody::getTransactionCount)
         .orElse(-1);
   }
 
@@ -317,10 +320,7 @@ public class BlockchainQueries {
                                 .getTotalDifficultyByHash(blockHeaderHash)
                                 .map(
                                     (td) -> {
-                                      final List<Hash> txs =
-                                          body.getTransactions().stream()
-                                              .map(Transaction::hash)
-                                              .collect(Collectors.toList());
+                                      final List<Hash> txs = body.getTransactionHashes();
                                       final List<Hash> ommers =
                                           body.getOmmers().stream()
                                               .map(BlockHeader::getHash)
@@ -520,6 +520,69 @@ public class BlockchainQueries {
         receipts, number, query, blockhash, matchingLogs, transaction, logHasBeenRemoved);
   }
 
+  /**
+   * Retrieve every log emitted by the given transactions, in transaction order. The receipts of
+   * each containing block are loaded once, however many of the transactions it includes.
+   * Transactions that are not on the canonical chain are skipped.
+   *
+   * @param transactions The transactions whose logs to retrieve
+   * @return the logs emitted by the transactions
+   */
+  public List<LogWithMetadata> transactionLogs(final List<Transaction> transactions) {
+    final List<LogWithMetadata> logs = Lists.newArrayList();
+    final Map<Hash, Optional<BlockHeader>> headers = new HashMap<>();
+    final Map<Hash, Optional<List<TransactionReceipt>>> receipts = new HashMap<>();
+    for (final Transaction transaction : transactions) {
+      final Hash transactionHash = transaction.hash();
+      final Optional<TransactionLocation> location =
+          blockchain.getTransactionLocation(transactionHash);
+      if (!location.isPresent()) {
+        continue;
+      }
+      final Hash blockhash = location.get().getBlockHash();
+      final Optional<BlockHeader> header =
+          headers.computeIfAbsent(blockhash, blockchain::getBlockHeader);
+      final Optional<List<TransactionReceipt>> blockReceipts =
+          receipts.computeIfAbsent(blockhash, blockchain::getTxReceipts);
+      if (!header.isPresent() || !blockReceipts.isPresent()) {
+        continue;
+      }
+      final int transactionIndex = location.get().getTransactionIndex();
+      final List<Log> transactionLogs = blockReceipts.get().get(transactionIndex).getLogs();
+      for (int logIndex = 0; logIndex < transactionLogs.size(); ++logIndex) {
+        final Log log = transactionLogs.get(logIndex);
+        logs.add(
+            LogWithMetadata.create(
+                logIndex,
+                header.get().getNumber(),
+                blockhash,
+                transactionHash,
+                transactionIndex,
+                log.getLogger(),
+                log.getData(),
+                log.getTopics(),
+                false));
+      }
+    }
+    return logs;
+  }
+
+  /**
+   * Retrieve every log in the given blocks, in block order. Logs of blocks that are not on the
+   * canonical chain, such as blocks removed by a chain reorganisation, are flagged as removed.
+   *
+   * @param blockHashes The hashes of the blocks whose logs to retrieve
+   * @return the logs in the blocks
+   */
+  public List<LogWithMetadata> blockLogs(final List<Hash> blockHashes) {
+    final LogsQuery allLogs = new LogsQuery.Builder().build();
+    final List<LogWithMetadata> logs = Lists.newArrayList();
+    for (final Hash blockHash : blockHashes) {
+      logs.addAll(matchingLogs(blockHash, allLogs));
+    }
+    return logs;
+  }
+
   private List<LogWithMetadata> generateLogWithMetadata(
       final List<TransactionReceipt> receipts,
       final long number,
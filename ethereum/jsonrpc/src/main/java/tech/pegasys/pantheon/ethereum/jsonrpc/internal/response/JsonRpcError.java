@@ -29,6 +29,9 @@ public enum JsonRpcError {
   INTERNAL_ERROR(-32603, "Internal error"),
   METHOD_NOT_ENABLED(-32604, "Method not enabled"),
 
+  // Admission control
+  SERVER_BUSY(-32005, "Server busy, request rejected"),
+
   // P2P related errors
   P2P_DISABLED(-32000, "P2P has been disabled. This functionality is not available"),
   P2P_NETWORK_NOT_RUNNING(-32000, "P2P network is not running"),
@@ -14,6 +14,7 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.websocket;
 
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApis;
+import tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead.BulkheadConfiguration;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -36,6 +37,7 @@ public class WebSocketConfiguration {
   private boolean authenticationEnabled = false;
   private String authenticationCredentialsFile;
   private Collection<String> hostsWhitelist = Collections.singletonList("localhost");
+  private BulkheadConfiguration bulkheadConfiguration = BulkheadConfiguration.DISABLED;
 
   public static WebSocketConfiguration createDefault() {
     final WebSocketConfiguration config = new WebSocketConfiguration();
@@ -89,6 +91,7 @@ public class WebSocketConfiguration {
         .add("rpcApis", rpcApis)
         .add("authenticationEnabled", authenticationEnabled)
         .add("authenticationCredentialsFile", authenticationCredentialsFile)
+        .add("bulkheadConfiguration", bulkheadConfiguration)
         .toString();
   }
 
@@ -135,4 +138,12 @@ public class WebSocketConfiguration {
   public Collection<String> getHostsWhitelist() {
     return Collections.unmodifiableCollection(this.hostsWhitelist);
   }
+
+  public BulkheadConfiguration getBulkheadConfiguration() {
+    return bulkheadConfiguration;
+  }
+
+  public void setBulkheadConfiguration(final BulkheadConfiguration bulkheadConfiguration) {
+    this.bulkheadConfiguration = bulkheadConfiguration;
+  }
 }
@@ -14,11 +14,15 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.websocket;
 
 import tech.pegasys.pantheon.ethereum.jsonrpc.authentication.AuthenticationService;
 import tech.pegasys.pantheon.ethereum.jsonrpc.authentication.AuthenticationUtils;
+import tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead.BulkheadConfiguration;
+import tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead.JsonRpcBulkheads;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcUnauthorizedResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.methods.WebSocketRpcRequest;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
 import java.util.Map;
 import java.util.Optional;
@@ -27,6 +31,7 @@ import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -37,10 +42,22 @@ public class WebSocketRequestHandler {
 
   private final Vertx vertx;
   private final Map<String, JsonRpcMethod> methods;
+  private final JsonRpcBulkheads bulkheads;
 
   public WebSocketRequestHandler(final Vertx vertx, final Map<String, JsonRpcMethod> methods) {
+    this(vertx, methods, BulkheadConfiguration.DISABLED, new NoOpMetricsSystem());
+  }
+
+  public WebSocketRequestHandler(
+      final Vertx vertx,
+      final Map<String, JsonRpcMethod> methods,
+      final BulkheadConfiguration bulkheadConfiguration,
+      final MetricsSystem metricsSystem) {
     this.vertx = vertx;
     this.methods = methods;
+    this.bulkheads =
+        JsonRpcBulkheads.create(
+            vertx, "json-rpc-ws", bulkheadConfiguration, metricsSystem, methods.keySet());
   }
 
   public void handle(final String id, final Buffer buffer) {
@@ -52,47 +69,73 @@ public class WebSocketRequestHandler {
       final String id,
       final Buffer buffer,
       final Optional<User> user) {
-    vertx.executeBlocking(
-        future -> {
-          final WebSocketRpcRequest request;
-          try {
-            request = buffer.toJsonObject().mapTo(WebSocketRpcRequest.class);
-          } catch (final IllegalArgumentException | DecodeException e) {
-            LOG.debug("Error mapping json to WebSocketRpcRequest", e);
-            future.complete(new JsonRpcErrorResponse(null, JsonRpcError.INVALID_REQUEST));
-            return;
-          }
+    final JsonObject json;
+    try {
+      json = buffer.toJsonObject();
+    } catch (final DecodeException e) {
+      LOG.debug("Error decoding WebSocketRpcRequest json", e);
+      replyToClient(
+          id, Json.encodeToBuffer(new JsonRpcErrorResponse(null, JsonRpcError.INVALID_REQUEST)));
+      return;
+    }
+
+    final Object methodName = json.getValue("method");
+    final boolean accepted =
+        bulkheads.execute(
+            methodName instanceof String ? (String) methodName : null,
+            future -> {
+              final WebSocketRpcRequest request;
+              try {
+                request = json.mapTo(WebSocketRpcRequest.class);
+              } catch (final IllegalArgumentException e) {
+                LOG.debug("Error mapping json to WebSocketRpcRequest", e);
+                future.complete(new JsonRpcErrorResponse(null, JsonRpcError.INVALID_REQUEST));
+                return;
+              }
+
+              if (!methods.containsKey(request.getMethod())) {
+                future.complete(
+                    new JsonRpcErrorResponse(request.getId(), JsonRpcError.METHOD_NOT_FOUND));
+                LOG.debug("Can't find method {}", request.getMethod());
+                return;
+              }
+              final JsonRpcMethod method = methods.get(request.getMethod());
+              try {
+                LOG.debug("WS-RPC request -> {}", request.getMethod());
+                request.setConnectionId(id);
+                if (AuthenticationUtils.isPermitted(authenticationService, user, method)) {
+                  future.complete(method.response(request));
+                } else {
+                  future.complete(
+                      new JsonRpcUnauthorizedResponse(request.getId(), JsonRpcError.UNAUTHORIZED));
+                }
+              } catch (final Exception e) {
+                LOG.error(JsonRpcError.INTERNAL_ERROR.getMessage(), e);
+                future.complete(
+                    new JsonRpcErrorResponse(request.getId(), JsonRpcError.INTERNAL_ERROR));
+              }
+            },
+            true,
+            result -> {
+              if (result.succeeded()) {
+                replyToClient(id, Json.encodeToBuffer(result.result()));
+              } else {
+                replyToClient(
+                    id,
+                    Json.encodeToBuffer(
+                        new JsonRpcErrorResponse(null, JsonRpcError.INTERNAL_ERROR)));
+              }
+            });
+    if (!accepted) {
+      replyToClient(
+          id,
+          Json.encodeToBuffer(
+              new JsonRpcErrorResponse(json.getValue("id"), JsonRpcError.SERVER_BUSY)));
+    }
+  }
 
-          if (!methods.containsKey(request.getMethod())) {
-            future.complete(
-                new JsonRpcErrorResponse(request.getId(), JsonRpcError.METHOD_NOT_FOUND));
-            LOG.debug("Can't find method {}", request.getMethod());
-            return;
-          }
-          final JsonRpcMethod method = methods.get(request.getMethod());
-          try {
-            LOG.debug("WS-RPC request -> {}", request.getMethod());
-            request.setConnectionId(id);
-            if (AuthenticationUtils.isPermitted(authenticationService, user, method)) {
-              future.complete(method.response(request));
-            } else {
-              future.complete(
-                  new JsonRpcUnauthorizedResponse(request.getId(), JsonRpcError.UNAUTHORIZED));
-            }
-          } catch (final Exception e) {
-            LOG.error(JsonRpcError.INTERNAL_ERROR.getMessage(), e);
-            future.complete(new JsonRpcErrorResponse(request.getId(), JsonRpcError.INTERNAL_ERROR));
-          }
-        },
-        result -> {
-          if (result.succeeded()) {
-            replyToClient(id, Json.encodeToBuffer(result.result()));
-          } else {
-            replyToClient(
-                id,
-                Json.encodeToBuffer(new JsonRpcErrorResponse(null, JsonRpcError.INTERNAL_ERROR)));
-          }
-        });
+  public void close() {
+    bulkheads.close();
   }
 
   private void replyToClient(final String id, final Buffer request) {
@@ -194,6 +194,7 @@ public class WebSocketService {
     if (httpServer == null) {
       return CompletableFuture.completedFuture(null);
     }
+    websocketRequestHandler.close();
 
     final CompletableFuture<?> resultFuture = new CompletableFuture<>();
 
@@ -259,7 +259,7 @@ public class EthJsonRpcHttpBySpecTest extends AbstractEthJsonRpcHttpServiceTest
       final int expectedStatusCode = spec.getInteger("statusCode");
       assertThat(resp.code()).isEqualTo(expectedStatusCode);
 
-      final String expectedRespBody = spec.getJsonObject("response").encodePrettily();
+      final String expectedRespBody = spec.getJsonObject("response").encode();
       assertThat(resp.body().string()).isEqualTo(expectedRespBody);
     }
   }
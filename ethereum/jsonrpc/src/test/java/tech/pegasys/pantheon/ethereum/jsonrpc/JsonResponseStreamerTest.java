@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class JsonResponseStreamerTest {
+
+  private final HttpServerResponse response = mock(HttpServerResponse.class);
+
+  @Before
+  public void setUp() {
+    when(response.setStatusCode(anyInt())).thenReturn(response);
+  }
+
+  @Test
+  public void smallResponseIsSentInOnePiece() {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response, 16);
+    streamer.write(bytes("{\"a\":1}"), 0, 7);
+    streamer.close();
+
+    verify(response, never()).setChunked(true);
+    verify(response, never()).write(any(Buffer.class));
+    final ArgumentCaptor<Buffer> captor = ArgumentCaptor.forClass(Buffer.class);
+    verify(response).end(captor.capture());
+    assertThat(captor.getValue().toString()).isEqualTo("{\"a\":1}");
+  }
+
+  @Test
+  public void largeResponseIsChunked() {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response, 4);
+    final byte[] body = bytes("0123456789");
+    streamer.write(body, 0, body.length);
+    streamer.write('a');
+    streamer.write('b');
+    streamer.close();
+
+    verify(response).setChunked(true);
+    final ArgumentCaptor<Buffer> written = ArgumentCaptor.forClass(Buffer.class);
+    verify(response).write(written.capture());
+    final ArgumentCaptor<Buffer> remainder = ArgumentCaptor.forClass(Buffer.class);
+    verify(response).end(remainder.capture());
+    assertThat(written.getValue().toString()).isEqualTo("0123456789");
+    assertThat(remainder.getValue().toString()).isEqualTo("ab");
+  }
+
+  @Test
+  public void closeIsIdempotent() {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response, 16);
+    streamer.close();
+    streamer.close();
+
+    verify(response, times(1)).end(any(Buffer.class));
+  }
+
+  @Test
+  public void abortBeforeAnyOutputSendsServerError() {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response, 16);
+    streamer.write('{');
+    streamer.abort();
+
+    verify(response).setStatusCode(500);
+    verify(response).end();
+    verify(response, never()).close();
+  }
+
+  @Test
+  public void abortAfterChunkWrittenClosesConnection() {
+    final JsonResponseStreamer streamer = new JsonResponseStreamer(response, 2);
+    streamer.write(bytes("{\"a\""), 0, 4);
+    streamer.abort();
+    streamer.close();
+
+    verify(response).close();
+    verify(response, never()).end(any(Buffer.class));
+  }
+
+  private static byte[] bytes(final String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Vertx;
+import org.junit.After;
+import org.junit.Test;
+
+public class JsonRpcBulkheadsTest {
+
+  private static final String EXPENSIVE_METHOD = "debug_traceBlock";
+  private static final String CHEAP_METHOD = "eth_blockNumber";
+
+  private final Vertx vertx = Vertx.vertx();
+  private JsonRpcBulkheads bulkheads;
+
+  @After
+  public void tearDown() {
+    if (bulkheads != null) {
+      bulkheads.close();
+    }
+    vertx.close();
+  }
+
+  @Test
+  public void disabledBulkheadsNeverReject() throws Exception {
+    bulkheads = create(BulkheadConfiguration.DISABLED);
+    final CompletableFuture<Object> result = new CompletableFuture<>();
+
+    final boolean accepted =
+        bulkheads.execute(
+            EXPENSIVE_METHOD,
+            future -> future.complete("done"),
+            false,
+            r -> result.complete(r.result()));
+
+    assertThat(accepted).isTrue();
+    assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+  }
+
+  @Test
+  public void rejectsWhenMethodClassIsFull() throws Exception {
+    bulkheads =
+        create(
+            BulkheadConfiguration.builder()
+                .enabled(true)
+                .expensiveMethods(singletonList(EXPENSIVE_METHOD))
+                .expensivePoolSize(1)
+                .expensiveMaxQueued(0)
+                .build());
+    final CountDownLatch release = new CountDownLatch(1);
+    final CompletableFuture<Object> firstResult = new CompletableFuture<>();
+
+    final boolean firstAccepted =
+        bulkheads.execute(
+            EXPENSIVE_METHOD,
+            future -> {
+              awaitUninterruptibly(release);
+              future.complete("first");
+            },
+            false,
+            r -> firstResult.complete(r.result()));
+    final boolean secondAccepted =
+        bulkheads.execute(EXPENSIVE_METHOD, future -> future.complete("second"), false, r -> {});
+
+    assertThat(firstAccepted).isTrue();
+    assertThat(secondAccepted).isFalse();
+
+    release.countDown();
+    assertThat(firstResult.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+  }
+
+  @Test
+  public void cheapMethodsAreNotBlockedByFullExpensiveClass() throws Exception {
+    bulkheads =
+        create(
+            BulkheadConfiguration.builder()
+                .enabled(true)
+                .expensiveMethods(singletonList(EXPENSIVE_METHOD))
+                .expensivePoolSize(1)
+                .expensiveMaxQueued(0)
+                .build());
+    final CountDownLatch release = new CountDownLatch(1);
+    final CompletableFuture<Object> cheapResult = new CompletableFuture<>();
+
+    bulkheads.execute(EXPENSIVE_METHOD, future -> awaitUninterruptibly(release), false, r -> {});
+    final boolean cheapAccepted =
+        bulkheads.execute(
+            CHEAP_METHOD,
+            future -> future.complete("cheap"),
+            false,
+            r -> cheapResult.complete(r.result()));
+
+    assertThat(cheapAccepted).isTrue();
+    assertThat(cheapResult.get(5, TimeUnit.SECONDS)).isEqualTo("cheap");
+    release.countDown();
+  }
+
+  @Test
+  public void acceptsAgainOnceCapacityIsReleased() throws Exception {
+    bulkheads =
+        create(
+            BulkheadConfiguration.builder()
+                .enabled(true)
+                .expensiveMethods(singletonList(EXPENSIVE_METHOD))
+                .expensivePoolSize(1)
+                .expensiveMaxQueued(0)
+                .build());
+    final CompletableFuture<Object> firstResult = new CompletableFuture<>();
+    bulkheads.execute(
+        EXPENSIVE_METHOD,
+        future -> future.complete("first"),
+        false,
+        r -> firstResult.complete(r.result()));
+    firstResult.get(5, TimeUnit.SECONDS);
+
+    final CompletableFuture<Object> secondResult = new CompletableFuture<>();
+    final boolean secondAccepted =
+        bulkheads.execute(
+            EXPENSIVE_METHOD,
+            future -> future.complete("second"),
+            false,
+            r -> secondResult.complete(r.result()));
+
+    assertThat(secondAccepted).isTrue();
+    assertThat(secondResult.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+  }
+
+  private JsonRpcBulkheads create(final BulkheadConfiguration configuration) {
+    return JsonRpcBulkheads.create(
+        vertx,
+        "test",
+        configuration,
+        new NoOpMetricsSystem(),
+        new HashSet<>(Arrays.asList(EXPENSIVE_METHOD, CHEAP_METHOD)));
+  }
+
+  private static void awaitUninterruptibly(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent.EventType;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.jsonrpc.RpcMethod;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResponseCacheTest {
+
+  private static final String BALANCE = RpcMethod.ETH_GET_BALANCE.getMethodName();
+  private static final String ADDRESS = "0x0000000000000000000000000000000000000001";
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final JsonRpcMethod method = mock(JsonRpcMethod.class);
+  private ResponseCache cache;
+
+  @Before
+  public void setUp() {
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(100L);
+    when(blockchain.getBlockHashByNumber(anyLong())).thenReturn(Optional.of(Hash.ZERO));
+    when(method.response(any())).thenReturn(new JsonRpcSuccessResponse(null, "0x1"));
+    cache =
+        new ResponseCache(
+            ResponseCacheConfiguration.builder().maxSizeBytes(1024).confirmations(10).build(),
+            blockchain,
+            new NoOpMetricsSystem());
+  }
+
+  @Test
+  public void confirmedResponseIsServedFromCache() {
+    final JsonRpcResponse first = cache.response(balanceRequest("0x5a"), method);
+    final JsonRpcResponse second = cache.response(balanceRequest("0x5A"), method);
+
+    verify(method, times(1)).response(any());
+    assertThat(((JsonRpcSuccessResponse) first).getResult()).isEqualTo("0x1");
+    assertThat(((JsonRpcSuccessResponse) second).getResult()).isEqualTo(new RawValue("\"0x1\""));
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.sizeBytes()).isGreaterThan(0);
+  }
+
+  @Test
+  public void hexValuesAreNormalisedInCacheKey() {
+    cache.response(callRequest("data", "0xABCD"), method);
+    cache.response(callRequest("data", "0xabcd"), method);
+
+    verify(method, times(1)).response(any());
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void fieldNamesAndOtherStringsAreNotNormalisedInCacheKey() {
+    cache.response(callRequest("data", "0xabcd"), method);
+    cache.response(callRequest("Data", "0xabcd"), method);
+    cache.response(callRequest("data", "Pending"), method);
+    cache.response(callRequest("data", "pending"), method);
+
+    verify(method, times(4)).response(any());
+    assertThat(cache.size()).isEqualTo(4);
+  }
+
+  @Test
+  public void responseRelativeToChainHeadIsNotCached() {
+    cache.response(balanceRequest("latest"), method);
+    cache.response(balanceRequest("latest"), method);
+
+    verify(method, times(2)).response(any());
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void responseWithinConfirmationDepthIsNotCached() {
+    cache.response(balanceRequest("0x5b"), method);
+    cache.response(balanceRequest("0x5b"), method);
+
+    verify(method, times(2)).response(any());
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void errorResponseIsNotCached() {
+    when(method.response(any()))
+        .thenReturn(new JsonRpcErrorResponse(null, JsonRpcError.INTERNAL_ERROR));
+
+    cache.response(balanceRequest("0x1"), method);
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void reorgEvictsEntriesForReplacedBlocks() {
+    cache.response(balanceRequest("0x1"), method);
+    cache.response(balanceRequest("0x2"), method);
+    assertThat(cache.size()).isEqualTo(2);
+
+    when(blockchain.getBlockHashByNumber(2L)).thenReturn(Optional.of(Hash.EMPTY));
+    final BlockAddedEvent event = mock(BlockAddedEvent.class);
+    when(event.getEventType()).thenReturn(EventType.CHAIN_REORG);
+    cache.onBlockAdded(event, blockchain);
+
+    assertThat(cache.size()).isEqualTo(1);
+    cache.response(balanceRequest("0x1"), method);
+    verify(method, times(2)).response(any());
+  }
+
+  @Test
+  public void cacheIsBoundedBySize() {
+    for (int i = 0; i < 50; i++) {
+      cache.response(balanceRequest("0x" + Integer.toHexString(i)), method);
+    }
+
+    assertThat(cache.sizeBytes()).isLessThanOrEqualTo(1024);
+    assertThat(cache.size()).isLessThan(50);
+  }
+
+  @Test
+  public void decorateOnlyWrapsPinnableMethods() {
+    final JsonRpcMethod other = mock(JsonRpcMethod.class);
+    final Map<String, JsonRpcMethod> methods = new HashMap<>();
+    methods.put(BALANCE, method);
+    methods.put(RpcMethod.ETH_BLOCK_NUMBER.getMethodName(), other);
+
+    cache.decorate(methods);
+
+    assertThat(methods.get(BALANCE)).isInstanceOf(CachingJsonRpcMethod.class);
+    assertThat(methods.get(RpcMethod.ETH_BLOCK_NUMBER.getMethodName())).isSameAs(other);
+  }
+
+  private JsonRpcRequest callRequest(final String field, final String value) {
+    final Map<String, String> call = new HashMap<>();
+    call.put("to", ADDRESS);
+    call.put(field, value);
+    return new JsonRpcRequest(
+        "2.0", RpcMethod.ETH_CALL.getMethodName(), new Object[] {call, "0x1"});
+  }
+
+  private JsonRpcRequest balanceRequest(final String block) {
+    return new JsonRpcRequest("2.0", BALANCE, new Object[] {ADDRESS, block});
+  }
+}
@@ -76,34 +76,30 @@ public class FilterManagerLogFilterTest {
   }
 
   @Test
-  public void shouldCheckMatchingLogsWhenRecordedNewBlockEvent() {
-    when(blockchainQueries.headBlockNumber()).thenReturn(100L);
+  public void shouldOnlyListenForLogsWhenLogFilterInstalled() {
+    assertThat(filterManager.isListening()).isFalse();
 
-    filterManager.installLogFilter(latest(), latest(), logsQuery());
-    recordNewBlockEvent();
+    filterManager.installBlockFilter();
+    assertThat(filterManager.isListening()).isFalse();
 
-    verify(blockchainQueries).matchingLogs(eq(100L), eq(100L), refEq(logsQuery()));
+    filterManager.installLogFilter(latest(), latest(), logsQuery());
+    assertThat(filterManager.isListening()).isTrue();
   }
 
   @Test
-  public void shouldUseHeadBlockAsFromBlockNumberWhenCheckingLogsForChanges() {
-    when(blockchainQueries.headBlockNumber()).thenReturn(3L);
-
-    filterManager.installLogFilter(blockNum(1L), blockNum(10L), logsQuery());
+  public void shouldNotQueryLogsPerFilterWhenRecordedNewBlockEvent() {
+    filterManager.installLogFilter(latest(), latest(), logsQuery());
     recordNewBlockEvent();
 
-    verify(blockchainQueries).matchingLogs(eq(3L), eq(10L), refEq(logsQuery()));
+    verify(blockchainQueries, times(0)).matchingLogs(anyLong(), anyLong(), any());
   }
 
   @Test
   public void shouldReturnLogWhenLogFilterMatches() {
     final LogWithMetadata log = logWithMetadata();
-    when(blockchainQueries.headBlockNumber()).thenReturn(100L);
-    when(blockchainQueries.matchingLogs(eq(100L), eq(100L), refEq(logsQuery())))
-        .thenReturn(Lists.newArrayList(log));
 
     final String filterId = filterManager.installLogFilter(latest(), latest(), logsQuery());
-    recordNewBlockEvent();
+    filterManager.onLogs(Lists.newArrayList(log));
 
     final List<LogWithMetadata> retrievedLogs = filterManager.logsChanges(filterId);
 
@@ -111,13 +107,37 @@ public class FilterManagerLogFilterTest {
   }
 
   @Test
-  public void shouldCheckLogsForEveryLogFilter() {
-    filterManager.installLogFilter(latest(), latest(), logsQuery());
-    filterManager.installLogFilter(latest(), latest(), logsQuery());
-    filterManager.installLogFilter(latest(), latest(), logsQuery());
-    recordNewBlockEvent();
+  public void shouldNotReturnLogWhenLogFilterDoesNotMatch() {
+    final LogsQuery otherAddress =
+        new LogsQuery.Builder().address(Address.fromHexString("0x1")).build();
 
-    verify(blockchainQueries, times(3)).matchingLogs(anyLong(), anyLong(), any());
+    final String filterId = filterManager.installLogFilter(latest(), latest(), otherAddress);
+    filterManager.onLogs(Lists.newArrayList(logWithMetadata()));
+
+    assertThat(filterManager.logsChanges(filterId).size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotReturnLogAfterFilterToBlock() {
+    final String filterId =
+        filterManager.installLogFilter(blockNum(1L), blockNum(10L), logsQuery());
+    filterManager.onLogs(Lists.newArrayList(logWithMetadata()));
+
+    assertThat(filterManager.logsChanges(filterId).size()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldAddLogsToEveryMatchingLogFilter() {
+    final LogsQuery byAddress =
+        new LogsQuery.Builder().address(Address.fromHexString("0x0")).build();
+    final String first = filterManager.installLogFilter(latest(), latest(), logsQuery());
+    final String second = filterManager.installLogFilter(latest(), latest(), logsQuery());
+    final String third = filterManager.installLogFilter(latest(), latest(), byAddress);
+    filterManager.onLogs(Lists.newArrayList(logWithMetadata()));
+
+    assertThat(filterManager.logsChanges(first).size()).isEqualTo(1);
+    assertThat(filterManager.logsChanges(second).size()).isEqualTo(1);
+    assertThat(filterManager.logsChanges(third).size()).isEqualTo(1);
   }
 
   @Test
@@ -130,12 +150,9 @@ public class FilterManagerLogFilterTest {
 
   @Test
   public void shouldClearLogsAfterGettingLogChanges() {
-    when(blockchainQueries.matchingLogs(anyLong(), anyLong(), any()))
-        .thenReturn(Lists.newArrayList(logWithMetadata()));
-
     final String filterId = filterManager.installLogFilter(latest(), latest(), logsQuery());
-    recordNewBlockEvent();
-    recordNewBlockEvent();
+    filterManager.onLogs(Lists.newArrayList(logWithMetadata()));
+    filterManager.onLogs(Lists.newArrayList(logWithMetadata()));
 
     assertThat(filterManager.logsChanges(filterId).size()).isEqualTo(2);
     assertThat(filterManager.logsChanges(filterId).size()).isEqualTo(0);
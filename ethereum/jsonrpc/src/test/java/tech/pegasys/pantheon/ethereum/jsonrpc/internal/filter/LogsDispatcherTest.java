@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryWorldStateArchive;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.LogsDispatcher.LogsListener;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class LogsDispatcherTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final BlockchainQueries blockchainQueries = mock(BlockchainQueries.class);
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final LogsListener listener = mock(LogsListener.class);
+  private final LogsListener idleListener = mock(LogsListener.class);
+  private final LogsDispatcher dispatcher = new LogsDispatcher(blockchainQueries);
+
+  @Before
+  public void setUp() {
+    when(listener.isListening()).thenReturn(true);
+    when(idleListener.isListening()).thenReturn(false);
+    dispatcher.addListener(listener);
+    dispatcher.addListener(idleListener);
+  }
+
+  @Test
+  public void shouldLoadLogsOnceForAllListeners() {
+    final LogsListener secondListener = mock(LogsListener.class);
+    when(secondListener.isListening()).thenReturn(true);
+    dispatcher.addListener(secondListener);
+    final Block block = gen.block();
+    final List<LogWithMetadata> logs = Lists.newArrayList(log(false));
+    when(blockchainQueries.transactionLogs(eq(block.getBody().getTransactions())))
+        .thenReturn(logs);
+
+    dispatcher.onBlockAdded(BlockAddedEvent.createForHeadAdvancement(block), blockchain);
+
+    verify(blockchainQueries, times(1)).transactionLogs(any());
+    verify(blockchainQueries, times(1)).blockLogs(any());
+    verify(listener).onLogs(logs);
+    verify(secondListener).onLogs(logs);
+    verify(idleListener, never()).onLogs(any());
+  }
+
+  @Test
+  public void shouldDispatchAddedLogsBeforeRemovedLogs() {
+    final List<Transaction> added = Lists.newArrayList(gen.transaction());
+    final List<Transaction> removed = Lists.newArrayList(gen.transaction());
+    final List<Hash> removedBlocks = Lists.newArrayList(gen.hash());
+    final LogWithMetadata addedLog = log(false);
+    final LogWithMetadata removedLog = log(true);
+    when(blockchainQueries.transactionLogs(added)).thenReturn(Lists.newArrayList(addedLog));
+    when(blockchainQueries.blockLogs(removedBlocks)).thenReturn(Lists.newArrayList(removedLog));
+
+    dispatcher.onBlockAdded(
+        BlockAddedEvent.createForChainReorg(gen.block(), added, removed, removedBlocks),
+        blockchain);
+
+    verify(listener).onLogs(Lists.newArrayList(addedLog, removedLog));
+  }
+
+  @Test
+  public void shouldNotLoadLogsWhenNoListenerIsListening() {
+    when(listener.isListening()).thenReturn(false);
+
+    dispatcher.onBlockAdded(BlockAddedEvent.createForHeadAdvancement(gen.block()), blockchain);
+
+    verify(blockchainQueries, never()).transactionLogs(any());
+  }
+
+  @Test
+  public void shouldIgnoreForks() {
+    dispatcher.onBlockAdded(BlockAddedEvent.createForFork(gen.block()), blockchain);
+
+    verify(blockchainQueries, never()).transactionLogs(any());
+    verify(listener, never()).onLogs(any());
+  }
+
+  @Test
+  public void shouldNotNotifyListenersWhenBlockHasNoLogs() {
+    when(blockchainQueries.transactionLogs(any())).thenReturn(Collections.emptyList());
+    when(blockchainQueries.blockLogs(any())).thenReturn(Collections.emptyList());
+
+    dispatcher.onBlockAdded(BlockAddedEvent.createForHeadAdvancement(gen.block()), blockchain);
+
+    verify(listener, never()).onLogs(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldDispatchRemovedLogsOfChainReorg() {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final List<Block> chain = gen.blockSequence(3);
+    final MutableBlockchain blockchain = createInMemoryBlockchain(chain.get(0));
+    for (final Block block : chain.subList(1, chain.size())) {
+      blockchain.appendBlock(block, gen.receipts(block));
+    }
+    final BlockchainQueries queries =
+        new BlockchainQueries(blockchain, createInMemoryWorldStateArchive());
+    LogsDispatcher.observing(queries).addListener(listener);
+
+    // Replace the head with a fork of the same height and greater difficulty.
+    final Block removedBlock = chain.get(2);
+    final Block fork =
+        gen.block(
+            new BlockOptions()
+                .setParentHash(chain.get(1).getHash())
+                .setBlockNumber(2)
+                .setDifficulty(removedBlock.getHeader().getDifficulty().plus(10L)));
+    blockchain.appendBlock(fork, gen.receipts(fork));
+
+    final ArgumentCaptor<List<LogWithMetadata>> logsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(listener).onLogs(logsCaptor.capture());
+    final List<LogWithMetadata> addedLogs =
+        queries.matchingLogs(fork.getHash(), new LogsQuery.Builder().build());
+    final List<LogWithMetadata> removedLogs =
+        queries.matchingLogs(removedBlock.getHash(), new LogsQuery.Builder().build());
+    assertThat(removedLogs).isNotEmpty().allMatch(LogWithMetadata::isRemoved);
+    final List<LogWithMetadata> expected = new ArrayList<>(addedLogs);
+    expected.addAll(removedLogs);
+    assertThat(logsCaptor.getValue())
+        .usingFieldByFieldElementComparator()
+        .containsExactlyElementsOf(expected);
+  }
+
+  private LogWithMetadata log(final boolean removed) {
+    return LogWithMetadata.create(
+        0,
+        1L,
+        Hash.ZERO,
+        Hash.ZERO,
+        0,
+        Address.fromHexString("0x0"),
+        BytesValue.EMPTY,
+        Collections.emptyList(),
+        removed);
+  }
+}
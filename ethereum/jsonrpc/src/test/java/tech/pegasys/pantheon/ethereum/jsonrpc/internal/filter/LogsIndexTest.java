@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LogsIndexTest {
+
+  private static final Address ADDRESS_1 = Address.fromHexString("0x1");
+  private static final Address ADDRESS_2 = Address.fromHexString("0x2");
+  private static final LogTopic TOPIC_1 =
+      LogTopic.fromHexString("0x1111111111111111111111111111111111111111111111111111111111111111");
+  private static final LogTopic TOPIC_2 =
+      LogTopic.fromHexString("0x2222222222222222222222222222222222222222222222222222222222222222");
+
+  private final LogsIndex<String> index = new LogsIndex<>();
+
+  @Test
+  public void emptyIndexMatchesNothing() {
+    assertThat(index.isEmpty()).isTrue();
+    assertThat(matches(log(ADDRESS_1, TOPIC_1))).isEmpty();
+  }
+
+  @Test
+  public void routesLogsByAddress() {
+    index.add(new LogsQuery.Builder().address(ADDRESS_1).build(), "address1");
+    index.add(new LogsQuery.Builder().address(ADDRESS_2).build(), "address2");
+    index.add(new LogsQuery.Builder().addresses(ADDRESS_1, ADDRESS_2).build(), "both");
+
+    assertThat(matches(log(ADDRESS_1))).containsExactlyInAnyOrder("address1", "both");
+    assertThat(matches(log(ADDRESS_2))).containsExactlyInAnyOrder("address2", "both");
+    assertThat(matches(log(Address.fromHexString("0x3")))).isEmpty();
+  }
+
+  @Test
+  public void routesLogsByFirstTopicWhenNoAddressGiven() {
+    index.add(topicsQuery(singletonTopics(TOPIC_1)), "topic1");
+    index.add(topicsQuery(Collections.singletonList(Arrays.asList(TOPIC_1, TOPIC_2))), "either");
+
+    assertThat(matches(log(ADDRESS_1, TOPIC_1))).containsExactlyInAnyOrder("topic1", "either");
+    assertThat(matches(log(ADDRESS_2, TOPIC_2))).containsExactly("either");
+    assertThat(matches(log(ADDRESS_2, TOPIC_2, TOPIC_1))).containsExactly("either");
+    assertThat(matches(log(ADDRESS_1))).isEmpty();
+  }
+
+  @Test
+  public void unconstrainedQueriesMatchEveryLog() {
+    index.add(new LogsQuery.Builder().build(), "all");
+    index.add(topicsQuery(singletonTopics(null)), "anyFirstTopic");
+
+    assertThat(matches(log(ADDRESS_1, TOPIC_1))).containsExactlyInAnyOrder("all", "anyFirstTopic");
+    assertThat(matches(log(ADDRESS_2))).containsExactly("all");
+  }
+
+  @Test
+  public void indexedQueriesStillCheckRemainingTopics() {
+    final List<List<LogTopic>> topics = new ArrayList<>();
+    topics.add(Collections.singletonList(TOPIC_1));
+    topics.add(Collections.singletonList(TOPIC_2));
+    index.add(new LogsQuery.Builder().address(ADDRESS_1).topics(topics).build(), "address");
+    index.add(topicsQuery(topics), "topics");
+
+    assertThat(matches(log(ADDRESS_1, TOPIC_1, TOPIC_2)))
+        .containsExactlyInAnyOrder("address", "topics");
+    assertThat(matches(log(ADDRESS_1, TOPIC_1, TOPIC_1))).isEmpty();
+  }
+
+  @Test
+  public void duplicateAddressesDoNotDuplicateMatches() {
+    index.add(new LogsQuery.Builder().addresses(ADDRESS_1, ADDRESS_1).build(), "duplicate");
+
+    assertThat(matches(log(ADDRESS_1))).containsExactly("duplicate");
+    assertThat(index.size()).isEqualTo(1);
+  }
+
+  private List<String> matches(final LogWithMetadata log) {
+    final List<String> matches = new ArrayList<>();
+    index.forEachMatch(log, (value, matchingLog) -> matches.add(value));
+    return matches;
+  }
+
+  private static List<List<LogTopic>> singletonTopics(final LogTopic topic) {
+    return Collections.singletonList(Collections.singletonList(topic));
+  }
+
+  private static LogsQuery topicsQuery(final List<List<LogTopic>> topics) {
+    return new LogsQuery.Builder().topics(topics).build();
+  }
+
+  private static LogWithMetadata log(final Address address, final LogTopic... topics) {
+    return LogWithMetadata.create(
+        0, 1L, Hash.ZERO, Hash.ZERO, 0, address, BytesValue.EMPTY, Arrays.asList(topics), false);
+  }
+}
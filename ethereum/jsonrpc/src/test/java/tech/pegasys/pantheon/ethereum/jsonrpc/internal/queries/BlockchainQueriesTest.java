@@ -350,6 +350,44 @@ public class BlockchainQueriesTest {
     assertThat(logs).isEmpty();
   }
 
+  @Test
+  public void transactionLogsShouldMatchLogsOfContainingBlocks() {
+    final BlockchainWithData data = setupBlockchain(3);
+    final BlockchainQueries queries = data.blockchainQueries;
+    final Block first = data.blockData.get(1).block;
+    final Block second = data.blockData.get(2).block;
+
+    final List<Transaction> transactions = new ArrayList<>();
+    transactions.addAll(first.getBody().getTransactions());
+    transactions.addAll(second.getBody().getTransactions());
+    final List<LogWithMetadata> expected = new ArrayList<>();
+    expected.addAll(queries.matchingLogs(first.getHash(), new LogsQuery.Builder().build()));
+    expected.addAll(queries.matchingLogs(second.getHash(), new LogsQuery.Builder().build()));
+
+    final List<LogWithMetadata> logs = queries.transactionLogs(transactions);
+
+    assertThat(logs).isNotEmpty();
+    assertThat(logs).usingFieldByFieldElementComparator().containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  public void blockLogsShouldMatchLogsOfBlocksInOrder() {
+    final BlockchainWithData data = setupBlockchain(3);
+    final BlockchainQueries queries = data.blockchainQueries;
+    final Hash first = data.blockData.get(1).block.getHash();
+    final Hash second = data.blockData.get(2).block.getHash();
+
+    final List<LogWithMetadata> expected = new ArrayList<>();
+    expected.addAll(queries.matchingLogs(first, new LogsQuery.Builder().build()));
+    expected.addAll(queries.matchingLogs(second, new LogsQuery.Builder().build()));
+
+    final List<LogWithMetadata> logs = queries.blockLogs(Arrays.asList(first, second));
+
+    assertThat(logs).isNotEmpty();
+    assertThat(logs).usingFieldByFieldElementComparator().containsExactlyElementsOf(expected);
+    assertThat(logs).noneMatch(LogWithMetadata::isRemoved);
+  }
+
   @Test
   public void getOmmerByBlockHashAndIndexShouldReturnEmptyWhenBlockDoesNotExist() {
     final BlockchainWithData data = setupBlockchain(3);
@@ -12,30 +12,18 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.logs;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
-import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
-import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.core.Address;
-import tech.pegasys.pantheon.ethereum.core.Block;
-import tech.pegasys.pantheon.ethereum.core.BlockHeader;
-import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
 import tech.pegasys.pantheon.ethereum.core.Hash;
-import tech.pegasys.pantheon.ethereum.core.Log;
-import tech.pegasys.pantheon.ethereum.core.Transaction;
-import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
-import tech.pegasys.pantheon.ethereum.core.TransactionTestFixture;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.FilterParameter;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.LogWithMetadata;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionReceiptWithMetadata;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.LogResult;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.subscription.SubscriptionManager;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -43,7 +31,6 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import com.google.common.collect.Lists;
 import org.junit.Before;
@@ -55,108 +42,102 @@ import org.mockito.junit.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class LogsSubscriptionServiceTest {
 
-  private final KeyPair keyPair = KeyPair.generate();
-  private final BlockHeaderTestFixture blockHeaderTestFixture = new BlockHeaderTestFixture();
-  private final TransactionTestFixture txTestFixture = new TransactionTestFixture();
-
   private LogsSubscriptionService logsSubscriptionService;
 
   @Mock private SubscriptionManager subscriptionManager;
-  @Mock private BlockchainQueries blockchainQueries;
-  @Mock private Blockchain blockchain;
 
   @Before
   public void before() {
-    logsSubscriptionService = new LogsSubscriptionService(subscriptionManager, blockchainQueries);
+    logsSubscriptionService = new LogsSubscriptionService(subscriptionManager);
+  }
+
+  @Test
+  public void shouldOnlyListenWhenSubscriptionsExist() {
+    when(subscriptionManager.subscriptionsOfType(any(), any())).thenReturn(Lists.newArrayList());
+    assertThat(logsSubscriptionService.isListening()).isFalse();
+
+    createSubscription(Address.fromHexString("0x0"));
+    assertThat(logsSubscriptionService.isListening()).isTrue();
   }
 
   @Test
-  public void shouldSendLogMessageWhenBlockAddedEventHasAddedTransactionsMatchingSubscription() {
+  public void shouldSendLogMessageWhenLogMatchesSubscription() {
     final Address address = Address.fromHexString("0x0");
     final LogsSubscription subscription = createSubscription(address);
-    final Transaction transaction = createTransaction();
-    final Log log = createLog(address);
-    final LogResult expectedLogResult = createLogResult(transaction, log, false);
+    final LogWithMetadata log = createLog(address, false);
 
-    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(transaction, null), blockchain);
+    logsSubscriptionService.onLogs(Lists.newArrayList(log));
 
-    verify(subscriptionManager).sendMessage(eq(subscription.getId()), refEq(expectedLogResult));
+    verify(subscriptionManager).sendMessage(eq(subscription.getId()), refEq(new LogResult(log)));
   }
 
   @Test
-  public void shouldSendLogMessageWhenBlockAddedEventHasRemovedTransactionsMatchingSubscription() {
+  public void shouldSendRemovedLogMessageWhenRemovedLogMatchesSubscription() {
     final Address address = Address.fromHexString("0x0");
     final LogsSubscription subscription = createSubscription(address);
-    final Transaction transaction = createTransaction();
-    final Log log = createLog(address);
-    final LogResult expectedLogResult = createLogResult(transaction, log, true);
+    final LogWithMetadata log = createLog(address, true);
 
-    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(null, transaction), blockchain);
+    logsSubscriptionService.onLogs(Lists.newArrayList(log));
 
-    verify(subscriptionManager).sendMessage(eq(subscription.getId()), refEq(expectedLogResult));
+    verify(subscriptionManager).sendMessage(eq(subscription.getId()), refEq(new LogResult(log)));
   }
 
   @Test
   public void shouldSendMessageForAllLogsMatchingSubscription() {
     final Address address = Address.fromHexString("0x0");
-    final Log log = createLog(address);
     final LogsSubscription subscription = createSubscription(address);
-    final List<Transaction> addedTransactions = createTransactionsWithLog(log);
-    final List<Transaction> removedTransactions = createTransactionsWithLog(log);
+    final List<LogWithMetadata> logs =
+        Lists.newArrayList(
+            createLog(address, false), createLog(address, false), createLog(address, true));
 
-    logsSubscriptionService.onBlockAdded(
-        createBlockAddedEvent(addedTransactions, removedTransactions), blockchain);
+    logsSubscriptionService.onLogs(logs);
 
-    final int totalOfLogs = addedTransactions.size() + removedTransactions.size();
-
-    verify(subscriptionManager, times(totalOfLogs)).sendMessage(eq(subscription.getId()), any());
+    verify(subscriptionManager, times(logs.size())).sendMessage(eq(subscription.getId()), any());
   }
 
   @Test
   public void shouldSendLogMessageToAllMatchingSubscriptions() {
     final Address address = Address.fromHexString("0x0");
     final List<LogsSubscription> subscriptions = createSubscriptions(address);
-    final Transaction transaction = createTransaction();
-    final Log log = createLog(address);
-    final LogResult expectedLogResult = createLogResult(transaction, log, false);
+    final LogWithMetadata log = createLog(address, false);
 
-    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(transaction, null), blockchain);
+    logsSubscriptionService.onLogs(Lists.newArrayList(log));
 
     verify(subscriptionManager, times(subscriptions.size()))
-        .sendMessage(any(), refEq(expectedLogResult));
+        .sendMessage(any(), refEq(new LogResult(log)));
   }
 
   @Test
-  public void shouldNotSendLogMessageWhenBlockAddedEventHasNoTransactions() {
-    final Address address = Address.fromHexString("0x0");
-    createSubscription(address);
+  public void shouldNotSendLogMessageWhenThereAreNoLogs() {
+    createSubscription(Address.fromHexString("0x0"));
 
-    logsSubscriptionService.onBlockAdded(
-        createBlockAddedEvent(Collections.emptyList(), Collections.emptyList()), blockchain);
+    logsSubscriptionService.onLogs(Collections.emptyList());
 
-    verify(subscriptionManager).subscriptionsOfType(any(), any());
     verify(subscriptionManager, times(0)).sendMessage(any(), any());
   }
 
   @Test
   public void shouldNotSendLogMessageWhenLogsDoNotMatchAnySubscription() {
     createSubscription(Address.fromHexString("0x0"));
-    final Transaction transaction = createTransaction();
-    final Log log = createLog(Address.fromHexString("0x1"));
-    createLogResult(transaction, log, false);
 
-    logsSubscriptionService.onBlockAdded(createBlockAddedEvent(transaction, null), blockchain);
+    logsSubscriptionService.onLogs(
+        Lists.newArrayList(createLog(Address.fromHexString("0x1"), false)));
 
     verify(subscriptionManager).subscriptionsOfType(any(), any());
     verify(subscriptionManager, times(0)).sendMessage(any(), any());
   }
 
-  private Transaction createTransaction() {
-    return txTestFixture.createTransaction(keyPair);
-  }
-
-  private Log createLog(final Address address) {
-    return new Log(address, BytesValue.EMPTY, Collections.emptyList());
+  private LogWithMetadata createLog(final Address address, final boolean removed) {
+    return LogWithMetadata.create(
+        0,
+        1L,
+        Hash.ZERO,
+        Hash.ZERO,
+        0,
+        address,
+        BytesValue.EMPTY,
+        Collections.emptyList(),
+        removed);
   }
 
   private LogsSubscription createSubscription(final Address address) {
@@ -179,76 +160,4 @@ public class LogsSubscriptionServiceTest {
         .thenReturn(Lists.newArrayList(subscriptions));
     return subscriptions;
   }
-
-  private LogResult createLogResult(
-      final Transaction transaction, final Log log, final boolean removed) {
-    final TransactionReceiptWithMetadata txReceiptWithMetadata =
-        createTransactionWithLog(transaction, log);
-    final LogWithMetadata logWithMetadata = createLogWithMetadata(txReceiptWithMetadata, removed);
-    return new LogResult(logWithMetadata);
-  }
-
-  private TransactionReceiptWithMetadata createTransactionWithLog(
-      final Transaction transaction, final Log log) {
-    final BlockHeader blockHeader = blockHeaderTestFixture.buildHeader();
-    final TransactionReceipt transactionReceipt =
-        new TransactionReceipt(Hash.ZERO, 1L, Lists.newArrayList(log));
-    final TransactionReceiptWithMetadata transactionReceiptWithMetadata =
-        TransactionReceiptWithMetadata.create(
-            transactionReceipt,
-            transaction,
-            transaction.hash(),
-            0,
-            1L,
-            blockHeader.getHash(),
-            blockHeader.getNumber());
-
-    when(blockchainQueries.transactionReceiptByTransactionHash(eq(transaction.hash())))
-        .thenReturn(Optional.of(transactionReceiptWithMetadata));
-
-    return transactionReceiptWithMetadata;
-  }
-
-  private BlockAddedEvent createBlockAddedEvent(
-      final Transaction addedTransaction, final Transaction removedTransaction) {
-    final Block block = mock(Block.class);
-    return BlockAddedEvent.createForChainReorg(
-        block,
-        addedTransaction != null ? Lists.newArrayList(addedTransaction) : Collections.emptyList(),
-        removedTransaction != null
-            ? Lists.newArrayList(removedTransaction)
-            : Collections.emptyList());
-  }
-
-  private BlockAddedEvent createBlockAddedEvent(
-      final List<Transaction> addedTransactions, final List<Transaction> removedTransactions) {
-    final Block block = mock(Block.class);
-    return BlockAddedEvent.createForChainReorg(
-        block,
-        addedTransactions != null ? Lists.newArrayList(addedTransactions) : Collections.emptyList(),
-        removedTransactions != null
-            ? Lists.newArrayList(removedTransactions)
-            : Collections.emptyList());
-  }
-
-  private List<Transaction> createTransactionsWithLog(final Log log) {
-    final ArrayList<Transaction> transactions =
-        Lists.newArrayList(createTransaction(), createTransaction(), createTransaction());
-    transactions.forEach(tx -> createTransactionWithLog(tx, log));
-    return transactions;
-  }
-
-  private LogWithMetadata createLogWithMetadata(
-      final TransactionReceiptWithMetadata transactionReceiptWithMetadata, final boolean removed) {
-    return LogWithMetadata.create(
-        0,
-        transactionReceiptWithMetadata.getBlockNumber(),
-        transactionReceiptWithMetadata.getBlockHash(),
-        transactionReceiptWithMetadata.getTransactionHash(),
-        transactionReceiptWithMetadata.getTransactionIndex(),
-        transactionReceiptWithMetadata.getReceipt().getLogs().get(0).getLogger(),
-        transactionReceiptWithMetadata.getReceipt().getLogs().get(0).getData(),
-        transactionReceiptWithMetadata.getReceipt().getLogs().get(0).getTopics(),
-        removed);
-  }
 }
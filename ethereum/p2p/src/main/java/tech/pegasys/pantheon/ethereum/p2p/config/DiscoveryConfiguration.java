@@ -16,10 +16,12 @@ import static java.util.stream.Collectors.toList;
 
 import tech.pegasys.pantheon.util.enode.EnodeURL;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -70,6 +72,7 @@ public class DiscoveryConfiguration {
   private String advertisedHost = "127.0.0.1";
   private int bucketSize = 16;
   private List<EnodeURL> bootnodes = new ArrayList<>();
+  private Optional<Path> peerTableFile = Optional.empty();
 
   public static DiscoveryConfiguration create() {
     return new DiscoveryConfiguration();
@@ -134,6 +137,20 @@ public class DiscoveryConfiguration {
     return this;
   }
 
+  /**
+   * The file the bonded peers are saved to, and seeded from when discovery starts, if any.
+   *
+   * @return the peer table file
+   */
+  public Optional<Path> getPeerTableFile() {
+    return peerTableFile;
+  }
+
+  public DiscoveryConfiguration setPeerTableFile(final Path peerTableFile) {
+    this.peerTableFile = Optional.of(peerTableFile);
+    return this;
+  }
+
   public int getBucketSize() {
     return bucketSize;
   }
@@ -157,12 +174,14 @@ public class DiscoveryConfiguration {
         && bucketSize == that.bucketSize
         && Objects.equals(bindHost, that.bindHost)
         && Objects.equals(advertisedHost, that.advertisedHost)
-        && Objects.equals(bootnodes, that.bootnodes);
+        && Objects.equals(bootnodes, that.bootnodes)
+        && Objects.equals(peerTableFile, that.peerTableFile);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(active, bindHost, bindPort, advertisedHost, bucketSize, bootnodes);
+    return Objects.hash(
+        active, bindHost, bindPort, advertisedHost, bucketSize, bootnodes, peerTableFile);
   }
 
   @Override
@@ -182,6 +201,8 @@ public class DiscoveryConfiguration {
         + bucketSize
         + ", bootnodes="
         + bootnodes
+        + ", peerTableFile="
+        + peerTableFile
         + '}';
   }
 }
@@ -23,6 +23,7 @@ import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.Packet;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.PeerDiscoveryController;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.PeerDiscoveryController.AsyncExecutor;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.PeerRequirement;
+import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.PeerTableStore;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.PingPacketData;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.TimerUtil;
 import tech.pegasys.pantheon.ethereum.p2p.peers.PeerId;
@@ -157,6 +158,7 @@ public abstract class PeerDiscoveryAgent {
         .keypair(keyPair)
         .localPeer(advertisedPeer)
         .bootstrapNodes(bootstrapPeers)
+        .peerTableStore(config.getPeerTableFile().map(PeerTableStore::new))
         .outboundMessageHandler(this::handleOutgoingPacket)
         .timerUtil(createTimer())
         .workerExecutor(createWorkerExecutor())
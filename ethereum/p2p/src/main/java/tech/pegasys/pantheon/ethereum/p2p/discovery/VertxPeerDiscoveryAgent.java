@@ -17,6 +17,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
 import tech.pegasys.pantheon.ethereum.p2p.config.DiscoveryConfiguration;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.Packet;
+import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.PacketProcessor;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.PeerDiscoveryController;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.PeerDiscoveryController.AsyncExecutor;
 import tech.pegasys.pantheon.ethereum.p2p.discovery.internal.TimerUtil;
@@ -40,6 +41,7 @@ import java.util.stream.StreamSupport;
 import io.netty.channel.EventLoopGroup;
 import io.netty.util.concurrent.SingleThreadEventExecutor;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.datagram.DatagramPacket;
 import io.vertx.core.datagram.DatagramSocket;
@@ -53,6 +55,9 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
   private final Vertx vertx;
   /* The vert.x UDP socket. */
   private DatagramSocket socket;
+  /* The context the socket handlers run on, where decoded packets are handed back to. */
+  private Context socketContext;
+  private final PacketProcessor packetProcessor;
 
   public VertxPeerDiscoveryAgent(
       final Vertx vertx,
@@ -64,6 +69,7 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
     super(keyPair, config, peerPermissions, nodePermissioningController, metricsSystem);
     checkArgument(vertx != null, "vertx instance cannot be null");
     this.vertx = vertx;
+    this.packetProcessor = new PacketProcessor(metricsSystem);
 
     metricsSystem.createIntegerGauge(
         MetricCategory.NETWORK,
@@ -119,6 +125,7 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
     }
 
     this.socket = listenResult.result();
+    this.socketContext = vertx.getOrCreateContext();
 
     // TODO: when using wildcard hosts (0.0.0.0), we need to handle multiple addresses by
     // selecting
@@ -159,6 +166,7 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
 
   @Override
   public CompletableFuture<?> stop() {
+    packetProcessor.stop();
     if (socket == null) {
       return CompletableFuture.completedFuture(null);
     }
@@ -201,29 +209,14 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
       LOG.debug("Discarding over-sized packet. Actual size (bytes): " + length);
       return;
     }
-    vertx.<Packet>executeBlocking(
-        future -> {
-          try {
-            future.complete(Packet.decode(datagram.data()));
-          } catch (final Throwable t) {
-            future.fail(t);
-          }
-        },
-        event -> {
-          if (event.succeeded()) {
-            // Acquire the senders coordinates to build a Peer representation from them.
-            final String host = datagram.sender().host();
-            final int port = datagram.sender().port();
-            final Endpoint endpoint = new Endpoint(host, port, OptionalInt.empty());
-            handleIncomingPacket(endpoint, event.result());
-          } else {
-            if (event.cause() instanceof PeerDiscoveryPacketDecodingException) {
-              LOG.debug("Discarding invalid peer discovery packet: {}", event.cause().getMessage());
-            } else {
-              LOG.error("Encountered error while handling packet", event.cause());
-            }
-          }
-        });
+    // Acquire the senders coordinates to build a Peer representation from them.
+    final String host = datagram.sender().host();
+    final int port = datagram.sender().port();
+    final Endpoint endpoint = new Endpoint(host, port, OptionalInt.empty());
+    packetProcessor.process(
+        host,
+        datagram.data(),
+        packet -> socketContext.runOnContext(v -> handleIncomingPacket(endpoint, packet)));
   }
 
   private class VertxAsyncExecutor implements AsyncExecutor {
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.discovery.internal;
+
+import tech.pegasys.pantheon.ethereum.p2p.discovery.PeerDiscoveryPacketDecodingException;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.vertx.core.buffer.Buffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Decodes received discovery packets, which involves a hash and a public key recovery, on a
+ * dedicated thread with a bounded queue, so a flood of packets can neither queue up without limit
+ * nor take over the worker pool the rest of the node shares.
+ *
+ * <p>Before a packet is queued, it is dropped if its source has exceeded its rate limit, or if a
+ * packet with the same hash was decoded recently. The hash is checked against the packet contents
+ * while decoding, so only hashes of valid packets are remembered and a forged hash can never cause
+ * a different packet to be dropped.
+ *
+ * <p>Packets are decoded one at a time, in the order they were received.
+ */
+public class PacketProcessor {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final int QUEUE_CAPACITY = 1000;
+  private static final double DEFAULT_PACKETS_PER_SECOND_PER_SOURCE = 250;
+  private static final int MAX_TRACKED_SOURCES = 10_000;
+  private static final int MAX_TRACKED_PACKET_HASHES = 10_000;
+  private static final long PACKET_HASH_RETENTION_SECONDS = 60;
+  private static final int HASH_SIZE = 32;
+
+  private final ExecutorService executor;
+  private final LoadingCache<String, TokenBucket> sourceRateLimits;
+  private final Cache<BytesValue, Boolean> recentPacketHashes =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_TRACKED_PACKET_HASHES)
+          .expireAfterWrite(PACKET_HASH_RETENTION_SECONDS, TimeUnit.SECONDS)
+          .build();
+
+  private final Counter processedCounter;
+  private final LabelledMetric<Counter> droppedCounter;
+
+  public PacketProcessor(final MetricsSystem metricsSystem) {
+    this(createExecutor(metricsSystem), DEFAULT_PACKETS_PER_SECOND_PER_SOURCE, metricsSystem);
+  }
+
+  @VisibleForTesting
+  PacketProcessor(
+      final ExecutorService executor,
+      final double packetsPerSecondPerSource,
+      final MetricsSystem metricsSystem) {
+    this.executor = executor;
+    this.sourceRateLimits =
+        CacheBuilder.newBuilder()
+            .maximumSize(MAX_TRACKED_SOURCES)
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .build(CacheLoader.from(() -> new TokenBucket(packetsPerSecondPerSource)));
+
+    processedCounter =
+        metricsSystem.createCounter(
+            MetricCategory.NETWORK,
+            "discovery_packets_processed_total",
+            "Total number of discovery packets decoded and handled");
+    droppedCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.NETWORK,
+            "discovery_packets_dropped_total",
+            "Total number of discovery packets dropped before being handled",
+            "reason");
+  }
+
+  private static ExecutorService createExecutor(final MetricsSystem metricsSystem) {
+    final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    metricsSystem.createIntegerGauge(
+        MetricCategory.NETWORK,
+        "discovery_packet_queue_size",
+        "Number of received discovery packets waiting to be decoded",
+        queue::size);
+    return new ThreadPoolExecutor(
+        1,
+        1,
+        0L,
+        TimeUnit.MILLISECONDS,
+        queue,
+        new ThreadFactoryBuilder()
+            .setNameFormat(PacketProcessor.class.getSimpleName() + "-%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  /**
+   * Queues a received datagram to be decoded and, if it is a valid packet, passed to the handler on
+   * the processing thread.
+   *
+   * @param sourceHost the host the datagram was received from
+   * @param data the contents of the datagram
+   * @param handler the handler for the decoded packet
+   */
+  public void process(final String sourceHost, final Buffer data, final Consumer<Packet> handler) {
+    if (!sourceRateLimits.getUnchecked(sourceHost).tryTake()) {
+      droppedCounter.labels("rate_limited").inc();
+      return;
+    }
+    if (data.length() >= HASH_SIZE
+        && recentPacketHashes.getIfPresent(BytesValue.wrapBuffer(data, 0, HASH_SIZE)) != null) {
+      droppedCounter.labels("duplicate").inc();
+      return;
+    }
+    try {
+      executor.execute(() -> decode(data, handler));
+    } catch (final RejectedExecutionException e) {
+      droppedCounter.labels("queue_full").inc();
+    }
+  }
+
+  private void decode(final Buffer data, final Consumer<Packet> handler) {
+    final Packet packet;
+    try {
+      packet = Packet.decode(data);
+    } catch (final PeerDiscoveryPacketDecodingException e) {
+      droppedCounter.labels("invalid").inc();
+      LOG.debug("Discarding invalid peer discovery packet: {}", e.getMessage());
+      return;
+    } catch (final Throwable t) {
+      droppedCounter.labels("invalid").inc();
+      LOG.error("Encountered error while decoding packet", t);
+      return;
+    }
+    recentPacketHashes.put(packet.getHash().copy(), Boolean.TRUE);
+    processedCounter.inc();
+    handler.accept(packet);
+  }
+
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Allows a number of packets per second, with bursts of up to a second's worth. It starts full,
+   * so the first burst from a new source, such as a pair of NEIGHBORS packets, is not cut short.
+   */
+  private static class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    private TokenBucket(final double tokensPerSecond) {
+      this.capacity = tokensPerSecond;
+      this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+      this.tokens = capacity;
+    }
+
+    private synchronized boolean tryTake() {
+      final long now = System.nanoTime();
+      tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+      lastRefillNanos = now;
+      if (tokens < 1) {
+        return false;
+      }
+      tokens -= 1;
+      return true;
+    }
+  }
+}
@@ -16,6 +16,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static tech.pegasys.pantheon.ethereum.p2p.discovery.internal.PeerTable.AddResult.AddOutcome;
 
@@ -105,10 +106,12 @@ public class PeerDiscoveryController {
   private static final Logger LOG = LogManager.getLogger();
   private static final long REFRESH_CHECK_INTERVAL_MILLIS = MILLISECONDS.convert(30, SECONDS);
   private static final int PEER_REFRESH_ROUND_TIMEOUT_IN_SECONDS = 5;
+  private static final long PEER_TABLE_SAVE_INTERVAL_MILLIS = MILLISECONDS.convert(5, MINUTES);
   protected final TimerUtil timerUtil;
   private final PeerTable peerTable;
 
   private final Collection<DiscoveryPeer> bootstrapNodes;
+  private final Optional<PeerTableStore> peerTableStore;
 
   /* A tracker for inflight interactions and the state machine of a peer. */
   private final Map<BytesValue, PeerInteractionState> inflightInteractions =
@@ -136,6 +139,7 @@ public class PeerDiscoveryController {
   private long lastRefreshTime = -1;
 
   private OptionalLong tableRefreshTimerId = OptionalLong.empty();
+  private OptionalLong peerTableSaveTimerId = OptionalLong.empty();
 
   // Observers for "peer bonded" discovery events.
   private final Subscribers<Consumer<PeerBondedEvent>> peerBondedObservers;
@@ -147,6 +151,7 @@ public class PeerDiscoveryController {
       final DiscoveryPeer localPeer,
       final PeerTable peerTable,
       final Collection<DiscoveryPeer> bootstrapNodes,
+      final Optional<PeerTableStore> peerTableStore,
       final OutboundMessageHandler outboundMessageHandler,
       final TimerUtil timerUtil,
       final AsyncExecutor workerExecutor,
@@ -160,6 +165,7 @@ public class PeerDiscoveryController {
     this.keypair = keypair;
     this.localPeer = localPeer;
     this.bootstrapNodes = bootstrapNodes;
+    this.peerTableStore = peerTableStore;
     this.peerTable = peerTable;
     this.workerExecutor = workerExecutor;
     this.tableRefreshIntervalMs = tableRefreshIntervalMs;
@@ -200,9 +206,15 @@ public class PeerDiscoveryController {
       throw new IllegalStateException("The peer table had already been started");
     }
 
+    // Peers stored before the last shutdown are bonded with alongside the bootnodes, so the table
+    // refills without waiting for the bootnodes to point us back to them.
+    final List<DiscoveryPeer> storedPeers =
+        peerTableStore.map(PeerTableStore::load).orElse(Collections.emptyList());
     final List<DiscoveryPeer> initialDiscoveryPeers =
-        bootstrapNodes.stream()
+        Stream.concat(bootstrapNodes.stream(), storedPeers.stream())
+            .filter(peer -> !peer.getId().equals(localPeer.getId()))
             .filter(this::isPeerPermittedToReceiveMessages)
+            .distinct()
             .collect(Collectors.toList());
     initialDiscoveryPeers.stream().forEach(peerTable::tryAdd);
 
@@ -242,6 +254,19 @@ public class PeerDiscoveryController {
             Math.min(REFRESH_CHECK_INTERVAL_MILLIS, tableRefreshIntervalMs),
             this::refreshTableIfRequired);
     tableRefreshTimerId = OptionalLong.of(timerId);
+
+    if (peerTableStore.isPresent()) {
+      peerTableSaveTimerId =
+          OptionalLong.of(
+              timerUtil.setPeriodic(
+                  PEER_TABLE_SAVE_INTERVAL_MILLIS,
+                  () ->
+                      workerExecutor.execute(
+                          () -> {
+                            savePeerTable();
+                            return null;
+                          })));
+    }
   }
 
   public CompletableFuture<?> stop() {
@@ -251,11 +276,24 @@ public class PeerDiscoveryController {
 
     tableRefreshTimerId.ifPresent(timerUtil::cancelTimer);
     tableRefreshTimerId = OptionalLong.empty();
+    peerTableSaveTimerId.ifPresent(timerUtil::cancelTimer);
+    peerTableSaveTimerId = OptionalLong.empty();
     inflightInteractions.values().forEach(PeerInteractionState::cancelTimers);
     inflightInteractions.clear();
+    savePeerTable();
     return CompletableFuture.completedFuture(null);
   }
 
+  private void savePeerTable() {
+    peerTableStore.ifPresent(
+        store ->
+            store.save(
+                peerTable
+                    .streamAllPeers()
+                    .filter(peer -> peer.getStatus() == PeerDiscoveryStatus.BONDED)
+                    .collect(Collectors.toList())));
+  }
+
   private boolean isPeerPermittedToReceiveMessages(final Peer remotePeer) {
     return peerPermissions.isPermitted(remotePeer)
         && nodePermissioningController
@@ -656,6 +694,7 @@ public class PeerDiscoveryController {
     private PeerPermissions peerPermissions = PeerPermissions.noop();
     private long tableRefreshIntervalMs = MILLISECONDS.convert(30, TimeUnit.MINUTES);
     private List<DiscoveryPeer> bootstrapNodes = new ArrayList<>();
+    private Optional<PeerTableStore> peerTableStore = Optional.empty();
     private Optional<NodePermissioningController> nodePermissioningController = Optional.empty();
     private PeerTable peerTable;
     private Subscribers<Consumer<PeerBondedEvent>> peerBondedObservers = new Subscribers<>();
@@ -681,6 +720,7 @@ public class PeerDiscoveryController {
           localPeer,
           peerTable,
           bootstrapNodes,
+          peerTableStore,
           outboundMessageHandler,
           timerUtil,
           workerExecutor,
@@ -728,6 +768,12 @@ public class PeerDiscoveryController {
       return this;
     }
 
+    public Builder peerTableStore(final Optional<PeerTableStore> peerTableStore) {
+      checkNotNull(peerTableStore);
+      this.peerTableStore = peerTableStore;
+      return this;
+    }
+
     public Builder outboundMessageHandler(final OutboundMessageHandler outboundMessageHandler) {
       checkNotNull(outboundMessageHandler);
       this.outboundMessageHandler = outboundMessageHandler;
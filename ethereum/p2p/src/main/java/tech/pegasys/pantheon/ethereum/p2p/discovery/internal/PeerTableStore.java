@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.discovery.internal;
+
+import static java.util.Comparator.comparingLong;
+import static java.util.stream.Collectors.toList;
+
+import tech.pegasys.pantheon.ethereum.p2p.discovery.DiscoveryPeer;
+import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPException;
+import tech.pegasys.pantheon.ethereum.rlp.RLPInput;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Saves the peers we have bonded with to a file, so that after a restart the peer table can be
+ * seeded from them rather than only from the bootnodes.
+ *
+ * <p>The file holds an RLP list with an entry for each peer: the peer as written in discovery
+ * packets, followed by the time it was last seen.
+ */
+public class PeerTableStore {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final long MAX_PEER_AGE_MILLIS = TimeUnit.DAYS.toMillis(7);
+  static final int MAX_STORED_PEERS = 1000;
+
+  private final Path file;
+
+  public PeerTableStore(final Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Reads the stored peers, most recently seen first, leaving out those that have not been seen
+   * for too long to be worth contacting.
+   *
+   * @return the stored peers, or an empty list if there are none or the file cannot be read
+   */
+  public List<DiscoveryPeer> load() {
+    if (!Files.exists(file)) {
+      return Collections.emptyList();
+    }
+    final long oldestLastSeen = System.currentTimeMillis() - MAX_PEER_AGE_MILLIS;
+    final List<DiscoveryPeer> peers = new ArrayList<>();
+    try {
+      final RLPInput input = RLP.input(BytesValue.wrap(Files.readAllBytes(file)));
+      input.enterList();
+      while (!input.isEndOfCurrentList()) {
+        input.enterList();
+        final DiscoveryPeer peer = DiscoveryPeer.readFrom(input);
+        peer.setLastSeen(input.readLongScalar());
+        input.leaveList();
+        if (peer.getLastSeen() >= oldestLastSeen) {
+          peers.add(peer);
+        }
+      }
+      input.leaveList();
+    } catch (final IOException | RLPException e) {
+      LOG.warn("Unable to read stored discovery peers from {}", file, e);
+      return Collections.emptyList();
+    }
+    peers.sort(comparingLong(DiscoveryPeer::getLastSeen).reversed());
+    LOG.debug("Loaded {} stored discovery peers from {}", peers.size(), file);
+    return peers;
+  }
+
+  /**
+   * Replaces the stored peers with the given ones, keeping the most recently seen if there are too
+   * many. The file is written in full and then moved into place, so a crash part way through never
+   * leaves a truncated file behind.
+   *
+   * @param peers the peers to store
+   */
+  public void save(final Collection<DiscoveryPeer> peers) {
+    final List<DiscoveryPeer> peersToStore =
+        peers.stream()
+            .sorted(comparingLong(DiscoveryPeer::getLastSeen).reversed())
+            .limit(MAX_STORED_PEERS)
+            .collect(toList());
+    final BytesValueRLPOutput output = new BytesValueRLPOutput();
+    output.startList();
+    for (final DiscoveryPeer peer : peersToStore) {
+      output.startList();
+      peer.writeTo(output);
+      output.writeLongScalar(peer.getLastSeen());
+      output.endList();
+    }
+    output.endList();
+
+    final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      Files.write(tempFile, output.encoded().extractArray());
+      Files.move(
+          tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      LOG.debug("Stored {} discovery peers to {}", peersToStore.size(), file);
+    } catch (final IOException e) {
+      LOG.warn("Unable to store discovery peers to {}", file, e);
+    }
+  }
+}
@@ -170,6 +170,7 @@ public class DefaultP2PNetwork implements P2PNetwork {
   private final Callbacks callbacks = new Callbacks(protocolCallbacks, disconnectCallbacks);
 
   private final LabelledMetric<Counter> outboundMessagesCounter;
+  private final PeerCountMilestones peerCountMilestones;
   private OptionalLong blockAddedObserverId = OptionalLong.empty();
   private OptionalLong peerBondedObserverId = OptionalLong.empty();
 
@@ -214,6 +215,7 @@ public class DefaultP2PNetwork implements P2PNetwork {
     this.nodeId = this.keyPair.getPublicKey().getEncodedBytes();
     this.subProtocols = config.getSupportedProtocols();
     this.maxPeers = config.getRlpx().getMaxPeers();
+    this.peerCountMilestones = new PeerCountMilestones(metricsSystem, maxPeers);
 
     // Set up permissions
     final PeerPermissionsBlacklist misbehavingPeers = PeerPermissionsBlacklist.create(500);
@@ -549,6 +551,8 @@ public class DefaultP2PNetwork implements P2PNetwork {
       LOG.warn("Attempted to start an already started " + getClass().getSimpleName());
     }
 
+    peerCountMilestones.start();
+
     final int listeningPort = startListening();
     peerDiscoveryAgent.start(listeningPort).join();
     peerBondedObserverId =
@@ -721,6 +725,7 @@ public class DefaultP2PNetwork implements P2PNetwork {
 
   private void onConnectionEstablished(final PeerConnection connection) {
     connections.registerConnection(connection);
+    peerCountMilestones.onPeerCount(connections.size());
     connectCallbacks.forEach(callback -> callback.accept(connection));
   }
 
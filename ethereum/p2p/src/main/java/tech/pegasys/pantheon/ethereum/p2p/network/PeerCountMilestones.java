@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.network;
+
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.IntStream;
+
+/**
+ * Records how long after the network started the number of connected peers first reached each of a
+ * set of counts, up to the maximum number of peers.
+ */
+class PeerCountMilestones {
+  private static final int[] PEER_COUNTS = {1, 5, 10, 25, 50};
+
+  private final LabelledMetric<OperationTimer> timeToPeerCount;
+  private final int maxPeers;
+  private final NavigableMap<Integer, TimingContext> pendingMilestones =
+      new ConcurrentSkipListMap<>();
+
+  PeerCountMilestones(final MetricsSystem metricsSystem, final int maxPeers) {
+    this.maxPeers = maxPeers;
+    timeToPeerCount =
+        metricsSystem.createLabelledTimer(
+            MetricCategory.NETWORK,
+            "time_to_peer_count_seconds",
+            "Time after the network started that the connected peer count was first reached",
+            "peers");
+  }
+
+  void start() {
+    IntStream.concat(
+            IntStream.of(PEER_COUNTS).filter(count -> count < maxPeers), IntStream.of(maxPeers))
+        .filter(count -> count > 0)
+        .forEach(
+            count ->
+                pendingMilestones.put(
+                    count, timeToPeerCount.labels(Integer.toString(count)).startTimer()));
+  }
+
+  void onPeerCount(final int peerCount) {
+    Map.Entry<Integer, TimingContext> milestone;
+    while ((milestone = pendingMilestones.firstEntry()) != null
+        && milestone.getKey() <= peerCount) {
+      if (pendingMilestones.remove(milestone.getKey(), milestone.getValue())) {
+        milestone.getValue().stopTimer();
+      }
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.discovery.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.p2p.discovery.Endpoint;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+public class PacketProcessorTest {
+
+  private static final String HOST = "10.0.0.1";
+  private static final String OTHER_HOST = "10.0.0.2";
+
+  private final KeyPair keyPair = KeyPair.generate();
+  private final List<Packet> handledPackets = new ArrayList<>();
+  private final PacketProcessor processor =
+      new PacketProcessor(MoreExecutors.newDirectExecutorService(), 1000, new NoOpMetricsSystem());
+
+  @Test
+  public void shouldDecodeValidPacketsAndPassThemToTheHandler() {
+    final Packet packet = createPacket(1);
+
+    processor.process(HOST, packet.encode(), handledPackets::add);
+
+    assertThat(handledPackets).hasSize(1);
+    assertThat(handledPackets.get(0).getHash()).isEqualTo(packet.getHash());
+    assertThat(handledPackets.get(0).getNodeId()).isEqualTo(packet.getNodeId());
+  }
+
+  @Test
+  public void shouldDropRepeatedPackets() {
+    final Buffer packet = createPacket(1).encode();
+
+    processor.process(HOST, packet, handledPackets::add);
+    processor.process(HOST, packet, handledPackets::add);
+    processor.process(OTHER_HOST, packet, handledPackets::add);
+    processor.process(HOST, createPacket(2).encode(), handledPackets::add);
+
+    assertThat(handledPackets).hasSize(2);
+  }
+
+  @Test
+  public void shouldDropPacketsFromSourcesOverTheirRateLimit() {
+    final PacketProcessor processor =
+        new PacketProcessor(MoreExecutors.newDirectExecutorService(), 1, new NoOpMetricsSystem());
+
+    processor.process(HOST, createPacket(1).encode(), handledPackets::add);
+    processor.process(HOST, createPacket(2).encode(), handledPackets::add);
+    processor.process(OTHER_HOST, createPacket(3).encode(), handledPackets::add);
+
+    assertThat(handledPackets).hasSize(2);
+  }
+
+  @Test
+  public void shouldDropInvalidPackets() {
+    final Buffer packet = createPacket(1).encode();
+    final Buffer corruptPacket = packet.copy();
+    corruptPacket.setByte(packet.length() - 1, (byte) (packet.getByte(packet.length() - 1) + 1));
+
+    processor.process(HOST, Buffer.buffer(new byte[] {1, 2, 3}), handledPackets::add);
+    processor.process(HOST, corruptPacket, handledPackets::add);
+    assertThat(handledPackets).isEmpty();
+
+    // A corrupt packet with a valid packet's hash must not stop the valid packet being handled.
+    processor.process(HOST, packet, handledPackets::add);
+    assertThat(handledPackets).hasSize(1);
+  }
+
+  @Test
+  public void shouldDropPacketsWhenTheQueueIsFull() {
+    final ExecutorService executor = mock(ExecutorService.class);
+    doThrow(new RejectedExecutionException()).when(executor).execute(any());
+    final PacketProcessor processor = new PacketProcessor(executor, 1000, new NoOpMetricsSystem());
+
+    processor.process(HOST, createPacket(1).encode(), handledPackets::add);
+
+    assertThat(handledPackets).isEmpty();
+  }
+
+  private Packet createPacket(final int port) {
+    final Endpoint from = new Endpoint("127.0.0.1", port, OptionalInt.empty());
+    final Endpoint to = new Endpoint("127.0.0.2", 30303, OptionalInt.empty());
+    return Packet.create(PacketType.PING, PingPacketData.create(from, to), keyPair);
+  }
+}
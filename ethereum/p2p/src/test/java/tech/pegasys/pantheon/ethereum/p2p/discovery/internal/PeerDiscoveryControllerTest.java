@@ -533,6 +533,34 @@ public class PeerDiscoveryControllerTest {
     // no exception
   }
 
+  @Test
+  public void shouldBondWithStoredPeersOnStartAndStoreBondedPeersOnStop() {
+    final List<DiscoveryPeer> storedPeers =
+        helper.createDiscoveryPeers(PeerDiscoveryTestHelper.generateKeyPairs(2));
+    final PeerTableStore peerTableStore = mock(PeerTableStore.class);
+    when(peerTableStore.load()).thenReturn(storedPeers);
+    final OutboundMessageHandler outboundMessageHandler = mock(OutboundMessageHandler.class);
+    controller =
+        getControllerBuilder()
+            .peerTableStore(peerTableStore)
+            .outboundMessageHandler(outboundMessageHandler)
+            .build();
+
+    controller.start();
+    storedPeers.forEach(
+        peer ->
+            verify(outboundMessageHandler).send(eq(peer), matchPacketOfType(PacketType.PING)));
+
+    controller.onMessage(mockPingPacket(storedPeers.get(0), localPeer), storedPeers.get(0));
+    controller.stop().join();
+
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<Collection<DiscoveryPeer>> savedPeers =
+        ArgumentCaptor.forClass(Collection.class);
+    verify(peerTableStore).save(savedPeers.capture());
+    assertThat(savedPeers.getValue()).containsExactly(storedPeers.get(0));
+  }
+
   @Test
   public void shouldAddNewPeerWhenReceivedPingAndPeerTableBucketIsNotFull() {
     final List<DiscoveryPeer> peers = createPeersInLastBucket(localPeer, 1);
@@ -1122,6 +1150,7 @@ public class PeerDiscoveryControllerTest {
     private static final PeerDiscoveryTestHelper helper = new PeerDiscoveryTestHelper();
     private Subscribers<Consumer<PeerBondedEvent>> peerBondedObservers = new Subscribers<>();
     private PeerPermissions peerPermissions = PeerPermissions.noop();
+    private Optional<PeerTableStore> peerTableStore = Optional.empty();
 
     public static ControllerBuilder create() {
       return new ControllerBuilder();
@@ -1147,6 +1176,11 @@ public class PeerDiscoveryControllerTest {
       return this;
     }
 
+    ControllerBuilder peerTableStore(final PeerTableStore peerTableStore) {
+      this.peerTableStore = Optional.of(peerTableStore);
+      return this;
+    }
+
     ControllerBuilder timerUtil(final MockTimerUtil timerUtil) {
       this.timerUtil = timerUtil;
       return this;
@@ -1191,6 +1225,7 @@ public class PeerDiscoveryControllerTest {
               .localPeer(localPeer)
               .peerTable(peerTable)
               .bootstrapNodes(discoPeers)
+              .peerTableStore(peerTableStore)
               .outboundMessageHandler(outboundMessageHandler)
               .timerUtil(timerUtil)
               .workerExecutor(new BlockingAsyncExecutor())
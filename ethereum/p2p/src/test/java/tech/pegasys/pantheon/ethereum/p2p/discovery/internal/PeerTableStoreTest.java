@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.discovery.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.p2p.discovery.DiscoveryPeer;
+import tech.pegasys.pantheon.ethereum.p2p.discovery.PeerDiscoveryTestHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PeerTableStoreTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final PeerDiscoveryTestHelper helper = new PeerDiscoveryTestHelper();
+  private Path file;
+  private PeerTableStore store;
+
+  @Before
+  public void setUp() {
+    file = folder.getRoot().toPath().resolve("discovery-peers.rlp");
+    store = new PeerTableStore(file);
+  }
+
+  @Test
+  public void shouldLoadNothingWhenNoPeersWereStored() {
+    assertThat(store.load()).isEmpty();
+  }
+
+  @Test
+  public void shouldLoadStoredPeersMostRecentlySeenFirst() {
+    final long now = System.currentTimeMillis();
+    final List<DiscoveryPeer> peers = helper.createDiscoveryPeers(3);
+    peers.get(0).setLastSeen(now - 2000);
+    peers.get(1).setLastSeen(now);
+    peers.get(2).setLastSeen(now - 1000);
+
+    store.save(peers);
+    final List<DiscoveryPeer> loaded = store.load();
+
+    assertThat(loaded).containsExactly(peers.get(1), peers.get(2), peers.get(0));
+    assertThat(loaded)
+        .extracting(DiscoveryPeer::getLastSeen)
+        .containsExactly(now, now - 1000, now - 2000);
+  }
+
+  @Test
+  public void shouldNotLoadPeersThatHaveNotBeenSeenRecently() {
+    final long now = System.currentTimeMillis();
+    final List<DiscoveryPeer> peers = helper.createDiscoveryPeers(2);
+    peers.get(0).setLastSeen(now);
+    peers.get(1).setLastSeen(now - PeerTableStore.MAX_PEER_AGE_MILLIS - 1000);
+
+    store.save(peers);
+
+    assertThat(store.load()).containsExactly(peers.get(0));
+  }
+
+  @Test
+  public void shouldReplacePreviouslyStoredPeers() {
+    final List<DiscoveryPeer> peers = helper.createDiscoveryPeers(2);
+    peers.forEach(peer -> peer.setLastSeen(System.currentTimeMillis()));
+
+    store.save(peers);
+    store.save(peers.subList(1, 2));
+
+    assertThat(store.load()).containsExactly(peers.get(1));
+  }
+
+  @Test
+  public void shouldLoadNothingFromACorruptFile() throws IOException {
+    Files.write(file, "not rlp".getBytes(StandardCharsets.UTF_8));
+
+    assertThat(store.load()).isEmpty();
+  }
+}
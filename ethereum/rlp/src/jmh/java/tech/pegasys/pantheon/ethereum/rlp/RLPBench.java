@@ -49,6 +49,18 @@ public class RLPBench {
     return l;
   }
 
+  private static void encode(final Object obj, final RLPOutput out) {
+    if (obj instanceof BytesValue) {
+      out.writeBytesValue((BytesValue) obj);
+    } else {
+      out.startList();
+      for (final Object o : (List<?>) obj) {
+        encode(o, out);
+      }
+      out.endList();
+    }
+  }
+
   @Param({"1", "3", "8"})
   public int depth;
 
@@ -72,6 +84,18 @@ public class RLPBench {
     return RLPTestUtil.encode(toEncode);
   }
 
+  @Benchmark
+  public BytesValue getBenchmarkDirectEncoding() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    encode(toEncode, out);
+    return out.encoded();
+  }
+
+  @Benchmark
+  public BytesValue getBenchmarkReusedDirectEncoding() {
+    return RLP.encode(out -> encode(toEncode, out));
+  }
+
   @Benchmark
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.rlp;
+
+import static com.google.common.base.Preconditions.checkState;
+import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.elementSize;
+import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.listSize;
+import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.writeElement;
+import static tech.pegasys.pantheon.ethereum.rlp.RLPEncodingHelpers.writeListHeader;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import java.util.Arrays;
+
+/**
+ * An {@link RLPOutput} that encodes directly into a single growable byte array.
+ *
+ * <p>Unlike {@link BytesValueRLPOutput}, which collects every written value and only lays out the
+ * encoding in {@link BytesValueRLPOutput#encoded()}, this output writes every element at its final
+ * position as soon as it is written. When a list is started, a single byte is reserved for its
+ * header; when it is ended, its payload size is known and the header is written in place. Lists
+ * whose payload is longer than 55 bytes need a longer header, and for those the payload is shifted
+ * to make room for it, which is a single array copy.
+ *
+ * <p>An output can be {@link #reset()} and reused for another encoding, which saves growing a new
+ * array every time. Instances are not thread-safe.
+ */
+public class DirectRLPOutput implements RLPOutput {
+  private static final int INITIAL_CAPACITY = 256;
+  // Buffers grown past this by an unusually large encoding are not kept around by reset().
+  private static final int MAX_RETAINED_CAPACITY = 1 << 16;
+
+  private byte[] buffer;
+  // A view of the whole of 'buffer', so the encoding helpers can write into it.
+  private MutableBytesValue bufferView;
+  private int size;
+
+  // Offsets in 'buffer' of the reserved header byte of every currently open list.
+  private int[] openLists = new int[8];
+  private int depth;
+
+  public DirectRLPOutput() {
+    this(INITIAL_CAPACITY);
+  }
+
+  public DirectRLPOutput(final int initialCapacity) {
+    setBuffer(new byte[Math.max(initialCapacity, 1)]);
+  }
+
+  private void setBuffer(final byte[] buffer) {
+    this.buffer = buffer;
+    this.bufferView = MutableBytesValue.wrap(buffer);
+  }
+
+  private void ensureCapacity(final int additional) {
+    final int required = size + additional;
+    if (required > buffer.length) {
+      setBuffer(Arrays.copyOf(buffer, Math.max(required, buffer.length * 2)));
+    }
+  }
+
+  private void checkWritable() {
+    checkState(depth > 0 || size == 0, "Terminated RLP output, cannot add more elements");
+  }
+
+  @Override
+  public void writeBytesValue(final BytesValue v) {
+    checkWritable();
+    ensureCapacity(elementSize(v));
+    size = writeElement(v, bufferView, size);
+  }
+
+  @Override
+  public void writeRLPUnsafe(final BytesValue v) {
+    checkWritable();
+    ensureCapacity(v.size());
+    v.copyTo(bufferView, size);
+    size += v.size();
+  }
+
+  @Override
+  public void startList() {
+    checkWritable();
+    if (depth == openLists.length) {
+      openLists = Arrays.copyOf(openLists, openLists.length * 2);
+    }
+    ensureCapacity(1);
+    openLists[depth++] = size++;
+  }
+
+  @Override
+  public void endList() {
+    checkState(depth > 0, "LeaveList() called with no prior matching startList()");
+
+    final int headerOffset = openLists[--depth];
+    final int payloadOffset = headerOffset + 1;
+    final int payloadSize = size - payloadOffset;
+    final int extraHeaderBytes = listSize(payloadSize) - payloadSize - 1;
+    if (extraHeaderBytes > 0) {
+      ensureCapacity(extraHeaderBytes);
+      System.arraycopy(
+          buffer, payloadOffset, buffer, payloadOffset + extraHeaderBytes, payloadSize);
+      size += extraHeaderBytes;
+    }
+    writeListHeader(payloadSize, bufferView, headerOffset);
+  }
+
+  /**
+   * Computes the final encoded data size.
+   *
+   * @return The size of the RLP-encoded data written to this output.
+   * @throws IllegalStateException if some opened list haven't been closed (the output is not valid
+   *     as is).
+   */
+  public int encodedSize() {
+    checkState(depth == 0, "A list has been entered (startList()) but not left (endList())");
+    return size;
+  }
+
+  /**
+   * Write the rlp encoded value to the provided {@link MutableBytesValue}
+   *
+   * @param mutableBytesValue the value to which the rlp-data will be written
+   */
+  public void writeEncoded(final MutableBytesValue mutableBytesValue) {
+    final int encodedSize = encodedSize();
+    checkState(
+        encodedSize == mutableBytesValue.size(),
+        "Expected RLP encoding to be of size %s but was of size %s.",
+        mutableBytesValue.size(),
+        encodedSize);
+    bufferView.slice(0, encodedSize).copyTo(mutableBytesValue);
+  }
+
+  /**
+   * Computes the final encoded data.
+   *
+   * <p>The returned value is a copy, so this output can be {@link #reset()} and reused afterwards.
+   *
+   * @return A value containing the data written to this output RLP-encoded.
+   */
+  public BytesValue encoded() {
+    final int encodedSize = encodedSize();
+    if (encodedSize == 0) {
+      return BytesValue.EMPTY;
+    }
+    return BytesValue.wrap(Arrays.copyOf(buffer, encodedSize));
+  }
+
+  /** Discards everything written so far, so this output can be used for a new encoding. */
+  public void reset() {
+    size = 0;
+    depth = 0;
+    if (buffer.length > MAX_RETAINED_CAPACITY) {
+      setBuffer(new byte[INITIAL_CAPACITY]);
+    }
+  }
+}
@@ -30,6 +30,10 @@ import io.vertx.core.buffer.Buffer;
 public abstract class RLP {
   private RLP() {}
 
+  // Per-thread outputs reused by encode(), so encoding doesn't grow a new buffer every time.
+  private static final ThreadLocal<ReusableOutputs> REUSABLE_OUTPUTS =
+      ThreadLocal.withInitial(ReusableOutputs::new);
+
   /** The RLP encoding of a single empty value, also known as RLP null. */
   public static final BytesValue NULL = encodeOne(BytesValue.EMPTY);
 
@@ -98,13 +102,50 @@ public abstract class RLP {
    * BytesValue encoded = RLPs.encode(f::writeTo);
    * }</pre>
    *
+   * <p>The data is encoded into a {@link DirectRLPOutput} that is reused by subsequent calls on the
+   * same thread.
+   *
    * @param writer A method that given an {@link RLPOutput}, writes some data to it.
    * @return The RLP encoding of the data written by {@code writer}.
    */
   public static BytesValue encode(final Consumer<RLPOutput> writer) {
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    writer.accept(out);
-    return out.encoded();
+    final ReusableOutputs outputs = REUSABLE_OUTPUTS.get();
+    final DirectRLPOutput out = outputs.acquire();
+    try {
+      writer.accept(out);
+      return out.encoded();
+    } finally {
+      outputs.release(out);
+    }
+  }
+
+  /**
+   * The outputs reused by {@link #encode(Consumer)} on a given thread. A writer may itself call
+   * encode() to embed some nested encoding (as trie nodes do for their children), so there is one
+   * output per level of nesting.
+   */
+  private static class ReusableOutputs {
+    private static final int MAX_NESTING = 16;
+
+    private final DirectRLPOutput[] outputs = new DirectRLPOutput[MAX_NESTING];
+    private int inUse;
+
+    DirectRLPOutput acquire() {
+      if (inUse == MAX_NESTING) {
+        return new DirectRLPOutput();
+      }
+      if (outputs[inUse] == null) {
+        outputs[inUse] = new DirectRLPOutput();
+      }
+      return outputs[inUse++];
+    }
+
+    void release(final DirectRLPOutput output) {
+      if (inUse > 0 && outputs[inUse - 1] == output) {
+        output.reset();
+        --inUse;
+      }
+    }
   }
 
   /**
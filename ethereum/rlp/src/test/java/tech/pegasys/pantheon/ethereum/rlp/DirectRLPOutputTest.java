@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.rlp.util.RLPTestUtil;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import org.junit.Test;
+
+public class DirectRLPOutputTest {
+
+  private static BytesValue h(final String hex) {
+    return BytesValue.fromHexString(hex);
+  }
+
+  private static String times(final String base, final int times) {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < times; i++) sb.append(base);
+    return sb.toString();
+  }
+
+  @Test
+  public void empty() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+
+    assertThat(out.encoded()).isEqualTo(BytesValue.EMPTY);
+  }
+
+  @Test
+  public void emptyBytesString() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.writeBytesValue(BytesValue.EMPTY);
+
+    assertThat(out.encoded()).isEqualTo(RLP.NULL);
+  }
+
+  @Test
+  public void singleByte() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.writeByte((byte) 0x7f);
+
+    assertThat(out.encoded()).isEqualTo(h("0x7f"));
+  }
+
+  @Test
+  public void singleShortElement() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.writeByte((byte) 0xFF);
+
+    assertThat(out.encoded()).isEqualTo(h("0x81FF"));
+  }
+
+  @Test
+  public void singleLongElement() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.writeBytesValue(h("0x" + times("3c", 256)));
+
+    assertThat(out.encoded()).isEqualTo(h("0xb90100" + times("3c", 256)));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void multipleElementAddedWithoutList() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.writeByte((byte) 0);
+    out.writeByte((byte) 1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void listAddedAfterTerminatedOutput() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.startList();
+    out.endList();
+    out.startList();
+  }
+
+  @Test
+  public void emptyList() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.startList();
+    out.endList();
+
+    assertThat(out.encoded()).isEqualTo(h("0xc0"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void unclosedList() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.startList();
+    out.encoded();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void closeUnopenedList() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.endList();
+  }
+
+  @Test
+  public void simpleShortListUpperBoundary() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.startList();
+    for (int i = 0; i < 55; i++) {
+      out.writeByte((byte) 0x3c);
+    }
+    out.endList();
+    assertThat(out.encoded()).isEqualTo(h("0xf7" + times("3c", 55)));
+  }
+
+  @Test
+  public void simpleLongListLowerBoundary() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.startList();
+    for (int i = 0; i < 56; i++) {
+      out.writeByte((byte) 0x3c);
+    }
+    out.endList();
+    assertThat(out.encoded()).isEqualTo(h("0xf838" + times("3c", 56)));
+  }
+
+  @Test
+  public void simpleLongListBoundaryCase() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.startList();
+    for (int i = 0; i < 65536; i++) {
+      out.writeByte((byte) 0x3c);
+    }
+    out.endList();
+    assertThat(out.encoded()).isEqualTo(h("0xfa010000" + times("3c", 65536)));
+  }
+
+  @Test
+  public void simpleNestedList() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.startList();
+    out.writeByte((byte) 0x2c);
+    out.startList();
+    out.writeByte((byte) 0x03);
+    out.writeByte((byte) 0x12);
+    out.endList();
+    out.writeByte((byte) 0x3b);
+    out.endList();
+
+    assertThat(out.encoded()).isEqualTo(h("0xc52cc203123b"));
+  }
+
+  @Test
+  public void nestedLongLists() {
+    // Both lists need a longer header than the byte reserved for it, and the inner one is shifted
+    // twice: once when it is ended and once when its parent is.
+    final DirectRLPOutput out = new DirectRLPOutput(1);
+    out.startList();
+    out.writeByte((byte) 0x2c);
+    out.startList();
+    for (int i = 0; i < 300; i++) {
+      out.writeByte((byte) 0x3c);
+    }
+    out.endList();
+    out.writeByte((byte) 0x3b);
+    out.endList();
+
+    assertThat(out.encoded())
+        .isEqualTo(h("0xf90131" + "2c" + "f9012c" + times("3c", 300) + "3b"));
+  }
+
+  @Test
+  public void writeEncoded() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.startList();
+    out.writeByte((byte) 0x2c);
+    out.writeByte((byte) 0x3b);
+    out.endList();
+
+    final MutableBytesValue dest = MutableBytesValue.create(out.encodedSize());
+    out.writeEncoded(dest);
+    assertThat(dest).isEqualTo(h("0xc22c3b"));
+  }
+
+  @Test
+  public void reuseAfterReset() {
+    final DirectRLPOutput out = new DirectRLPOutput();
+    out.startList();
+    out.writeBytesValue(h("0x" + times("3c", 100)));
+    out.endList();
+    final BytesValue first = out.encoded();
+
+    out.reset();
+    out.startList();
+    out.writeByte((byte) 0x2c);
+    out.endList();
+
+    assertThat(out.encoded()).isEqualTo(h("0xc12c"));
+    assertThat(first).isEqualTo(h("0xf866b864" + times("3c", 100)));
+  }
+
+  @Test
+  public void sameEncodingAsBytesValueRLPOutput() {
+    for (int seed = 0; seed < 200; seed++) {
+      final BytesValue expected = RLPTestUtil.randomRLPValue(seed).encoded();
+      final BytesValue actual = RLPTestUtil.randomRLPValue(seed, new DirectRLPOutput()).encoded();
+      assertThat(actual).isEqualTo(expected);
+    }
+  }
+}
@@ -24,6 +24,33 @@ import org.junit.Test;
 
 public class RLPTest {
 
+  @Test
+  public void encode_nestedEncodingInWriter() {
+    final BytesValue encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeByte((byte) 0x2c);
+              out.writeRLPUnsafe(RLP.encode(inner -> inner.writeByte((byte) 0x3b)));
+              out.endList();
+            });
+    assertThat(encoded).isEqualTo(BytesValue.fromHexString("0xc22c3b"));
+  }
+
+  @Test
+  public void encode_afterFailedWriter() {
+    assertThatThrownBy(
+            () ->
+                RLP.encode(
+                    out -> {
+                      out.startList();
+                      throw new IllegalStateException("Failed");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(RLP.encode(out -> out.writeByte((byte) 0x2c)))
+        .isEqualTo(BytesValue.fromHexString("0x2c"));
+  }
+
   @Test
   public void calculateSize_singleByteValue() {
     int size = RLP.calculateSize(BytesValue.fromHexString("0x01"));
@@ -90,8 +90,19 @@ public class RLPTestUtil {
    * @return a random rlp-encoded value
    */
   public static BytesValueRLPOutput randomRLPValue(final int randomSeed) {
+    return randomRLPValue(randomSeed, new BytesValueRLPOutput());
+  }
+
+  /**
+   * Write a random rlp-encoded value to the provided output.
+   *
+   * @param randomSeed Seed to use for random generation.
+   * @param out The output to write to.
+   * @param <T> The type of output.
+   * @return {@code out}
+   */
+  public static <T extends RLPOutput> T randomRLPValue(final int randomSeed, final T out) {
     final Random random = new Random(randomSeed);
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
     final AtomicInteger listDepth = new AtomicInteger(0);
     int iterations = 0;
     do {
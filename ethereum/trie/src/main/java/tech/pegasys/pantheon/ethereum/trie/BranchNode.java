@@ -14,7 +14,6 @@ package tech.pegasys.pantheon.ethereum.trie;
 
 import static tech.pegasys.pantheon.crypto.Hash.keccak256;
 
-import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -92,18 +91,20 @@ class BranchNode<V> implements Node<V> {
         return encoded;
       }
     }
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
-    for (int i = 0; i < RADIX; ++i) {
-      out.writeRLPUnsafe(children.get(i).getRlpRef());
-    }
-    if (value.isPresent()) {
-      out.writeBytesValue(valueSerializer.apply(value.get()));
-    } else {
-      out.writeNull();
-    }
-    out.endList();
-    final BytesValue encoded = out.encoded();
+    final BytesValue encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              for (int i = 0; i < RADIX; ++i) {
+                out.writeRLPUnsafe(children.get(i).getRlpRef());
+              }
+              if (value.isPresent()) {
+                out.writeBytesValue(valueSerializer.apply(value.get()));
+              } else {
+                out.writeNull();
+              }
+              out.endList();
+            });
     rlp = new WeakReference<>(encoded);
     return encoded;
   }
@@ -14,7 +14,6 @@ package tech.pegasys.pantheon.ethereum.trie;
 
 import static tech.pegasys.pantheon.crypto.Hash.keccak256;
 
-import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -80,12 +79,14 @@ class ExtensionNode<V> implements Node<V> {
         return encoded;
       }
     }
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
-    out.writeBytesValue(CompactEncoding.encode(path));
-    out.writeRLPUnsafe(child.getRlpRef());
-    out.endList();
-    final BytesValue encoded = out.encoded();
+    final BytesValue encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeBytesValue(CompactEncoding.encode(path));
+              out.writeRLPUnsafe(child.getRlpRef());
+              out.endList();
+            });
     rlp = new WeakReference<>(encoded);
     return encoded;
   }
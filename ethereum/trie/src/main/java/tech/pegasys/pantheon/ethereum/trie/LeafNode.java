@@ -14,7 +14,6 @@ package tech.pegasys.pantheon.ethereum.trie;
 
 import static tech.pegasys.pantheon.crypto.Hash.keccak256;
 
-import tech.pegasys.pantheon.ethereum.rlp.BytesValueRLPOutput;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -79,12 +78,14 @@ class LeafNode<V> implements Node<V> {
       }
     }
 
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
-    out.writeBytesValue(CompactEncoding.encode(path));
-    out.writeBytesValue(valueSerializer.apply(value));
-    out.endList();
-    final BytesValue encoded = out.encoded();
+    final BytesValue encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeBytesValue(CompactEncoding.encode(path));
+              out.writeBytesValue(valueSerializer.apply(value));
+              out.endList();
+            });
     rlp = new WeakReference<>(encoded);
     return encoded;
   }
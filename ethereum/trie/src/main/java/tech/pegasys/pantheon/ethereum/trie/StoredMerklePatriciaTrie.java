@@ -69,6 +69,22 @@ public class StoredMerklePatriciaTrie<K extends BytesValue, V> implements Merkle
             : new StoredNode<>(nodeFactory, rootHash);
   }
 
+  private StoredMerklePatriciaTrie(final StoredNodeFactory<V> nodeFactory, final Node<V> root) {
+    this.nodeFactory = nodeFactory;
+    this.root = root;
+  }
+
+  /**
+   * Creates a trie with the same content as this one, including changes that haven't been
+   * committed. Nodes are never modified once created, so both tries share them, and changes to
+   * either trie are not visible in the other.
+   *
+   * @return the copy of this trie.
+   */
+  public StoredMerklePatriciaTrie<K, V> copy() {
+    return new StoredMerklePatriciaTrie<>(nodeFactory, root);
+  }
+
   @Override
   public Optional<V> get(final K key) {
     checkNotNull(key);
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.metrics.prometheus;
+
+import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
+
+import io.prometheus.client.Summary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the cost of timing an operation with a quantile summary, as timers used to be, against
+ * the striped histogram timers, with and without sampling. Run with several threads, as timers
+ * around storage accesses are.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class TimerBenchmark {
+
+  private Summary.Child summary;
+  private OperationTimer histogram;
+  private OperationTimer sampledHistogram;
+
+  @Setup
+  public void prepare() {
+    summary =
+        Summary.build("summary", "help")
+            .quantile(0.2, 0.02)
+            .quantile(0.5, 0.05)
+            .quantile(0.8, 0.02)
+            .quantile(0.95, 0.005)
+            .quantile(0.99, 0.001)
+            .quantile(1.0, 0)
+            .labelNames("database")
+            .create()
+            .labels("blockchain");
+    histogram = new StripedHistogramTimer("histogram", "help", 1, "database").labels("blockchain");
+    sampledHistogram =
+        new StripedHistogramTimer("sampled", "help", 16, "database").labels("blockchain");
+  }
+
+  @Benchmark
+  public double summaryTimer() {
+    return summary.startTimer().observeDuration();
+  }
+
+  @Benchmark
+  public double histogramTimer() {
+    final TimingContext context = histogram.startTimer();
+    return context.stopTimer();
+  }
+
+  @Benchmark
+  public double sampledHistogramTimer() {
+    final TimingContext context = sampledHistogram.startTimer();
+    return context.stopTimer();
+  }
+}
@@ -33,6 +33,21 @@ public interface MetricsSystem {
   LabelledMetric<OperationTimer> createLabelledTimer(
       MetricCategory category, String name, String help, String... labelNames);
 
+  /**
+   * Creates a timer for operations so frequent that timing every one of them has a noticeable
+   * cost. Only one in every {@code sampleInterval} operations, chosen at random, is timed and it is
+   * recorded as {@code sampleInterval} operations of the same duration. The timing contexts of
+   * operations that are not timed return 0 when stopped.
+   */
+  default LabelledMetric<OperationTimer> createLabelledSampledTimer(
+      final MetricCategory category,
+      final String name,
+      final String help,
+      final int sampleInterval,
+      final String... labelNames) {
+    return createLabelledTimer(category, name, help, labelNames);
+  }
+
   void createGauge(
       MetricCategory category, String name, String help, Supplier<Double> valueSupplier);
 
@@ -38,7 +38,6 @@ import io.prometheus.client.Collector.MetricFamilySamples.Sample;
 import io.prometheus.client.Collector.Type;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.Counter;
-import io.prometheus.client.Summary;
 import io.prometheus.client.hotspot.BufferPoolsExports;
 import io.prometheus.client.hotspot.ClassLoadingExports;
 import io.prometheus.client.hotspot.GarbageCollectorExports;
@@ -110,23 +109,25 @@ public class PrometheusMetricsSystem implements MetricsSystem {
       final String name,
       final String help,
       final String... labelNames) {
+    return createLabelledSampledTimer(category, name, help, 1, labelNames);
+  }
+
+  @Override
+  public LabelledMetric<OperationTimer> createLabelledSampledTimer(
+      final MetricCategory category,
+      final String name,
+      final String help,
+      final int sampleInterval,
+      final String... labelNames) {
     final String metricName = convertToPrometheusName(category, name);
     return cachedTimers.computeIfAbsent(
         metricName,
         (k) -> {
           if (enabledCategories.contains(category)) {
-            final Summary summary =
-                Summary.build(metricName, help)
-                    .quantile(0.2, 0.02)
-                    .quantile(0.5, 0.05)
-                    .quantile(0.8, 0.02)
-                    .quantile(0.95, 0.005)
-                    .quantile(0.99, 0.001)
-                    .quantile(1.0, 0)
-                    .labelNames(labelNames)
-                    .create();
-            addCollectorUnchecked(category, summary);
-            return new PrometheusTimer(summary);
+            final StripedHistogramTimer timer =
+                new StripedHistogramTimer(metricName, help, sampleInterval, labelNames);
+            addCollectorUnchecked(category, timer);
+            return timer;
           } else {
             return NoOpMetricsSystem.getOperationTimerLabelledMetric(labelNames.length);
           }
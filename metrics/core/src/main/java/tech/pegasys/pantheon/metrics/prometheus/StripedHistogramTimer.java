@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.metrics.prometheus;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.OperationTimer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+
+/**
+ * A timer recording durations into a Prometheus histogram with fixed power-of-two buckets.
+ *
+ * <p>Each bucket is a {@link LongAdder}, so concurrent observations update separate cells without
+ * locking and are only summed when the histogram is collected. Optionally only one in every {@code
+ * sampleInterval} operations is timed, and counted {@code sampleInterval} times.
+ */
+class StripedHistogramTimer extends Collector implements LabelledMetric<OperationTimer> {
+
+  // Bucket i counts durations of at most 2^(MIN_BUCKET_SHIFT + i) nanoseconds, matching the
+  // inclusive "le" bound, from 256ns up to about 34s, with a final bucket for anything longer.
+  private static final int MIN_BUCKET_SHIFT = 8;
+  static final int BUCKET_COUNT = 28;
+  static final List<String> BUCKET_LABELS = bucketLabels();
+
+  private static final OperationTimer.TimingContext NOT_SAMPLED = () -> 0;
+
+  private final String metricName;
+  private final String help;
+  private final List<String> labelNames;
+  private final int sampleInterval;
+  private final Map<List<String>, Histogram> histograms = new ConcurrentHashMap<>();
+
+  StripedHistogramTimer(
+      final String metricName,
+      final String help,
+      final int sampleInterval,
+      final String... labelNames) {
+    checkArgument(sampleInterval > 0, "Sample interval must be positive");
+    this.metricName = metricName;
+    this.help = help;
+    this.sampleInterval = sampleInterval;
+    this.labelNames = Arrays.asList(labelNames);
+  }
+
+  @Override
+  public OperationTimer labels(final String... labels) {
+    checkArgument(
+        labels.length == labelNames.size(),
+        "Expected %s label values but got %s",
+        labelNames.size(),
+        labels.length);
+    return histograms.computeIfAbsent(Arrays.asList(labels), key -> new Histogram());
+  }
+
+  @Override
+  public List<MetricFamilySamples> collect() {
+    final List<Sample> samples = new ArrayList<>();
+    histograms.forEach((labels, histogram) -> histogram.addSamples(labels, samples));
+    return Collections.singletonList(
+        new MetricFamilySamples(metricName, Type.HISTOGRAM, help, samples));
+  }
+
+  static int bucketIndex(final long durationNanos) {
+    final int bitLength = Long.SIZE - Long.numberOfLeadingZeros(Math.max(durationNanos - 1, 0));
+    return Math.min(Math.max(bitLength - MIN_BUCKET_SHIFT, 0), BUCKET_COUNT);
+  }
+
+  private static List<String> bucketLabels() {
+    final List<String> labels = new ArrayList<>(BUCKET_COUNT + 1);
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      labels.add(doubleToGoString((1L << (MIN_BUCKET_SHIFT + i)) / 1e9));
+    }
+    labels.add(doubleToGoString(Double.POSITIVE_INFINITY));
+    return labels;
+  }
+
+  private class Histogram implements OperationTimer {
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    private Histogram() {
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    @Override
+    public TimingContext startTimer() {
+      if (sampleInterval > 1 && ThreadLocalRandom.current().nextInt(sampleInterval) != 0) {
+        return NOT_SAMPLED;
+      }
+      final long startNanos = System.nanoTime();
+      return () -> {
+        final long durationNanos = System.nanoTime() - startNanos;
+        buckets[bucketIndex(durationNanos)].add(sampleInterval);
+        sumNanos.add(durationNanos * sampleInterval);
+        return durationNanos / 1e9;
+      };
+    }
+
+    private void addSamples(final List<String> labels, final List<Sample> samples) {
+      final List<String> bucketLabelNames = new ArrayList<>(labelNames);
+      bucketLabelNames.add("le");
+      long count = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        count += buckets[i].sum();
+        final List<String> bucketLabelValues = new ArrayList<>(labels);
+        bucketLabelValues.add(BUCKET_LABELS.get(i));
+        samples.add(
+            new Sample(metricName + "_bucket", bucketLabelNames, bucketLabelValues, count));
+      }
+      samples.add(new Sample(metricName + "_count", labelNames, labels, count));
+      samples.add(new Sample(metricName + "_sum", labelNames, labels, sumNanos.sum() / 1e9));
+    }
+  }
+}
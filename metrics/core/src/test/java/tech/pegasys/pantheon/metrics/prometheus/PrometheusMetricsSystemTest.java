@@ -31,8 +31,10 @@ import tech.pegasys.pantheon.metrics.OperationTimer;
 import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -112,15 +114,29 @@ public class PrometheusMetricsSystemTest {
 
     assertThat(metricsSystem.streamObservations())
         .usingElementComparator(IGNORE_VALUES)
-        .containsExactlyInAnyOrder(
-            new Observation(RPC, "request", null, asList("quantile", "0.2")),
-            new Observation(RPC, "request", null, asList("quantile", "0.5")),
-            new Observation(RPC, "request", null, asList("quantile", "0.8")),
-            new Observation(RPC, "request", null, asList("quantile", "0.95")),
-            new Observation(RPC, "request", null, asList("quantile", "0.99")),
-            new Observation(RPC, "request", null, asList("quantile", "1.0")),
-            new Observation(RPC, "request", null, singletonList("sum")),
-            new Observation(RPC, "request", null, singletonList("count")));
+        .containsExactlyInAnyOrderElementsOf(timerObservations(RPC, "request"));
+    assertThat(metricsSystem.streamObservations())
+        .contains(new Observation(RPC, "request", 1d, singletonList("count")));
+  }
+
+  @Test
+  public void shouldCountEachSampledTimerObservationAsSampleInterval() {
+    final OperationTimer timer =
+        metricsSystem.createLabelledSampledTimer(RPC, "request", "Some help", 4).labels();
+
+    for (int i = 0; i < 1000; i++) {
+      timer.startTimer().stopTimer();
+    }
+
+    final Object count =
+        metricsSystem
+            .streamObservations()
+            .filter(observation -> observation.getLabels().equals(singletonList("count")))
+            .findFirst()
+            .get()
+            .getValue();
+    assertThat((double) count % 4).isZero();
+    assertThat((double) count).isBetween(500d, 1500d);
   }
 
   @Test
@@ -142,15 +158,7 @@ public class PrometheusMetricsSystemTest {
 
     assertThat(metricsSystem.streamObservations())
         .usingElementComparator(IGNORE_VALUES) // We don't know how long it will actually take.
-        .containsExactlyInAnyOrder(
-            new Observation(RPC, "request", null, asList("method", "quantile", "0.2")),
-            new Observation(RPC, "request", null, asList("method", "quantile", "0.5")),
-            new Observation(RPC, "request", null, asList("method", "quantile", "0.8")),
-            new Observation(RPC, "request", null, asList("method", "quantile", "0.95")),
-            new Observation(RPC, "request", null, asList("method", "quantile", "0.99")),
-            new Observation(RPC, "request", null, asList("method", "quantile", "1.0")),
-            new Observation(RPC, "request", null, asList("method", "sum")),
-            new Observation(RPC, "request", null, asList("method", "count")));
+        .containsExactlyInAnyOrderElementsOf(timerObservations(RPC, "request", "method"));
   }
 
   @Test
@@ -225,4 +233,21 @@ public class PrometheusMetricsSystemTest {
 
     assertThat(localMetricSystem).isInstanceOf(PrometheusMetricsSystem.class);
   }
+
+  private static List<Observation> timerObservations(
+      final MetricCategory category, final String name, final String... labelValues) {
+    final List<Observation> observations = new ArrayList<>();
+    for (final String bucket : StripedHistogramTimer.BUCKET_LABELS) {
+      final List<String> labels = new ArrayList<>(asList(labelValues));
+      labels.add("bucket");
+      labels.add(bucket);
+      observations.add(new Observation(category, name, null, labels));
+    }
+    for (final String sample : asList("count", "sum")) {
+      final List<String> labels = new ArrayList<>(asList(labelValues));
+      labels.add(sample);
+      observations.add(new Observation(category, name, null, labels));
+    }
+    return observations;
+  }
 }
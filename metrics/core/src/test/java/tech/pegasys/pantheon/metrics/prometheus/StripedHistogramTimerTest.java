@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.metrics.prometheus;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+import io.prometheus.client.Collector.Type;
+import org.junit.Test;
+
+public class StripedHistogramTimerTest {
+
+  @Test
+  public void shouldPlaceDurationsInPowerOfTwoBuckets() {
+    assertThat(StripedHistogramTimer.bucketIndex(0)).isEqualTo(0);
+    assertThat(StripedHistogramTimer.bucketIndex(256)).isEqualTo(0);
+    assertThat(StripedHistogramTimer.bucketIndex(257)).isEqualTo(1);
+    assertThat(StripedHistogramTimer.bucketIndex(512)).isEqualTo(1);
+    assertThat(StripedHistogramTimer.bucketIndex(513)).isEqualTo(2);
+    assertThat(StripedHistogramTimer.bucketIndex(1_000_000)).isEqualTo(12);
+    assertThat(StripedHistogramTimer.bucketIndex(Long.MAX_VALUE))
+        .isEqualTo(StripedHistogramTimer.BUCKET_COUNT);
+  }
+
+  @Test
+  public void shouldCollectCumulativeBucketsCountAndSum() {
+    final StripedHistogramTimer timer = new StripedHistogramTimer("timer", "help", 1, "name");
+    timer.labels("a").startTimer().stopTimer();
+    timer.labels("a").startTimer().stopTimer();
+    timer.labels("b").startTimer().stopTimer();
+
+    final List<MetricFamilySamples> families = timer.collect();
+    assertThat(families).hasSize(1);
+    assertThat(families.get(0).type).isEqualTo(Type.HISTOGRAM);
+    final List<Sample> samples = families.get(0).samples;
+    assertThat(samples).hasSize(2 * (StripedHistogramTimer.BUCKET_COUNT + 3));
+
+    final Sample infBucket = find(samples, "timer_bucket", asList("a", "+Inf"));
+    assertThat(infBucket.labelNames).containsExactly("name", "le");
+    assertThat(infBucket.value).isEqualTo(2);
+    assertThat(find(samples, "timer_count", asList("a")).value).isEqualTo(2);
+    assertThat(find(samples, "timer_count", asList("b")).value).isEqualTo(1);
+    assertThat(find(samples, "timer_sum", asList("a")).value).isGreaterThanOrEqualTo(0);
+
+    double previous = 0;
+    for (final String bucket : StripedHistogramTimer.BUCKET_LABELS) {
+      final double count = find(samples, "timer_bucket", asList("a", bucket)).value;
+      assertThat(count).isGreaterThanOrEqualTo(previous);
+      previous = count;
+    }
+  }
+
+  @Test
+  public void shouldRejectWrongNumberOfLabels() {
+    final StripedHistogramTimer timer = new StripedHistogramTimer("timer", "help", 1, "name");
+    assertThatThrownBy(() -> timer.labels("a", "b")).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Sample find(
+      final List<Sample> samples, final String name, final List<String> labelValues) {
+    return samples.stream()
+        .filter(sample -> sample.name.equals(name) && sample.labelValues.equals(labelValues))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("No sample " + name + labelValues));
+  }
+}
@@ -20,6 +20,7 @@ import tech.pegasys.pantheon.ethereum.eth.EthereumWireProtocolConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.plugins.internal.PantheonPluginContextImpl;
 import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 
 import org.apache.logging.log4j.Logger;
@@ -38,6 +39,7 @@ public final class Pantheon {
         new PantheonCommand(
             logger,
             new BlockImporter(),
+            new BlockExporter(),
             new RunnerBuilder(),
             new PantheonController.Builder(),
             new SynchronizerConfiguration.Builder(),
@@ -30,9 +30,12 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcHttpService;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcMethodsFactory;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
+import tech.pegasys.pantheon.ethereum.jsonrpc.cache.ResponseCache;
+import tech.pegasys.pantheon.ethereum.jsonrpc.cache.ResponseCacheConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterIdGenerator;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterManager;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.FilterRepository;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter.LogsDispatcher;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethod;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
@@ -215,6 +218,9 @@ public class RunnerBuilder {
               .setBindPort(p2pListenPort)
               .setAdvertisedHost(p2pAdvertisedHost)
               .setBootnodes(bootstrap);
+      if (dataDir != null) {
+        discoveryConfiguration.setPeerTableFile(dataDir.resolve("discovery-peers.rlp"));
+      }
     } else {
       discoveryConfiguration = DiscoveryConfiguration.create().setActive(false);
     }
@@ -302,7 +308,10 @@ public class RunnerBuilder {
                 });
 
     final PrivacyParameters privacyParameters = pantheonController.getPrivacyParameters();
-    final FilterManager filterManager = createFilterManager(vertx, context, transactionPool);
+    final LogsDispatcher logsDispatcher = createLogsDispatcher(context);
+    final FilterManager filterManager =
+        createFilterManager(vertx, context, transactionPool, logsDispatcher);
+    final Optional<ResponseCache> responseCache = createResponseCache(context);
 
     final P2PNetwork peerNetwork = networkRunner.getNetwork();
 
@@ -334,6 +343,7 @@ public class RunnerBuilder {
               jsonRpcConfiguration,
               webSocketConfiguration,
               metricsConfiguration);
+      responseCache.ifPresent(cache -> cache.decorate(jsonRpcMethods));
       jsonRpcHttpService =
           Optional.of(
               new JsonRpcHttpService(
@@ -353,7 +363,11 @@ public class RunnerBuilder {
               synchronizer);
       GraphQL graphQL = null;
       try {
-        graphQL = GraphQLProvider.buildGraphQL(fetchers);
+        graphQL =
+            GraphQLProvider.buildGraphQL(
+                fetchers,
+                graphQLRpcConfiguration.getMaxQueryDepth(),
+                graphQLRpcConfiguration.getMaxQueryComplexity());
       } catch (final IOException ioe) {
         throw new RuntimeException(ioe);
       }
@@ -385,12 +399,12 @@ public class RunnerBuilder {
               jsonRpcConfiguration,
               webSocketConfiguration,
               metricsConfiguration);
+      responseCache.ifPresent(cache -> cache.decorate(webSocketsJsonRpcMethods));
 
       final SubscriptionManager subscriptionManager =
           createSubscriptionManager(vertx, transactionPool);
 
-      createLogsSubscriptionService(
-          context.getBlockchain(), context.getWorldStateArchive(), subscriptionManager);
+      createLogsSubscriptionService(logsDispatcher, subscriptionManager);
 
       createNewBlockHeadersSubscriptionService(
           context.getBlockchain(), context.getWorldStateArchive(), subscriptionManager);
@@ -439,14 +453,23 @@ public class RunnerBuilder {
     return fixedNodes;
   }
 
+  private LogsDispatcher createLogsDispatcher(final ProtocolContext<?> context) {
+    return LogsDispatcher.observing(
+        new BlockchainQueries(context.getBlockchain(), context.getWorldStateArchive()));
+  }
+
   private FilterManager createFilterManager(
-      final Vertx vertx, final ProtocolContext<?> context, final TransactionPool transactionPool) {
+      final Vertx vertx,
+      final ProtocolContext<?> context,
+      final TransactionPool transactionPool,
+      final LogsDispatcher logsDispatcher) {
     final FilterManager filterManager =
         new FilterManager(
             new BlockchainQueries(context.getBlockchain(), context.getWorldStateArchive()),
             transactionPool,
             new FilterIdGenerator(),
-            new FilterRepository());
+            new FilterRepository(),
+            logsDispatcher);
     vertx.deployVerticle(filterManager);
     return filterManager;
   }
@@ -496,6 +519,18 @@ public class RunnerBuilder {
     return methods;
   }
 
+  private Optional<ResponseCache> createResponseCache(final ProtocolContext<?> context) {
+    final ResponseCacheConfiguration config = jsonRpcConfiguration.getResponseCacheConfiguration();
+    if (!config.isEnabled()
+        || !(jsonRpcConfiguration.isEnabled() || webSocketConfiguration.isEnabled())) {
+      return Optional.empty();
+    }
+    final ResponseCache responseCache =
+        new ResponseCache(config, context.getBlockchain(), metricsSystem);
+    context.getBlockchain().observeBlockAdded(responseCache);
+    return Optional.of(responseCache);
+  }
+
   private SubscriptionManager createSubscriptionManager(
       final Vertx vertx, final TransactionPool transactionPool) {
     final SubscriptionManager subscriptionManager = new SubscriptionManager();
@@ -511,14 +546,8 @@ public class RunnerBuilder {
   }
 
   private void createLogsSubscriptionService(
-      final Blockchain blockchain,
-      final WorldStateArchive worldStateArchive,
-      final SubscriptionManager subscriptionManager) {
-    final LogsSubscriptionService logsSubscriptionService =
-        new LogsSubscriptionService(
-            subscriptionManager, new BlockchainQueries(blockchain, worldStateArchive));
-
-    blockchain.observeBlockAdded(logsSubscriptionService);
+      final LogsDispatcher logsDispatcher, final SubscriptionManager subscriptionManager) {
+    logsDispatcher.addListener(new LogsSubscriptionService(subscriptionManager));
   }
 
   private void createSyncingSubscriptionService(
@@ -545,7 +574,11 @@ public class RunnerBuilder {
     final WebSocketMethodsFactory websocketMethodsFactory =
         new WebSocketMethodsFactory(subscriptionManager, jsonRpcMethods);
     final WebSocketRequestHandler websocketRequestHandler =
-        new WebSocketRequestHandler(vertx, websocketMethodsFactory.methods());
+        new WebSocketRequestHandler(
+            vertx,
+            websocketMethodsFactory.methods(),
+            configuration.getBulkheadConfiguration(),
+            metricsSystem);
 
     return new WebSocketService(vertx, configuration, websocketRequestHandler);
   }
@@ -15,10 +15,14 @@ package tech.pegasys.pantheon.cli;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static tech.pegasys.pantheon.cli.BlocksSubCommand.COMMAND_NAME;
 import static tech.pegasys.pantheon.cli.DefaultCommandValues.MANDATORY_FILE_FORMAT_HELP;
+import static tech.pegasys.pantheon.cli.DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP;
+import static tech.pegasys.pantheon.cli.DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP;
 
+import tech.pegasys.pantheon.cli.BlocksSubCommand.ExportSubCommand;
 import tech.pegasys.pantheon.cli.BlocksSubCommand.ImportSubCommand;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsService;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 
 import java.io.File;
@@ -36,6 +40,7 @@ import picocli.CommandLine.Command;
 import picocli.CommandLine.ExecutionException;
 import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
 import picocli.CommandLine.ParentCommand;
 import picocli.CommandLine.Spec;
 
@@ -44,7 +49,7 @@ import picocli.CommandLine.Spec;
     name = COMMAND_NAME,
     description = "This command provides blocks related actions.",
     mixinStandardHelpOptions = true,
-    subcommands = {ImportSubCommand.class})
+    subcommands = {ImportSubCommand.class, ExportSubCommand.class})
 class BlocksSubCommand implements Runnable {
   private static final Logger LOG = LogManager.getLogger();
 
@@ -59,10 +64,13 @@ class BlocksSubCommand implements Runnable {
   private CommandSpec spec; // Picocli injects reference to command spec
 
   private final BlockImporter blockImporter;
+  private final BlockExporter blockExporter;
   private final PrintStream out;
 
-  BlocksSubCommand(final BlockImporter blockImporter, final PrintStream out) {
+  BlocksSubCommand(
+      final BlockImporter blockImporter, final BlockExporter blockExporter, final PrintStream out) {
     this.blockImporter = blockImporter;
+    this.blockExporter = blockExporter;
     this.out = out;
   }
 
@@ -93,6 +101,14 @@ class BlocksSubCommand implements Runnable {
         arity = "1..1")
     private final File blocksImportFile = null;
 
+    @Option(
+        names = "--validation-threads",
+        paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+        description =
+            "Number of threads validating headers and recovering transaction senders ahead of the import (default: number of available processors)",
+        arity = "1..1")
+    private final Integer validationThreads = BlockImporter.DEFAULT_VALIDATION_THREADS;
+
     @Override
     public void run() {
       LOG.info("Runs import sub command with blocksImportFile : {}", blocksImportFile);
@@ -101,6 +117,11 @@ class BlocksSubCommand implements Runnable {
       checkNotNull(parentCommand.parentCommand);
       checkNotNull(parentCommand.blockImporter);
 
+      if (validationThreads < 1) {
+        throw new ParameterException(
+            new CommandLine(this), "--validation-threads must be at least 1: " + validationThreads);
+      }
+
       Optional<MetricsService> metricsService = Optional.empty();
       try {
         final MetricsConfiguration metricsConfiguration =
@@ -122,7 +143,10 @@ class BlocksSubCommand implements Runnable {
         final Path path = blocksImportFile.toPath();
 
         parentCommand.blockImporter.importBlockchain(
-            path, parentCommand.parentCommand.buildController());
+            path,
+            parentCommand.parentCommand.buildController(),
+            validationThreads,
+            parentCommand.parentCommand.getMetricsSystem());
       } catch (final FileNotFoundException e) {
         throw new ExecutionException(
             new CommandLine(this), "Could not find file to import: " + blocksImportFile);
@@ -134,4 +158,75 @@ class BlocksSubCommand implements Runnable {
       }
     }
   }
+
+  /**
+   * blocks export sub-command
+   *
+   * <p>Exports a range of blocks from the database to a file
+   */
+  @Command(
+      name = "export",
+      description = "This command exports a range of blocks from the database to a file.",
+      mixinStandardHelpOptions = true)
+  static class ExportSubCommand implements Runnable {
+    @SuppressWarnings("unused")
+    @ParentCommand
+    private BlocksSubCommand parentCommand; // Picocli injects reference to parent command
+
+    @Option(
+        names = "--to",
+        required = true,
+        paramLabel = MANDATORY_FILE_FORMAT_HELP,
+        description = "File to write the exported blocks to",
+        arity = "1..1")
+    private final File blocksExportFile = null;
+
+    @Option(
+        names = "--start-block",
+        paramLabel = MANDATORY_LONG_FORMAT_HELP,
+        description = "Number of the first block to export (default: ${DEFAULT-VALUE})",
+        arity = "1..1")
+    private final Long startBlock = 0L;
+
+    @Option(
+        names = "--end-block",
+        paramLabel = MANDATORY_LONG_FORMAT_HELP,
+        description =
+            "Number of the block to stop exporting before (default: export up to and including the chain head)",
+        arity = "1..1")
+    private final Long endBlock = null;
+
+    @Override
+    public void run() {
+      LOG.info("Runs export sub command with blocksExportFile : {}", blocksExportFile);
+
+      checkNotNull(parentCommand);
+      checkNotNull(parentCommand.parentCommand);
+      checkNotNull(parentCommand.blockExporter);
+
+      if (startBlock < 0) {
+        throw new ParameterException(
+            new CommandLine(this), "--start-block must not be negative: " + startBlock);
+      }
+      if (endBlock != null && endBlock < startBlock) {
+        throw new ParameterException(
+            new CommandLine(this), "--end-block must not be less than --start-block");
+      }
+
+      try {
+        // As blocksExportFile is a mandatory param it is always set by PicoCLI
+        //noinspection ConstantConditions
+        final Path path = blocksExportFile.toPath();
+
+        parentCommand.blockExporter.exportBlockchain(
+            path,
+            parentCommand.parentCommand.buildController(),
+            startBlock,
+            Optional.ofNullable(endBlock));
+      } catch (final IOException e) {
+        throw new ExecutionException(
+            new CommandLine(this), "Unable to export blocks to " + blocksExportFile, e);
+      }
+    }
+  }
 }
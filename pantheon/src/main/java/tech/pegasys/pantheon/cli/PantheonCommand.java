@@ -21,6 +21,8 @@ import static tech.pegasys.pantheon.cli.DefaultCommandValues.getDefaultPantheonD
 import static tech.pegasys.pantheon.cli.NetworkName.MAINNET;
 import static tech.pegasys.pantheon.controller.PantheonController.DATABASE_PATH;
 import static tech.pegasys.pantheon.ethereum.graphqlrpc.GraphQLRpcConfiguration.DEFAULT_GRAPHQL_RPC_PORT;
+import static tech.pegasys.pantheon.ethereum.graphqlrpc.GraphQLRpcConfiguration.DEFAULT_MAX_QUERY_COMPLEXITY;
+import static tech.pegasys.pantheon.ethereum.graphqlrpc.GraphQLRpcConfiguration.DEFAULT_MAX_QUERY_DEPTH;
 import static tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration.DEFAULT_JSON_RPC_PORT;
 import static tech.pegasys.pantheon.ethereum.jsonrpc.RpcApis.DEFAULT_JSON_RPC_APIS;
 import static tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration.DEFAULT_WEBSOCKET_PORT;
@@ -53,13 +55,17 @@ import tech.pegasys.pantheon.ethereum.graphqlrpc.GraphQLRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApis;
+import tech.pegasys.pantheon.ethereum.jsonrpc.bulkhead.BulkheadConfiguration;
+import tech.pegasys.pantheon.ethereum.jsonrpc.cache.ResponseCacheConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionExecutionConfiguration;
 import tech.pegasys.pantheon.ethereum.p2p.config.DiscoveryConfiguration;
 import tech.pegasys.pantheon.ethereum.p2p.peers.StaticNodesParser;
 import tech.pegasys.pantheon.ethereum.permissioning.LocalPermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfigurationBuilder;
 import tech.pegasys.pantheon.ethereum.permissioning.SmartContractPermissioningConfiguration;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateCacheConfiguration;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
@@ -68,6 +74,7 @@ import tech.pegasys.pantheon.metrics.vertx.VertxMetricsAdapterFactory;
 import tech.pegasys.pantheon.plugins.internal.PantheonPluginContextImpl;
 import tech.pegasys.pantheon.plugins.services.PicoCLIOptions;
 import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 import tech.pegasys.pantheon.util.InvalidConfigurationException;
 import tech.pegasys.pantheon.util.PermissioningConfigurationValidator;
@@ -131,10 +138,19 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   private CommandLine commandLine;
 
   private final BlockImporter blockImporter;
+  private final BlockExporter blockExporter;
 
   private final SynchronizerConfiguration.Builder synchronizerConfigurationBuilder;
   private final EthereumWireProtocolConfiguration.Builder ethereumWireConfigurationBuilder;
   private final RocksDbConfiguration.Builder rocksDbConfigurationBuilder;
+  private final BulkheadConfiguration.Builder rpcBulkheadConfigurationBuilder =
+      BulkheadConfiguration.builder();
+  private final ResponseCacheConfiguration.Builder rpcResponseCacheConfigurationBuilder =
+      ResponseCacheConfiguration.builder();
+  private final TransactionExecutionConfiguration.Builder transactionExecutionConfigurationBuilder =
+      TransactionExecutionConfiguration.builder();
+  private final WorldStateCacheConfiguration.Builder worldStateCacheConfigurationBuilder =
+      WorldStateCacheConfiguration.builder();
   private final RunnerBuilder runnerBuilder;
   private final PantheonController.Builder controllerBuilderFactory;
   private final PantheonPluginContextImpl pantheonPluginContext;
@@ -303,6 +319,22 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   private final CorsAllowedOriginsProperty graphQLHttpCorsAllowedOrigins =
       new CorsAllowedOriginsProperty();
 
+  @Option(
+      names = {"--graphql-http-max-query-depth"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Maximum nesting depth of a GraphQL query, deeper queries are rejected before execution (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer graphQLHttpMaxQueryDepth = DEFAULT_MAX_QUERY_DEPTH;
+
+  @Option(
+      names = {"--graphql-http-max-query-complexity"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Maximum estimated cost of a GraphQL query, where each field selected on every block of a range counts once per block (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer graphQLHttpMaxQueryComplexity = DEFAULT_MAX_QUERY_COMPLEXITY;
+
   @Option(
       names = {"--rpc-http-enabled"},
       description = "Set to start the JSON-RPC HTTP service (default: ${DEFAULT-VALUE})")
@@ -490,6 +522,20 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
       arity = "1")
   private final BytesValue extraData = DEFAULT_EXTRA_DATA;
 
+  @Option(
+      names = {"--miner-threads"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description = "Number of threads searching for a nonce when mining (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer minerThreads = DEFAULT_MINER_THREADS;
+
+  @Option(
+      names = {"--miner-full-dag-enabled"},
+      description =
+          "Set if the miner generates the full EthHash DAG in the data directory and mines with it "
+              + "instead of the light cache (default: ${DEFAULT-VALUE})")
+  private final Boolean isFullDagEnabled = false;
+
   @Option(
       names = {"--permissions-nodes-config-file-enabled"},
       description = "Enable node level permissions (default: ${DEFAULT-VALUE})")
@@ -581,6 +627,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   public PantheonCommand(
       final Logger logger,
       final BlockImporter blockImporter,
+      final BlockExporter blockExporter,
       final RunnerBuilder runnerBuilder,
       final PantheonController.Builder controllerBuilderFactory,
       final SynchronizerConfiguration.Builder synchronizerConfigurationBuilder,
@@ -589,6 +636,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
       final PantheonPluginContextImpl pantheonPluginContext) {
     this.logger = logger;
     this.blockImporter = blockImporter;
+    this.blockExporter = blockExporter;
     this.runnerBuilder = runnerBuilder;
     this.controllerBuilderFactory = controllerBuilderFactory;
     this.synchronizerConfigurationBuilder = synchronizerConfigurationBuilder;
@@ -616,7 +664,8 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     }
 
     commandLine.addSubcommand(
-        BlocksSubCommand.COMMAND_NAME, new BlocksSubCommand(blockImporter, resultHandler.out()));
+        BlocksSubCommand.COMMAND_NAME,
+        new BlocksSubCommand(blockImporter, blockExporter, resultHandler.out()));
     commandLine.addSubcommand(
         PublicKeySubCommand.COMMAND_NAME,
         new PublicKeySubCommand(resultHandler.out(), getKeyLoader()));
@@ -636,13 +685,15 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     // Add performance options
     UnstableOptionsSubCommand.createUnstableOptions(
         commandLine,
-        ImmutableMap.of(
-            "Synchronizer",
-            synchronizerConfigurationBuilder,
-            "RocksDB",
-            rocksDbConfigurationBuilder,
-            "Ethereum Wire Protocol",
-            ethereumWireConfigurationBuilder));
+        ImmutableMap.<String, Object>builder()
+            .put("Synchronizer", synchronizerConfigurationBuilder)
+            .put("RocksDB", rocksDbConfigurationBuilder)
+            .put("Ethereum Wire Protocol", ethereumWireConfigurationBuilder)
+            .put("JSON-RPC", rpcBulkheadConfigurationBuilder)
+            .put("JSON-RPC Response Cache", rpcResponseCacheConfigurationBuilder)
+            .put("Transaction Execution", transactionExecutionConfigurationBuilder)
+            .put("World State Cache", worldStateCacheConfigurationBuilder)
+            .build());
 
     pantheonPluginContext.addService(
         PicoCLIOptions.class,
@@ -685,7 +736,12 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
         commandLine,
         "--miner-enabled",
         !isMiningEnabled,
-        asList("--miner-coinbase", "--min-gas-price", "--miner-extra-data"));
+        asList(
+            "--miner-coinbase",
+            "--min-gas-price",
+            "--miner-extra-data",
+            "--miner-threads",
+            "--miner-full-dag-enabled"));
 
     checkOptionDependencies(
         logger,
@@ -702,6 +758,11 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
               + "or specify the beneficiary of mining (via --miner-coinbase <Address>)");
     }
 
+    if (minerThreads < 1) {
+      throw new ParameterException(
+          this.commandLine, "--miner-threads must be at least 1: " + minerThreads);
+    }
+
     final EthNetworkConfig ethNetworkConfig = updateNetworkConfig(getNetwork());
     try {
       final JsonRpcConfiguration jsonRpcConfiguration = jsonRpcConfiguration();
@@ -776,12 +837,20 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           .rocksDbConfiguration(buildRocksDbConfiguration())
           .dataDirectory(dataDir())
           .miningParameters(
-              new MiningParameters(coinbase, minTransactionGasPrice, extraData, isMiningEnabled))
+              new MiningParameters(
+                  coinbase,
+                  minTransactionGasPrice,
+                  extraData,
+                  isMiningEnabled,
+                  isFullDagEnabled,
+                  minerThreads))
           .maxPendingTransactions(txPoolMaxSize)
           .pendingTransactionRetentionPeriod(pendingTxRetentionPeriod)
           .nodePrivateKeyFile(nodePrivateKeyFile())
           .metricsSystem(metricsSystem.get())
           .privacyParameters(privacyParameters())
+          .transactionExecutionConfiguration(transactionExecutionConfigurationBuilder.build())
+          .worldStateCacheConfiguration(worldStateCacheConfigurationBuilder.build())
           .clock(Clock.systemUTC())
           .build();
     } catch (final InvalidConfigurationException e) {
@@ -798,7 +867,12 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
         commandLine,
         "--graphql-http-enabled",
         !isRpcHttpEnabled,
-        asList("--graphql-http-cors-origins", "--graphql-http-host", "--graphql-http-port"));
+        asList(
+            "--graphql-http-cors-origins",
+            "--graphql-http-host",
+            "--graphql-http-port",
+            "--graphql-http-max-query-depth",
+            "--graphql-http-max-query-complexity"));
 
     final GraphQLRpcConfiguration graphQLRpcConfiguration = GraphQLRpcConfiguration.createDefault();
     graphQLRpcConfiguration.setEnabled(isGraphQLHttpEnabled);
@@ -806,6 +880,8 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     graphQLRpcConfiguration.setPort(graphQLHttpPort);
     graphQLRpcConfiguration.setHostsWhitelist(hostsWhitelist);
     graphQLRpcConfiguration.setCorsAllowedDomains(graphQLHttpCorsAllowedOrigins);
+    graphQLRpcConfiguration.setMaxQueryDepth(graphQLHttpMaxQueryDepth);
+    graphQLRpcConfiguration.setMaxQueryComplexity(graphQLHttpMaxQueryComplexity);
 
     return graphQLRpcConfiguration;
   }
@@ -841,6 +917,9 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     jsonRpcConfiguration.setHostsWhitelist(hostsWhitelist);
     jsonRpcConfiguration.setAuthenticationEnabled(isRpcHttpAuthenticationEnabled);
     jsonRpcConfiguration.setAuthenticationCredentialsFile(rpcHttpAuthenticationCredentialsFile());
+    jsonRpcConfiguration.setBulkheadConfiguration(rpcBulkheadConfigurationBuilder.build());
+    jsonRpcConfiguration.setResponseCacheConfiguration(
+        rpcResponseCacheConfigurationBuilder.build());
     return jsonRpcConfiguration;
   }
 
@@ -873,6 +952,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     webSocketConfiguration.setAuthenticationEnabled(isRpcWsAuthenticationEnabled);
     webSocketConfiguration.setAuthenticationCredentialsFile(rpcWsAuthenticationCredentialsFile());
     webSocketConfiguration.setHostsWhitelist(hostsWhitelist);
+    webSocketConfiguration.setBulkheadConfiguration(rpcBulkheadConfigurationBuilder.build());
     return webSocketConfiguration;
   }
 
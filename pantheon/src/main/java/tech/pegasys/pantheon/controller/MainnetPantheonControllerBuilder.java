@@ -22,11 +22,15 @@ import tech.pegasys.pantheon.ethereum.core.MiningParameters;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthProtocolManager;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPool;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHashDatasetFactory;
+import tech.pegasys.pantheon.ethereum.mainnet.EthHasher;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHeaderValidator;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.metrics.MetricCategory;
 
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +41,8 @@ import org.apache.logging.log4j.Logger;
 public class MainnetPantheonControllerBuilder extends PantheonControllerBuilder<Void> {
   private static final Logger LOG = LogManager.getLogger();
 
+  private static final String ETHASH_DIRECTORY = "ethash";
+
   @Override
   protected MiningCoordinator createMiningCoordinator(
       final ProtocolSchedule<Void> protocolSchedule,
@@ -46,6 +52,15 @@ public class MainnetPantheonControllerBuilder extends PantheonControllerBuilder<
       final SyncState syncState,
       final EthProtocolManager ethProtocolManager) {
     final ExecutorService minerThreadPool = Executors.newCachedThreadPool();
+    final Optional<EthHashDatasetFactory> datasetFactory =
+        miningParameters.isFullDagEnabled()
+            ? Optional.of(
+                new EthHashDatasetFactory(
+                    dataDirectory.resolve(ETHASH_DIRECTORY),
+                    Runtime.getRuntime().availableProcessors()))
+            : Optional.empty();
+    final EthHasher ethHasher =
+        datasetFactory.<EthHasher>map(EthHasher.Full::new).orElseGet(EthHasher.Light::new);
     final EthHashMinerExecutor executor =
         new EthHashMinerExecutor(
             protocolContext,
@@ -56,17 +71,27 @@ public class MainnetPantheonControllerBuilder extends PantheonControllerBuilder<
             new DefaultBlockScheduler(
                 MainnetBlockHeaderValidator.MINIMUM_SECONDS_SINCE_PARENT,
                 MainnetBlockHeaderValidator.TIMESTAMP_TOLERANCE_S,
-                clock));
+                clock),
+            ethHasher);
 
     final EthHashMiningCoordinator miningCoordinator =
         new EthHashMiningCoordinator(protocolContext.getBlockchain(), executor, syncState);
     miningCoordinator.addMinedBlockObserver(ethProtocolManager);
+    metricsSystem.createLongGauge(
+        MetricCategory.BLOCKCHAIN,
+        "miner_hashes_per_second",
+        "Hashes per second of the local EthHash miner",
+        () -> miningCoordinator.hashesPerSecond().orElse(0L));
     if (miningParameters.isMiningEnabled()) {
+      // Start on the dataset of the next block now, rather than when the first block is mined.
+      final long nextBlockNumber = protocolContext.getBlockchain().getChainHeadBlockNumber() + 1;
+      datasetFactory.ifPresent(factory -> factory.datasetFor(nextBlockNumber));
       miningCoordinator.enable();
     }
     addShutdownAction(
         () -> {
           miningCoordinator.disable();
+          datasetFactory.ifPresent(EthHashDatasetFactory::close);
           minerThreadPool.shutdownNow();
           try {
             minerThreadPool.awaitTermination(5, TimeUnit.SECONDS);
@@ -85,6 +110,7 @@ public class MainnetPantheonControllerBuilder extends PantheonControllerBuilder<
 
   @Override
   protected ProtocolSchedule<Void> createProtocolSchedule() {
-    return MainnetProtocolSchedule.fromConfig(genesisConfig.getConfigOptions(), privacyParameters);
+    return MainnetProtocolSchedule.fromConfig(
+        genesisConfig.getConfigOptions(), privacyParameters, transactionExecutionConfiguration);
   }
 }
@@ -40,9 +40,11 @@ import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPool;
 import tech.pegasys.pantheon.ethereum.eth.transactions.TransactionPoolFactory;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.JsonRpcMethodFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionExecutionConfiguration;
 import tech.pegasys.pantheon.ethereum.p2p.config.SubProtocolConfiguration;
 import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.RocksDbStorageProvider;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateCacheConfiguration;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
@@ -74,6 +76,10 @@ public abstract class PantheonControllerBuilder<C> {
   protected Integer maxPendingTransactions;
   protected Integer pendingTransactionRetentionPeriod;
   protected KeyPair nodeKeys;
+  protected TransactionExecutionConfiguration transactionExecutionConfiguration =
+      TransactionExecutionConfiguration.SEQUENTIAL;
+  protected WorldStateCacheConfiguration worldStateCacheConfiguration =
+      WorldStateCacheConfiguration.DEFAULT;
   private StorageProvider storageProvider;
   private final List<Runnable> shutdownActions = new ArrayList<>();
   private RocksDbConfiguration rocksDbConfiguration;
@@ -158,6 +164,18 @@ public abstract class PantheonControllerBuilder<C> {
     return this;
   }
 
+  public PantheonControllerBuilder<C> transactionExecutionConfiguration(
+      final TransactionExecutionConfiguration transactionExecutionConfiguration) {
+    this.transactionExecutionConfiguration = transactionExecutionConfiguration;
+    return this;
+  }
+
+  public PantheonControllerBuilder<C> worldStateCacheConfiguration(
+      final WorldStateCacheConfiguration worldStateCacheConfiguration) {
+    this.worldStateCacheConfiguration = worldStateCacheConfiguration;
+    return this;
+  }
+
   public PantheonController<C> build() throws IOException {
     checkNotNull(genesisConfig, "Missing genesis config");
     checkNotNull(syncConfig, "Missing sync config");
@@ -192,6 +210,7 @@ public abstract class PantheonControllerBuilder<C> {
             genesisState,
             protocolSchedule,
             metricsSystem,
+            worldStateCacheConfiguration,
             this::createConsensusContext);
     final MutableBlockchain blockchain = protocolContext.getBlockchain();
 
@@ -207,6 +226,7 @@ public abstract class PantheonControllerBuilder<C> {
             protocolContext,
             protocolContext.getWorldStateArchive().getStorage(),
             ethProtocolManager.ethContext(),
+            ethProtocolManager.blockBroadcaster(),
             syncState,
             dataDirectory,
             clock,
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.controller.PantheonController;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/** Pantheon Block Export Util. */
+public class BlockExporter {
+
+  // Large enough that the file is written in a few big sequential chunks rather than per block.
+  private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+  /**
+   * Exports a range of blocks from Pantheon's block storage to the given file as concatenated RLP
+   * sections, the format read by {@link BlockImporter}.
+   *
+   * @param blocks Path to the file to write, which is replaced if it exists
+   * @param pantheonController the PantheonController that defines blockchain behavior
+   * @param startBlock the number of the first block to export
+   * @param endBlock the number of the block to stop before, or empty to export up to and including
+   *     the chain head
+   * @param <C> the consensus context type
+   * @return the number of blocks exported
+   * @throws IOException On Failure
+   */
+  public <C> long exportBlockchain(
+      final Path blocks,
+      final PantheonController<C> pantheonController,
+      final long startBlock,
+      final Optional<Long> endBlock)
+      throws IOException {
+    try {
+      final Blockchain blockchain = pantheonController.getProtocolContext().getBlockchain();
+      final long end = endBlock.orElse(blockchain.getChainHeadBlockNumber() + 1);
+      checkArgument(startBlock >= 0, "Start block must not be negative");
+      checkArgument(end >= startBlock, "End block must not be before the start block");
+
+      final BlockThroughputTracker tracker = new BlockThroughputTracker("Exported");
+      try (final OutputStream out =
+          new BufferedOutputStream(Files.newOutputStream(blocks), WRITE_BUFFER_SIZE)) {
+        for (long number = startBlock; number < end; ++number) {
+          final Block block = readBlock(blockchain, number);
+          out.write(block.toRlp().getArrayUnsafe());
+          tracker.record(block.getHeader());
+        }
+      }
+      tracker.logSummary();
+      return tracker.getBlockCount();
+    } finally {
+      pantheonController.close();
+    }
+  }
+
+  private static Block readBlock(final Blockchain blockchain, final long number) {
+    final BlockHeader header =
+        blockchain
+            .getBlockHeader(number)
+            .orElseThrow(() -> new IllegalStateException("Missing block " + number + "."));
+    final BlockBody body =
+        blockchain
+            .getBlockBody(header.getHash())
+            .orElseThrow(() -> new IllegalStateException("Missing body of block " + number + "."));
+    return new Block(header, body);
+  }
+}
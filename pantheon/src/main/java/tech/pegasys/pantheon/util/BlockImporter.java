@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.util;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.logging.log4j.LogManager.getLogger;
 
@@ -27,28 +28,35 @@ import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
 import tech.pegasys.pantheon.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import tech.pegasys.pantheon.ethereum.util.RawBlockIterator;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.pipeline.Pipeline;
+import tech.pegasys.pantheon.services.pipeline.PipelineBuilder;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.Logger;
 
 /** Pantheon Block Import Util. */
 public class BlockImporter {
   private static final Logger LOG = getLogger();
 
-  private final Semaphore blockBacklog = new Semaphore(2);
+  public static final int DEFAULT_VALIDATION_THREADS = Runtime.getRuntime().availableProcessors();
 
-  private final ExecutorService validationExecutor = Executors.newCachedThreadPool();
-  private final ExecutorService importExecutor = Executors.newSingleThreadExecutor();
+  // Blocks buffered between pipeline stages for each validation thread.
+  private static final int BUFFERED_BLOCKS_PER_THREAD = 8;
 
   /**
    * Imports blocks that are stored as concatenated RLP sections in the given file into Pantheon's
@@ -62,95 +70,132 @@ public class BlockImporter {
    */
   public <C> BlockImporter.ImportResult importBlockchain(
       final Path blocks, final PantheonController<C> pantheonController) throws IOException {
+    return importBlockchain(
+        blocks, pantheonController, DEFAULT_VALIDATION_THREADS, new NoOpMetricsSystem());
+  }
+
+  /**
+   * Imports blocks that are stored as concatenated RLP sections in the given file into Pantheon's
+   * block storage.
+   *
+   * <p>The import runs as a pipeline: one thread reads and decodes the file, header validation and
+   * transaction sender recovery run ahead on {@code validationThreads} threads, and a single thread
+   * executes and stores each block in file order.
+   *
+   * @param blocks Path to the file containing the blocks
+   * @param pantheonController the PantheonController that defines blockchain behavior
+   * @param validationThreads the number of threads validating headers and recovering senders
+   * @param metricsSystem the metrics system to report pipeline progress to
+   * @param <C> the consensus context type
+   * @return the import result
+   * @throws IOException On Failure
+   */
+  public <C> BlockImporter.ImportResult importBlockchain(
+      final Path blocks,
+      final PantheonController<C> pantheonController,
+      final int validationThreads,
+      final MetricsSystem metricsSystem)
+      throws IOException {
+    checkArgument(validationThreads > 0, "Must use at least one validation thread");
     final ProtocolSchedule<C> protocolSchedule = pantheonController.getProtocolSchedule();
     final ProtocolContext<C> context = pantheonController.getProtocolContext();
     final MutableBlockchain blockchain = context.getBlockchain();
-    int count = 0;
+    final int bufferSize = validationThreads * BUFFERED_BLOCKS_PER_THREAD;
+    final BlockThroughputTracker tracker = new BlockThroughputTracker("Imported");
 
+    final ExecutorService pipelineExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("block-import-%d").setDaemon(true).build());
+    final ExecutorService validationExecutor =
+        Executors.newFixedThreadPool(
+            validationThreads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("block-import-validation-%d")
+                .setDaemon(true)
+                .build());
     try (final RawBlockIterator iterator =
         new RawBlockIterator(
             blocks,
             rlp ->
                 BlockHeader.readFrom(
                     rlp, ScheduleBasedBlockHeaderFunctions.create(protocolSchedule)))) {
-      BlockHeader previousHeader = null;
-      CompletableFuture<Void> previousBlockFuture = null;
-      while (iterator.hasNext()) {
-        final Block block = iterator.next();
-        final BlockHeader header = block.getHeader();
-        if (header.getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER) {
-          continue;
-        }
-        if (header.getNumber() % 100 == 0) {
-          LOG.info("Import at block {}", header.getNumber());
-        }
-        if (blockchain.contains(header.getHash())) {
-          continue;
-        }
-        if (previousHeader == null) {
-          previousHeader = lookupPreviousHeader(blockchain, header);
-        }
-        final ProtocolSpec<C> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
-        final BlockHeader lastHeader = previousHeader;
-
-        final CompletableFuture<Void> validationFuture =
-            CompletableFuture.runAsync(
-                () -> validateBlock(protocolSpec, context, lastHeader, header), validationExecutor);
-
-        final CompletableFuture<Void> extractingFuture =
-            CompletableFuture.runAsync(() -> extractSignatures(block));
-
-        final CompletableFuture<Void> calculationFutures;
-        if (previousBlockFuture == null) {
-          calculationFutures = extractingFuture;
-        } else {
-          calculationFutures = CompletableFuture.allOf(extractingFuture, previousBlockFuture);
-        }
-
-        try {
-          blockBacklog.acquire();
-        } catch (final InterruptedException e) {
-          LOG.error("Interrupted adding to backlog.", e);
-          break;
-        }
-        previousBlockFuture =
-            validationFuture.runAfterBothAsync(
-                calculationFutures,
-                () -> evaluateBlock(context, block, header, protocolSpec),
-                importExecutor);
-
-        ++count;
-        previousHeader = header;
-      }
-      if (previousBlockFuture != null) {
-        previousBlockFuture.join();
-      }
-      return new BlockImporter.ImportResult(blockchain.getChainHead().getTotalDifficulty(), count);
+      final Pipeline<Block> pipeline =
+          PipelineBuilder.createPipelineFrom(
+                  "readBlocks",
+                  iterator,
+                  bufferSize,
+                  metricsSystem.createLabelledCounter(
+                      MetricCategory.BLOCKCHAIN,
+                      "block_import_pipeline_processed_total",
+                      "Number of entries processed by each block import pipeline stage",
+                      "step",
+                      "action"))
+              .thenFlatMap("selectBlocks", new BlockSelector(blockchain), bufferSize)
+              .thenProcessAsyncOrdered(
+                  "validateBlocks",
+                  pendingBlock ->
+                      CompletableFuture.supplyAsync(
+                          () -> prepareBlock(protocolSchedule, context, pendingBlock),
+                          validationExecutor),
+                  bufferSize)
+              .andFinishWith(
+                  "importBlocks",
+                  block -> {
+                    evaluateBlock(
+                        context,
+                        block,
+                        block.getHeader(),
+                        protocolSchedule.getByBlockNumber(block.getHeader().getNumber()));
+                    tracker.record(block.getHeader());
+                  });
+      waitFor(pipeline.start(pipelineExecutor));
+      tracker.logSummary();
+      return new BlockImporter.ImportResult(
+          blockchain.getChainHead().getTotalDifficulty(), (int) tracker.getBlockCount());
     } finally {
-      validationExecutor.shutdownNow();
-      try {
-        validationExecutor.awaitTermination(5, SECONDS);
-      } catch (final Exception e) {
-        LOG.error("Error shutting down validatorExecutor.", e);
-      }
-      importExecutor.shutdownNow();
-      try {
-        importExecutor.awaitTermination(5, SECONDS);
-      } catch (final Exception e) {
-        LOG.error("Error shutting down importExecutor", e);
-      }
+      shutdown(pipelineExecutor);
+      shutdown(validationExecutor);
       pantheonController.close();
     }
   }
 
+  private static void waitFor(final CompletableFuture<Void> pipelineFuture) {
+    try {
+      pipelineFuture.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while importing blocks.", e);
+    } catch (final ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static void shutdown(final ExecutorService executor) {
+    executor.shutdownNow();
+    try {
+      executor.awaitTermination(5, SECONDS);
+    } catch (final InterruptedException e) {
+      LOG.error("Interrupted shutting down block import executor.", e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Validates the header of a pending block and recovers its transaction senders. */
+  private <C> Block prepareBlock(
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> context,
+      final PendingBlock pendingBlock) {
+    final BlockHeader header = pendingBlock.block.getHeader();
+    final ProtocolSpec<C> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
+    validateBlock(protocolSpec, context, pendingBlock.parent, header);
+    extractSignatures(pendingBlock.block);
+    return pendingBlock.block;
+  }
+
   private void extractSignatures(final Block block) {
-    final List<CompletableFuture<Void>> futures =
-        new ArrayList<>(block.getBody().getTransactions().size());
     for (final Transaction tx : block.getBody().getTransactions()) {
-      futures.add(CompletableFuture.runAsync(tx::getSender, validationExecutor));
-    }
-    for (final CompletableFuture<Void> future : futures) {
-      future.join();
+      tx.getSender();
     }
   }
 
@@ -173,21 +218,16 @@ public class BlockImporter {
       final Block block,
       final BlockHeader header,
       final ProtocolSpec<C> protocolSpec) {
-    try {
-      final tech.pegasys.pantheon.ethereum.core.BlockImporter<C> blockImporter =
-          protocolSpec.getBlockImporter();
-      final boolean blockImported =
-          blockImporter.importBlock(context, block, HeaderValidationMode.SKIP_DETACHED);
-      if (!blockImported) {
-        throw new IllegalStateException(
-            "Invalid block at block number " + header.getNumber() + ".");
-      }
-    } finally {
-      blockBacklog.release();
+    final tech.pegasys.pantheon.ethereum.core.BlockImporter<C> blockImporter =
+        protocolSpec.getBlockImporter();
+    final boolean blockImported =
+        blockImporter.importBlock(context, block, HeaderValidationMode.SKIP_DETACHED);
+    if (!blockImported) {
+      throw new IllegalStateException("Invalid block at block number " + header.getNumber() + ".");
     }
   }
 
-  private BlockHeader lookupPreviousHeader(
+  private static BlockHeader lookupPreviousHeader(
       final MutableBlockchain blockchain, final BlockHeader header) {
     return blockchain
         .getBlockHeader(header.getParentHash())
@@ -199,6 +239,45 @@ public class BlockImporter {
                         header.getNumber(), blockchain.getChainHeadBlockNumber())));
   }
 
+  /** A block paired with the header of the block before it in the file. */
+  private static class PendingBlock {
+    private final Block block;
+    private final BlockHeader parent;
+
+    private PendingBlock(final Block block, final BlockHeader parent) {
+      this.block = block;
+      this.parent = parent;
+    }
+  }
+
+  /**
+   * Drops blocks that do not need importing and pairs the rest with their parent headers. It keeps
+   * the previous header between calls, so it must run on a single thread.
+   */
+  private static class BlockSelector implements Function<Block, Stream<PendingBlock>> {
+    private final MutableBlockchain blockchain;
+    private BlockHeader previousHeader;
+
+    private BlockSelector(final MutableBlockchain blockchain) {
+      this.blockchain = blockchain;
+    }
+
+    @Override
+    public Stream<PendingBlock> apply(final Block block) {
+      final BlockHeader header = block.getHeader();
+      if (header.getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER
+          || blockchain.contains(header.getHash())) {
+        return Stream.empty();
+      }
+      if (previousHeader == null) {
+        previousHeader = lookupPreviousHeader(blockchain, header);
+      }
+      final PendingBlock pendingBlock = new PendingBlock(block, previousHeader);
+      previousHeader = header;
+      return Stream.of(pendingBlock);
+    }
+  }
+
   public static final class ImportResult {
 
     public final UInt256 td;
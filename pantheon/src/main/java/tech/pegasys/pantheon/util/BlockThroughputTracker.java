@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util;
+
+import static org.apache.logging.log4j.LogManager.getLogger;
+
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+
+/** Counts the blocks and gas handled by a bulk block operation and logs the rates achieved. */
+final class BlockThroughputTracker {
+  private static final Logger LOG = getLogger();
+
+  private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final String operation;
+  private final long startNanos;
+  private long intervalStartNanos;
+  private long blockCount;
+  private long gasUsed;
+  private long intervalBlockCount;
+  private long intervalGasUsed;
+
+  /** @param operation the past tense of the operation, used as the first word of each log line */
+  BlockThroughputTracker(final String operation) {
+    this.operation = operation;
+    this.startNanos = System.nanoTime();
+    this.intervalStartNanos = startNanos;
+  }
+
+  void record(final BlockHeader header) {
+    ++blockCount;
+    ++intervalBlockCount;
+    gasUsed += header.getGasUsed();
+    intervalGasUsed += header.getGasUsed();
+
+    final long now = System.nanoTime();
+    if (now - intervalStartNanos >= LOG_INTERVAL_NANOS) {
+      LOG.info(
+          "{} up to block {}: {}",
+          operation,
+          header.getNumber(),
+          rates(intervalBlockCount, intervalGasUsed, now - intervalStartNanos));
+      intervalStartNanos = now;
+      intervalBlockCount = 0;
+      intervalGasUsed = 0;
+    }
+  }
+
+  void logSummary() {
+    final long elapsedNanos = System.nanoTime() - startNanos;
+    LOG.info(
+        "{} {} blocks in {} s: {}",
+        operation,
+        blockCount,
+        String.format("%.1f", elapsedNanos / 1e9),
+        rates(blockCount, gasUsed, elapsedNanos));
+  }
+
+  long getBlockCount() {
+    return blockCount;
+  }
+
+  private static String rates(final long blocks, final long gas, final long elapsedNanos) {
+    final double seconds = Math.max(elapsedNanos, 1) / 1e9;
+    return String.format("%.1f blocks/s, %.2f Mgas/s", blocks / seconds, gas / seconds / 1e6);
+  }
+}
@@ -14,9 +14,13 @@ package tech.pegasys.pantheon.cli;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 import java.io.File;
+import java.util.Optional;
 
 import org.junit.Test;
 import picocli.CommandLine.Model.CommandSpec;
@@ -35,22 +39,55 @@ public class BlockSubCommandTest extends CommandTestAbstract {
           + "Commands:"
           + System.lineSeparator()
           + "  import  This command imports blocks from a file into the database."
+          + System.lineSeparator()
+          + "  export  This command exports a range of blocks from the database to a file."
           + System.lineSeparator();
 
   private static final String EXPECTED_BLOCK_IMPORT_USAGE =
       "Usage: pantheon blocks import [-hV] --from=<FILE>"
+          + System.lineSeparator()
+          + "                              [--validation-threads=<INTEGER>]"
           + System.lineSeparator()
           + "This command imports blocks from a file into the database."
           + System.lineSeparator()
           + "      --from=<FILE>   File containing blocks to import"
           + System.lineSeparator()
+          + "      --validation-threads=<INTEGER>"
+          + System.lineSeparator()
+          + "                      Number of threads validating headers and recovering"
+          + System.lineSeparator()
+          + "                        transaction senders ahead of the import (default: number of"
+          + System.lineSeparator()
+          + "                        available processors)"
+          + System.lineSeparator()
           + "  -h, --help          Show this help message and exit."
           + System.lineSeparator()
           + "  -V, --version       Print version information and exit."
           + System.lineSeparator();
 
+  private static final String EXPECTED_BLOCK_EXPORT_USAGE =
+      "Usage: pantheon blocks export [-hV] [--end-block=<LONG>] [--start-block=<LONG>]"
+          + System.lineSeparator()
+          + "                              --to=<FILE>"
+          + System.lineSeparator()
+          + "This command exports a range of blocks from the database to a file."
+          + System.lineSeparator()
+          + "      --end-block=<LONG>     Number of the block to stop exporting before (default:"
+          + System.lineSeparator()
+          + "                               export up to and including the chain head)"
+          + System.lineSeparator()
+          + "      --start-block=<LONG>   Number of the first block to export (default: 0)"
+          + System.lineSeparator()
+          + "      --to=<FILE>            File to write the exported blocks to"
+          + System.lineSeparator()
+          + "  -h, --help                 Show this help message and exit."
+          + System.lineSeparator()
+          + "  -V, --version              Print version information and exit."
+          + System.lineSeparator();
+
   private static final String BLOCK_SUBCOMMAND_NAME = "blocks";
   private static final String BLOCK_IMPORT_SUBCOMMAND_NAME = "import";
+  private static final String BLOCK_EXPORT_SUBCOMMAND_NAME = "export";
 
   // Block sub-command
   @Test
@@ -58,7 +95,7 @@ public class BlockSubCommandTest extends CommandTestAbstract {
     CommandSpec spec = parseCommand();
     assertThat(spec.subcommands()).containsKeys(BLOCK_SUBCOMMAND_NAME);
     assertThat(spec.subcommands().get(BLOCK_SUBCOMMAND_NAME).getSubcommands())
-        .containsKeys(BLOCK_IMPORT_SUBCOMMAND_NAME);
+        .containsKeys(BLOCK_IMPORT_SUBCOMMAND_NAME, BLOCK_EXPORT_SUBCOMMAND_NAME);
     assertThat(commandOutput.toString()).isEmpty();
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
@@ -99,11 +136,126 @@ public class BlockSubCommandTest extends CommandTestAbstract {
     parseCommand(
         BLOCK_SUBCOMMAND_NAME, BLOCK_IMPORT_SUBCOMMAND_NAME, "--from", fileToImport.getPath());
 
-    verify(mockBlockImporter).importBlockchain(pathArgumentCaptor.capture(), any());
+    verify(mockBlockImporter)
+        .importBlockchain(pathArgumentCaptor.capture(), any(), anyInt(), any());
 
     assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToImport.toPath());
 
     assertThat(commandOutput.toString()).isEmpty();
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
+
+  @Test
+  public void callingBlockImportSubCommandWithValidationThreadsMustUseThem() throws Exception {
+    File fileToImport = temp.newFile("blocks.file");
+    parseCommand(
+        BLOCK_SUBCOMMAND_NAME,
+        BLOCK_IMPORT_SUBCOMMAND_NAME,
+        "--from",
+        fileToImport.getPath(),
+        "--validation-threads",
+        "3");
+
+    verify(mockBlockImporter)
+        .importBlockchain(pathArgumentCaptor.capture(), any(), intArgumentCaptor.capture(), any());
+
+    assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToImport.toPath());
+    assertThat(intArgumentCaptor.getValue()).isEqualTo(3);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void callingBlockImportSubCommandWithZeroValidationThreadsMustDisplayError()
+      throws Exception {
+    File fileToImport = temp.newFile("blocks.file");
+    parseCommand(
+        BLOCK_SUBCOMMAND_NAME,
+        BLOCK_IMPORT_SUBCOMMAND_NAME,
+        "--from",
+        fileToImport.getPath(),
+        "--validation-threads",
+        "0");
+
+    verifyZeroInteractions(mockBlockImporter);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .startsWith("--validation-threads must be at least 1: 0");
+  }
+
+  // Export sub-sub-command
+  @Test
+  public void callingBlockExportSubCommandWithoutPathMustDisplayErrorAndUsage() {
+    parseCommand(BLOCK_SUBCOMMAND_NAME, BLOCK_EXPORT_SUBCOMMAND_NAME);
+    final String expectedErrorOutputStart = "Missing required option '--to=<FILE>'";
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).startsWith(expectedErrorOutputStart);
+  }
+
+  @Test
+  public void callingBlockExportSubCommandHelpMustDisplayUsage() {
+    parseCommand(BLOCK_SUBCOMMAND_NAME, BLOCK_EXPORT_SUBCOMMAND_NAME, "--help");
+    assertThat(commandOutput.toString()).startsWith(EXPECTED_BLOCK_EXPORT_USAGE);
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void callingBlockExportSubCommandWithPathMustExportWholeChainToThisPath()
+      throws Exception {
+    File fileToExport = temp.newFile("blocks.file");
+    parseCommand(
+        BLOCK_SUBCOMMAND_NAME, BLOCK_EXPORT_SUBCOMMAND_NAME, "--to", fileToExport.getPath());
+
+    verify(mockBlockExporter)
+        .exportBlockchain(pathArgumentCaptor.capture(), any(), eq(0L), eq(Optional.empty()));
+
+    assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToExport.toPath());
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void callingBlockExportSubCommandWithRangeMustExportThisRange() throws Exception {
+    File fileToExport = temp.newFile("blocks.file");
+    parseCommand(
+        BLOCK_SUBCOMMAND_NAME,
+        BLOCK_EXPORT_SUBCOMMAND_NAME,
+        "--to",
+        fileToExport.getPath(),
+        "--start-block",
+        "100",
+        "--end-block",
+        "200");
+
+    verify(mockBlockExporter)
+        .exportBlockchain(pathArgumentCaptor.capture(), any(), eq(100L), eq(Optional.of(200L)));
+
+    assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToExport.toPath());
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void callingBlockExportSubCommandWithEndBeforeStartMustDisplayError() throws Exception {
+    File fileToExport = temp.newFile("blocks.file");
+    parseCommand(
+        BLOCK_SUBCOMMAND_NAME,
+        BLOCK_EXPORT_SUBCOMMAND_NAME,
+        "--to",
+        fileToExport.getPath(),
+        "--start-block",
+        "200",
+        "--end-block",
+        "100");
+
+    verifyZeroInteractions(mockBlockExporter);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .startsWith("--end-block must not be less than --start-block");
+  }
 }
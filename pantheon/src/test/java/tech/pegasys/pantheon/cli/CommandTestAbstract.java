@@ -34,6 +34,7 @@ import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.plugins.internal.PantheonPluginContextImpl;
 import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
+import tech.pegasys.pantheon.util.BlockExporter;
 import tech.pegasys.pantheon.util.BlockImporter;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
@@ -85,6 +86,7 @@ public abstract class CommandTestAbstract {
   @Mock RocksDbConfiguration mockRocksDbConf;
   @Mock PantheonController<Object> mockController;
   @Mock BlockImporter mockBlockImporter;
+  @Mock BlockExporter mockBlockExporter;
   @Mock Logger mockLogger;
   @Mock PantheonPluginContextImpl mockPantheonPluginContext;
 
@@ -128,6 +130,10 @@ public abstract class CommandTestAbstract {
     when(mockControllerBuilder.metricsSystem(any())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.privacyParameters(any())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.clock(any())).thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.transactionExecutionConfiguration(any()))
+        .thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.worldStateCacheConfiguration(any()))
+        .thenReturn(mockControllerBuilder);
 
     when(mockSyncConfBuilder.syncMode(any())).thenReturn(mockSyncConfBuilder);
     when(mockSyncConfBuilder.maxTrailingPeers(anyInt())).thenReturn(mockSyncConfBuilder);
@@ -194,6 +200,7 @@ public abstract class CommandTestAbstract {
         new TestPantheonCommand(
             mockLogger,
             mockBlockImporter,
+            mockBlockExporter,
             mockRunnerBuilder,
             mockControllerBuilderFactory,
             mockSyncConfBuilder,
@@ -224,6 +231,7 @@ public abstract class CommandTestAbstract {
     TestPantheonCommand(
         final Logger mockLogger,
         final BlockImporter mockBlockImporter,
+        final BlockExporter mockBlockExporter,
         final RunnerBuilder mockRunnerBuilder,
         final PantheonController.Builder controllerBuilderFactory,
         final SynchronizerConfiguration.Builder mockSyncConfBuilder,
@@ -234,6 +242,7 @@ public abstract class CommandTestAbstract {
       super(
           mockLogger,
           mockBlockImporter,
+          mockBlockExporter,
           mockRunnerBuilder,
           controllerBuilderFactory,
           mockSyncConfBuilder,
@@ -45,9 +45,11 @@ import tech.pegasys.pantheon.ethereum.graphqlrpc.GraphQLRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.JsonRpcConfiguration;
 import tech.pegasys.pantheon.ethereum.jsonrpc.RpcApi;
 import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionExecutionConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.LocalPermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.SmartContractPermissioningConfiguration;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateCacheConfiguration;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
@@ -1232,6 +1234,49 @@ public class PantheonCommandTest extends CommandTestAbstract {
             "Invalid value for option '--Xewp-max-get-node-data': cannot convert '-16' to PositiveNumber");
   }
 
+  @Test
+  public void transactionsAreExecutedSequentiallyByDefault() {
+    parseCommand();
+
+    verify(mockControllerBuilder)
+        .transactionExecutionConfiguration(TransactionExecutionConfiguration.SEQUENTIAL);
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void parsesParallelTransactionExecutionThreadsOption() {
+    parseCommand("--Xparallel-transaction-execution-threads", "4");
+
+    verify(mockControllerBuilder)
+        .transactionExecutionConfiguration(
+            TransactionExecutionConfiguration.builder().parallelThreads(4).build());
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void worldStatePreloadingIsDisabledByDefault() {
+    parseCommand();
+
+    verify(mockControllerBuilder)
+        .worldStateCacheConfiguration(WorldStateCacheConfiguration.DEFAULT);
+    assertThat(WorldStateCacheConfiguration.DEFAULT.getPreloadThreads()).isZero();
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void parsesWorldStateCacheOptions() {
+    parseCommand("--Xworld-state-cache-size", "1024", "--Xworld-state-preload-threads", "2");
+
+    verify(mockControllerBuilder)
+        .worldStateCacheConfiguration(
+            WorldStateCacheConfiguration.builder().cacheSizeBytes(1024).preloadThreads(2).build());
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
   @Test
   public void rpcHttpEnabledPropertyDefaultIsFalse() {
     parseCommand();
@@ -1429,6 +1474,26 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
+  @Test
+  public void graphQLRpcHttpQueryLimitOptionsMustBeUsed() {
+    parseCommand(
+        "--graphql-http-enabled",
+        "--graphql-http-max-query-depth",
+        "12",
+        "--graphql-http-max-query-complexity",
+        "3456");
+
+    verify(mockRunnerBuilder).graphQLRpcConfiguration(graphQLRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(graphQLRpcConfigArgumentCaptor.getValue().getMaxQueryDepth()).isEqualTo(12);
+    assertThat(graphQLRpcConfigArgumentCaptor.getValue().getMaxQueryComplexity())
+        .isEqualTo(3456);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
   @Test
   public void graphQLRpcHttpHostMayBeLocalhost() {
 
@@ -2108,10 +2173,18 @@ public class PantheonCommandTest extends CommandTestAbstract {
         "--min-gas-price",
         "42",
         "--miner-extra-data",
-        "0x1122334455667788990011223344556677889900112233445566778899001122");
+        "0x1122334455667788990011223344556677889900112233445566778899001122",
+        "--miner-threads",
+        "2",
+        "--miner-full-dag-enabled");
 
     verifyOptionsConstraintLoggerCall(
-        "--miner-enabled", "--miner-coinbase", "--min-gas-price", "--miner-extra-data");
+        "--miner-enabled",
+        "--miner-coinbase",
+        "--min-gas-price",
+        "--miner-extra-data",
+        "--miner-threads",
+        "--miner-full-dag-enabled");
 
     assertThat(commandOutput.toString()).isEmpty();
     assertThat(commandErrorOutput.toString()).isEmpty();
@@ -2126,7 +2199,9 @@ public class PantheonCommandTest extends CommandTestAbstract {
         "--miner-enabled",
         "--miner-coinbase=" + requestedCoinbase.toString(),
         "--min-gas-price=15",
-        "--miner-extra-data=" + extraDataString);
+        "--miner-extra-data=" + extraDataString,
+        "--miner-threads=4",
+        "--miner-full-dag-enabled");
 
     final ArgumentCaptor<MiningParameters> miningArg =
         ArgumentCaptor.forClass(MiningParameters.class);
@@ -2140,6 +2215,37 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(miningArg.getValue().getMinTransactionGasPrice()).isEqualTo(Wei.of(15));
     assertThat(miningArg.getValue().getExtraData())
         .isEqualTo(BytesValue.fromHexString(extraDataString));
+    assertThat(miningArg.getValue().getMinerThreads()).isEqualTo(4);
+    assertThat(miningArg.getValue().isFullDagEnabled()).isTrue();
+  }
+
+  @Test
+  public void miningUsesOneThreadAndLightCacheByDefault() throws Exception {
+    final String coinbaseStr = String.format("%040x", 1);
+    parseCommand("--miner-enabled", "--miner-coinbase=" + coinbaseStr);
+
+    final ArgumentCaptor<MiningParameters> miningArg =
+        ArgumentCaptor.forClass(MiningParameters.class);
+
+    verify(mockControllerBuilder).miningParameters(miningArg.capture());
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+    assertThat(miningArg.getValue().getMinerThreads()).isEqualTo(1);
+    assertThat(miningArg.getValue().isFullDagEnabled()).isFalse();
+  }
+
+  @Test
+  public void minerThreadsMustBePositive() {
+    final String coinbaseStr = String.format("%040x", 1);
+    parseCommand("--miner-enabled", "--miner-coinbase=" + coinbaseStr, "--miner-threads=0");
+
+    verifyZeroInteractions(mockControllerBuilder);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .startsWith("--miner-threads must be at least 1: 0");
   }
 
   @Test
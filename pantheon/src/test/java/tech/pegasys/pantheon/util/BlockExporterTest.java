@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.config.GenesisConfigFile;
+import tech.pegasys.pantheon.controller.PantheonController;
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.chain.BlockchainStorage;
+import tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider;
+import tech.pegasys.pantheon.ethereum.core.MiningParametersTestBuilder;
+import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
+import tech.pegasys.pantheon.ethereum.eth.EthereumWireProtocolConfiguration;
+import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
+import tech.pegasys.pantheon.ethereum.eth.transactions.PendingTransactions;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.testutil.BlockTestUtil;
+import tech.pegasys.pantheon.testutil.TestClock;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests for {@link BlockExporter}. */
+public final class BlockExporterTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final BlockExporter blockExporter = new BlockExporter();
+  private final StorageProvider storageProvider = new ReopenableStorageProvider();
+
+  private Path dataDir;
+  private Path source;
+
+  @Before
+  public void importBlocks() throws IOException {
+    dataDir = folder.newFolder().toPath();
+    source = dataDir.resolve("1000.blocks");
+    BlockTestUtil.write1000Blocks(source);
+    new BlockImporter().importBlockchain(source, createController());
+  }
+
+  @Test
+  public void exportWholeChainMatchesImportedFile() throws IOException {
+    final Path target = dataDir.resolve("exported.blocks");
+
+    final long count =
+        blockExporter.exportBlockchain(target, createController(), 0, Optional.empty());
+
+    // The source file starts with the genesis block.
+    assertThat(count).isEqualTo(1000);
+    assertThat(Files.readAllBytes(target)).isEqualTo(Files.readAllBytes(source));
+  }
+
+  @Test
+  public void exportedRangeCanBeImported() throws IOException {
+    final Path target = dataDir.resolve("exported.blocks");
+
+    final long count =
+        blockExporter.exportBlockchain(target, createController(), 100, Optional.of(200L));
+    assertThat(count).isEqualTo(100);
+
+    final BlockImporter.ImportResult result =
+        new BlockImporter()
+            .importBlockchain(target, createController(), 2, new NoOpMetricsSystem());
+    // Every exported block is already in the chain.
+    assertThat(result.count).isEqualTo(0);
+  }
+
+  private PantheonController<?> createController() throws IOException {
+    return new PantheonController.Builder()
+        .fromGenesisConfig(GenesisConfigFile.mainnet())
+        .synchronizerConfiguration(SynchronizerConfiguration.builder().build())
+        .ethereumWireProtocolConfiguration(EthereumWireProtocolConfiguration.defaultConfig())
+        .storageProvider(storageProvider)
+        .networkId(1)
+        .miningParameters(new MiningParametersTestBuilder().enabled(false).build())
+        .nodeKeys(KeyPair.generate())
+        .metricsSystem(new NoOpMetricsSystem())
+        .privacyParameters(PrivacyParameters.DEFAULT)
+        .dataDirectory(dataDir)
+        .clock(TestClock.fixed())
+        .maxPendingTransactions(PendingTransactions.MAX_PENDING_TRANSACTIONS)
+        .pendingTransactionRetentionPeriod(PendingTransactions.DEFAULT_TX_RETENTION_HOURS)
+        .build();
+  }
+
+  /** Hands every controller the same storage, like reopening a node's database. */
+  private static class ReopenableStorageProvider extends InMemoryStorageProvider {
+    private BlockchainStorage blockchainStorage;
+    private WorldStateStorage worldStateStorage;
+
+    @Override
+    public BlockchainStorage createBlockchainStorage(final ProtocolSchedule<?> protocolSchedule) {
+      if (blockchainStorage == null) {
+        blockchainStorage = super.createBlockchainStorage(protocolSchedule);
+      }
+      return blockchainStorage;
+    }
+
+    @Override
+    public WorldStateStorage createWorldStateStorage() {
+      if (worldStateStorage == null) {
+        worldStateStorage = super.createWorldStateStorage();
+      }
+      return worldStateStorage;
+    }
+  }
+}
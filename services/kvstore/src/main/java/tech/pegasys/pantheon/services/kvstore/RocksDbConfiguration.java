@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.services.kvstore;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import tech.pegasys.pantheon.services.util.RocksDbUtil;
 
 import java.nio.file.Path;
@@ -21,6 +23,7 @@ import org.rocksdb.LRUCache;
 import picocli.CommandLine;
 
 public class RocksDbConfiguration {
+  private static final int DEFAULT_LATENCY_SAMPLE_INTERVAL = 16;
 
   private final Path databaseDir;
   private final int maxOpenFiles;
@@ -28,16 +31,19 @@ public class RocksDbConfiguration {
   private final String label;
   private final int maxBackgroundCompactions;
   private final int backgroundThreadCount;
+  private final int latencySampleInterval;
 
   public RocksDbConfiguration(
       final Path databaseDir,
       final int maxOpenFiles,
       final int maxBackgroundCompactions,
       final int backgroundThreadCount,
+      final int latencySampleInterval,
       final LRUCache cache,
       final String label) {
     this.maxBackgroundCompactions = maxBackgroundCompactions;
     this.backgroundThreadCount = backgroundThreadCount;
+    this.latencySampleInterval = latencySampleInterval;
     RocksDbUtil.loadNativeLibrary();
     this.databaseDir = databaseDir;
     this.maxOpenFiles = maxOpenFiles;
@@ -61,6 +67,15 @@ public class RocksDbConfiguration {
     return backgroundThreadCount;
   }
 
+  /**
+   * The number of reads, writes or removes per operation whose latency is timed.
+   *
+   * @return the interval at which individual operation latencies are sampled.
+   */
+  public int getLatencySampleInterval() {
+    return latencySampleInterval;
+  }
+
   public BlockBasedTableConfig getBlockBasedTableConfig() {
     return blockBasedTableConfig;
   }
@@ -108,6 +123,15 @@ public class RocksDbConfiguration {
         description = "Number of RocksDB background threads (default: ${DEFAULT-VALUE})")
     int backgroundThreadCount;
 
+    @CommandLine.Option(
+        names = {"--Xrocksdb-latency-sample-interval"},
+        hidden = true,
+        defaultValue = "16",
+        paramLabel = "<INTEGER>",
+        description =
+            "Time the latency of one in this many RocksDB reads, writes and removes (default: ${DEFAULT-VALUE})")
+    int latencySampleInterval = DEFAULT_LATENCY_SAMPLE_INTERVAL;
+
     public Builder databaseDir(final Path databaseDir) {
       this.databaseDir = databaseDir;
       return this;
@@ -138,17 +162,32 @@ public class RocksDbConfiguration {
       return this;
     }
 
+    public Builder latencySampleInterval(final int latencySampleInterval) {
+      this.latencySampleInterval = latencySampleInterval;
+      return this;
+    }
+
     private LRUCache createCache(final long cacheCapacity) {
       RocksDbUtil.loadNativeLibrary();
       return new LRUCache(cacheCapacity);
     }
 
     public RocksDbConfiguration build() {
+      checkArgument(
+          latencySampleInterval > 0,
+          "--Xrocksdb-latency-sample-interval must be at least 1: %s",
+          latencySampleInterval);
       if (cache == null) {
         cache = createCache(cacheCapacity);
       }
       return new RocksDbConfiguration(
-          databaseDir, maxOpenFiles, maxBackgroundCompactions, backgroundThreadCount, cache, label);
+          databaseDir,
+          maxOpenFiles,
+          maxBackgroundCompactions,
+          backgroundThreadCount,
+          latencySampleInterval,
+          cache,
+          label);
     }
   }
 }
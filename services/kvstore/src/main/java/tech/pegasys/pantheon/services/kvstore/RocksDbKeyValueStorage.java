@@ -75,26 +75,29 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
 
       readLatency =
           metricsSystem
-              .createLabelledTimer(
+              .createLabelledSampledTimer(
                   MetricCategory.KVSTORE_ROCKSDB,
                   "read_latency_seconds",
                   "Latency for read from RocksDB.",
+                  rocksDbConfiguration.getLatencySampleInterval(),
                   "database")
               .labels(rocksDbConfiguration.getLabel());
       removeLatency =
           metricsSystem
-              .createLabelledTimer(
+              .createLabelledSampledTimer(
                   MetricCategory.KVSTORE_ROCKSDB,
                   "remove_latency_seconds",
                   "Latency of remove requests from RocksDB.",
+                  rocksDbConfiguration.getLatencySampleInterval(),
                   "database")
               .labels(rocksDbConfiguration.getLabel());
       writeLatency =
           metricsSystem
-              .createLabelledTimer(
+              .createLabelledSampledTimer(
                   MetricCategory.KVSTORE_ROCKSDB,
                   "write_latency_seconds",
                   "Latency for write to RocksDB.",
+                  rocksDbConfiguration.getLatencySampleInterval(),
                   "database")
               .labels(rocksDbConfiguration.getLabel());
       commitLatency =
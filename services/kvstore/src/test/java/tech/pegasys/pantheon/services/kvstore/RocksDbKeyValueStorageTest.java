@@ -12,9 +12,12 @@
  */
 package tech.pegasys.pantheon.services.kvstore;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 
 import org.junit.Rule;
+import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 public class RocksDbKeyValueStorageTest extends AbstractKeyValueStorageTest {
@@ -27,4 +30,11 @@ public class RocksDbKeyValueStorageTest extends AbstractKeyValueStorageTest {
         new RocksDbConfiguration.Builder().databaseDir(folder.newFolder().toPath()).build(),
         new NoOpMetricsSystem());
   }
+
+  @Test
+  public void shouldRejectNonPositiveLatencySampleInterval() {
+    assertThatThrownBy(() -> new RocksDbConfiguration.Builder().latencySampleInterval(0).build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--Xrocksdb-latency-sample-interval must be at least 1: 0");
+  }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.pipeline;
+
+import static tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem.NO_OP_LABELLED_2_COUNTER;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Runs two pipelines, shaped like the chain and world state downloads, to completion concurrently
+ * with each stage in its own thread or with stages scheduled cooperatively on a shared pool. The
+ * number of threads each mode needed is logged when the benchmark completes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PipelineBenchmark {
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int ITEM_COUNT = 100_000;
+  private static final int BUFFER_SIZE = 200;
+  private static final int BATCH_SIZE = 100;
+
+  @Param({"threaded", "cooperative"})
+  public String mode;
+
+  private final AtomicInteger threadsCreated = new AtomicInteger();
+  private final AtomicLong checksum = new AtomicLong();
+  private ExecutorService executorService;
+  private ExecutorService stageExecutor;
+
+  @Setup
+  public void setUp() {
+    final ThreadFactory threadFactory =
+        runnable -> {
+          threadsCreated.incrementAndGet();
+          final Thread thread = new Thread(runnable);
+          thread.setDaemon(true);
+          return thread;
+        };
+    executorService = Executors.newCachedThreadPool(threadFactory);
+    stageExecutor =
+        Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), threadFactory);
+  }
+
+  @TearDown
+  public void tearDown() {
+    LOG.info("{} mode created {} threads", mode, threadsCreated.get());
+    executorService.shutdownNow();
+    stageExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(2 * ITEM_COUNT)
+  public long runPipelines() throws Exception {
+    final CompletableFuture<Void> chainResult = start(createChainPipeline());
+    final CompletableFuture<Void> worldStateResult = start(createWorldStatePipeline());
+    chainResult.get();
+    worldStateResult.get();
+    return checksum.get();
+  }
+
+  private CompletableFuture<Void> start(final Pipeline<?> pipeline) {
+    return mode.equals("cooperative")
+        ? pipeline.startCooperatively(executorService, stageExecutor)
+        : pipeline.start(executorService);
+  }
+
+  private Pipeline<Integer> createChainPipeline() {
+    return PipelineBuilder.createPipelineFrom(
+            "source", items(), BUFFER_SIZE, NO_OP_LABELLED_2_COUNTER)
+        .thenProcessAsyncOrdered("download", CompletableFuture::completedFuture, 4)
+        .thenProcess("validateJoin", value -> value + 1)
+        .inBatches(BATCH_SIZE)
+        .thenProcessAsyncOrdered("downloadBatch", CompletableFuture::completedFuture, 4)
+        .thenFlatMap("unbatch", List::stream, BUFFER_SIZE)
+        .thenProcess("validate", value -> value * 31)
+        .andFinishWith("import", checksum::addAndGet);
+  }
+
+  private Pipeline<Integer> createWorldStatePipeline() {
+    return PipelineBuilder.createPipelineFrom(
+            "source", items(), BUFFER_SIZE, NO_OP_LABELLED_2_COUNTER)
+        .thenFlatMapInParallel("loadLocalData", Stream::of, 3, BUFFER_SIZE)
+        .inBatches(BATCH_SIZE)
+        .thenProcessAsync("request", CompletableFuture::completedFuture, 4)
+        .thenProcess("persist", batch -> batch)
+        .andFinishWith("complete", batch -> checksum.addAndGet(batch.size()));
+  }
+
+  private static Iterator<Integer> items() {
+    return IntStream.range(0, ITEM_COUNT).iterator();
+  }
+}
@@ -33,6 +33,7 @@ class AsyncOperationProcessor<I, O> implements Processor<I, O> {
   private CompletableFuture<?> nextOutputAvailableFuture = completedFuture(null);
   private final boolean preserveOrder;
   private final int maxConcurrency;
+  private volatile Runnable outputAvailableListener;
 
   public AsyncOperationProcessor(
       final Function<I, CompletableFuture<O>> processor,
@@ -50,12 +51,17 @@ class AsyncOperationProcessor<I, O> implements Processor<I, O> {
       final I value = inputPipe.get();
       if (value != null) {
         final CompletableFuture<O> future = processor.apply(value);
-        // When the future completes, interrupt so if we're waiting for new input we wake up and
-        // schedule the output.
-        final Thread stageThread = Thread.currentThread();
         inProgress.add(future);
         updateNextOutputAvailableFuture();
-        future.whenComplete((result, error) -> stageThread.interrupt());
+        final Runnable listener = outputAvailableListener;
+        if (listener != null) {
+          future.whenComplete((result, error) -> listener.run());
+        } else {
+          // When the future completes, interrupt so if we're waiting for new input we wake up and
+          // schedule the output.
+          final Thread stageThread = Thread.currentThread();
+          future.whenComplete((result, error) -> stageThread.interrupt());
+        }
       }
       outputCompletedTasks(outputPipe);
     } else {
@@ -69,6 +75,11 @@ class AsyncOperationProcessor<I, O> implements Processor<I, O> {
     return inProgress.isEmpty();
   }
 
+  @Override
+  public void setOutputAvailableListener(final Runnable listener) {
+    this.outputAvailableListener = listener;
+  }
+
   @Override
   public void abort() {
     inProgress.forEach(future -> future.cancel(true));
@@ -89,7 +100,9 @@ class AsyncOperationProcessor<I, O> implements Processor<I, O> {
 
   private void waitForAnyFutureToComplete()
       throws InterruptedException, ExecutionException, TimeoutException {
-    nextOutputAvailableFuture.get(1, TimeUnit.SECONDS);
+    // Only check for completion when scheduled cooperatively. The listener will wake the stage.
+    final long timeout = outputAvailableListener != null ? 0 : 1;
+    nextOutputAvailableFuture.get(timeout, TimeUnit.SECONDS);
   }
 
   private void outputCompletedTasks(final WritePipe<O> outputPipe) {
@@ -75,4 +75,9 @@ public class BatchingReadPipe<T> implements ReadPipe<List<T>> {
       output.add(nextBatch);
     }
   }
+
+  @Override
+  public void addInputAvailableListener(final Runnable listener) {
+    input.addInputAvailableListener(listener);
+  }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.pipeline;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A wrapper around a {@link WritePipe} which never blocks. Items are buffered until {@link
+ * #flush()} is able to transfer them to the underlying pipe, so a processor which outputs several
+ * items for a single input doesn't need to wait for capacity between each one. Counts the items
+ * written so a cooperatively scheduled stage can tell whether it made any progress.
+ *
+ * @param <T> the type of item in the pipe.
+ */
+class BufferedWritePipe<T> implements WritePipe<T> {
+  private final WritePipe<T> delegate;
+  private final Deque<T> buffer = new ArrayDeque<>();
+  private long itemsWritten;
+
+  BufferedWritePipe(final WritePipe<T> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return delegate.isOpen();
+  }
+
+  @Override
+  public void put(final T value) {
+    offer(value);
+  }
+
+  @Override
+  public boolean offer(final T value) {
+    if (!delegate.isOpen()) {
+      return false;
+    }
+    buffer.add(value);
+    itemsWritten++;
+    return true;
+  }
+
+  @Override
+  public boolean hasRemainingCapacity() {
+    return buffer.isEmpty() && delegate.hasRemainingCapacity();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  @Override
+  public void abort() {
+    buffer.clear();
+    delegate.abort();
+  }
+
+  @Override
+  public void addCapacityAvailableListener(final Runnable listener) {
+    delegate.addCapacityAvailableListener(listener);
+  }
+
+  /**
+   * Transfers as many buffered items as possible to the underlying pipe without blocking. Buffered
+   * items are discarded if the underlying pipe is no longer open.
+   *
+   * @return true if the buffer is now empty, false if the underlying pipe is full.
+   */
+  boolean flush() {
+    while (!buffer.isEmpty()) {
+      if (!delegate.isOpen()) {
+        buffer.clear();
+      } else if (delegate.offer(buffer.peek())) {
+        buffer.remove();
+      } else {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  long getItemsWritten() {
+    return itemsWritten;
+  }
+}
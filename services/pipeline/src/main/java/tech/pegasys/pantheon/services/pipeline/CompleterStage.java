@@ -15,7 +15,7 @@ package tech.pegasys.pantheon.services.pipeline;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
-class CompleterStage<T> implements Stage {
+class CompleterStage<T> implements CooperativeStage {
   private final ReadPipe<T> input;
   private final Consumer<T> completer;
   private final String name;
@@ -38,6 +38,26 @@ class CompleterStage<T> implements Stage {
     future.complete(null);
   }
 
+  @Override
+  public void addWakeUpListener(final Runnable listener) {
+    input.addInputAvailableListener(listener);
+  }
+
+  @Override
+  public boolean runSlice(final int maxItems) {
+    for (int i = 0; i < maxItems && !future.isDone(); i++) {
+      final T value = input.poll();
+      if (value == null) {
+        if (!input.hasMore()) {
+          future.complete(null);
+        }
+        return false;
+      }
+      completer.accept(value);
+    }
+    return !future.isDone();
+  }
+
   public CompletableFuture<?> getFuture() {
     return future;
   }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.pipeline;
+
+/**
+ * A stage which, as well as running in a dedicated thread, can be run a slice at a time by a
+ * shared executor. Slices never block waiting for input or output capacity, instead the stage
+ * returns and relies on the listener registered with {@link #addWakeUpListener(Runnable)} to be
+ * scheduled again once it may be able to make progress.
+ */
+interface CooperativeStage extends Stage {
+
+  /**
+   * Registers a listener to be notified whenever this stage may be able to make progress, for
+   * example because new input is available or capacity has become available in its output.
+   *
+   * @param listener the listener to notify.
+   */
+  void addWakeUpListener(Runnable listener);
+
+  /**
+   * Processes up to <i>maxItems</i> inputs without blocking. Once all input has been processed the
+   * stage finalizes and closes its output, after which further calls have no effect.
+   *
+   * @param maxItems the maximum number of inputs to process before returning.
+   * @return true if the slice ended because <i>maxItems</i> was reached and more work may be
+   *     immediately available, false if the stage is waiting to be woken up or has finished.
+   */
+  boolean runSlice(int maxItems);
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.pipeline;
+
+import java.util.Collection;
+
+/**
+ * A wrapper around a {@link ReadPipe} which never blocks, returning <code>null</code> from {@link
+ * #get()} if no item is currently available. Counts the items read so a cooperatively scheduled
+ * stage can tell whether it made any progress.
+ *
+ * @param <T> the type of item in the pipe.
+ */
+class NonBlockingReadPipe<T> implements ReadPipe<T> {
+  private final ReadPipe<T> delegate;
+  private long itemsRead;
+
+  NonBlockingReadPipe(final ReadPipe<T> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public boolean hasMore() {
+    return delegate.hasMore();
+  }
+
+  @Override
+  public boolean isAborted() {
+    return delegate.isAborted();
+  }
+
+  @Override
+  public T get() {
+    return poll();
+  }
+
+  @Override
+  public T poll() {
+    final T item = delegate.poll();
+    if (item != null) {
+      itemsRead++;
+    }
+    return item;
+  }
+
+  @Override
+  public void drainTo(final Collection<T> output, final int maxElements) {
+    final int initialSize = output.size();
+    delegate.drainTo(output, maxElements);
+    itemsRead += output.size() - initialSize;
+  }
+
+  @Override
+  public void addInputAvailableListener(final Runnable listener) {
+    delegate.addInputAvailableListener(listener);
+  }
+
+  long getItemsRead() {
+    return itemsRead;
+  }
+}
@@ -15,8 +15,10 @@ package tech.pegasys.pantheon.services.pipeline;
 import tech.pegasys.pantheon.metrics.Counter;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -42,6 +44,8 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
   private final Counter abortedItemCounter;
   private final AtomicBoolean closed = new AtomicBoolean();
   private final AtomicBoolean aborted = new AtomicBoolean();
+  private final List<Runnable> inputAvailableListeners = new CopyOnWriteArrayList<>();
+  private final List<Runnable> capacityAvailableListeners = new CopyOnWriteArrayList<>();
 
   public Pipe(
       final int capacity,
@@ -72,12 +76,15 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
   @Override
   public void close() {
     closed.set(true);
+    notifyListeners(inputAvailableListeners);
   }
 
   @Override
   public void abort() {
     if (aborted.compareAndSet(false, true)) {
       abortedItemCounter.inc(queue.size());
+      notifyListeners(inputAvailableListeners);
+      notifyListeners(capacityAvailableListeners);
     }
   }
 
@@ -96,6 +103,7 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
         final T value = queue.poll(1, TimeUnit.SECONDS);
         if (value != null) {
           outputCounter.inc();
+          notifyListeners(capacityAvailableListeners);
           return value;
         }
       }
@@ -110,6 +118,7 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
     final T item = queue.poll();
     if (item != null) {
       outputCounter.inc();
+      notifyListeners(capacityAvailableListeners);
     }
     return item;
   }
@@ -117,7 +126,10 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
   @Override
   public void drainTo(final Collection<T> output, final int maxElements) {
     final int count = queue.drainTo(output, maxElements);
-    outputCounter.inc(count);
+    if (count > 0) {
+      outputCounter.inc(count);
+      notifyListeners(capacityAvailableListeners);
+    }
   }
 
   @Override
@@ -126,6 +138,7 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
       try {
         if (queue.offer(value, 1, TimeUnit.SECONDS)) {
           inputCounter.inc();
+          notifyListeners(inputAvailableListeners);
           return;
         }
       } catch (final InterruptedException e) {
@@ -133,4 +146,28 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
       }
     }
   }
+
+  @Override
+  public boolean offer(final T value) {
+    if (isOpen() && queue.offer(value)) {
+      inputCounter.inc();
+      notifyListeners(inputAvailableListeners);
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public void addInputAvailableListener(final Runnable listener) {
+    inputAvailableListeners.add(listener);
+  }
+
+  @Override
+  public void addCapacityAvailableListener(final Runnable listener) {
+    capacityAvailableListeners.add(listener);
+  }
+
+  private void notifyListeners(final List<Runnable> listeners) {
+    listeners.forEach(Runnable::run);
+  }
 }
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -83,6 +84,51 @@ public class Pipeline<I> {
         Stream.concat(stages.stream(), Stream.of(completerStage))
             .map(task -> runWithErrorHandling(executorService, task))
             .collect(toList());
+    trackCompletion();
+    return overallFuture;
+  }
+
+  /**
+   * Starts execution of the pipeline with stages scheduled cooperatively on a shared executor.
+   * Rather than each stage blocking a dedicated thread while waiting for input or output capacity,
+   * a stage is only run when it may be able to make progress and processes a batch of the available
+   * input before giving up the thread. This allows a small executor, such as a fixed pool with one
+   * thread per core, to be shared by several pipelines.
+   *
+   * <p>The source stage of a pipeline created with {@link PipelineBuilder#createPipelineFrom} may
+   * block waiting for its iterator so still requires a dedicated thread from
+   * <i>executorService</i>. The functions run by each other stage must not block waiting on other
+   * stages, including those of other pipelines, or the shared executor may deadlock.
+   *
+   * @param executorService the {@link ExecutorService} to execute the source stage in.
+   * @param stageExecutor the {@link Executor} to run all other stages in.
+   * @return a future that will be completed when the pipeline completes. If the pipeline fails or
+   *     is aborted the returned future will be completed exceptionally.
+   */
+  public synchronized CompletableFuture<Void> startCooperatively(
+      final ExecutorService executorService, final Executor stageExecutor) {
+    if (!started.compareAndSet(false, true)) {
+      return overallFuture;
+    }
+    futures =
+        stages.stream()
+            .filter(stage -> !(stage instanceof CooperativeStage))
+            .map(task -> runWithErrorHandling(executorService, task))
+            .collect(toList());
+    final List<ScheduledStage> scheduledStages =
+        Stream.concat(stages.stream(), Stream.of(completerStage))
+            .filter(stage -> stage instanceof CooperativeStage)
+            .map(
+                stage ->
+                    new ScheduledStage(
+                        (CooperativeStage) stage, stageExecutor, this::abortAfterError))
+            .collect(toList());
+    trackCompletion();
+    scheduledStages.forEach(ScheduledStage::wakeUp);
+    return overallFuture;
+  }
+
+  private void trackCompletion() {
     completerStage
         .getFuture()
         .whenComplete(
@@ -102,7 +148,6 @@ public class Pipeline<I> {
           }
           return null;
         });
-    return overallFuture;
   }
 
   /**
@@ -127,21 +172,25 @@ public class Pipeline<I> {
             thread.setName(originalName + " (" + task.getName() + ")");
             task.run();
           } catch (final Throwable t) {
-            LOG.debug("Unhandled exception in pipeline. Aborting.", t);
-            try {
-              abort(t);
-            } catch (final Throwable t2) {
-              // Seems excessive but exceptions that propagate out of this method won't be logged
-              // because the executor just completes the future exceptionally and we never
-              // need to call get on it which would normally expose the error.
-              LOG.error("Failed to abort pipeline after error", t2);
-            }
+            abortAfterError(t);
           } finally {
             thread.setName(originalName);
           }
         });
   }
 
+  private void abortAfterError(final Throwable t) {
+    LOG.debug("Unhandled exception in pipeline. Aborting.", t);
+    try {
+      abort(t);
+    } catch (final Throwable t2) {
+      // Seems excessive but exceptions that propagate out of this method won't be logged
+      // because the executor just completes the future exceptionally and we never
+      // need to call get on it which would normally expose the error.
+      LOG.error("Failed to abort pipeline after error", t2);
+    }
+  }
+
   private synchronized void abort(final Throwable error) {
     if (completing.compareAndSet(false, true)) {
       inputPipe.abort();
@@ -31,7 +31,8 @@ import java.util.stream.Stream;
 
 /**
  * Supports building a new pipeline. Pipelines are comprised of a source, various processing stages
- * and a consumer, each of which run in their own thread.
+ * and a consumer, each of which run in their own thread unless the pipeline is started with {@link
+ * Pipeline#startCooperatively}.
  *
  * <p>The pipeline completes when all items from the source have passed through each stage and are
  * received by the consumer. The pipeline will halt immediately if an exception is thrown from any
@@ -12,12 +12,15 @@
  */
 package tech.pegasys.pantheon.services.pipeline;
 
-class ProcessingStage<I, O> implements Stage {
+class ProcessingStage<I, O> implements CooperativeStage {
 
   private final String name;
   private final ReadPipe<I> inputPipe;
   private final WritePipe<O> outputPipe;
   private final Processor<I, O> processor;
+  private final NonBlockingReadPipe<I> nonBlockingInputPipe;
+  private final BufferedWritePipe<O> bufferedOutputPipe;
+  private boolean finished;
 
   public ProcessingStage(
       final String name,
@@ -28,6 +31,8 @@ class ProcessingStage<I, O> implements Stage {
     this.inputPipe = inputPipe;
     this.outputPipe = outputPipe;
     this.processor = processor;
+    this.nonBlockingInputPipe = new NonBlockingReadPipe<>(inputPipe);
+    this.bufferedOutputPipe = new BufferedWritePipe<>(outputPipe);
   }
 
   @Override
@@ -47,6 +52,50 @@ class ProcessingStage<I, O> implements Stage {
     outputPipe.close();
   }
 
+  @Override
+  public void addWakeUpListener(final Runnable listener) {
+    inputPipe.addInputAvailableListener(listener);
+    outputPipe.addCapacityAvailableListener(listener);
+    processor.setOutputAvailableListener(listener);
+  }
+
+  @Override
+  public boolean runSlice(final int maxItems) {
+    if (finished || !bufferedOutputPipe.flush()) {
+      return false;
+    }
+    int processedCount = 0;
+    while (inputPipe.hasMore()) {
+      final long previousProgress = getProgress();
+      processor.processNextInput(nonBlockingInputPipe, bufferedOutputPipe);
+      if (!bufferedOutputPipe.flush() || getProgress() == previousProgress) {
+        return false;
+      }
+      if (++processedCount >= maxItems) {
+        return true;
+      }
+    }
+    if (inputPipe.isAborted()) {
+      processor.abort();
+    }
+    final boolean finalized = processor.attemptFinalization(bufferedOutputPipe);
+    if (!bufferedOutputPipe.flush()) {
+      return false;
+    }
+    if (finalized || inputPipe.isAborted()) {
+      if (!finalized) {
+        processor.abort();
+      }
+      outputPipe.close();
+      finished = true;
+    }
+    return false;
+  }
+
+  private long getProgress() {
+    return nonBlockingInputPipe.getItemsRead() + bufferedOutputPipe.getItemsWritten();
+  }
+
   @Override
   public String getName() {
     return name;
@@ -20,4 +20,13 @@ interface Processor<I, O> {
   }
 
   default void abort() {}
+
+  /**
+   * Sets a listener to be notified when output may have become available without any further
+   * input, for example when asynchronous processing completes. When a listener is registered the
+   * processor must not block waiting for that output.
+   *
+   * @param listener the listener to notify.
+   */
+  default void setOutputAvailableListener(final Runnable listener) {}
 }
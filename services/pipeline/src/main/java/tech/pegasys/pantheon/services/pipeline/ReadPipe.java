@@ -61,4 +61,15 @@ public interface ReadPipe<T> {
    * @param maxElements the maximum number of elements to transfer
    */
   void drainTo(Collection<T> output, int maxElements);
+
+  /**
+   * Registers a listener to be notified each time an item is added to this pipe or the pipe is
+   * closed or aborted. Used to wake stages which are scheduled cooperatively rather than blocking
+   * on {@link #get()}.
+   *
+   * <p>The listener is called on the thread that changed the pipe so must not block.
+   *
+   * @param listener the listener to notify.
+   */
+  void addInputAvailableListener(Runnable listener);
 }
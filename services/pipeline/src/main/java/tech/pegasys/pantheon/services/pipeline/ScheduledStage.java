@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.pipeline;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs a {@link CooperativeStage} on a shared executor, a slice at a time, whenever it is woken up.
+ *
+ * <p>At most one slice of a stage is scheduled or running at any time. Wake ups that arrive while a
+ * slice is scheduled or running are counted and cause the stage to be scheduled again once the
+ * slice completes, so no wake up is missed. A slice which reaches its item limit is rescheduled at
+ * the back of the executor's queue so that stages sharing the executor take turns.
+ */
+class ScheduledStage implements Runnable {
+  private static final int MAX_ITEMS_PER_SLICE = 32;
+
+  private final CooperativeStage stage;
+  private final Executor executor;
+  private final Consumer<Throwable> errorHandler;
+  private final AtomicInteger pendingWakeUps = new AtomicInteger(0);
+
+  ScheduledStage(
+      final CooperativeStage stage,
+      final Executor executor,
+      final Consumer<Throwable> errorHandler) {
+    this.stage = stage;
+    this.executor = executor;
+    this.errorHandler = errorHandler;
+    stage.addWakeUpListener(this::wakeUp);
+  }
+
+  void wakeUp() {
+    if (pendingWakeUps.getAndIncrement() == 0) {
+      schedule();
+    }
+  }
+
+  @Override
+  public void run() {
+    final int wakeUps = pendingWakeUps.get();
+    final boolean moreAvailable = runSlice();
+    if (moreAvailable || pendingWakeUps.addAndGet(-wakeUps) != 0) {
+      schedule();
+    }
+  }
+
+  private void schedule() {
+    try {
+      executor.execute(this);
+    } catch (final RejectedExecutionException e) {
+      // The executor is shutting down so the stage can never run again.
+      errorHandler.accept(e);
+    }
+  }
+
+  private boolean runSlice() {
+    final Thread thread = Thread.currentThread();
+    final String originalName = thread.getName();
+    try {
+      thread.setName(originalName + " (" + stage.getName() + ")");
+      return stage.runSlice(MAX_ITEMS_PER_SLICE);
+    } catch (final Throwable t) {
+      errorHandler.accept(t);
+      return false;
+    } finally {
+      thread.setName(originalName);
+    }
+  }
+}
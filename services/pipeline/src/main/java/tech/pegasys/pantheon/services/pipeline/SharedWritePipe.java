@@ -47,6 +47,11 @@ class SharedWritePipe<T> implements WritePipe<T> {
     delegate.put(value);
   }
 
+  @Override
+  public boolean offer(final T value) {
+    return delegate.offer(value);
+  }
+
   @Override
   public void close() {
     if (remainingClosesRequired.decrementAndGet() == 0) {
@@ -63,4 +68,9 @@ class SharedWritePipe<T> implements WritePipe<T> {
   public boolean hasRemainingCapacity() {
     return delegate.hasRemainingCapacity();
   }
+
+  @Override
+  public void addCapacityAvailableListener(final Runnable listener) {
+    delegate.addCapacityAvailableListener(listener);
+  }
 }
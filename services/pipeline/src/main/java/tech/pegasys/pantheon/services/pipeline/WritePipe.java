@@ -34,6 +34,14 @@ public interface WritePipe<T> {
    */
   void put(T value);
 
+  /**
+   * Adds a new item to the pipe if capacity is available, without blocking.
+   *
+   * @param value the value to add to the pipe.
+   * @return true if the item was added, false if the pipe is full or no longer open.
+   */
+  boolean offer(T value);
+
   /**
    * Determine if this pipe has capacity to accept another item.
    *
@@ -50,4 +58,15 @@ public interface WritePipe<T> {
 
   /** Abort this pipe. The pipe is closed and any queued data is discarded. */
   void abort();
+
+  /**
+   * Registers a listener to be notified each time an item is removed from this pipe or the pipe is
+   * aborted. Used to wake stages which are scheduled cooperatively rather than blocking on {@link
+   * #put(Object)}.
+   *
+   * <p>The listener is called on the thread that changed the pipe so must not block.
+   *
+   * @param listener the listener to notify.
+   */
+  void addCapacityAvailableListener(Runnable listener);
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem.NO_OP_COUNTER;
+
+import org.junit.Test;
+
+public class BufferedWritePipeTest {
+
+  private final Pipe<String> delegate = new Pipe<>(2, NO_OP_COUNTER, NO_OP_COUNTER, NO_OP_COUNTER);
+  private final BufferedWritePipe<String> pipe = new BufferedWritePipe<>(delegate);
+
+  @Test
+  public void shouldBufferItemsUntilFlushed() {
+    pipe.put("a");
+    assertThat(pipe.offer("b")).isTrue();
+    assertThat(delegate.poll()).isNull();
+    assertThat(pipe.getItemsWritten()).isEqualTo(2);
+
+    assertThat(pipe.flush()).isTrue();
+    assertThat(delegate.poll()).isEqualTo("a");
+    assertThat(delegate.poll()).isEqualTo("b");
+  }
+
+  @Test
+  public void shouldKeepItemsThatDoNotFitInDelegate() {
+    pipe.put("a");
+    pipe.put("b");
+    pipe.put("c");
+
+    assertThat(pipe.flush()).isFalse();
+    assertThat(pipe.hasRemainingCapacity()).isFalse();
+    assertThat(delegate.poll()).isEqualTo("a");
+
+    assertThat(pipe.flush()).isTrue();
+    assertThat(pipe.hasRemainingCapacity()).isFalse();
+    assertThat(delegate.poll()).isEqualTo("b");
+    assertThat(pipe.hasRemainingCapacity()).isTrue();
+    assertThat(delegate.poll()).isEqualTo("c");
+  }
+
+  @Test
+  public void shouldDiscardBufferedItemsWhenDelegateIsAborted() {
+    pipe.put("a");
+    pipe.put("b");
+    pipe.put("c");
+    delegate.abort();
+
+    assertThat(pipe.flush()).isTrue();
+    assertThat(pipe.offer("d")).isFalse();
+    assertThat(pipe.getItemsWritten()).isEqualTo(3);
+  }
+}
@@ -37,4 +37,22 @@ public class CompleterStageTest {
 
     assertThat(output).containsExactly("a", "b", "c");
   }
+
+  @Test
+  public void shouldProcessAvailableItemsInSlices() {
+    pipe.put("a");
+    pipe.put("b");
+    pipe.put("c");
+
+    assertThat(stage.runSlice(2)).isTrue();
+    assertThat(output).containsExactly("a", "b");
+
+    assertThat(stage.runSlice(2)).isFalse();
+    assertThat(output).containsExactly("a", "b", "c");
+    assertThat(stage.getFuture()).isNotDone();
+
+    pipe.close();
+    assertThat(stage.runSlice(2)).isFalse();
+    assertThat(stage.getFuture()).isDone();
+  }
 }
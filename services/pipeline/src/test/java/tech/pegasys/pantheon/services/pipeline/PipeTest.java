@@ -135,4 +135,75 @@ public class PipeTest {
     Thread.currentThread().interrupt();
     assertThat(pipe.get()).isNull();
   }
+
+  @Test
+  public void shouldOfferItemsUntilPipeIsFull() {
+    for (int i = 0; i < 5; i++) {
+      assertThat(pipe.offer("a" + i)).isTrue();
+    }
+    assertThat(pipe.offer("b")).isFalse();
+    verify(inputCounter, times(5)).inc();
+  }
+
+  @Test
+  public void shouldNotAcceptOfferedItemsWhenClosed() {
+    pipe.close();
+    assertThat(pipe.offer("a")).isFalse();
+    assertThat(pipe.hasMore()).isFalse();
+  }
+
+  @Test
+  public void shouldNotifyInputAvailableListenersWhenItemAddedOrPipeClosed() {
+    final Runnable listener = mock(Runnable.class);
+    pipe.addInputAvailableListener(listener);
+
+    pipe.put("a");
+    verify(listener).run();
+
+    pipe.offer("b");
+    verify(listener, times(2)).run();
+
+    pipe.get();
+    verify(listener, times(2)).run();
+
+    pipe.close();
+    verify(listener, times(3)).run();
+  }
+
+  @Test
+  public void shouldNotifyCapacityAvailableListenersWhenItemRemoved() {
+    final Runnable listener = mock(Runnable.class);
+    pipe.addCapacityAvailableListener(listener);
+    pipe.put("a");
+    pipe.put("b");
+    pipe.put("c");
+    verify(listener, times(0)).run();
+
+    pipe.get();
+    verify(listener).run();
+
+    pipe.poll();
+    verify(listener, times(2)).run();
+
+    pipe.drainTo(new ArrayList<>(), 5);
+    verify(listener, times(3)).run();
+
+    pipe.drainTo(new ArrayList<>(), 5);
+    assertThat(pipe.poll()).isNull();
+    verify(listener, times(3)).run();
+  }
+
+  @Test
+  public void shouldNotifyAllListenersWhenAborted() {
+    final Runnable inputListener = mock(Runnable.class);
+    final Runnable capacityListener = mock(Runnable.class);
+    pipe.addInputAvailableListener(inputListener);
+    pipe.addCapacityAvailableListener(capacityListener);
+
+    pipe.abort();
+    pipe.abort();
+
+    verify(inputListener).run();
+    verify(capacityListener).run();
+  }
 }
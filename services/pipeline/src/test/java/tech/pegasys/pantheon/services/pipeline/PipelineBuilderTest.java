@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CancellationException;
@@ -62,12 +63,20 @@ public class PipelineBuilderTest {
   private final Iterator<Integer> tasks =
       asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15).iterator();
 
+  private static final String STAGE_THREAD_PREFIX = "stageWorker";
+  private static final ThreadFactory STAGE_THREAD_FACTORY =
+      new ThreadFactoryBuilder().setNameFormat(STAGE_THREAD_PREFIX + "-%d").setDaemon(true).build();
+
   private final ExecutorService executorService = Executors.newCachedThreadPool(THREAD_FACTORY);
+  private final ExecutorService stageExecutor =
+      Executors.newSingleThreadExecutor(STAGE_THREAD_FACTORY);
 
   @After
   public void afterClass() throws Exception {
     executorService.shutdownNow();
-    if (!executorService.awaitTermination(10, SECONDS)) {
+    stageExecutor.shutdownNow();
+    if (!executorService.awaitTermination(10, SECONDS)
+        || !stageExecutor.awaitTermination(10, SECONDS)) {
       fail("Executor service did not shut down cleanly");
     }
   }
@@ -453,6 +462,135 @@ public class PipelineBuilderTest {
     assertThat(counters.get("asyncOrdered_outputPipe-batches").count).hasValueBetween(4, 15);
   }
 
+  @Test
+  public void shouldRunAllStagesCooperativelyOnSharedExecutor() throws Exception {
+    final List<String> output = synchronizedList(new ArrayList<>());
+    final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+    final Function<String, String> recordThread =
+        value -> {
+          threadNames.add(Thread.currentThread().getName());
+          return value;
+        };
+    final Pipeline<Integer> pipeline =
+        PipelineBuilder.createPipelineFrom("input", tasks, 2, NO_OP_LABELLED_2_COUNTER)
+            .thenProcess("map", Object::toString)
+            .thenFlatMap("flatMap", value -> Stream.of(value, "x" + value), 2)
+            .inBatches(3)
+            .thenProcessAsyncOrdered("asyncOrdered", CompletableFuture::completedFuture, 2)
+            .thenFlatMap("unbatch", List::stream, 2)
+            .thenProcessInParallel("parallel", recordThread, 3)
+            .andFinishWith("end", value -> output.add(recordThread.apply(value)));
+
+    pipeline.startCooperatively(executorService, stageExecutor).get(10, SECONDS);
+
+    assertThat(output)
+        .containsExactlyInAnyOrder(
+            "1", "x1", "2", "x2", "3", "x3", "4", "x4", "5", "x5", "6", "x6", "7", "x7", "8", "x8",
+            "9", "x9", "10", "x10", "11", "x11", "12", "x12", "13", "x13", "14", "x14", "15",
+            "x15");
+    assertThat(threadNames).allMatch(name -> name.startsWith(STAGE_THREAD_PREFIX));
+  }
+
+  @Test
+  public void shouldShareStageExecutorBetweenPipelines() throws Exception {
+    final List<Integer> firstOutput = synchronizedList(new ArrayList<>());
+    final List<Integer> secondOutput = synchronizedList(new ArrayList<>());
+    final Pipeline<Integer> firstPipeline =
+        PipelineBuilder.<Integer>createPipeline("input", 2, NO_OP_LABELLED_2_COUNTER)
+            .thenProcess("double", value -> value * 2)
+            .andFinishWith("end", firstOutput::add);
+    final Pipeline<Integer> secondPipeline =
+        PipelineBuilder.createPipelineFrom("input", tasks, 2, NO_OP_LABELLED_2_COUNTER)
+            .thenProcess("increment", value -> value + 1)
+            .andFinishWith("end", secondOutput::add);
+
+    final CompletableFuture<Void> firstResult =
+        firstPipeline.startCooperatively(executorService, stageExecutor);
+    final CompletableFuture<Void> secondResult =
+        secondPipeline.startCooperatively(executorService, stageExecutor);
+    for (int i = 1; i <= 5; i++) {
+      firstPipeline.getInputPipe().put(i);
+    }
+    firstPipeline.getInputPipe().close();
+
+    firstResult.get(10, SECONDS);
+    secondResult.get(10, SECONDS);
+    assertThat(firstOutput).containsExactly(2, 4, 6, 8, 10);
+    assertThat(secondOutput)
+        .containsExactly(2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16);
+  }
+
+  @Test
+  public void shouldOutputAsyncResultsAsTheyCompleteWhenRunCooperatively() throws Exception {
+    final List<String> output = synchronizedList(new ArrayList<>());
+    final List<CompletableFuture<String>> futures = new CopyOnWriteArrayList<>();
+    final Pipeline<Integer> pipeline =
+        PipelineBuilder.createPipelineFrom(
+                "input", asList(1, 2, 3, 4).iterator(), 10, NO_OP_LABELLED_2_COUNTER)
+            .thenProcessAsync(
+                "createFuture",
+                value -> {
+                  final CompletableFuture<String> future = new CompletableFuture<>();
+                  futures.add(future);
+                  return future;
+                },
+                3)
+            .andFinishWith("end", output::add);
+    final CompletableFuture<?> result = pipeline.startCooperatively(executorService, stageExecutor);
+
+    waitForSize(futures, 3);
+    futures.get(1).complete("2");
+    waitForSize(output, 1);
+    waitForSize(futures, 4);
+
+    futures.get(0).complete("1");
+    futures.get(2).complete("3");
+    futures.get(3).complete("4");
+
+    result.get(10, SECONDS);
+    assertThat(output).containsExactly("2", "1", "3", "4");
+  }
+
+  @Test
+  public void shouldAbortCooperativePipelineWithoutBlockingStageExecutor() throws Exception {
+    final List<Integer> output = synchronizedList(new ArrayList<>());
+    final Pipeline<Integer> pipeline =
+        PipelineBuilder.createPipelineFrom(
+                "input", Stream.iterate(1, value -> value + 1).iterator(), 10,
+                NO_OP_LABELLED_2_COUNTER)
+            .thenProcessAsync("neverComplete", value -> new CompletableFuture<Integer>(), 3)
+            .andFinishWith("end", output::add);
+
+    final CompletableFuture<?> result = pipeline.startCooperatively(executorService, stageExecutor);
+    pipeline.abort();
+
+    assertThatThrownBy(() -> result.get(10, SECONDS)).isInstanceOf(CancellationException.class);
+    assertThat(output).isEmpty();
+    assertThat(stageExecutor.submit(() -> "free").get(10, SECONDS)).isEqualTo("free");
+  }
+
+  @Test
+  public void shouldAbortCooperativePipelineWhenProcessorThrowsException() {
+    final RuntimeException expectedError = new RuntimeException("Oops");
+    final Pipeline<Integer> pipeline =
+        PipelineBuilder.createPipelineFrom("input", tasks, 10, NO_OP_LABELLED_2_COUNTER)
+            .thenProcess(
+                "stageName",
+                (Function<Integer, Integer>)
+                    value -> {
+                      throw expectedError;
+                    })
+            .andFinishWith("end", new ArrayList<Integer>()::add);
+
+    final CompletableFuture<?> result = pipeline.startCooperatively(executorService, stageExecutor);
+
+    assertThatThrownBy(() -> result.get(10, SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasRootCauseExactlyInstanceOf(RuntimeException.class)
+        .extracting(Throwable::getCause)
+        .isSameAs(expectedError);
+  }
+
   private void waitForSize(final Collection<?> collection, final int targetSize) {
     waitAtMost(10, SECONDS).untilAsserted(() -> assertThat(collection).hasSize(targetSize));
   }
@@ -21,6 +21,10 @@ import static org.mockito.Mockito.when;
 import static tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem.NO_OP_COUNTER;
 
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -108,4 +112,85 @@ public class ProcessingStageTest {
     verify(singleStep).attemptFinalization(outputPipe);
     assertThat(outputPipe.isOpen()).isFalse();
   }
+
+  @Test
+  public void shouldProcessAvailableInputInSlicesWhenRunCooperatively() {
+    final ProcessingStage<String, String> cooperativeStage =
+        new ProcessingStage<>(
+            "name",
+            inputPipe,
+            outputPipe,
+            new MapProcessor<>(value -> value.toLowerCase(Locale.UK)));
+    inputPipe.put("A");
+    inputPipe.put("B");
+    inputPipe.put("C");
+
+    assertThat(cooperativeStage.runSlice(2)).isTrue();
+    assertThat(outputPipe.poll()).isEqualTo("a");
+    assertThat(outputPipe.poll()).isEqualTo("b");
+    assertThat(outputPipe.poll()).isNull();
+
+    assertThat(cooperativeStage.runSlice(2)).isFalse();
+    assertThat(outputPipe.poll()).isEqualTo("c");
+    assertThat(outputPipe.isOpen()).isTrue();
+
+    inputPipe.close();
+    assertThat(cooperativeStage.runSlice(2)).isFalse();
+    assertThat(outputPipe.isOpen()).isFalse();
+  }
+
+  @Test
+  public void shouldNotTakeMoreInputUntilBufferedOutputFitsInOutputPipe() {
+    final Pipe<String> smallOutputPipe = new Pipe<>(2, NO_OP_COUNTER, NO_OP_COUNTER, NO_OP_COUNTER);
+    final ProcessingStage<String, String> cooperativeStage =
+        new ProcessingStage<>(
+            "name",
+            inputPipe,
+            smallOutputPipe,
+            new FlatMapProcessor<>(value -> Stream.of(value + 1, value + 2, value + 3)));
+    inputPipe.put("a");
+    inputPipe.put("b");
+
+    // Only two of the outputs for "a" fit in the output pipe so "b" isn't processed yet.
+    assertThat(cooperativeStage.runSlice(10)).isFalse();
+
+    assertThat(smallOutputPipe.poll()).isEqualTo("a1");
+    assertThat(cooperativeStage.runSlice(10)).isFalse();
+    assertThat(smallOutputPipe.poll()).isEqualTo("a2");
+    assertThat(smallOutputPipe.poll()).isEqualTo("a3");
+    assertThat(smallOutputPipe.poll()).isNull();
+
+    assertThat(cooperativeStage.runSlice(10)).isFalse();
+    assertThat(smallOutputPipe.poll()).isEqualTo("b1");
+    assertThat(smallOutputPipe.poll()).isEqualTo("b2");
+  }
+
+  @Test
+  public void shouldWakeUpWhenAsyncProcessingCompletes() {
+    final Pipe<CompletableFuture<String>> futureInputPipe =
+        new Pipe<>(10, NO_OP_COUNTER, NO_OP_COUNTER, NO_OP_COUNTER);
+    final ProcessingStage<CompletableFuture<String>, String> cooperativeStage =
+        new ProcessingStage<>(
+            "name",
+            futureInputPipe,
+            outputPipe,
+            new AsyncOperationProcessor<>(Function.identity(), 2, false));
+    final AtomicInteger wakeUps = new AtomicInteger();
+    cooperativeStage.addWakeUpListener(wakeUps::incrementAndGet);
+    final CompletableFuture<String> future = new CompletableFuture<>();
+    futureInputPipe.put(future);
+    futureInputPipe.close();
+    assertThat(wakeUps).hasValue(2);
+
+    assertThat(cooperativeStage.runSlice(10)).isFalse();
+    assertThat(outputPipe.poll()).isNull();
+    assertThat(outputPipe.isOpen()).isTrue();
+
+    future.complete("a");
+    assertThat(wakeUps).hasValue(3);
+
+    assertThat(cooperativeStage.runSlice(10)).isFalse();
+    assertThat(outputPipe.poll()).isEqualTo("a");
+    assertThat(outputPipe.isOpen()).isFalse();
+  }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+public class ScheduledStageTest {
+
+  private final CooperativeStage stage = mock(CooperativeStage.class);
+  private final List<Runnable> scheduledTasks = new ArrayList<>();
+  private final List<Throwable> errors = new ArrayList<>();
+  private final Consumer<Throwable> errorHandler = errors::add;
+  private final ScheduledStage scheduledStage =
+      new ScheduledStage(stage, scheduledTasks::add, errorHandler);
+
+  @Test
+  public void shouldRegisterForWakeUps() {
+    verify(stage).addWakeUpListener(any(Runnable.class));
+  }
+
+  @Test
+  public void shouldOnlyScheduleStageOnceForMultipleWakeUps() {
+    scheduledStage.wakeUp();
+    scheduledStage.wakeUp();
+    scheduledStage.wakeUp();
+    assertThat(scheduledTasks).hasSize(1);
+
+    runNextTask();
+
+    verify(stage).runSlice(anyInt());
+    assertThat(scheduledTasks).isEmpty();
+  }
+
+  @Test
+  public void shouldScheduleAgainWhenWokenUpWhileRunning() {
+    when(stage.runSlice(anyInt()))
+        .thenAnswer(
+            invocation -> {
+              scheduledStage.wakeUp();
+              return false;
+            })
+        .thenReturn(false);
+    scheduledStage.wakeUp();
+
+    runNextTask();
+    assertThat(scheduledTasks).hasSize(1);
+
+    runNextTask();
+    assertThat(scheduledTasks).isEmpty();
+    verify(stage, times(2)).runSlice(anyInt());
+  }
+
+  @Test
+  public void shouldScheduleAgainWhenSliceReachesItemLimit() {
+    when(stage.runSlice(anyInt())).thenReturn(true).thenReturn(false);
+    scheduledStage.wakeUp();
+
+    runNextTask();
+    assertThat(scheduledTasks).hasSize(1);
+
+    // Still scheduled so further wake ups don't schedule a second task.
+    scheduledStage.wakeUp();
+    assertThat(scheduledTasks).hasSize(1);
+
+    runNextTask();
+    assertThat(scheduledTasks).isEmpty();
+
+    scheduledStage.wakeUp();
+    assertThat(scheduledTasks).hasSize(1);
+  }
+
+  @Test
+  public void shouldPassExceptionsToErrorHandler() {
+    final RuntimeException error = new RuntimeException("Oops");
+    when(stage.runSlice(anyInt())).thenThrow(error);
+    scheduledStage.wakeUp();
+
+    runNextTask();
+
+    assertThat(errors).containsExactly(error);
+    assertThat(scheduledTasks).isEmpty();
+  }
+
+  @Test
+  public void shouldRestoreThreadNameAfterRunningSlice() {
+    final AtomicReference<String> nameDuringSlice = new AtomicReference<>();
+    when(stage.getName()).thenReturn("stageName");
+    when(stage.runSlice(anyInt()))
+        .thenAnswer(
+            invocation -> {
+              nameDuringSlice.set(Thread.currentThread().getName());
+              return false;
+            });
+    final String originalName = Thread.currentThread().getName();
+    scheduledStage.wakeUp();
+
+    runNextTask();
+
+    assertThat(nameDuringSlice.get()).isEqualTo(originalName + " (stageName)");
+    assertThat(Thread.currentThread().getName()).isEqualTo(originalName);
+  }
+
+  private void runNextTask() {
+    scheduledTasks.remove(0).run();
+  }
+}
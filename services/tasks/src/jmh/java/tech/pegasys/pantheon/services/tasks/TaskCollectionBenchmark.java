@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.tasks;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Thread)
+public class TaskCollectionBenchmark {
+  private static final int TASK_COUNT = 100_000;
+  // About the size of a serialized NodeDataRequest.
+  private static final int TASK_SIZE_BYTES = 40;
+  // The number of node data requests sent to a peer at once by default.
+  private static final int BATCH_SIZE = 384;
+
+  @Param({"flat_file", "mapped_file"})
+  public String implementation;
+
+  private final List<BytesValue> tasks = new ArrayList<>(TASK_COUNT);
+  private Path tempDir;
+  private TaskCollection<BytesValue> taskCollection;
+
+  @Setup
+  public void prepareTasks() {
+    final Random random = new Random(1);
+    for (int i = 0; i < TASK_COUNT; i++) {
+      final byte[] task = new byte[TASK_SIZE_BYTES];
+      random.nextBytes(task);
+      tasks.add(BytesValue.wrap(task));
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void createTaskCollection() throws IOException {
+    tempDir = Files.createTempDirectory("tasks");
+    switch (implementation) {
+      case "flat_file":
+        taskCollection =
+            new FlatFileTaskCollection<>(tempDir, Function.identity(), Function.identity());
+        break;
+      case "mapped_file":
+        taskCollection =
+            new MappedFileTaskCollection<>(tempDir, Function.identity(), Function.identity());
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown implementation " + implementation);
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void deleteTaskCollection() throws IOException {
+    taskCollection.close();
+    try (final Stream<Path> paths = Files.walk(tempDir)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TASK_COUNT)
+  public void addThenRemove() {
+    tasks.forEach(taskCollection::add);
+    for (int i = 0; i < TASK_COUNT; i++) {
+      taskCollection.remove().markCompleted();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TASK_COUNT)
+  public void addThenRemoveInBatches() {
+    for (int i = 0; i < TASK_COUNT; i += BATCH_SIZE) {
+      taskCollection.addAll(tasks.subList(i, Math.min(i + BATCH_SIZE, TASK_COUNT)));
+    }
+    for (int i = 0; i < TASK_COUNT; i += BATCH_SIZE) {
+      taskCollection.remove(BATCH_SIZE).forEach(Task::markCompleted);
+    }
+  }
+}
@@ -14,7 +14,13 @@ package tech.pegasys.pantheon.services.tasks;
 
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 
@@ -27,21 +33,59 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
   /**
    * A cache of tasks to operate on before going to {@link CachingTaskCollection#wrappedCollection}
    */
-  private final Queue<Task<T>> cache = new ArrayDeque<>();
+  private final Queue<CachedTask<T>> cache;
   // Tasks that have been removed, but not marked completed yet
   private final Set<Task<T>> outstandingTasks = new HashSet<>();
 
+  private long nextSequenceNumber = 0;
   private boolean closed = false;
 
   public CachingTaskCollection(final TaskCollection<T> collection, final int maxCacheSize) {
+    this(collection, maxCacheSize, new ArrayDeque<>());
+  }
+
+  /**
+   * Creates a collection that removes cached tasks in order of priority rather than in the order
+   * they were added. Of tasks with equal priority, the most recently added is removed first. Tasks
+   * that didn't fit in the cache are only removed once the cache is empty, in the order of the
+   * underlying collection.
+   *
+   * @param collection the collection to hold tasks that don't fit in the cache
+   * @param maxCacheSize the maximum number of tasks to cache, including removed but not completed
+   *     tasks
+   * @param priority orders task data so that the task to remove first comes first
+   */
+  public CachingTaskCollection(
+      final TaskCollection<T> collection,
+      final int maxCacheSize,
+      final Comparator<? super T> priority) {
+    this(
+        collection,
+        maxCacheSize,
+        new PriorityQueue<>(
+            Comparator.<CachedTask<T>, T>comparing(CachedTask::getData, priority)
+                .thenComparing(
+                    CachedTask::getSequenceNumber, Comparator.<Long>reverseOrder())));
+  }
+
+  private CachingTaskCollection(
+      final TaskCollection<T> collection,
+      final int maxCacheSize,
+      final Queue<CachedTask<T>> cache) {
     this.wrappedCollection = collection;
     this.maxCacheSize = maxCacheSize;
+    this.cache = cache;
   }
 
   public CachingTaskCollection(final TaskCollection<T> collection) {
     this(collection, DEFAULT_CACHE_SIZE);
   }
 
+  public CachingTaskCollection(
+      final TaskCollection<T> collection, final Comparator<? super T> priority) {
+    this(collection, DEFAULT_CACHE_SIZE, priority);
+  }
+
   @Override
   public synchronized void add(final T taskData) {
     assertNotClosed();
@@ -51,8 +95,22 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
       return;
     }
 
-    Task<T> newTask = new CachedTask<>(this, taskData);
-    cache.add(newTask);
+    cache.add(new CachedTask<>(this, taskData, nextSequenceNumber++));
+  }
+
+  @Override
+  public synchronized void addAll(final Collection<? extends T> taskData) {
+    assertNotClosed();
+    final Iterator<? extends T> iterator = taskData.iterator();
+    while (iterator.hasNext() && cacheSize() < maxCacheSize) {
+      cache.add(new CachedTask<>(this, iterator.next(), nextSequenceNumber++));
+    }
+    if (iterator.hasNext()) {
+      // Push whatever doesn't fit in the cache to the underlying collection in one go
+      final List<T> overflow = new ArrayList<>();
+      iterator.forEachRemaining(overflow::add);
+      wrappedCollection.addAll(overflow);
+    }
   }
 
   @Override
@@ -62,7 +120,7 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
       return wrappedCollection.remove();
     }
 
-    final Task<T> pendingTask = cache.remove();
+    final CachedTask<T> pendingTask = cache.remove();
     outstandingTasks.add(pendingTask);
     return pendingTask;
   }
@@ -122,10 +180,15 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
   private static class CachedTask<T> implements Task<T> {
     private final CachingTaskCollection<T> cachingTaskCollection;
     private final T data;
+    private final long sequenceNumber;
 
-    private CachedTask(final CachingTaskCollection<T> cachingTaskCollection, final T data) {
+    private CachedTask(
+        final CachingTaskCollection<T> cachingTaskCollection,
+        final T data,
+        final long sequenceNumber) {
       this.cachingTaskCollection = cachingTaskCollection;
       this.data = data;
+      this.sequenceNumber = sequenceNumber;
     }
 
     @Override
@@ -133,6 +196,10 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
       return data;
     }
 
+    private long getSequenceNumber() {
+      return sequenceNumber;
+    }
+
     @Override
     public void markCompleted() {
       cachingTaskCollection.completePendingTask(this);
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.tasks;
+
+import tech.pegasys.pantheon.services.tasks.FlatFileTaskCollection.StorageException;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A task collection that stores tasks in memory-mapped segment files, so that a queue of hundreds
+ * of millions of tasks lives in the page cache rather than on the heap, and adding or removing a
+ * task is a copy into or out of mapped memory rather than a call into the file system.
+ *
+ * <p>Adding and removing tasks use separate locks, so producers only contend with other producers
+ * and consumers with other consumers. Each segment publishes how far it has been written through a
+ * volatile field, which is all a consumer needs to read from it, and a segment is only followed by
+ * a new one once everything written to it has been published.
+ *
+ * <p>Segment files are deleted once they have been read. The collection does not survive a
+ * restart.
+ */
+public class MappedFileTaskCollection<T> implements TaskCollection<T> {
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int DEFAULT_SEGMENT_SIZE_BYTES = 64 * 1024 * 1024;
+  static final String FILENAME_PREFIX = "segment";
+  private static final Consumer<ByteBuffer> UNMAPPER = createUnmapper();
+
+  private final Path storageDirectory;
+  private final Function<T, BytesValue> serializer;
+  private final Function<BytesValue, T> deserializer;
+  private final int segmentSizeBytes;
+
+  // When both locks are needed, readLock is taken first.
+  private final Object readLock = new Object();
+  private final Object writeLock = new Object();
+
+  // Never more than the number of written and unread tasks, though it may briefly be fewer.
+  private final AtomicLong size = new AtomicLong();
+  private final Set<MappedFileTask<T>> outstandingTasks = ConcurrentHashMap.newKeySet();
+
+  // Guarded by readLock
+  private Segment readSegment;
+  // Guarded by writeLock
+  private Segment writeSegment;
+  private int nextSegmentNumber = 0;
+
+  private volatile boolean closed = false;
+
+  public MappedFileTaskCollection(
+      final Path storageDirectory,
+      final Function<T, BytesValue> serializer,
+      final Function<BytesValue, T> deserializer) {
+    this(storageDirectory, serializer, deserializer, DEFAULT_SEGMENT_SIZE_BYTES);
+  }
+
+  MappedFileTaskCollection(
+      final Path storageDirectory,
+      final Function<T, BytesValue> serializer,
+      final Function<BytesValue, T> deserializer,
+      final int segmentSizeBytes) {
+    this.storageDirectory = storageDirectory;
+    this.serializer = serializer;
+    this.deserializer = deserializer;
+    this.segmentSizeBytes = segmentSizeBytes;
+    writeSegment = createSegment(0);
+    readSegment = writeSegment;
+  }
+
+  @Override
+  public void add(final T taskData) {
+    final byte[] data = serializer.apply(taskData).getArrayUnsafe();
+    synchronized (writeLock) {
+      assertNotClosed();
+      write(data);
+      size.incrementAndGet();
+    }
+  }
+
+  @Override
+  public void addAll(final Collection<? extends T> taskData) {
+    final List<byte[]> data = new ArrayList<>(taskData.size());
+    taskData.forEach(task -> data.add(serializer.apply(task).getArrayUnsafe()));
+    synchronized (writeLock) {
+      assertNotClosed();
+      data.forEach(this::write);
+      size.addAndGet(data.size());
+    }
+  }
+
+  @Override
+  public Task<T> remove() {
+    synchronized (readLock) {
+      assertNotClosed();
+      final byte[] data = readNext();
+      if (data == null) {
+        return null;
+      }
+      final Task<T> task = createTask(data);
+      size.decrementAndGet();
+      return task;
+    }
+  }
+
+  @Override
+  public List<Task<T>> remove(final int maxTasks) {
+    final List<Task<T>> tasks = new ArrayList<>(Math.min(maxTasks, 1024));
+    synchronized (readLock) {
+      assertNotClosed();
+      byte[] data;
+      while (tasks.size() < maxTasks && (data = readNext()) != null) {
+        tasks.add(createTask(data));
+      }
+      size.addAndGet(-tasks.size());
+    }
+    return tasks;
+  }
+
+  @Override
+  public long size() {
+    return Math.max(size.get(), 0);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public void clear() {
+    synchronized (readLock) {
+      synchronized (writeLock) {
+        outstandingTasks.clear();
+        deleteSegments();
+        nextSegmentNumber = 0;
+        writeSegment = createSegment(0);
+        readSegment = writeSegment;
+        size.set(0);
+      }
+    }
+  }
+
+  @Override
+  public boolean allTasksCompleted() {
+    return isEmpty() && outstandingTasks.isEmpty();
+  }
+
+  @Override
+  public void close() {
+    synchronized (readLock) {
+      synchronized (writeLock) {
+        closed = true;
+        outstandingTasks.clear();
+        deleteSegments();
+      }
+    }
+  }
+
+  private void write(final byte[] data) {
+    final int entrySize = Integer.BYTES + data.length;
+    if (writeSegment.remainingCapacity() < entrySize) {
+      LOG.debug("Writing reached end of segment {}", writeSegment.path);
+      final Segment nextSegment = createSegment(entrySize);
+      writeSegment.next = nextSegment;
+      writeSegment = nextSegment;
+    }
+    writeSegment.append(data);
+  }
+
+  private byte[] readNext() {
+    while (!readSegment.hasUnreadData()) {
+      final Segment nextSegment = readSegment.next;
+      if (nextSegment == null) {
+        return null;
+      }
+      // Everything written to this segment was published before the next segment was linked.
+      if (readSegment.hasUnreadData()) {
+        break;
+      }
+      LOG.debug("Reading reached end of segment {}", readSegment.path);
+      readSegment.delete();
+      readSegment = nextSegment;
+    }
+    return readSegment.read();
+  }
+
+  private Task<T> createTask(final byte[] data) {
+    final MappedFileTask<T> task =
+        new MappedFileTask<>(this, deserializer.apply(BytesValue.wrap(data)));
+    outstandingTasks.add(task);
+    return task;
+  }
+
+  private Segment createSegment(final int minimumSize) {
+    final Path path = storageDirectory.resolve(FILENAME_PREFIX + nextSegmentNumber++);
+    try (final FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      // The mapping stays valid after the channel is closed.
+      return new Segment(
+          path, channel.map(MapMode.READ_WRITE, 0, Math.max(segmentSizeBytes, minimumSize)));
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  private void deleteSegments() {
+    for (Segment segment = readSegment; segment != null; segment = segment.next) {
+      segment.delete();
+    }
+  }
+
+  // Checked while holding the lock for the segments about to be used, as closing unmaps them.
+  private void assertNotClosed() {
+    if (closed) {
+      throw new IllegalStateException("Attempt to access closed " + getClass().getSimpleName());
+    }
+  }
+
+  private boolean markTaskCompleted(final MappedFileTask<T> task) {
+    return outstandingTasks.remove(task);
+  }
+
+  private void handleFailedTask(final MappedFileTask<T> task) {
+    if (markTaskCompleted(task)) {
+      add(task.getData());
+    }
+  }
+
+  private static class Segment {
+    private final Path path;
+    // Only used while holding writeLock.
+    private final ByteBuffer writeBuffer;
+    // Only used while holding readLock. A view of the same memory with its own position.
+    private final ByteBuffer readBuffer;
+    private volatile int writePosition = 0;
+    private volatile Segment next;
+
+    private Segment(final Path path, final ByteBuffer buffer) {
+      this.path = path;
+      this.writeBuffer = buffer;
+      this.readBuffer = buffer.duplicate();
+    }
+
+    private int remainingCapacity() {
+      return writeBuffer.remaining();
+    }
+
+    private void append(final byte[] data) {
+      writeBuffer.putInt(data.length);
+      writeBuffer.put(data);
+      writePosition = writeBuffer.position();
+    }
+
+    private boolean hasUnreadData() {
+      return readBuffer.position() < writePosition;
+    }
+
+    private byte[] read() {
+      final byte[] data = new byte[readBuffer.getInt()];
+      readBuffer.get(data);
+      return data;
+    }
+
+    /** Unmaps and deletes the segment. Neither buffer may be used afterwards. */
+    private void delete() {
+      // Until it is unmapped, the file's disk space is not freed, and on Windows it can't be
+      // deleted.
+      unmap(writeBuffer);
+      try {
+        Files.deleteIfExists(path);
+      } catch (final IOException e) {
+        LOG.error("Failed to delete tasks file {}", path.toAbsolutePath(), e);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static boolean canUnmap() {
+    return UNMAPPER != null;
+  }
+
+  private static void unmap(final ByteBuffer buffer) {
+    if (UNMAPPER == null) {
+      return;
+    }
+    try {
+      UNMAPPER.accept(buffer);
+    } catch (final RuntimeException e) {
+      LOG.debug("Failed to unmap tasks file, leaving it to the garbage collector", e);
+    }
+  }
+
+  /**
+   * Releases a mapping without waiting for the buffer to be garbage collected. There is no public
+   * API for this, so use {@code Unsafe.invokeCleaner} on Java 9 and later, or the buffer's cleaner
+   * on Java 8.
+   */
+  private static Consumer<ByteBuffer> createUnmapper() {
+    try {
+      final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      final Object unsafe = theUnsafe.get(null);
+      return buffer -> invokeReflectively(() -> invokeCleaner.invoke(unsafe, buffer));
+    } catch (final ReflectiveOperationException | RuntimeException e) {
+      // Not Java 9 or later.
+    }
+    try {
+      final Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      final Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+      return buffer ->
+          invokeReflectively(() -> cleanMethod.invoke(cleanerMethod.invoke(buffer)));
+    } catch (final ReflectiveOperationException | RuntimeException e) {
+      LOG.debug("Unable to unmap tasks files, leaving them to the garbage collector", e);
+      return null;
+    }
+  }
+
+  private static void invokeReflectively(final ReflectiveCall call) {
+    try {
+      call.invoke();
+    } catch (final ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface ReflectiveCall {
+    void invoke() throws ReflectiveOperationException;
+  }
+
+  private static class MappedFileTask<T> implements Task<T> {
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+    private final MappedFileTaskCollection<T> parentQueue;
+    private final T data;
+
+    private MappedFileTask(final MappedFileTaskCollection<T> parentQueue, final T data) {
+      this.parentQueue = parentQueue;
+      this.data = data;
+    }
+
+    @Override
+    public T getData() {
+      return data;
+    }
+
+    @Override
+    public void markCompleted() {
+      if (completed.compareAndSet(false, true)) {
+        parentQueue.markTaskCompleted(this);
+      }
+    }
+
+    @Override
+    public void markFailed() {
+      if (completed.compareAndSet(false, true)) {
+        parentQueue.handleFailedTask(this);
+      }
+    }
+  }
+}
@@ -13,6 +13,9 @@
 package tech.pegasys.pantheon.services.tasks;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 public interface TaskCollection<T> extends Closeable {
   /**
@@ -22,6 +25,16 @@ public interface TaskCollection<T> extends Closeable {
    */
   void add(T taskData);
 
+  /**
+   * Add several items of data that need to be processed, in order. Implementations may do this
+   * more cheaply than adding each item separately.
+   *
+   * @param taskData The data to be processed.
+   */
+  default void addAll(final Collection<? extends T> taskData) {
+    taskData.forEach(this::add);
+  }
+
   /**
    * Get a task for processing. This task will be tracked as a pending task until either {@code
    * Task.markCompleted} or {@code Task.requeue} is called.
@@ -30,6 +43,25 @@ public interface TaskCollection<T> extends Closeable {
    */
   Task<T> remove();
 
+  /**
+   * Get up to {@code maxTasks} tasks for processing, tracked in the same way as tasks returned by
+   * {@link #remove()}. Implementations may do this more cheaply than removing each task separately.
+   *
+   * @param maxTasks The maximum number of tasks to return.
+   * @return The tasks to be processed, which is empty if there are none.
+   */
+  default List<Task<T>> remove(final int maxTasks) {
+    final List<Task<T>> tasks = new ArrayList<>(Math.min(maxTasks, 1024));
+    while (tasks.size() < maxTasks) {
+      final Task<T> task = remove();
+      if (task == null) {
+        break;
+      }
+      tasks.add(task);
+    }
+    return tasks;
+  }
+
   /** @return The number of tasks in the queue. */
   long size();
 
@@ -17,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
@@ -52,6 +53,33 @@ abstract class AbstractTaskQueueTest<T extends TaskCollection<BytesValue>> {
     }
   }
 
+  @Test
+  public void enqueueAndDequeueInBatches() throws Exception {
+    try (final T queue = createQueue()) {
+      final BytesValue one = BytesValue.of(1);
+      final BytesValue two = BytesValue.of(2);
+      final BytesValue three = BytesValue.of(3);
+
+      assertThat(queue.remove(2)).isEmpty();
+
+      queue.addAll(Arrays.asList(one, two, three));
+      assertThat(queue.size()).isEqualTo(3);
+
+      final List<Task<BytesValue>> firstBatch = queue.remove(2);
+      assertThat(firstBatch).extracting(Task::getData).containsExactly(one, two);
+      assertThat(queue.size()).isEqualTo(1);
+
+      final List<Task<BytesValue>> secondBatch = queue.remove(2);
+      assertThat(secondBatch).extracting(Task::getData).containsExactly(three);
+      assertThat(queue.isEmpty()).isTrue();
+      assertThat(queue.allTasksCompleted()).isFalse();
+
+      firstBatch.forEach(Task::markCompleted);
+      secondBatch.forEach(Task::markCompleted);
+      assertThat(queue.allTasksCompleted()).isTrue();
+    }
+  }
+
   @Test
   public void markTaskFailed() throws Exception {
     try (final T queue = createQueue()) {
@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -173,6 +174,40 @@ public class CachingTaskCollectionTest {
         .containsExactlyInAnyOrder(getTaskData(failedTasks).toArray(new BytesValue[0]));
   }
 
+  @Test
+  public void addAllOverflowingCache() {
+    final CachingTaskCollection<BytesValue> taskCollection = createCachingCollection(3);
+    final List<BytesValue> taskData = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      taskData.add(BytesValue.of(i));
+    }
+
+    taskCollection.addAll(taskData);
+
+    assertThat(taskCollection.cacheSize()).isEqualTo(3);
+    assertThat(wrappedTaskCollection.size()).isEqualTo(2);
+    assertThat(getTaskData(getAllTasks(taskCollection))).isEqualTo(taskData);
+  }
+
+  @Test
+  public void removeCachedTasksInPriorityOrder() {
+    final CachingTaskCollection<BytesValue> taskCollection =
+        new CachingTaskCollection<>(
+            wrappedTaskCollection,
+            10,
+            Comparator.comparing((BytesValue value) -> value.get(0)).reversed());
+
+    taskCollection.add(BytesValue.of(1, 0));
+    taskCollection.add(BytesValue.of(3, 0));
+    taskCollection.add(BytesValue.of(2, 0));
+    taskCollection.add(BytesValue.of(3, 1));
+
+    // Tasks with equal priority are removed most recently added first.
+    assertThat(getTaskData(getAllTasks(taskCollection)))
+        .containsExactly(
+            BytesValue.of(3, 1), BytesValue.of(3, 0), BytesValue.of(2, 0), BytesValue.of(1, 0));
+  }
+
   @Test
   public void close() throws IOException {
     final CachingTaskCollection<BytesValue> taskCollection = createCachingCollection(10);
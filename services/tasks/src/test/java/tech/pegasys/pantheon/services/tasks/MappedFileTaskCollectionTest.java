@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedFileTaskCollectionTest
+    extends AbstractTaskQueueTest<MappedFileTaskCollection<BytesValue>> {
+
+  private static final int SEGMENT_SIZE = 16;
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Override
+  protected MappedFileTaskCollection<BytesValue> createQueue() throws IOException {
+    final Path dataDir = folder.newFolder().toPath();
+    return createQueue(dataDir);
+  }
+
+  private MappedFileTaskCollection<BytesValue> createQueue(final Path dataDir) {
+    return new MappedFileTaskCollection<>(
+        dataDir, Function.identity(), Function.identity(), SEGMENT_SIZE);
+  }
+
+  @Test
+  public void shouldStartNewSegmentWhenFull() throws Exception {
+    final Path dataDir = folder.newFolder().toPath();
+    try (final MappedFileTaskCollection<BytesValue> queue = createQueue(dataDir)) {
+      final List<BytesValue> tasks = new ArrayList<>();
+
+      addItem(queue, tasks, 0);
+      final File[] currentFiles = getCurrentFiles(dataDir);
+      assertThat(currentFiles).hasSize(1);
+      final File firstFile = currentFiles[0];
+      int tasksInFirstSegment = 1;
+      while (getCurrentFiles(dataDir).length == 1) {
+        addItem(queue, tasks, tasksInFirstSegment);
+        tasksInFirstSegment++;
+      }
+      // The task that started the second segment isn't in the first.
+      tasksInFirstSegment--;
+
+      final List<BytesValue> removedTasks = new ArrayList<>();
+      for (int i = 0; i < tasksInFirstSegment; i++) {
+        removedTasks.add(queue.remove().getData());
+      }
+      assertThat(getCurrentFiles(dataDir)).contains(firstFile);
+
+      // Reading on from a fully read segment deletes it.
+      removedTasks.add(queue.remove().getData());
+      assertThat(getCurrentFiles(dataDir)).doesNotContain(firstFile);
+
+      assertThat(queue.isEmpty()).isTrue();
+      assertThat(removedTasks).isEqualTo(tasks);
+    }
+  }
+
+  @Test
+  public void shouldStoreTasksLargerThanSegmentSize() throws Exception {
+    try (final MappedFileTaskCollection<BytesValue> queue = createQueue()) {
+      final BytesValue small = BytesValue.of(1);
+      final BytesValue large = BytesValue.wrap(new byte[SEGMENT_SIZE * 3]);
+
+      queue.add(small);
+      queue.add(large);
+      queue.add(small);
+
+      assertThat(queue.remove().getData()).isEqualTo(small);
+      assertThat(queue.remove().getData()).isEqualTo(large);
+      assertThat(queue.remove().getData()).isEqualTo(small);
+      assertThat(queue.remove()).isNull();
+    }
+  }
+
+  @Test
+  public void shouldDeleteSegmentsWhenClosed() throws Exception {
+    final Path dataDir = folder.newFolder().toPath();
+    final MappedFileTaskCollection<BytesValue> queue = createQueue(dataDir);
+    for (int i = 0; i < 10; i++) {
+      queue.add(BytesValue.of(i));
+    }
+    assertThat(getCurrentFiles(dataDir)).hasSizeGreaterThan(1);
+
+    queue.close();
+
+    assertThat(getCurrentFiles(dataDir)).isEmpty();
+  }
+
+  @Test
+  public void shouldUnmapSegmentsBeforeDeletingThem() {
+    assertThat(MappedFileTaskCollection.canUnmap()).isTrue();
+  }
+
+  @Test
+  public void shouldRejectAccessAfterClose() throws Exception {
+    final MappedFileTaskCollection<BytesValue> queue = createQueue(folder.newFolder().toPath());
+    queue.add(BytesValue.of(1));
+    queue.close();
+
+    assertThatThrownBy(() -> queue.add(BytesValue.of(2)))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(queue::remove).isInstanceOf(IllegalStateException.class);
+  }
+
+  private void addItem(
+      final MappedFileTaskCollection<BytesValue> queue,
+      final List<BytesValue> tasks,
+      final int value) {
+    tasks.add(BytesValue.of(value));
+    queue.add(BytesValue.of(value));
+  }
+
+  private File[] getCurrentFiles(final Path dataDir) {
+    return dataDir
+        .toFile()
+        .listFiles((dir, name) -> name.startsWith(MappedFileTaskCollection.FILENAME_PREFIX));
+  }
+}